@@ -0,0 +1,80 @@
+package cc.remer.timetrack.adapter.persistence;
+
+import cc.remer.timetrack.domain.timeentry.EntryType;
+import cc.remer.timetrack.domain.timeentry.TimeEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Starts and ends the active time entry (work session) of a user, each in a single statement.
+ *
+ * A user has at most one active entry, guaranteed by the partial unique index
+ * {@code uk_time_entries_user_active} on entries without clock-out. Clocking in inserts unless that
+ * index already holds an entry of the user, clocking out updates the entry it holds. Both report
+ * through the returned row whether they applied, so there is no separate lookup that concurrent
+ * requests could race past.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ActiveTimeEntryRepository {
+
+    private static final String CLOCK_IN_SQL = """
+            INSERT INTO time_entries (user_id, entry_date, clock_in, break_minutes, entry_type, notes, created_at, updated_at)
+            VALUES (:userId, :entryDate, :now, 0, :entryType, :notes, :now, :now)
+            ON CONFLICT (user_id) WHERE clock_out IS NULL DO NOTHING
+            RETURNING %s
+            """.formatted(TimeEntryRowMapper.COLUMNS);
+
+    private static final String CLOCK_OUT_SQL = """
+            UPDATE time_entries
+            SET clock_out = :now, notes = COALESCE(CAST(:notes AS TEXT), notes), updated_at = :now
+            WHERE user_id = :userId AND clock_out IS NULL
+            RETURNING %s
+            """.formatted(TimeEntryRowMapper.COLUMNS);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Start a work session unless the user already has one.
+     *
+     * @param userId the user ID
+     * @param now    the clock-in time
+     * @param notes  optional notes
+     * @return the new active entry, or empty if the user already has an active entry
+     */
+    public Optional<TimeEntry> clockIn(Long userId, LocalDateTime now, String notes) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("entryDate", now.toLocalDate())
+                .addValue("now", now)
+                .addValue("entryType", EntryType.WORK.name())
+                .addValue("notes", notes);
+        return single(jdbcTemplate.query(CLOCK_IN_SQL, parameters, new TimeEntryRowMapper(userId)));
+    }
+
+    /**
+     * End the active work session of a user.
+     *
+     * @param userId the user ID
+     * @param now    the clock-out time
+     * @param notes  notes replacing the existing ones, or null to keep them
+     * @return the completed entry, or empty if the user has no active entry
+     */
+    public Optional<TimeEntry> clockOut(Long userId, LocalDateTime now, String notes) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("now", now)
+                .addValue("notes", notes);
+        return single(jdbcTemplate.query(CLOCK_OUT_SQL, parameters, new TimeEntryRowMapper(userId)));
+    }
+
+    private static Optional<TimeEntry> single(List<TimeEntry> entries) {
+        return entries.stream().findFirst();
+    }
+}
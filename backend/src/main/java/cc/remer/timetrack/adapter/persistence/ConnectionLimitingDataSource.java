@@ -0,0 +1,139 @@
+package cc.remer.timetrack.adapter.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Data source that lets only as many threads borrow a connection as the pool has connections.
+ *
+ * With virtual threads there is no longer a thread pool limiting how many requests run at once, so
+ * thousands of them can ask the connection pool for a connection at the same time and fail with its
+ * connection timeout. Here they wait on a fair semaphore instead, which parks a virtual thread without
+ * blocking a carrier thread, and only then ask the pool, which then has a connection ready.
+ */
+@Slf4j
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final Duration waitTimeout;
+
+    /**
+     * Create a data source limiting the connections borrowed from the target.
+     *
+     * @param target      the pooled data source
+     * @param permits     number of connections that can be borrowed at the same time
+     * @param waitTimeout how long to wait for a permit before failing
+     */
+    public ConnectionLimitingDataSource(DataSource target, int permits, Duration waitTimeout) {
+        super(target);
+        this.permits = new Semaphore(permits, true);
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return borrow(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return borrow(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /**
+     * Number of threads currently waiting for a connection.
+     */
+    public int getWaitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(waitTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("No database connection available after {}, {} threads waiting",
+                        waitTimeout, permits.getQueueLength());
+                throw new SQLTransientConnectionException(
+                        "No database connection available after " + waitTimeout.toMillis() + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+    }
+
+    private Connection borrow(ConnectionSupplier supplier) throws SQLException {
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        return releasingOnClose(connection);
+    }
+
+    /**
+     * Wrap a connection so that closing it, i.e. returning it to the pool, also returns the permit.
+     */
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionLimitingDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close" -> {
+                            try {
+                                return invoke(connection, method, args);
+                            } finally {
+                                if (released.compareAndSet(false, true)) {
+                                    permits.release();
+                                }
+                            }
+                        }
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        case "unwrap" -> {
+                            if (((Class<?>) args[0]).isInstance(proxy)) {
+                                return proxy;
+                            }
+                            return invoke(connection, method, args);
+                        }
+                        default -> {
+                            return invoke(connection, method, args);
+                        }
+                    }
+                });
+    }
+
+    private static Object invoke(Connection connection, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,145 @@
+package cc.remer.timetrack.adapter.persistence;
+
+import cc.remer.timetrack.domain.idempotency.IdempotencyRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Stores idempotency keys of write requests and the responses to replay for them.
+ *
+ * A key is reserved by inserting a row without response before the request runs; the primary key on
+ * (user, key) lets only one of several concurrent requests with the same key win. Expired rows,
+ * including reservations of requests that never finished, are taken over by the next reservation.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+
+    private static final String RESERVE_SQL = """
+            INSERT INTO idempotency_keys (user_id, idempotency_key, request_hash, created_at, expires_at)
+            VALUES (:userId, :key, :requestHash, :now, :expiresAt)
+            ON CONFLICT (user_id, idempotency_key) DO UPDATE
+            SET request_hash = EXCLUDED.request_hash, status_code = NULL, content_type = NULL,
+                response_body = NULL, created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at
+            WHERE idempotency_keys.expires_at <= :now
+            """;
+
+    private static final String FIND_SQL = """
+            SELECT request_hash, status_code, content_type, response_body, expires_at
+            FROM idempotency_keys
+            WHERE user_id = :userId AND idempotency_key = :key AND expires_at > :now
+            """;
+
+    private static final String COMPLETE_SQL = """
+            UPDATE idempotency_keys
+            SET status_code = :statusCode, content_type = :contentType, response_body = :responseBody,
+                expires_at = :expiresAt
+            WHERE user_id = :userId AND idempotency_key = :key AND status_code IS NULL
+            """;
+
+    private static final String RELEASE_SQL = """
+            DELETE FROM idempotency_keys
+            WHERE user_id = :userId AND idempotency_key = :key AND status_code IS NULL
+            """;
+
+    private static final String DELETE_EXPIRED_SQL = """
+            DELETE FROM idempotency_keys WHERE (user_id, idempotency_key) IN (
+                SELECT user_id, idempotency_key FROM idempotency_keys
+                WHERE expires_at <= :now ORDER BY expires_at LIMIT :batchSize)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Reserve a key for a request, unless it is in use by another request or has a stored response.
+     *
+     * @param userId      the user ID
+     * @param key         the idempotency key
+     * @param requestHash digest of the request
+     * @param now         the current time
+     * @param expiresAt   when the reservation lapses if the request doesn't complete
+     * @return true if the key was reserved
+     */
+    public boolean reserve(Long userId, String key, String requestHash, LocalDateTime now, LocalDateTime expiresAt) {
+        MapSqlParameterSource parameters = keyParameters(userId, key)
+                .addValue("requestHash", requestHash)
+                .addValue("now", now)
+                .addValue("expiresAt", expiresAt);
+        return jdbcTemplate.update(RESERVE_SQL, parameters) > 0;
+    }
+
+    /**
+     * Find an unexpired key.
+     *
+     * @param userId the user ID
+     * @param key    the idempotency key
+     * @param now    the current time
+     * @return the key with its response, if any
+     */
+    public Optional<IdempotencyRecord> find(Long userId, String key, LocalDateTime now) {
+        MapSqlParameterSource parameters = keyParameters(userId, key).addValue("now", now);
+        return jdbcTemplate.query(FIND_SQL, parameters, (rs, rowNum) -> new IdempotencyRecord(
+                rs.getString("request_hash"),
+                rs.getObject("status_code", Integer.class),
+                rs.getString("content_type"),
+                rs.getBytes("response_body"),
+                rs.getObject("expires_at", LocalDateTime.class)
+        )).stream().findFirst();
+    }
+
+    /**
+     * Store the response of a request that holds the reservation of a key.
+     *
+     * @param userId       the user ID
+     * @param key          the idempotency key
+     * @param statusCode   the response status
+     * @param contentType  the response content type, may be null
+     * @param responseBody the response body
+     * @param expiresAt    until when the response is replayed
+     * @return true if the response was stored, false if the reservation had already been taken over
+     */
+    public boolean complete(Long userId, String key, int statusCode, String contentType, byte[] responseBody,
+                            LocalDateTime expiresAt) {
+        MapSqlParameterSource parameters = keyParameters(userId, key)
+                .addValue("statusCode", statusCode)
+                .addValue("contentType", contentType)
+                .addValue("responseBody", responseBody)
+                .addValue("expiresAt", expiresAt);
+        return jdbcTemplate.update(COMPLETE_SQL, parameters) > 0;
+    }
+
+    /**
+     * Release the reservation of a key whose request failed, so it can be retried right away.
+     *
+     * @param userId the user ID
+     * @param key    the idempotency key
+     */
+    public void release(Long userId, String key) {
+        jdbcTemplate.update(RELEASE_SQL, keyParameters(userId, key));
+    }
+
+    /**
+     * Delete a batch of expired keys.
+     *
+     * @param now       the current time
+     * @param batchSize the maximum number of keys to delete
+     * @return number of deleted keys
+     */
+    public int deleteExpired(LocalDateTime now, int batchSize) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("now", now)
+                .addValue("batchSize", batchSize);
+        return jdbcTemplate.update(DELETE_EXPIRED_SQL, parameters);
+    }
+
+    private static MapSqlParameterSource keyParameters(Long userId, String key) {
+        return new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("key", key);
+    }
+}
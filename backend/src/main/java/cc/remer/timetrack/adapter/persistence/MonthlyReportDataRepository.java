@@ -0,0 +1,214 @@
+package cc.remer.timetrack.adapter.persistence;
+
+import cc.remer.timetrack.domain.recurringoffday.RecurrencePattern;
+import cc.remer.timetrack.domain.recurringoffday.RecurringOffDay;
+import cc.remer.timetrack.domain.recurringoffday.RecurringOffDayExemption;
+import cc.remer.timetrack.domain.timeentry.EntryType;
+import cc.remer.timetrack.domain.timeentry.TimeEntry;
+import cc.remer.timetrack.domain.timeoff.TimeOff;
+import cc.remer.timetrack.domain.timeoff.TimeOffType;
+import cc.remer.timetrack.domain.user.User;
+import cc.remer.timetrack.domain.workinghours.WorkingHours;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Loads everything a monthly report of a user is built from in a single database round trip.
+ *
+ * One statement selects the user, the time entries and time-off of the period, the working hours,
+ * the active recurring off-days and their exemptions in the period. Each part is a CTE; they are
+ * combined with UNION ALL into rows of one shared shape, tagged by kind. The rows are mapped to
+ * detached entities that only carry the fields needed for the report.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MonthlyReportDataRepository {
+
+    private static final String SQL = """
+            WITH report_user AS (
+                SELECT id, first_name, last_name, email FROM users WHERE id = :userId
+            ), entries AS (
+                SELECT id, entry_date, clock_in, clock_out, break_minutes, entry_type, notes
+                FROM time_entries
+                WHERE user_id = :userId AND entry_date BETWEEN :startDate AND :endDate
+            ), time_offs AS (
+                SELECT id, start_date, end_date, time_off_type, notes, hours_per_day, confirmed
+                FROM time_off
+                WHERE user_id = :userId AND start_date <= :endDate AND end_date >= :startDate
+            ), hours AS (
+                SELECT id, weekday, hours, is_working_day
+                FROM working_hours
+                WHERE user_id = :userId
+            ), rules AS (
+                SELECT id, recurrence_pattern, weekday, week_interval, reference_date, week_of_month, start_date, end_date
+                FROM recurring_off_days
+                WHERE user_id = :userId AND is_active = true
+            ), exemptions AS (
+                SELECT e.id, e.recurring_off_day_id, e.exemption_date
+                FROM recurring_off_day_exemptions e
+                JOIN rules r ON r.id = e.recurring_off_day_id
+                WHERE e.exemption_date BETWEEN :startDate AND :endDate
+            )
+            SELECT 'USER' AS kind, id, NULL::bigint AS ref_id,
+                   NULL::date AS date1, NULL::date AS date2, NULL::date AS date3,
+                   NULL::timestamp AS time1, NULL::timestamp AS time2,
+                   NULL::integer AS int1, NULL::integer AS int2, NULL::integer AS int3,
+                   NULL::numeric AS num1, NULL::boolean AS flag1,
+                   first_name AS text1, last_name AS text2, email AS text3
+            FROM report_user
+            UNION ALL
+            SELECT 'TIME_ENTRY', id, NULL, entry_date, NULL, NULL, clock_in, clock_out,
+                   break_minutes, NULL, NULL, NULL, NULL, entry_type, notes, NULL
+            FROM entries
+            UNION ALL
+            SELECT 'TIME_OFF', id, NULL, start_date, end_date, NULL, NULL, NULL,
+                   NULL, NULL, NULL, hours_per_day, confirmed, time_off_type, notes, NULL
+            FROM time_offs
+            UNION ALL
+            SELECT 'WORKING_HOURS', id, NULL, NULL, NULL, NULL, NULL, NULL,
+                   weekday, NULL, NULL, hours, is_working_day, NULL, NULL, NULL
+            FROM hours
+            UNION ALL
+            SELECT 'RECURRING_OFF_DAY', id, NULL, start_date, end_date, reference_date, NULL, NULL,
+                   weekday, week_interval, week_of_month, NULL, NULL, recurrence_pattern, NULL, NULL
+            FROM rules
+            UNION ALL
+            SELECT 'EXEMPTION', id, recurring_off_day_id, exemption_date, NULL, NULL, NULL, NULL,
+                   NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL
+            FROM exemptions
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * The inputs of a monthly report.
+     *
+     * @param user             the user (ID, name and email only)
+     * @param timeEntries      time entries within the period
+     * @param timeOffEntries   time-off entries overlapping the period
+     * @param workingHours     the user's working hours per weekday
+     * @param recurringOffDays the user's active recurring off-days
+     * @param exemptions       exemptions of those rules within the period
+     */
+    public record MonthlyReportData(
+            User user,
+            List<TimeEntry> timeEntries,
+            List<TimeOff> timeOffEntries,
+            List<WorkingHours> workingHours,
+            List<RecurringOffDay> recurringOffDays,
+            List<RecurringOffDayExemption> exemptions) {
+    }
+
+    /**
+     * Load the report inputs of a user for a period.
+     *
+     * @param userId    the user ID
+     * @param startDate the first day of the period
+     * @param endDate   the last day of the period
+     * @return the report inputs, or empty if the user doesn't exist
+     */
+    public Optional<MonthlyReportData> load(Long userId, LocalDate startDate, LocalDate endDate) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("startDate", startDate)
+                .addValue("endDate", endDate);
+
+        Rows rows = new Rows();
+        jdbcTemplate.query(SQL, parameters, resultSet -> {
+            rows.add(resultSet);
+        });
+
+        if (rows.user == null) {
+            return Optional.empty();
+        }
+
+        // Attach the user and the exemptions' rules once all rows have been read
+        rows.timeEntries.forEach(entry -> entry.setUser(rows.user));
+        rows.timeOffEntries.forEach(timeOff -> timeOff.setUser(rows.user));
+        rows.workingHours.forEach(hours -> hours.setUser(rows.user));
+        rows.recurringOffDays.forEach(rule -> rule.setUser(rows.user));
+
+        return Optional.of(new MonthlyReportData(rows.user, rows.timeEntries, rows.timeOffEntries,
+                rows.workingHours, rows.recurringOffDays, rows.exemptions));
+    }
+
+    /**
+     * Collects the entities of the result rows by kind.
+     */
+    private static final class Rows {
+
+        private User user;
+        private final List<TimeEntry> timeEntries = new ArrayList<>();
+        private final List<TimeOff> timeOffEntries = new ArrayList<>();
+        private final List<WorkingHours> workingHours = new ArrayList<>();
+        private final List<RecurringOffDay> recurringOffDays = new ArrayList<>();
+        private final List<RecurringOffDayExemption> exemptions = new ArrayList<>();
+
+        private void add(ResultSet rs) throws SQLException {
+            long id = rs.getLong("id");
+            switch (rs.getString("kind")) {
+                case "USER" -> user = User.builder()
+                        .id(id)
+                        .firstName(rs.getString("text1"))
+                        .lastName(rs.getString("text2"))
+                        .email(rs.getString("text3"))
+                        .build();
+                case "TIME_ENTRY" -> timeEntries.add(TimeEntry.builder()
+                        .id(id)
+                        .entryDate(rs.getObject("date1", LocalDate.class))
+                        .clockIn(rs.getObject("time1", LocalDateTime.class))
+                        .clockOut(rs.getObject("time2", LocalDateTime.class))
+                        .breakMinutes(rs.getInt("int1"))
+                        .entryType(EntryType.valueOf(rs.getString("text1")))
+                        .notes(rs.getString("text2"))
+                        .build());
+                case "TIME_OFF" -> timeOffEntries.add(TimeOff.builder()
+                        .id(id)
+                        .startDate(rs.getObject("date1", LocalDate.class))
+                        .endDate(rs.getObject("date2", LocalDate.class))
+                        .timeOffType(TimeOffType.valueOf(rs.getString("text1")))
+                        .notes(rs.getString("text2"))
+                        .hoursPerDay(rs.getBigDecimal("num1"))
+                        .confirmed(rs.getBoolean("flag1"))
+                        .build());
+                case "WORKING_HOURS" -> workingHours.add(WorkingHours.builder()
+                        .id(id)
+                        .weekday((short) rs.getInt("int1"))
+                        .hours(rs.getBigDecimal("num1"))
+                        .isWorkingDay(rs.getBoolean("flag1"))
+                        .build());
+                case "RECURRING_OFF_DAY" -> recurringOffDays.add(RecurringOffDay.builder()
+                        .id(id)
+                        .recurrencePattern(RecurrencePattern.valueOf(rs.getString("text1")))
+                        .weekday((short) rs.getInt("int1"))
+                        .weekInterval(rs.getObject("int2", Integer.class))
+                        .referenceDate(rs.getObject("date3", LocalDate.class))
+                        .weekOfMonth(shortOrNull(rs.getObject("int3", Integer.class)))
+                        .startDate(rs.getObject("date1", LocalDate.class))
+                        .endDate(rs.getObject("date2", LocalDate.class))
+                        .isActive(true)
+                        .build());
+                case "EXEMPTION" -> exemptions.add(RecurringOffDayExemption.builder()
+                        .id(id)
+                        .recurringOffDay(RecurringOffDay.builder().id(rs.getLong("ref_id")).build())
+                        .exemptionDate(rs.getObject("date1", LocalDate.class))
+                        .build());
+                default -> throw new IllegalStateException("Unknown report row kind: " + rs.getString("kind"));
+            }
+        }
+
+        private static Short shortOrNull(Integer value) {
+            return value != null ? value.shortValue() : null;
+        }
+    }
+}
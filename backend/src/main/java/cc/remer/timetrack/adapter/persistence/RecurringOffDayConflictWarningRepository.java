@@ -79,8 +79,9 @@ public interface RecurringOffDayConflictWarningRepository extends JpaRepository<
      * Delete warnings for a specific time entry.
      *
      * @param timeEntryId the time entry ID
+     * @return number of deleted warnings
      */
     @Modifying
     @Query("DELETE FROM RecurringOffDayConflictWarning w WHERE w.timeEntryId = :timeEntryId")
-    void deleteByTimeEntryId(@Param("timeEntryId") Long timeEntryId);
+    int deleteByTimeEntryId(@Param("timeEntryId") Long timeEntryId);
 }
@@ -65,6 +65,23 @@ public interface RecurringOffDayExemptionRepository extends JpaRepository<Recurr
     List<RecurringOffDayExemption> findByUserIdAndDate(
             @Param("userId") Long userId, @Param("date") LocalDate date);
 
+    /**
+     * Find all exemptions for a user's recurring off-days within a date range.
+     * Used to build a recurring off-day schedule with a single query.
+     *
+     * @param userId the user ID
+     * @param startDate the start date (inclusive)
+     * @param endDate the end date (inclusive)
+     * @return list of exemptions
+     */
+    @Query("SELECT e FROM RecurringOffDayExemption e " +
+           "WHERE e.recurringOffDay.user.id = :userId " +
+           "AND e.exemptionDate BETWEEN :startDate AND :endDate")
+    List<RecurringOffDayExemption> findByUserIdAndDateRange(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
     /**
      * Delete all exemptions for a recurring off-day.
      *
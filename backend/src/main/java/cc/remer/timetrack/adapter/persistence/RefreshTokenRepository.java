@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -19,12 +20,20 @@ import java.util.Optional;
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
     /**
-     * Find a refresh token by its token string.
+     * Find a refresh token by its digest.
      *
-     * @param token the token string
+     * @param tokenHash the token digest, see {@link RefreshToken#hashToken}
      * @return Optional containing the refresh token if found
      */
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Check if a refresh token with the given digest exists.
+     *
+     * @param tokenHash the token digest
+     * @return true if the token exists
+     */
+    boolean existsByTokenHash(String tokenHash);
 
     /**
      * Find all refresh tokens for a specific user.
@@ -57,30 +66,48 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     void deleteByUserId(Long userId);
 
     /**
-     * Delete a specific refresh token by its token string.
+     * Delete a specific refresh token by its digest.
      *
-     * @param token the token string
+     * @param tokenHash the token digest
      */
-    void deleteByToken(String token);
+    void deleteByTokenHash(String tokenHash);
 
     /**
-     * Delete all expired refresh tokens.
+     * Delete a batch of expired refresh tokens.
+     * Runs in its own transaction, so each batch holds its row locks only briefly.
      *
      * @param now the current timestamp
+     * @param batchSize the maximum number of tokens to delete
+     * @return number of deleted tokens
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM refresh_tokens WHERE id IN (" +
+            "SELECT id FROM refresh_tokens WHERE expires_at < :now ORDER BY id LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteExpiredTokens(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+    /**
+     * Delete all but the newest tokens of a user.
+     *
+     * @param userId the user ID
+     * @param keep the number of tokens to keep
      * @return number of deleted tokens
      */
     @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiresAt < :now")
-    int deleteExpiredTokens(@Param("now") LocalDateTime now);
+    @Query(value = "DELETE FROM refresh_tokens WHERE user_id = :userId AND id NOT IN (" +
+            "SELECT id FROM refresh_tokens WHERE user_id = :userId ORDER BY created_at DESC, id DESC LIMIT :keep)",
+            nativeQuery = true)
+    int deleteAllButNewest(@Param("userId") Long userId, @Param("keep") int keep);
 
     /**
      * Check if a refresh token exists and is not expired.
      *
-     * @param token the token string
+     * @param tokenHash the token digest
      * @param now the current timestamp
      * @return true if token exists and is valid
      */
     @Query("SELECT CASE WHEN COUNT(rt) > 0 THEN true ELSE false END FROM RefreshToken rt " +
-            "WHERE rt.token = :token AND rt.expiresAt > :now")
-    boolean existsByTokenAndNotExpired(@Param("token") String token, @Param("now") LocalDateTime now);
+            "WHERE rt.tokenHash = :tokenHash AND rt.expiresAt > :now")
+    boolean existsByTokenHashAndNotExpired(@Param("tokenHash") String tokenHash, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,45 @@
+package cc.remer.timetrack.adapter.persistence;
+
+import cc.remer.timetrack.domain.reportjob.ReportJob;
+import cc.remer.timetrack.domain.reportjob.ReportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Repository for ReportJob entities.
+ */
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+
+    /**
+     * Find jobs in one of the given states, oldest first.
+     *
+     * @param statuses the job states
+     * @return list of report jobs
+     */
+    List<ReportJob> findByStatusInOrderByCreatedAtAsc(Collection<ReportJobStatus> statuses);
+
+    /**
+     * Find jobs created before the given time.
+     *
+     * @param createdAt the cutoff time (exclusive)
+     * @return list of report jobs
+     */
+    List<ReportJob> findByCreatedAtBefore(LocalDateTime createdAt);
+
+    /**
+     * Find which of the given job IDs exist.
+     *
+     * @param ids the job IDs
+     * @return the IDs of existing jobs
+     */
+    @Query("SELECT j.id FROM ReportJob j WHERE j.id IN :ids")
+    Set<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+}
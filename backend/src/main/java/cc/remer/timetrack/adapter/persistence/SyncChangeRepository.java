@@ -0,0 +1,84 @@
+package cc.remer.timetrack.adapter.persistence;
+
+import cc.remer.timetrack.domain.sync.SyncChange;
+import cc.remer.timetrack.domain.sync.SyncEntityType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reads the change log of synced records, which database triggers keep up to date.
+ *
+ * Every record has a single row carrying the user's data version of its last change; deleted records
+ * remain as tombstones until they are purged.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SyncChangeRepository {
+
+    private static final String FIND_SINCE_SQL = """
+            SELECT entity_type, entity_id, deleted, version
+            FROM sync_changes
+            WHERE user_id = :userId AND version > :since
+            ORDER BY version
+            LIMIT :limit
+            """;
+
+    // Purging records the highest purged version, so tokens older than that are known to be incomplete
+    private static final String DELETE_TOMBSTONES_SQL = """
+            WITH purged AS (
+                DELETE FROM sync_changes WHERE (user_id, entity_type, entity_id) IN (
+                    SELECT user_id, entity_type, entity_id FROM sync_changes
+                    WHERE deleted AND changed_at <= :cutoff ORDER BY changed_at LIMIT :batchSize)
+                RETURNING user_id, version
+            ), marked AS (
+                UPDATE user_data_versions v
+                SET purged_version = GREATEST(v.purged_version, p.version)
+                FROM (SELECT user_id, MAX(version) AS version FROM purged GROUP BY user_id) p
+                WHERE v.user_id = p.user_id
+            )
+            SELECT COUNT(*) FROM purged
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Find the changes of a user after a data version, oldest first.
+     *
+     * @param userId the user ID
+     * @param since  the data version the client has seen
+     * @param limit  the maximum number of changes
+     * @return the changes
+     */
+    public List<SyncChange> findSince(Long userId, long since, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("since", since)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(FIND_SINCE_SQL, parameters, (rs, rowNum) -> new SyncChange(
+                SyncEntityType.valueOf(rs.getString("entity_type")),
+                rs.getLong("entity_id"),
+                rs.getBoolean("deleted"),
+                rs.getLong("version")
+        ));
+    }
+
+    /**
+     * Delete a batch of tombstones of records deleted before a cutoff.
+     *
+     * @param cutoff    the time before which the records were deleted
+     * @param batchSize the maximum number of tombstones to delete
+     * @return number of deleted tombstones
+     */
+    public int deleteTombstones(LocalDateTime cutoff, int batchSize) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("cutoff", cutoff)
+                .addValue("batchSize", batchSize);
+        Integer deleted = jdbcTemplate.queryForObject(DELETE_TOMBSTONES_SQL, parameters, Integer.class);
+        return deleted != null ? deleted : 0;
+    }
+}
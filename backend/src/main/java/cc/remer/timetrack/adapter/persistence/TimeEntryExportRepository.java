@@ -0,0 +1,68 @@
+package cc.remer.timetrack.adapter.persistence;
+
+import cc.remer.timetrack.domain.timeentry.EntryType;
+import cc.remer.timetrack.domain.timeentry.TimeEntry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Reads the time entries of a user for exports over arbitrary date ranges.
+ *
+ * Entries are read through a forward-only cursor in batches of {@value #FETCH_SIZE} rows instead
+ * of being loaded into the persistence context, so the memory needed doesn't grow with the range.
+ * The PostgreSQL driver only uses a cursor within a transaction; callers must hold one open while
+ * consuming the stream.
+ */
+@Repository
+public class TimeEntryExportRepository {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String SQL = """
+            SELECT id, entry_date, clock_in, clock_out, break_minutes, entry_type, notes
+            FROM time_entries
+            WHERE user_id = :userId AND entry_date BETWEEN :startDate AND :endDate
+            ORDER BY entry_date, clock_in
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TimeEntryExportRepository(DataSource dataSource) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+
+    /**
+     * Stream the time entries of a user within a date range, ordered by date and clock-in.
+     * The entries are detached and carry no user; the stream must be closed after use.
+     *
+     * @param userId    the user ID
+     * @param startDate the start date (inclusive)
+     * @param endDate   the end date (inclusive)
+     * @return the time entries
+     */
+    public Stream<TimeEntry> streamByUserIdAndDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("startDate", startDate)
+                .addValue("endDate", endDate);
+
+        return jdbcTemplate.queryForStream(SQL, parameters, (rs, rowNum) -> TimeEntry.builder()
+                .id(rs.getLong("id"))
+                .entryDate(rs.getObject("entry_date", LocalDate.class))
+                .clockIn(rs.getObject("clock_in", LocalDateTime.class))
+                .clockOut(rs.getObject("clock_out", LocalDateTime.class))
+                .breakMinutes(rs.getInt("break_minutes"))
+                .entryType(EntryType.valueOf(rs.getString("entry_type")))
+                .notes(rs.getString("notes"))
+                .build());
+    }
+}
@@ -0,0 +1,81 @@
+package cc.remer.timetrack.adapter.persistence;
+
+import cc.remer.timetrack.domain.timeentry.TimeEntry;
+import cc.remer.timetrack.domain.timeentry.TimeEntryFilter;
+import cc.remer.timetrack.domain.timeentry.TimeEntryPosition;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Reads the time entries of a user one page at a time, newest first.
+ *
+ * Pages are addressed by keyset: the next page starts after the (entry date, clock-in, ID) of the last
+ * entry of the previous one. Unlike an offset, this lets the database seek directly to the page through
+ * the index on these columns, however far back the user browses. Only the criteria that are set are
+ * added to the statement.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TimeEntryPageRepository {
+
+    private static final String SELECT = """
+            SELECT %s
+            FROM time_entries
+            WHERE user_id = :userId
+            """.formatted(TimeEntryRowMapper.COLUMNS);
+
+    private static final String ORDER_BY = """
+            ORDER BY entry_date DESC, clock_in DESC, id DESC
+            LIMIT :limit
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Find the entries of a user matching a filter, ordered by entry date, clock-in and ID descending.
+     * The entries are detached and only carry the ID of their user.
+     *
+     * @param userId the user ID
+     * @param filter the criteria the entries must match
+     * @param after  position of the last entry of the previous page, null for the first page
+     * @param limit  maximum number of entries to return
+     * @return the entries of the page
+     */
+    public List<TimeEntry> findPage(Long userId, TimeEntryFilter filter, TimeEntryPosition after, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("limit", limit);
+
+        if (filter.startDate() != null) {
+            sql.append("AND entry_date >= :startDate\n");
+            parameters.addValue("startDate", filter.startDate());
+        }
+        if (filter.endDate() != null) {
+            sql.append("AND entry_date <= :endDate\n");
+            parameters.addValue("endDate", filter.endDate());
+        }
+        if (filter.entryType() != null) {
+            sql.append("AND entry_type = :entryType\n");
+            parameters.addValue("entryType", filter.entryType().name());
+        }
+        if (filter.hasNotes() != null) {
+            sql.append(filter.hasNotes()
+                    ? "AND btrim(notes) <> ''\n"
+                    : "AND (notes IS NULL OR btrim(notes) = '')\n");
+        }
+        if (after != null) {
+            sql.append("AND (entry_date, clock_in, id) < (:afterDate, :afterClockIn, :afterId)\n");
+            parameters.addValue("afterDate", after.entryDate())
+                    .addValue("afterClockIn", after.clockIn())
+                    .addValue("afterId", after.id());
+        }
+        sql.append(ORDER_BY);
+
+        return jdbcTemplate.query(sql.toString(), parameters, new TimeEntryRowMapper(userId));
+    }
+}
@@ -62,6 +62,28 @@ public interface TimeEntryRepository extends JpaRepository<TimeEntry, Long> {
      */
     Optional<TimeEntry> findByUserIdAndClockOutIsNull(Long userId);
 
+    /**
+     * Find the earliest entry of a user overlapping a time range, using the index of the overlap constraint.
+     * Active entries extend indefinitely.
+     *
+     * @param userId the user ID
+     * @param clockIn start of the range
+     * @param clockOut end of the range
+     * @param excludeId ID of an entry to ignore, e.g. the one being updated (null = none)
+     * @return the overlapping entry, if any
+     */
+    @Query(value = "SELECT * FROM time_entries WHERE user_id = :userId " +
+            "AND (CAST(:excludeId AS BIGINT) IS NULL OR id <> :excludeId) " +
+            "AND tsrange(clock_in, clock_out, '[)') && tsrange(CAST(:clockIn AS TIMESTAMP), CAST(:clockOut AS TIMESTAMP), '[)') " +
+            "ORDER BY clock_in LIMIT 1",
+            nativeQuery = true)
+    Optional<TimeEntry> findFirstOverlapping(
+            @Param("userId") Long userId,
+            @Param("clockIn") LocalDateTime clockIn,
+            @Param("clockOut") LocalDateTime clockOut,
+            @Param("excludeId") Long excludeId
+    );
+
     /**
      * Find all time entries of a specific type for a user.
      *
@@ -87,30 +109,6 @@ public interface TimeEntryRepository extends JpaRepository<TimeEntry, Long> {
             EntryType entryType
     );
 
-    /**
-     * Check if there are any overlapping time entries for a user.
-     *
-     * @param userId the user ID
-     * @param clockIn the clock in time
-     * @param clockOut the clock out time (can be null for active entries)
-     * @param excludeId the ID to exclude from the check (for updates)
-     * @return true if overlapping entries exist
-     */
-    @Query("SELECT CASE WHEN COUNT(te) > 0 THEN true ELSE false END FROM TimeEntry te " +
-            "WHERE te.user.id = :userId " +
-            "AND (CAST(:excludeId AS long) IS NULL OR te.id != :excludeId) " +
-            "AND (" +
-            "  (te.clockOut IS NULL) OR " +
-            "  (CAST(:clockOut AS timestamp) IS NULL) OR " +
-            "  (te.clockIn < :clockOut AND (te.clockOut IS NULL OR te.clockOut > :clockIn))" +
-            ")")
-    boolean hasOverlappingEntries(
-            @Param("userId") Long userId,
-            @Param("clockIn") LocalDateTime clockIn,
-            @Param("clockOut") LocalDateTime clockOut,
-            @Param("excludeId") Long excludeId
-    );
-
     /**
      * Calculate total hours worked for a user within a date range.
      *
@@ -0,0 +1,42 @@
+package cc.remer.timetrack.adapter.persistence;
+
+import cc.remer.timetrack.domain.timeentry.EntryType;
+import cc.remer.timetrack.domain.timeentry.TimeEntry;
+import cc.remer.timetrack.domain.user.User;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Maps rows of {@code time_entries} to detached entries that only carry the ID of their user.
+ */
+final class TimeEntryRowMapper implements RowMapper<TimeEntry> {
+
+    static final String COLUMNS =
+            "id, entry_date, clock_in, clock_out, break_minutes, entry_type, notes, created_at, updated_at";
+
+    private final User user;
+
+    TimeEntryRowMapper(Long userId) {
+        this.user = User.builder().id(userId).build();
+    }
+
+    @Override
+    public TimeEntry mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return TimeEntry.builder()
+                .id(rs.getLong("id"))
+                .user(user)
+                .entryDate(rs.getObject("entry_date", LocalDate.class))
+                .clockIn(rs.getObject("clock_in", LocalDateTime.class))
+                .clockOut(rs.getObject("clock_out", LocalDateTime.class))
+                .breakMinutes(rs.getInt("break_minutes"))
+                .entryType(EntryType.valueOf(rs.getString("entry_type")))
+                .notes(rs.getString("notes"))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                .build();
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -75,4 +76,61 @@ public interface TimeOffRepository extends JpaRepository<TimeOff, Long> {
            "AND t.startDate <= :date AND t.endDate >= :date")
     List<TimeOff> findByUserIdAndDate(@Param("userId") Long userId,
                                        @Param("date") LocalDate date);
+
+    /**
+     * Find all time off entries of a user with the given type.
+     *
+     * @param userId the user ID
+     * @param timeOffType the time off type
+     * @return list of time off entries
+     */
+    List<TimeOff> findByUserIdAndTimeOffType(Long userId, TimeOffType timeOffType);
+
+    /**
+     * Find time off entries of a type whose vacation days have not been stored yet.
+     *
+     * @param timeOffType the time off type
+     * @return list of time off entries
+     */
+    List<TimeOff> findByTimeOffTypeAndVacationDaysIsNull(TimeOffType timeOffType);
+
+    /**
+     * Sum the stored vacation days of a user's entries overlapping a date range.
+     *
+     * @param userId the user ID
+     * @param timeOffType the time off type
+     * @param rangeStart the start of the range
+     * @param rangeEnd the end of the range
+     * @return sum of vacation days, or null if there are no entries
+     */
+    @Query("SELECT SUM(t.vacationDays) FROM TimeOff t WHERE t.user.id = :userId " +
+           "AND t.timeOffType = :timeOffType " +
+           "AND t.startDate <= :rangeEnd AND t.endDate >= :rangeStart")
+    BigDecimal sumVacationDays(@Param("userId") Long userId,
+                               @Param("timeOffType") TimeOffType timeOffType,
+                               @Param("rangeStart") LocalDate rangeStart,
+                               @Param("rangeEnd") LocalDate rangeEnd);
+
+    /**
+     * Sum the stored vacation days of a user's entries overlapping a date range
+     * that ended after one date and on or before another.
+     *
+     * @param userId the user ID
+     * @param timeOffType the time off type
+     * @param rangeStart the start of the range
+     * @param rangeEnd the end of the range
+     * @param endedAfter entries must end after this date (exclusive)
+     * @param endedUntil entries must end on or before this date (inclusive)
+     * @return sum of vacation days, or null if there are no entries
+     */
+    @Query("SELECT SUM(t.vacationDays) FROM TimeOff t WHERE t.user.id = :userId " +
+           "AND t.timeOffType = :timeOffType " +
+           "AND t.startDate <= :rangeEnd AND t.endDate >= :rangeStart " +
+           "AND t.endDate > :endedAfter AND t.endDate <= :endedUntil")
+    BigDecimal sumVacationDaysEndedBetween(@Param("userId") Long userId,
+                                           @Param("timeOffType") TimeOffType timeOffType,
+                                           @Param("rangeStart") LocalDate rangeStart,
+                                           @Param("rangeEnd") LocalDate rangeEnd,
+                                           @Param("endedAfter") LocalDate endedAfter,
+                                           @Param("endedUntil") LocalDate endedUntil);
 }
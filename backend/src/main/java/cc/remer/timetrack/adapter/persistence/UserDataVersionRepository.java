@@ -0,0 +1,74 @@
+package cc.remer.timetrack.adapter.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Stores the data version of each user, a counter bumped whenever the user's data changes.
+ *
+ * The row of a user is locked by the bump until the changing transaction ends, so concurrent changes
+ * of the same user get distinct versions and the version is never visible before the change itself.
+ * Changes to synced records are also counted by the triggers maintaining the sync change log.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserDataVersionRepository {
+
+    private static final String INCREMENT_SQL = """
+            INSERT INTO user_data_versions (user_id, version)
+            VALUES (:userId, 1)
+            ON CONFLICT (user_id) DO UPDATE SET version = user_data_versions.version + 1
+            RETURNING version
+            """;
+
+    private static final String FIND_SQL = """
+            SELECT version FROM user_data_versions WHERE user_id = :userId
+            """;
+
+    private static final String FIND_PURGED_SQL = """
+            SELECT purged_version FROM user_data_versions WHERE user_id = :userId
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Bump the data version of a user.
+     *
+     * @param userId the user ID
+     * @return the new version
+     */
+    public long increment(Long userId) {
+        Long version = jdbcTemplate.queryForObject(INCREMENT_SQL, userParameters(userId), Long.class);
+        return version != null ? version : 0L;
+    }
+
+    /**
+     * Find the current data version of a user.
+     *
+     * @param userId the user ID
+     * @return the version, 0 if the user's data has never changed
+     */
+    public long find(Long userId) {
+        return jdbcTemplate.queryForList(FIND_SQL, userParameters(userId), Long.class).stream()
+                .findFirst()
+                .orElse(0L);
+    }
+
+    /**
+     * Find the highest data version of a user whose sync tombstones have been purged.
+     *
+     * @param userId the user ID
+     * @return the version, 0 if no tombstones have been purged
+     */
+    public long findPurgedVersion(Long userId) {
+        return jdbcTemplate.queryForList(FIND_PURGED_SQL, userParameters(userId), Long.class).stream()
+                .findFirst()
+                .orElse(0L);
+    }
+
+    private static MapSqlParameterSource userParameters(Long userId) {
+        return new MapSqlParameterSource().addValue("userId", userId);
+    }
+}
@@ -3,8 +3,11 @@ package cc.remer.timetrack.adapter.persistence;
 import cc.remer.timetrack.domain.user.Role;
 import cc.remer.timetrack.domain.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -54,4 +57,32 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return list of users matching the criteria
      */
     List<User> findByRoleAndActive(Role role, Boolean active);
+
+    /**
+     * Describe the state of all data a monthly report of a user is built from.
+     * Combines the row count and latest update of the user's time entries and time-off in the period,
+     * working hours, recurring off-days and their exemptions in the period, and the user itself.
+     * Any insert, update or delete of that data changes the result.
+     *
+     * @param userId the user ID
+     * @param startDate the first day of the period
+     * @param endDate the last day of the period
+     * @return the data watermark
+     */
+    @Query(nativeQuery = true, value = "SELECT CONCAT_WS('|', " +
+            "(SELECT CAST(u.updated_at AS text) FROM users u WHERE u.id = :userId), " +
+            "(SELECT COUNT(*) || ':' || COALESCE(CAST(MAX(te.updated_at) AS text), '') FROM time_entries te " +
+            "  WHERE te.user_id = :userId AND te.entry_date BETWEEN :startDate AND :endDate), " +
+            "(SELECT COUNT(*) || ':' || COALESCE(CAST(MAX(t.updated_at) AS text), '') FROM time_off t " +
+            "  WHERE t.user_id = :userId AND t.start_date <= :endDate AND t.end_date >= :startDate), " +
+            "(SELECT COUNT(*) || ':' || COALESCE(CAST(MAX(wh.updated_at) AS text), '') FROM working_hours wh " +
+            "  WHERE wh.user_id = :userId), " +
+            "(SELECT COUNT(*) || ':' || COALESCE(CAST(MAX(r.updated_at) AS text), '') FROM recurring_off_days r " +
+            "  WHERE r.user_id = :userId), " +
+            "(SELECT COUNT(*) || ':' || COALESCE(CAST(MAX(e.created_at) AS text), '') FROM recurring_off_day_exemptions e " +
+            "  JOIN recurring_off_days r ON r.id = e.recurring_off_day_id " +
+            "  WHERE r.user_id = :userId AND e.exemption_date BETWEEN :startDate AND :endDate))")
+    String findReportDataWatermark(@Param("userId") Long userId,
+                                   @Param("startDate") LocalDate startDate,
+                                   @Param("endDate") LocalDate endDate);
 }
@@ -4,6 +4,8 @@ import cc.remer.timetrack.domain.vacationbalance.VacationBalance;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -29,4 +31,19 @@ public interface VacationBalanceRepository extends JpaRepository<VacationBalance
      * @return true if exists
      */
     boolean existsByUserIdAndYear(Long userId, Integer year);
+
+    /**
+     * Find vacation balances whose used days have not been rolled forward to the given date.
+     *
+     * @param date the date
+     * @return list of vacation balances
+     */
+    List<VacationBalance> findByUsedThroughBefore(LocalDate date);
+
+    /**
+     * Find vacation balances that have not been initialized from the time-off entries yet.
+     *
+     * @return list of vacation balances
+     */
+    List<VacationBalance> findByUsedThroughIsNull();
 }
@@ -9,17 +9,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * JWT authentication filter that validates JWT tokens in requests.
+ * The principal is built from the token's claims; see {@link PrincipalCache}.
  */
 @Component
 @RequiredArgsConstructor
@@ -27,7 +27,7 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
-    private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(
@@ -38,23 +38,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                Long userId = tokenProvider.getUserIdFromToken(jwt);
-                String email = tokenProvider.getEmailFromToken(jwt);
+            Optional<JwtClaims> claims = StringUtils.hasText(jwt) ? tokenProvider.verify(jwt) : Optional.empty();
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            Optional<UserPrincipal> principal = claims.flatMap(principalCache::resolve);
+
+            if (principal.isPresent() && principal.get().isEnabled()) {
+                UserPrincipal userPrincipal = principal.get();
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
-                                userDetails,
+                                userPrincipal,
                                 null,
-                                userDetails.getAuthorities()
+                                userPrincipal.getAuthorities()
                         );
 
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
 
-                log.debug("Set authentication for user: {}", email);
+                log.debug("Set authentication for user: {}", userPrincipal.getEmail());
+            } else if (claims.isPresent()) {
+                log.debug("Rejected token of unknown or inactive user: {}", claims.get().userId());
             }
         } catch (Exception e) {
             log.error("Could not set user authentication in security context", e);
@@ -0,0 +1,25 @@
+package cc.remer.timetrack.adapter.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The verified claims of a JWT token.
+ *
+ * @param userId         the user ID (subject)
+ * @param email          the user's email address
+ * @param authorities    the granted authorities, e.g. {@code ROLE_ADMIN}
+ * @param impersonatedBy the ID of the admin impersonating the user, or null
+ * @param expiresAt      when the token expires
+ */
+public record JwtClaims(
+        Long userId,
+        String email,
+        List<String> authorities,
+        Long impersonatedBy,
+        Instant expiresAt) {
+
+    public JwtClaims {
+        authorities = List.copyOf(authorities);
+    }
+}
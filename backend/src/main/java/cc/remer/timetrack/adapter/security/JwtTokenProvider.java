@@ -3,7 +3,6 @@ package cc.remer.timetrack.adapter.security;
 import cc.remer.timetrack.config.JwtProperties;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -11,18 +10,53 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
  * JWT token provider for generating and validating JWT tokens.
+ *
+ * The signing key and parser are built once. Verified tokens are kept in a bounded LRU cache keyed
+ * by the token's SHA-256 hash until they expire, so a client sending the same token on every request
+ * only pays for the signature check once.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtTokenProvider {
 
     private final JwtProperties jwtProperties;
+    private final Clock clock;
+
+    /**
+     * Built once from the secret; both are immutable and thread-safe.
+     */
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+
+    /**
+     * Claims of recently verified tokens by token hash, or null if disabled.
+     */
+    private final Map<String, JwtClaims> verifiedTokens;
+
+    public JwtTokenProvider(JwtProperties jwtProperties, Clock clock) {
+        this.jwtProperties = jwtProperties;
+        this.clock = clock;
+        this.signingKey = createSigningKey(jwtProperties.getSecret());
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .clock(() -> Date.from(clock.instant()))
+                .build();
+        this.verifiedTokens = createVerifiedTokenCache(jwtProperties.getVerifiedTokenCacheSize());
+    }
 
     /**
      * Generate an access token for the authenticated user.
@@ -54,7 +88,7 @@ public class JwtTokenProvider {
     private String generateToken(Authentication authentication, Long expirationMs) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
 
-        Date now = new Date();
+        Date now = Date.from(clock.instant());
         Date expiryDate = new Date(now.getTime() + expirationMs);
 
         String authorities = authentication.getAuthorities().stream()
@@ -73,41 +107,19 @@ public class JwtTokenProvider {
             builder.claim("impersonatedBy", userPrincipal.getImpersonatedBy());
         }
 
-        return builder.signWith(getSigningKey()).compact();
-    }
-
-    /**
-     * Extract user ID from JWT token.
-     *
-     * @param token the JWT token
-     * @return user ID
-     */
-    public Long getUserIdFromToken(String token) {
-        Claims claims = parseToken(token);
-        return Long.parseLong(claims.getSubject());
-    }
-
-    /**
-     * Extract email from JWT token.
-     *
-     * @param token the JWT token
-     * @return email address
-     */
-    public String getEmailFromToken(String token) {
-        Claims claims = parseToken(token);
-        return claims.get("email", String.class);
+        return builder.signWith(signingKey).compact();
     }
 
     /**
-     * Validate JWT token.
+     * Verify a JWT token and extract its claims.
+     * Claims of tokens verified before are served from the cache until the token expires.
      *
      * @param token the JWT token
-     * @return true if token is valid
+     * @return the claims, or empty if the token is invalid or expired
      */
-    public boolean validateToken(String token) {
+    public Optional<JwtClaims> verify(String token) {
         try {
-            parseToken(token);
-            return true;
+            return Optional.of(parseToken(token));
         } catch (SecurityException | MalformedJwtException e) {
             log.error("Invalid JWT signature: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -116,31 +128,88 @@ public class JwtTokenProvider {
             log.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             log.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            log.error("Invalid JWT token: {}", e.getMessage());
         }
-        return false;
+        return Optional.empty();
     }
 
     /**
-     * Parse and validate JWT token.
+     * Parse and validate JWT token, using the cache of verified tokens.
      *
      * @param token the JWT token
      * @return claims from the token
+     * @throws JwtException if the token is invalid or expired
+     * @throws IllegalArgumentException if the token is empty
      */
-    private Claims parseToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private JwtClaims parseToken(String token) {
+        if (verifiedTokens == null || token == null || token.isEmpty()) {
+            return toClaims(jwtParser.parseSignedClaims(token).getPayload());
+        }
+
+        String key = tokenHash(token);
+        JwtClaims cached = verifiedTokens.get(key);
+        if (cached != null) {
+            if (cached.expiresAt().isAfter(clock.instant())) {
+                return cached;
+            }
+            verifiedTokens.remove(key);
+        }
+
+        // Verify the signature; throws for invalid and expired tokens, which are never cached
+        JwtClaims claims = toClaims(jwtParser.parseSignedClaims(token).getPayload());
+        verifiedTokens.put(key, claims);
+        return claims;
+    }
+
+    private static JwtClaims toClaims(Claims claims) {
+        String authorities = claims.get("authorities", String.class);
+        return new JwtClaims(
+                Long.parseLong(claims.getSubject()),
+                claims.get("email", String.class),
+                authorities == null || authorities.isEmpty() ? List.of() : List.of(authorities.split(",")),
+                claims.get("impersonatedBy", Long.class),
+                claims.getExpiration().toInstant());
+    }
+
+    /**
+     * Hash a token for the cache key, so the cache doesn't hold usable tokens.
+     */
+    private static String tokenHash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     /**
-     * Get the signing key from the secret.
+     * Create the signing key from the secret.
      *
+     * @param secret the secret
      * @return signing key
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8);
+    private static SecretKey createSigningKey(String secret) {
+        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
         return Keys.hmacShaKeyFor(keyBytes);
     }
+
+    /**
+     * Create a size-bounded map evicting the least recently used entry.
+     *
+     * @param maxSize the maximum number of entries
+     * @return the map, or null if the cache is disabled
+     */
+    private static Map<String, JwtClaims> createVerifiedTokenCache(int maxSize) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JwtClaims> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
 }
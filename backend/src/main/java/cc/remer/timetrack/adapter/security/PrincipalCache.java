@@ -0,0 +1,126 @@
+package cc.remer.timetrack.adapter.security;
+
+import cc.remer.timetrack.adapter.persistence.UserRepository;
+import cc.remer.timetrack.config.JwtProperties;
+import cc.remer.timetrack.domain.user.Role;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds the principal of authenticated requests from verified JWT claims.
+ *
+ * The token carries the user's ID and email; the current role and active status are read from the
+ * database and cached per user for {@code app.jwt.principal-cache-ttl}, so most requests don't
+ * query the users table. Use cases changing a user call {@link #evict} so changes take effect on
+ * the next request.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final JwtProperties jwtProperties;
+    private final Clock clock;
+
+    private final Map<Long, CachedUser> users = new ConcurrentHashMap<>();
+
+    /**
+     * Evictions per user, so a load that started before an eviction isn't cached after it.
+     */
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    /**
+     * The state of a user the principal depends on.
+     */
+    private record CachedUser(String email, Role role, boolean active, Instant loadedAt) {
+    }
+
+    /**
+     * Build the principal for verified claims.
+     *
+     * @param claims the verified token claims
+     * @return the principal, or empty if the user no longer exists or the email has changed
+     */
+    public Optional<UserPrincipal> resolve(JwtClaims claims) {
+        CachedUser user = getUser(claims.userId());
+
+        // Tokens issued for a previous email are no longer accepted
+        if (user == null || !user.email().equals(claims.email())) {
+            return Optional.empty();
+        }
+
+        return Optional.of(UserPrincipal.builder()
+                .id(claims.userId())
+                .email(claims.email())
+                .password(null)
+                .role(user.role())
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_" + user.role().name())))
+                .enabled(user.active())
+                .impersonatedBy(claims.impersonatedBy())
+                .build());
+    }
+
+    /**
+     * Remove a user from the cache.
+     * Within a transaction, the user is removed again after commit. A request that loaded the user
+     * before that doesn't cache what it loaded, so the state from before the change is never
+     * served after the commit.
+     *
+     * @param userId the user ID
+     */
+    public void evict(Long userId) {
+        invalidate(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(userId);
+                }
+            });
+        }
+        log.debug("Evicted cached principal of user {}", userId);
+    }
+
+    private CachedUser getUser(Long userId) {
+        Instant now = clock.instant();
+        Duration ttl = Duration.ofMillis(jwtProperties.getPrincipalCacheTtl());
+
+        CachedUser cached = users.get(userId);
+        if (cached != null && cached.loadedAt().plus(ttl).isAfter(now)) {
+            return cached;
+        }
+
+        long generation = generations.getOrDefault(userId, 0L);
+        CachedUser loaded = userRepository.findById(userId)
+                .map(user -> new CachedUser(user.getEmail(), user.getRole(), Boolean.TRUE.equals(user.getActive()), now))
+                .orElse(null);
+
+        if (loaded == null) {
+            users.remove(userId);
+        } else {
+            // Evictions lock the same entry, so either this load is discarded or the eviction follows it
+            users.compute(userId, (id, current) ->
+                    generations.getOrDefault(id, 0L) == generation ? loaded : current);
+        }
+        return loaded;
+    }
+
+    private void invalidate(Long userId) {
+        generations.merge(userId, 1L, Long::sum);
+        users.remove(userId);
+    }
+}
@@ -1,5 +1,9 @@
 package cc.remer.timetrack.adapter.security;
 
+import cc.remer.timetrack.adapter.web.DataVersionInterceptor;
+import cc.remer.timetrack.config.LoginProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.security.autoconfigure.actuate.web.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
@@ -38,6 +42,8 @@ public class SecurityConfig {
 
   private final JwtAuthenticationFilter jwtAuthenticationFilter;
   private final UserDetailsService userDetailsService;
+  private final LoginProperties loginProperties;
+  private final MeterRegistry meterRegistry;
 
   @Bean
   public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -46,6 +52,8 @@ public class SecurityConfig {
         .cors(cors -> cors.configurationSource(corsConfigurationSource()))
         .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .authorizeHttpRequests(auth -> auth
+            // Async dispatches (streamed responses) belong to a request that was already authorized
+            .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
             .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll()
             // Public endpoints - permit all with anonymous access
             .requestMatchers(
@@ -94,9 +102,13 @@ public class SecurityConfig {
     return config.getAuthenticationManager();
   }
 
+  /**
+   * BCrypt runs on its own bounded pool so a burst of logins can't occupy every request thread and core.
+   */
   @Bean
   public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+    return new BoundedPasswordEncoder(new BCryptPasswordEncoder(),
+        loginProperties.getHashWorkers(), loginProperties.getHashQueueCapacity(), meterRegistry);
   }
 
   @Bean
@@ -105,6 +117,8 @@ public class SecurityConfig {
     configuration.setAllowedOriginPatterns(List.of("*"));
     configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
     configuration.setAllowedHeaders(List.of("*"));
+    // Lets the frontend read the sync token of the data it loaded
+    configuration.setExposedHeaders(List.of(DataVersionInterceptor.SYNC_TOKEN_HEADER));
     configuration.setAllowCredentials(true);
     configuration.setMaxAge(3600L);
 
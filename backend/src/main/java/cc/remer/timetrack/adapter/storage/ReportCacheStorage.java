@@ -0,0 +1,111 @@
+package cc.remer.timetrack.adapter.storage;
+
+import cc.remer.timetrack.adapter.storage.ReportFileStorage.ContentWriter;
+import cc.remer.timetrack.config.ReportProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Stores cached report files on local disk, named by their content key.
+ *
+ * A file's modification time is updated whenever it is used, so files that haven't been
+ * used for a while can be removed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReportCacheStorage {
+
+    private final ReportProperties reportProperties;
+
+    /**
+     * Find a cached file and mark it as used.
+     *
+     * @param key       the content key
+     * @param extension the file extension (without dot)
+     * @return the file path, or empty if the file isn't cached
+     */
+    public Optional<Path> find(String key, String extension) {
+        Path file = path(key, extension);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            // Removed by the cleanup in the meantime
+            return Optional.empty();
+        }
+        return Optional.of(file);
+    }
+
+    /**
+     * Write a file to the cache, replacing an existing one.
+     *
+     * @param key       the content key
+     * @param extension the file extension (without dot)
+     * @param writer    writes the file content
+     * @return the cached file
+     * @throws IOException if the file can't be written
+     */
+    public Path write(String key, String extension, ContentWriter writer) throws IOException {
+        Path directory = reportProperties.getCacheDirectory();
+        Files.createDirectories(directory);
+
+        Path target = path(key, extension);
+        Path tempFile = Files.createTempFile(directory, key + "-", ".tmp");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                writer.write(outputStream);
+            }
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        return target;
+    }
+
+    /**
+     * Delete cached files that haven't been used since the given time.
+     *
+     * @param cutoff the cutoff time (exclusive)
+     * @return the number of deleted files
+     */
+    public int deleteUnusedSince(Instant cutoff) {
+        Path directory = reportProperties.getCacheDirectory();
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                try {
+                    if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff) && Files.deleteIfExists(file)) {
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    log.warn("Failed to delete cached report file {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to list report cache directory {}: {}", directory, e.getMessage());
+        }
+        return deleted;
+    }
+
+    private Path path(String key, String extension) {
+        return reportProperties.getCacheDirectory().resolve(key + "." + extension);
+    }
+}
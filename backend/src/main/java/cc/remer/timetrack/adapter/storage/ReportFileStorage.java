@@ -0,0 +1,142 @@
+package cc.remer.timetrack.adapter.storage;
+
+import cc.remer.timetrack.config.ReportProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stores the files of report jobs on local disk.
+ *
+ * Files are named by job ID and written to a temporary file first, so a file that exists is always complete.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReportFileStorage {
+
+    private static final Pattern JOB_FILE_NAME = Pattern.compile("(\\d+)\\.\\w+");
+
+    private final ReportProperties reportProperties;
+
+    /**
+     * Writes the content of a file.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void write(OutputStream outputStream) throws IOException;
+    }
+
+    /**
+     * Write the file of a report job, replacing an existing one.
+     *
+     * @param jobId     the report job ID
+     * @param extension the file extension (without dot)
+     * @param writer    writes the file content
+     * @return the size of the written file in bytes
+     * @throws IOException if the file can't be written
+     */
+    public long write(Long jobId, String extension, ContentWriter writer) throws IOException {
+        Path directory = reportProperties.getJobDirectory();
+        Files.createDirectories(directory);
+
+        Path target = path(jobId, extension);
+        Path tempFile = Files.createTempFile(directory, "report-" + jobId + "-", ".tmp");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                writer.write(outputStream);
+            }
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+
+        long size = Files.size(target);
+        log.debug("Stored report file {} ({} bytes)", target, size);
+        return size;
+    }
+
+    /**
+     * Find the file of a report job.
+     *
+     * @param jobId     the report job ID
+     * @param extension the file extension (without dot)
+     * @return the file path, or empty if the file doesn't exist
+     */
+    public Optional<Path> find(Long jobId, String extension) {
+        Path file = path(jobId, extension);
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    /**
+     * Delete the file of a report job, if it exists.
+     *
+     * @param jobId     the report job ID
+     * @param extension the file extension (without dot)
+     */
+    public void delete(Long jobId, String extension) {
+        Path file = path(jobId, extension);
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete report file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Find the IDs of all jobs that have a stored file.
+     *
+     * @return the report job IDs, empty if nothing was stored yet
+     */
+    public Set<Long> findJobIds() {
+        Path directory = reportProperties.getJobDirectory();
+        if (!Files.isDirectory(directory)) {
+            return Set.of();
+        }
+        Set<Long> jobIds = new HashSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                // Temporary files of writes in progress don't match
+                Matcher matcher = JOB_FILE_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    jobIds.add(Long.parseLong(matcher.group(1)));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to list report files in {}: {}", directory, e.getMessage());
+        }
+        return jobIds;
+    }
+
+    /**
+     * Delete all files of a report job, whatever their format.
+     *
+     * @param jobId the report job ID
+     */
+    public void deleteAll(Long jobId) {
+        Path directory = reportProperties.getJobDirectory();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, jobId + ".*")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to delete report files of job {}: {}", jobId, e.getMessage());
+        }
+    }
+
+    private Path path(Long jobId, String extension) {
+        return reportProperties.getJobDirectory().resolve(jobId + "." + extension);
+    }
+}
@@ -12,6 +12,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 /**
  * Controller for authentication endpoints.
@@ -28,7 +30,7 @@ public class AuthenticationController implements AuthenticationApi {
     @Override
     public ResponseEntity<AuthResponse> login(LoginRequest loginRequest) {
         log.debug("Login request received for email: {}", loginRequest.getEmail());
-        AuthResponse response = loginUseCase.execute(loginRequest);
+        AuthResponse response = loginUseCase.execute(loginRequest, getClientIp());
         return ResponseEntity.ok(response);
     }
 
@@ -47,4 +49,11 @@ public class AuthenticationController implements AuthenticationApi {
         logoutUseCase.execute(authentication);
         return ResponseEntity.noContent().build();
     }
+
+    private String getClientIp() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
 }
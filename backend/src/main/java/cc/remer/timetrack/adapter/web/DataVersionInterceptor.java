@@ -0,0 +1,133 @@
+package cc.remer.timetrack.adapter.web;
+
+import cc.remer.timetrack.adapter.security.UserPrincipal;
+import cc.remer.timetrack.usecase.sync.SyncToken;
+import cc.remer.timetrack.usecase.userevent.UserDataVersionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Enumeration;
+
+/**
+ * Answers conditional GET requests for the current user's data with 304 Not Modified before the
+ * controller runs, as long as none of the user's data has changed since.
+ *
+ * The ETag is derived from the user's data version, so a single key lookup replaces loading and
+ * serializing the response. It also contains the user ID, so a browser shared by several users
+ * never revalidates one user's cached response with another user's version, and today's date,
+ * as some responses (e.g. taken vs. planned vacation) depend on it.
+ *
+ * The response also carries the sync token of the same version, so a client loading its data can
+ * sync from there on without asking for a token separately.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DataVersionInterceptor implements HandlerInterceptor {
+
+    /**
+     * Read endpoints whose responses only depend on the current user's data and the date.
+     */
+    static final String[] VERSIONED_PATHS = {
+            "/api/time-entries",
+            "/api/time-entries/daily-summary",
+            "/api/time-off",
+            "/api/working-hours",
+            "/api/vacation-balance",
+            "/api/users/me"
+    };
+
+    /**
+     * Response header with the sync token of the data version the response was read at.
+     */
+    public static final String SYNC_TOKEN_HEADER = "Sync-Token";
+
+    private final UserDataVersionService userDataVersionService;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        Long userId = getCurrentUserId();
+        if (userId == null) {
+            return true;
+        }
+
+        // Read before the controller loads the data, so the tag is never newer than the response
+        long version = userDataVersionService.getVersion(userId);
+        String etag = buildEtag(userId, version, LocalDate.now(clock));
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(SYNC_TOKEN_HEADER, SyncToken.encode(userId, version));
+        // Cached responses must be revalidated, they can go stale at any time
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+        if (matches(request.getHeaders(HttpHeaders.IF_NONE_MATCH), etag)) {
+            count("not_modified");
+            log.debug("{} {} not modified for user {}", request.getMethod(), request.getRequestURI(), userId);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        count("modified");
+        return true;
+    }
+
+    /**
+     * Build the weak ETag of a user's data.
+     *
+     * @param userId  the user ID
+     * @param version the user's data version
+     * @param today   the current date
+     * @return the ETag, including quotes and weak prefix
+     */
+    static String buildEtag(Long userId, long version, LocalDate today) {
+        return "W/\"" + userId + "-" + version + "-" + today.format(DateTimeFormatter.BASIC_ISO_DATE) + "\"";
+    }
+
+    /**
+     * Check the If-None-Match headers against an ETag, using weak comparison.
+     */
+    static boolean matches(Enumeration<String> ifNoneMatch, String etag) {
+        String opaqueTag = stripWeakPrefix(etag);
+        while (ifNoneMatch.hasMoreElements()) {
+            for (String candidate : ifNoneMatch.nextElement().split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || stripWeakPrefix(tag).equals(opaqueTag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeakPrefix(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("http.conditional.requests", "outcome", outcome).increment();
+    }
+
+    private static Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,242 @@
+package cc.remer.timetrack.adapter.web;
+
+import cc.remer.timetrack.adapter.security.UserPrincipal;
+import cc.remer.timetrack.domain.idempotency.IdempotencyRecord;
+import cc.remer.timetrack.exception.IdempotencyKeyInUseException;
+import cc.remer.timetrack.exception.IdempotencyKeyMismatchException;
+import cc.remer.timetrack.usecase.idempotency.IdempotencyService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Makes retries of write requests safe for clients that send an {@code Idempotency-Key} header.
+ *
+ * The first request with a key runs normally and its response is stored for
+ * {@code app.idempotency.ttl}. A retry with the same key and body gets the stored response replayed
+ * without reaching the controller, so it neither repeats the validation and queries of the use case
+ * nor creates a duplicate. Server errors aren't stored, so the request can be retried.
+ *
+ * Runs after the security filter chain, as keys are scoped to the authenticated user.
+ */
+@Component
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+
+    /**
+     * Write endpoints accepting an idempotency key.
+     */
+    private static final Set<String> IDEMPOTENT_PATHS = Set.of(
+            "/api/time-entries/clock-in",
+            "/api/time-entries/clock-out",
+            "/api/time-entries",
+            "/api/time-off"
+    );
+
+    private final IdempotencyService idempotencyService;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final MeterRegistry meterRegistry;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService,
+                             @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+                             MeterRegistry meterRegistry) {
+        this.idempotencyService = idempotencyService;
+        this.exceptionResolver = exceptionResolver;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !IDEMPOTENT_PATHS.contains(getPath(request));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Long userId = getCurrentUserId();
+        if (userId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            exceptionResolver.resolveException(request, response, null, new IllegalArgumentException(
+                    IDEMPOTENCY_KEY_HEADER + " must have 1 to " + MAX_KEY_LENGTH + " characters"));
+            return;
+        }
+
+        byte[] body = request.getInputStream().readAllBytes();
+        String requestHash = hashRequest(request, body);
+
+        Optional<IdempotencyRecord> stored = idempotencyService.find(userId, key);
+        if (stored.isEmpty() && idempotencyService.reserve(userId, key, requestHash)) {
+            execute(new CachedBodyRequest(request, body), response, filterChain, userId, key, requestHash);
+            return;
+        }
+
+        // Lost the reservation to a concurrent request with the same key
+        IdempotencyRecord record = stored.or(() -> idempotencyService.find(userId, key)).orElse(null);
+        if (record == null || !record.isCompleted()) {
+            count("in_progress");
+            exceptionResolver.resolveException(request, response, null, new IdempotencyKeyInUseException(
+                    "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still being processed"));
+        } else if (!record.requestHash().equals(requestHash)) {
+            count("mismatch");
+            exceptionResolver.resolveException(request, response, null, new IdempotencyKeyMismatchException(
+                    IDEMPOTENCY_KEY_HEADER + " has already been used for a different request"));
+        } else {
+            count("replayed");
+            log.debug("Replaying stored response for idempotency key of user {}", userId);
+            replay(record, response);
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         Long userId, String key, String requestHash) throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            int status = responseWrapper.getStatus();
+            if (status < HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+                idempotencyService.complete(userId, key, requestHash, status,
+                        responseWrapper.getContentType(), responseWrapper.getContentAsByteArray());
+                stored = true;
+            }
+            count("executed");
+        } finally {
+            if (!stored) {
+                idempotencyService.release(userId, key);
+            }
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private static void replay(IdempotencyRecord record, HttpServletResponse response) throws IOException {
+        response.setStatus(record.statusCode());
+        if (record.contentType() != null) {
+            response.setContentType(record.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(record.responseBody().length);
+        response.getOutputStream().write(record.responseBody());
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("http.idempotency.requests", "outcome", outcome).increment();
+    }
+
+    private static Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+
+    private static String getPath(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * Digest of what the client asked for: method, path and body.
+     *
+     * @return hex-encoded SHA-256 digest
+     */
+    private static String hashRequest(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + getPath(request) + "\n").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Request whose body has already been read, serving it again to the controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream inputStream = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return inputStream.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Asynchronous reads are not supported");
+                }
+
+                @Override
+                public int read() {
+                    return inputStream.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return inputStream.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
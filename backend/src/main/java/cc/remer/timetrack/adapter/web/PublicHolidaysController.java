@@ -1,66 +1,122 @@
 package cc.remer.timetrack.adapter.web;
 
-import cc.remer.timetrack.api.PublicHolidaysApi;
 import cc.remer.timetrack.api.model.PublicHolidayResponse;
 import cc.remer.timetrack.api.model.PublicHolidaysResponse;
 import cc.remer.timetrack.domain.publicholiday.GermanPublicHolidays;
+import cc.remer.timetrack.domain.publicholiday.PublicHoliday;
 import cc.remer.timetrack.domain.user.GermanState;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * REST controller for public holidays operations.
+ *
+ * Public holidays never change for a given year and state, so each response is built and serialized
+ * once per (years, state) combination and kept in memory as JSON together with a strong ETag derived
+ * from it. Later requests write the stored bytes, clients revalidating with If-None-Match get a 304.
+ *
+ * Not generated from the OpenAPI spec like the other controllers, as the generated interface can't
+ * return the serialized body. The endpoint is still documented in the spec.
  */
 @RestController
 @RequiredArgsConstructor
 @Slf4j
-public class PublicHolidaysController implements PublicHolidaysApi {
+public class PublicHolidaysController {
+
+    /**
+     * Number of years before and after the current year returned when no year is requested.
+     */
+    private static final int DEFAULT_YEAR_RANGE = 2;
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(7)).cachePublic();
 
     private final GermanPublicHolidays germanPublicHolidays;
+    private final Clock clock;
+    private final JsonMapper jsonMapper;
+
+    private final Map<ResponseKey, CachedResponse> responses = new ConcurrentHashMap<>();
+
+    @GetMapping(path = "/api/public-holidays", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getPublicHolidays(@RequestParam(name = "year", required = false) Integer year,
+                                                    @RequestParam(name = "state", required = false) String state) {
+        log.info("GET /public-holidays - year: {}, state: {}", year, state);
+
+        GermanState germanState = parseState(state);
+        ResponseKey key = year != null
+                ? new ResponseKey(year, year, germanState)
+                : defaultWindow(germanState);
+
+        // Only years of the precomputed holiday index are cached, so arbitrary years can't grow the cache
+        CachedResponse response = key.fromYear() >= GermanPublicHolidays.MIN_YEAR
+                && key.toYear() <= GermanPublicHolidays.MAX_YEAR
+                ? responses.computeIfAbsent(key, this::buildResponse)
+                : buildResponse(key);
+
+        // Spring answers a matching If-None-Match with 304 before the body is written
+        return ResponseEntity.ok()
+                .eTag(response.eTag())
+                .cacheControl(CACHE_CONTROL)
+                .body(response.body());
+    }
+
+    private ResponseKey defaultWindow(GermanState state) {
+        int currentYear = LocalDate.now(clock).getYear();
+        return new ResponseKey(currentYear - DEFAULT_YEAR_RANGE, currentYear + DEFAULT_YEAR_RANGE, state);
+    }
+
+    private GermanState parseState(String state) {
+        if (state == null) {
+            return null;
+        }
+        try {
+            return GermanState.valueOf(state);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unbekanntes Bundesland: " + state);
+        }
+    }
 
-    // Map of holiday names in German
-    private static final Map<String, String> HOLIDAY_NAMES = Map.ofEntries(
-            Map.entry("01-01", "Neujahr"),
-            Map.entry("05-01", "Tag der Arbeit"),
-            Map.entry("10-03", "Tag der Deutschen Einheit"),
-            Map.entry("12-25", "1. Weihnachtstag"),
-            Map.entry("12-26", "2. Weihnachtstag"),
-            Map.entry("03-08", "Internationaler Frauentag"),
-            Map.entry("10-31", "Reformationstag")
-    );
-
-    @Override
-    public ResponseEntity<PublicHolidaysResponse> getPublicHolidays() {
-        log.info("GET /public-holidays - Getting public holidays for years 2023-2027 and all states");
-
-        Map<String, Map<String, List<PublicHolidayResponse>>> holidaysByYearAndState = new HashMap<>();
-
-        // Generate holidays for years 2023-2027
-        for (int year = 2023; year <= 2027; year++) {
-            Map<String, List<PublicHolidayResponse>> stateHolidays = new HashMap<>();
-
-            // Generate for both states
-            for (GermanState state : GermanState.values()) {
-                List<LocalDate> holidays = germanPublicHolidays.getPublicHolidays(year, state);
-
-                List<PublicHolidayResponse> holidayResponses = holidays.stream()
-                        .map(date -> {
-                            PublicHolidayResponse holiday = new PublicHolidayResponse();
-                            holiday.setDate(date);
-                            holiday.setName(getHolidayName(date, state));
-                            holiday.setIsStateSpecific(isStateSpecific(date, state));
-                            return holiday;
-                        })
-                        .sorted((h1, h2) -> h1.getDate().compareTo(h2.getDate()))
-                        .collect(Collectors.toList());
+    /**
+     * Build and serialize the response body for the given key along with its ETag.
+     * The body is shared between requests and must not be modified.
+     */
+    private CachedResponse buildResponse(ResponseKey key) {
+        List<GermanState> states = key.state() != null ? List.of(key.state()) : List.of(GermanState.values());
+
+        // Insertion-ordered maps keep the serialized order (and therefore the ETag) stable
+        Map<String, Map<String, List<PublicHolidayResponse>>> holidaysByYearAndState = new LinkedHashMap<>();
+        for (int year = key.fromYear(); year <= key.toYear(); year++) {
+            Map<String, List<PublicHolidayResponse>> stateHolidays = new LinkedHashMap<>();
+
+            for (GermanState state : states) {
+                // Holidays come sorted by date from the precomputed index
+                List<PublicHoliday> holidays = germanPublicHolidays.getHolidays(year, state);
+                List<PublicHolidayResponse> holidayResponses = new ArrayList<>(holidays.size());
+                for (PublicHoliday publicHoliday : holidays) {
+                    PublicHolidayResponse holiday = new PublicHolidayResponse();
+                    holiday.setDate(publicHoliday.date());
+                    holiday.setName(publicHoliday.name());
+                    holiday.setIsStateSpecific(publicHoliday.stateSpecific());
+                    holidayResponses.add(holiday);
+                }
 
                 stateHolidays.put(state.name(), holidayResponses);
             }
@@ -71,62 +127,24 @@ public class PublicHolidaysController implements PublicHolidaysApi {
         PublicHolidaysResponse response = new PublicHolidaysResponse();
         response.setHolidaysByYearAndState(holidaysByYearAndState);
 
-        return ResponseEntity.ok(response);
+        byte[] body = jsonMapper.writeValueAsBytes(response);
+        return new CachedResponse(body, "\"" + HexFormat.of().formatHex(sha256(body)) + "\"");
     }
 
-    /**
-     * Get the name of a holiday based on its date.
-     */
-    private String getHolidayName(LocalDate date, GermanState state) {
-        String key = String.format("%02d-%02d", date.getMonthValue(), date.getDayOfMonth());
-        String name = HOLIDAY_NAMES.get(key);
-        if (name != null) {
-            return name;
-        }
-
-        // Calculate Easter-based holidays
-        LocalDate easterSunday = calculateEasterSunday(date.getYear());
-        if (date.equals(easterSunday.minusDays(2))) {
-            return "Karfreitag";
-        } else if (date.equals(easterSunday.plusDays(1))) {
-            return "Ostermontag";
-        } else if (date.equals(easterSunday.plusDays(39))) {
-            return "Christi Himmelfahrt";
-        } else if (date.equals(easterSunday.plusDays(50))) {
-            return "Pfingstmontag";
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
-
-        return "Feiertag";
     }
 
     /**
-     * Check if a holiday is state-specific.
+     * Requested years (inclusive) and state; a null state means all states.
      */
-    private boolean isStateSpecific(LocalDate date, GermanState state) {
-        String key = String.format("%02d-%02d", date.getMonthValue(), date.getDayOfMonth());
-        return "03-08".equals(key) || "10-31".equals(key);
+    private record ResponseKey(int fromYear, int toYear, GermanState state) {
     }
 
-    /**
-     * Calculate Easter Sunday for a given year using the Computus algorithm.
-     * (Same as GermanPublicHolidays, duplicated here for holiday name calculation)
-     */
-    private LocalDate calculateEasterSunday(int year) {
-        int a = year % 19;
-        int b = year / 100;
-        int c = year % 100;
-        int d = b / 4;
-        int e = b % 4;
-        int f = (b + 8) / 25;
-        int g = (b - f + 1) / 3;
-        int h = (19 * a + b - d - g + 15) % 30;
-        int i = c / 4;
-        int k = c % 4;
-        int l = (32 + 2 * e + 2 * i - h - k) % 7;
-        int m = (a + 11 * h + 22 * l) / 451;
-        int month = (h + l - 7 * m + 114) / 31;
-        int day = ((h + l - 7 * m + 114) % 31) + 1;
-
-        return LocalDate.of(year, month, day);
+    private record CachedResponse(byte[] body, String eTag) {
     }
 }
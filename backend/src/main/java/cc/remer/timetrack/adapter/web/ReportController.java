@@ -0,0 +1,104 @@
+package cc.remer.timetrack.adapter.web;
+
+import cc.remer.timetrack.adapter.security.UserPrincipal;
+import cc.remer.timetrack.api.ReportsApi;
+import cc.remer.timetrack.api.model.CreateReportJobRequest;
+import cc.remer.timetrack.api.model.ReportJobResponse;
+import cc.remer.timetrack.usecase.report.ExportMonthlyReportArchiveUseCase;
+import cc.remer.timetrack.usecase.reportjob.CreateReportJob;
+import cc.remer.timetrack.usecase.reportjob.DownloadReportJob;
+import cc.remer.timetrack.usecase.reportjob.DownloadReportJob.ReportFile;
+import cc.remer.timetrack.usecase.reportjob.GetReportJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * REST controller for report exports across users and background report jobs.
+ */
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class ReportController implements ReportsApi {
+
+    private static final MediaType APPLICATION_ZIP = MediaType.parseMediaType("application/zip");
+
+    private final ExportMonthlyReportArchiveUseCase exportMonthlyReportArchiveUseCase;
+    private final CreateReportJob createReportJob;
+    private final GetReportJob getReportJob;
+    private final DownloadReportJob downloadReportJob;
+
+    private UserPrincipal getCurrentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (UserPrincipal) authentication.getPrincipal();
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportMonthlyReportArchive(Integer year, Integer month,
+                                                                            List<Long> userIds, Boolean includeCsv) {
+        log.info("GET /api/reports/monthly-archive - Export reports for {}-{} (users: {}, CSV: {})",
+                year, month, userIds, includeCsv);
+
+        // Resolve users before streaming starts so invalid requests still get an error response
+        List<Long> exportUserIds = exportMonthlyReportArchiveUseCase.resolveUsers(year, month, userIds);
+        boolean withCsv = Boolean.TRUE.equals(includeCsv);
+
+        String filename = String.format("stundenzettel_%d_%02d.zip", year, month);
+        StreamingResponseBody body = outputStream ->
+                exportMonthlyReportArchiveUseCase.writeArchive(year, month, exportUserIds, withCsv, outputStream);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + filename + "\"")
+                .contentType(APPLICATION_ZIP)
+                .body(body);
+    }
+
+    @Override
+    public ResponseEntity<ReportJobResponse> createReportJob(CreateReportJobRequest createReportJobRequest) {
+        log.info("POST /api/report-jobs - Queue {} report for {}-{}",
+                createReportJobRequest.getFormat(), createReportJobRequest.getYear(), createReportJobRequest.getMonth());
+        UserPrincipal principal = getCurrentPrincipal();
+
+        ReportJobResponse response = createReportJob.execute(principal.getId(), principal.getRole(), createReportJobRequest);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/report-jobs/" + response.getId()))
+                .body(response);
+    }
+
+    @Override
+    public ResponseEntity<ReportJobResponse> getReportJob(Long id) {
+        log.info("GET /api/report-jobs/{} - Get report job", id);
+        UserPrincipal principal = getCurrentPrincipal();
+
+        return ResponseEntity.ok(getReportJob.execute(id, principal.getId(), principal.getRole()));
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> downloadReportJob(Long id) {
+        log.info("GET /api/report-jobs/{}/download - Download report job", id);
+        UserPrincipal principal = getCurrentPrincipal();
+
+        ReportFile file = downloadReportJob.execute(id, principal.getId(), principal.getRole());
+        StreamingResponseBody body = outputStream -> Files.copy(file.path(), outputStream);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + file.fileName() + "\"")
+                .contentType(MediaType.parseMediaType(file.contentType()))
+                .contentLength(file.sizeBytes())
+                .body(body);
+    }
+}
@@ -0,0 +1,68 @@
+package cc.remer.timetrack.adapter.web;
+
+import cc.remer.timetrack.adapter.security.UserPrincipal;
+import cc.remer.timetrack.adapter.web.mapper.TimeEntryMapper;
+import cc.remer.timetrack.api.SyncApi;
+import cc.remer.timetrack.api.model.SyncResponse;
+import cc.remer.timetrack.domain.user.User;
+import cc.remer.timetrack.usecase.recurringoffday.RecurringOffDayConflictWarningMapper;
+import cc.remer.timetrack.usecase.recurringoffday.RecurringOffDayMapper;
+import cc.remer.timetrack.usecase.sync.GetSyncChangesUseCase;
+import cc.remer.timetrack.usecase.sync.model.SyncChanges;
+import cc.remer.timetrack.usecase.timeoff.TimeOffMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.stream.Collectors;
+
+/**
+ * REST controller for the delta sync of cached records.
+ */
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class SyncController implements SyncApi {
+
+    private final GetSyncChangesUseCase getSyncChangesUseCase;
+    private final TimeEntryMapper timeEntryMapper;
+    private final TimeOffMapper timeOffMapper;
+    private final RecurringOffDayMapper recurringOffDayMapper;
+    private final RecurringOffDayConflictWarningMapper conflictWarningMapper;
+
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        return User.builder().id(principal.getId()).build();
+    }
+
+    @Override
+    public ResponseEntity<SyncResponse> getSyncChanges(String since) {
+        log.info("GET /api/sync - Get changes since: {}", since);
+        SyncChanges changes = getSyncChangesUseCase.execute(getCurrentUser(), since);
+
+        SyncResponse response = new SyncResponse();
+        response.setToken(changes.token());
+        response.setReloadRequired(changes.reloadRequired());
+        response.setTimeEntries(changes.timeEntries().stream()
+                .map(timeEntryMapper::toResponse)
+                .collect(Collectors.toList()));
+        response.setTimeOff(changes.timeOff().stream()
+                .map(timeOffMapper::toResponse)
+                .collect(Collectors.toList()));
+        response.setRecurringOffDays(changes.recurringOffDays().stream()
+                .map(recurringOffDayMapper::toResponse)
+                .collect(Collectors.toList()));
+        response.setConflictWarnings(changes.conflictWarnings().stream()
+                .map(conflictWarningMapper::toResponse)
+                .collect(Collectors.toList()));
+        response.setDeletedTimeEntryIds(changes.deletedTimeEntryIds());
+        response.setDeletedTimeOffIds(changes.deletedTimeOffIds());
+        response.setDeletedRecurringOffDayIds(changes.deletedRecurringOffDayIds());
+        response.setDeletedConflictWarningIds(changes.deletedConflictWarningIds());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -4,16 +4,19 @@ import cc.remer.timetrack.adapter.security.UserPrincipal;
 import cc.remer.timetrack.adapter.web.mapper.TimeEntryMapper;
 import cc.remer.timetrack.api.TimeEntriesApi;
 import cc.remer.timetrack.api.model.*;
+import cc.remer.timetrack.domain.reportjob.ReportFormat;
 import cc.remer.timetrack.domain.timeentry.EntryType;
 import cc.remer.timetrack.domain.timeentry.TimeEntry;
+import cc.remer.timetrack.domain.timeentry.TimeEntryFilter;
 import cc.remer.timetrack.domain.user.User;
 import cc.remer.timetrack.usecase.timeentry.*;
 import cc.remer.timetrack.usecase.timeentry.model.DailySummary;
-import cc.remer.timetrack.usecase.report.ExportMonthlyReportUseCase;
+import cc.remer.timetrack.usecase.timeentry.model.TimeEntryPage;
+import cc.remer.timetrack.usecase.report.ExportTimeEntriesCsvUseCase;
+import cc.remer.timetrack.usecase.report.MonthlyReportCache;
+import cc.remer.timetrack.usecase.report.PreparedMonthlyReport;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -21,8 +24,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -41,7 +47,8 @@ public class TimeEntryController implements TimeEntriesApi {
     private final GetDailySummaryUseCase getDailySummaryUseCase;
     private final UpdateTimeEntryUseCase updateTimeEntryUseCase;
     private final DeleteTimeEntryUseCase deleteTimeEntryUseCase;
-    private final ExportMonthlyReportUseCase exportMonthlyReportUseCase;
+    private final MonthlyReportCache monthlyReportCache;
+    private final ExportTimeEntriesCsvUseCase exportTimeEntriesCsvUseCase;
     private final TimeEntryMapper mapper;
 
     private User getCurrentUser() {
@@ -100,14 +107,21 @@ public class TimeEntryController implements TimeEntriesApi {
     }
 
     @Override
-    public ResponseEntity<List<TimeEntryResponse>> getTimeEntries(LocalDate startDate, LocalDate endDate) {
-        log.info("GET /api/time-entries - Get entries: {} to {}", startDate, endDate);
+    public ResponseEntity<TimeEntryPageResponse> getTimeEntries(LocalDate startDate, LocalDate endDate, String entryType,
+                                                                Boolean hasNotes, String cursor, Integer limit) {
+        log.info("GET /api/time-entries - Get entries: {} to {}, type: {}, hasNotes: {}, limit: {}",
+                startDate, endDate, entryType, hasNotes, limit);
         User user = getCurrentUser();
-        List<TimeEntry> entries = getTimeEntriesUseCase.execute(user, startDate, endDate);
-        List<TimeEntryResponse> responses = entries.stream()
+        TimeEntryFilter filter = new TimeEntryFilter(startDate, endDate,
+                entryType != null ? EntryType.valueOf(entryType) : null, hasNotes);
+        TimeEntryPage page = getTimeEntriesUseCase.execute(user, filter, cursor, limit);
+
+        TimeEntryPageResponse response = new TimeEntryPageResponse();
+        response.setItems(page.entries().stream()
                 .map(mapper::toResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+                .collect(Collectors.toList()));
+        response.setNextCursor(page.nextCursor());
+        return ResponseEntity.ok(response);
     }
 
     @Override
@@ -166,29 +180,55 @@ public class TimeEntryController implements TimeEntriesApi {
     }
 
     @Override
-    public ResponseEntity<Resource> exportMonthlyReport(Integer year, Integer month) {
+    public ResponseEntity<StreamingResponseBody> exportMonthlyReport(Integer year, Integer month) {
         log.info("GET /api/time-entries/monthly-report - Export PDF report for {}-{}", year, month);
         try {
             User user = getCurrentUser();
 
-            byte[] pdfBytes = exportMonthlyReportUseCase.execute(
+            // Load the report data here so validation errors still produce a 400 before streaming starts
+            PreparedMonthlyReport report = monthlyReportCache.prepare(
                     user.getId(),
                     year,
                     month,
-                    user
+                    EnumSet.of(ReportFormat.PDF)
             );
 
             String filename = String.format("stundenzettel_%d_%02d.pdf", year, month);
-            ByteArrayResource resource = new ByteArrayResource(pdfBytes);
+            StreamingResponseBody body = outputStream -> monthlyReportCache.write(report, ReportFormat.PDF, outputStream);
 
             return ResponseEntity.ok()
                     .header(HttpHeaders.CONTENT_DISPOSITION,
                             "attachment; filename=\"" + filename + "\"")
                     .contentType(MediaType.APPLICATION_PDF)
-                    .body(resource);
+                    .body(body);
         } catch (IllegalArgumentException e) {
             log.warn("Export monthly report failed: {}", e.getMessage());
             throw e;
         }
     }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportTimeEntriesCsv(LocalDate startDate, LocalDate endDate) {
+        log.info("GET /api/time-entries/export - Export CSV from {} to {}", startDate, endDate);
+        try {
+            User user = getCurrentUser();
+
+            // Validate here so an invalid range still produces a 400 before streaming starts
+            ExportTimeEntriesCsvUseCase.validateRange(startDate, endDate);
+
+            String filename = String.format("zeiterfassung_%s_%s.csv", startDate, endDate);
+            Long userId = user.getId();
+            StreamingResponseBody body = outputStream ->
+                    exportTimeEntriesCsvUseCase.execute(userId, startDate, endDate, outputStream);
+
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"" + filename + "\"")
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .body(body);
+        } catch (IllegalArgumentException e) {
+            log.warn("Export time entries failed: {}", e.getMessage());
+            throw e;
+        }
+    }
 }
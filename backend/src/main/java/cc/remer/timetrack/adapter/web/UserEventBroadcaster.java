@@ -0,0 +1,284 @@
+package cc.remer.timetrack.adapter.web;
+
+import cc.remer.timetrack.config.EventStreamProperties;
+import cc.remer.timetrack.usecase.userevent.UserDataChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes changes of a user's data to the server-sent event streams the user has open.
+ *
+ * Every stream has a small queue of its own, drained by a virtual thread of its own while events
+ * are pending, so a slow client never holds up the transaction that made the change or the streams
+ * of other clients. When a client falls so far behind that its queue overflows, the pending events
+ * are dropped and replaced by a single {@code resync} event telling it to reload everything.
+ * A stream whose client doesn't take a single event within the send timeout is dropped.
+ */
+@Component
+@Slf4j
+public class UserEventBroadcaster {
+
+    static final String RESYNC_EVENT = "resync";
+
+    private static final Message HEARTBEAT = new Message(null, null);
+    private static final Message RESYNC = new Message(RESYNC_EVENT, "{}");
+
+    private final EventStreamProperties properties;
+    private final Map<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Counter resyncCounter;
+    private final Counter stalledCounter;
+
+    private ExecutorService senders;
+    private ScheduledExecutorService scheduler;
+
+    public UserEventBroadcaster(EventStreamProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.resyncCounter = Counter.builder("http.events.resyncs")
+                .description("Event streams that fell behind and were told to reload their data")
+                .register(meterRegistry);
+        this.stalledCounter = Counter.builder("http.events.stalled")
+                .description("Event streams dropped because their client stopped taking events")
+                .register(meterRegistry);
+        Gauge.builder("http.events.streams", this, UserEventBroadcaster::countStreams)
+                .description("Open server-sent event streams")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("user-events-", 0).factory());
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("user-events-scheduler").factory());
+        long interval = properties.getHeartbeatInterval().toMillis();
+        scheduler.scheduleAtFixedRate(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Close all streams, so clients reconnect to another instance.
+     */
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+        senders.shutdownNow();
+        subscribers.values().forEach(list -> list.forEach(subscriber -> subscriber.emitter().complete()));
+        subscribers.clear();
+    }
+
+    /**
+     * Open an event stream for a user.
+     * Closes the user's oldest stream if the user already has the maximum number open.
+     *
+     * @param userId the user ID
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+        subscribe(userId, emitter);
+        return emitter;
+    }
+
+    /**
+     * Register an emitter as event stream of a user.
+     *
+     * @param userId  the user ID
+     * @param emitter the emitter to send the events to
+     */
+    void subscribe(Long userId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(userId, emitter, new ArrayBlockingQueue<>(properties.getQueueCapacity()));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> {
+            remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(error -> remove(subscriber));
+
+        List<Subscriber> evicted = new ArrayList<>();
+        subscribers.compute(userId, (id, list) -> {
+            List<Subscriber> streams = list != null ? list : new CopyOnWriteArrayList<>();
+            while (streams.size() >= Math.max(1, properties.getMaxStreamsPerUser())) {
+                evicted.add(streams.removeFirst());
+            }
+            streams.add(subscriber);
+            return streams;
+        });
+        evicted.forEach(old -> old.emitter().complete());
+
+        // Sends the response headers right away, so the client knows the stream is open
+        offer(subscriber, HEARTBEAT);
+        log.debug("Opened event stream for user {}", userId);
+    }
+
+    /**
+     * Push a change to the streams of the user once the change is visible to their requests.
+     * Falls back to sending right away if the change was made outside of a transaction.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        List<Subscriber> streams = subscribers.get(event.userId());
+        if (streams == null) {
+            return;
+        }
+        Message message = new Message(event.change().getEventName(),
+                new ChangePayload(event.startDate(), event.endDate()));
+        streams.forEach(subscriber -> offer(subscriber, message));
+    }
+
+    /**
+     * Number of open streams across all users.
+     */
+    int countStreams() {
+        return subscribers.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Keep idle streams alive. Streams with pending events don't need a heartbeat.
+     */
+    void sendHeartbeats() {
+        subscribers.values().forEach(list -> list.forEach(subscriber -> {
+            if (subscriber.queue().isEmpty()) {
+                offer(subscriber, HEARTBEAT);
+            }
+        }));
+    }
+
+    private void offer(Subscriber subscriber, Message message) {
+        if (subscriber.closed().get()) {
+            return;
+        }
+        if (!subscriber.queue().offer(message)) {
+            subscriber.overflowed().set(true);
+        }
+        if (subscriber.scheduled().compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                // Shutting down, the stream is about to be closed anyway
+                subscriber.scheduled().set(false);
+            }
+        }
+    }
+
+    /**
+     * Send the pending events of a stream. Only one sender drains a stream at a time.
+     */
+    private void drain(Subscriber subscriber) {
+        do {
+            while (true) {
+                Message message;
+                if (subscriber.overflowed().getAndSet(false)) {
+                    subscriber.queue().clear();
+                    resyncCounter.increment();
+                    log.debug("Event stream of user {} fell behind, sending resync", subscriber.userId());
+                    message = RESYNC;
+                } else {
+                    message = subscriber.queue().poll();
+                }
+                if (message == null) {
+                    break;
+                }
+                if (subscriber.closed().get()) {
+                    return;
+                }
+                if (!send(subscriber, message)) {
+                    return;
+                }
+            }
+            subscriber.scheduled().set(false);
+            // An event may have been queued after the last poll but before the flag was cleared
+        } while ((!subscriber.queue().isEmpty() || subscriber.overflowed().get())
+                && subscriber.scheduled().compareAndSet(false, true));
+    }
+
+    private boolean send(Subscriber subscriber, Message message) {
+        // The write blocks while the client doesn't read, give up on it after the send timeout
+        Thread sender = Thread.currentThread();
+        ScheduledFuture<?> timeout;
+        try {
+            timeout = scheduler.schedule(() -> dropStalled(subscriber, sender),
+                    properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+        try {
+            if (message == HEARTBEAT) {
+                subscriber.emitter().send(SseEmitter.event().comment(""));
+            } else {
+                subscriber.emitter().send(SseEmitter.event().name(message.name())
+                        .data(message.data(), MediaType.APPLICATION_JSON));
+            }
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // The client is gone or the stream was completed; the container cleans up the request
+            log.debug("Event stream of user {} closed: {}", subscriber.userId(), e.getMessage());
+            remove(subscriber);
+            return false;
+        } finally {
+            timeout.cancel(false);
+        }
+    }
+
+    /**
+     * Drop a stream whose client hasn't taken an event within the send timeout. Interrupting the
+     * sender aborts the write, the container closes the connection once its own write timeout expires.
+     */
+    private void dropStalled(Subscriber subscriber, Thread sender) {
+        stalledCounter.increment();
+        log.debug("Event stream of user {} stalled, dropping it", subscriber.userId());
+        remove(subscriber);
+        sender.interrupt();
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed().set(true);
+        subscribers.computeIfPresent(subscriber.userId(), (id, list) -> {
+            list.remove(subscriber);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    /**
+     * Data sent with a change event: the days affected, or nulls if the change isn't bound to days.
+     */
+    record ChangePayload(LocalDate startDate, LocalDate endDate) {
+    }
+
+    /**
+     * An event waiting to be sent; a heartbeat has neither name nor data.
+     */
+    private record Message(String name, Object data) {
+    }
+
+    private record Subscriber(Long userId, SseEmitter emitter, BlockingQueue<Message> queue,
+                              AtomicBoolean overflowed, AtomicBoolean scheduled, AtomicBoolean closed) {
+
+        Subscriber(Long userId, SseEmitter emitter, BlockingQueue<Message> queue) {
+            this(userId, emitter, queue, new AtomicBoolean(), new AtomicBoolean(), new AtomicBoolean());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package cc.remer.timetrack.adapter.web;
+
+import cc.remer.timetrack.adapter.security.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller for the server-sent event stream of the current user.
+ *
+ * Not generated from the OpenAPI spec like the other controllers, as the generated interface
+ * can't return an {@link SseEmitter}. The endpoint is still documented in the spec.
+ */
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class UserEventController {
+
+    private final UserEventBroadcaster userEventBroadcaster;
+
+    private UserPrincipal getCurrentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (UserPrincipal) authentication.getPrincipal();
+    }
+
+    @GetMapping(path = "/api/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamUserEvents() {
+        UserPrincipal principal = getCurrentPrincipal();
+        log.info("GET /api/events - Open event stream for user: {}", principal.getId());
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                // Keeps nginx from buffering the stream
+                .header("X-Accel-Buffering", "no")
+                .body(userEventBroadcaster.subscribe(principal.getId()));
+    }
+}
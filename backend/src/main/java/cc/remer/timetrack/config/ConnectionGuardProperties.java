@@ -0,0 +1,32 @@
+package cc.remer.timetrack.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the connection guard that is active when requests run on virtual threads.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.connection-guard")
+@Getter
+@Setter
+public class ConnectionGuardProperties {
+
+    /**
+     * Number of connections that can be borrowed at the same time.
+     * 0 uses the maximum pool size of the connection pool.
+     * Default: 0
+     */
+    private int permits = 0;
+
+    /**
+     * How long a thread waits for a connection before the request fails.
+     * Longer than the pool's own timeout, since waiting here costs no platform thread.
+     * Default: 60s
+     */
+    private Duration waitTimeout = Duration.ofSeconds(60);
+}
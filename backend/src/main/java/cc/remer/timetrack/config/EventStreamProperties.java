@@ -0,0 +1,52 @@
+package cc.remer.timetrack.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the per-user server-sent event stream.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.events")
+@Getter
+@Setter
+public class EventStreamProperties {
+
+    /**
+     * How often an idle stream gets a comment line, so proxies don't close it and dead
+     * connections are noticed.
+     * Default: 25s
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(25);
+
+    /**
+     * How long a stream stays open before the client has to reconnect.
+     * Default: 30m
+     */
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    /**
+     * Streams a user can have open at the same time (e.g. browser tabs). Opening another one
+     * closes the oldest.
+     * Default: 5
+     */
+    private int maxStreamsPerUser = 5;
+
+    /**
+     * Events waiting to be sent to a single stream. A client that falls further behind gets a
+     * single resync event instead and has to reload its data.
+     * Default: 32
+     */
+    private int queueCapacity = 32;
+
+    /**
+     * How long writing a single event may block before the stream is dropped. A client that
+     * stops reading only holds up its own stream until then.
+     * Default: 10s
+     */
+    private Duration sendTimeout = Duration.ofSeconds(10);
+}
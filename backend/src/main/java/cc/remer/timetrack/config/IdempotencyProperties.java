@@ -0,0 +1,43 @@
+package cc.remer.timetrack.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for replaying write requests sent with an {@code Idempotency-Key} header.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.idempotency")
+@Getter
+@Setter
+public class IdempotencyProperties {
+
+    /**
+     * How long the response to a key is kept and replayed to retries.
+     * Default: 24h
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * How long a key stays reserved by a request that hasn't finished. A request that crashed
+     * without releasing its key blocks retries with the same key for at most this long.
+     * Default: 1m
+     */
+    private Duration lockTimeout = Duration.ofMinutes(1);
+
+    /**
+     * Number of stored responses kept in memory, so replays don't query the database.
+     * Default: 10000
+     */
+    private int cacheSize = 10000;
+
+    /**
+     * Number of expired keys deleted per transaction by the scheduled purge.
+     * Default: 1000
+     */
+    private int purgeBatchSize = 1000;
+}
@@ -31,4 +31,30 @@ public class JwtProperties {
      * Default: 604800000 (7 days)
      */
     private Long refreshExpiration = 604800000L;
+
+    /**
+     * Number of recently verified tokens whose claims are kept in memory, so repeated requests
+     * with the same token skip the signature check. 0 disables the cache.
+     * Default: 10000
+     */
+    private int verifiedTokenCacheSize = 10000;
+
+    /**
+     * How long the role and active status of a user are cached for authenticating requests,
+     * in milliseconds. Changes made through the user management take effect immediately.
+     * Default: 30000 (30 seconds)
+     */
+    private Long principalCacheTtl = 30000L;
+
+    /**
+     * Maximum number of refresh tokens kept per user; the oldest are deleted on login.
+     * Default: 10
+     */
+    private int maxRefreshTokensPerUser = 10;
+
+    /**
+     * Number of expired refresh tokens deleted per transaction by the scheduled purge.
+     * Default: 1000
+     */
+    private int refreshTokenPurgeBatchSize = 1000;
 }
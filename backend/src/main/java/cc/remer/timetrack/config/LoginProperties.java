@@ -0,0 +1,60 @@
+package cc.remer.timetrack.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Login throttling and password hashing configuration properties.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.login")
+@Getter
+@Setter
+public class LoginProperties {
+
+    /**
+     * Number of threads hashing and verifying passwords.
+     * BCrypt is CPU-bound, so this caps the cores logins can use.
+     * Default: half of the available processors (at least 1)
+     */
+    private int hashWorkers = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * Password checks waiting for a worker before further logins are rejected with 429.
+     * Default: 50
+     */
+    private int hashQueueCapacity = 50;
+
+    /**
+     * Login attempts per email address that can be made at once.
+     * Default: 5
+     */
+    private int emailBurst = 5;
+
+    /**
+     * Login attempts per email address regained per minute.
+     * Default: 5
+     */
+    private int emailAttemptsPerMinute = 5;
+
+    /**
+     * Login attempts per client IP address that can be made at once.
+     * Generous, since a whole office may share one address.
+     * Default: 50
+     */
+    private int ipBurst = 50;
+
+    /**
+     * Login attempts per client IP address regained per minute.
+     * Default: 30
+     */
+    private int ipAttemptsPerMinute = 30;
+
+    /**
+     * Maximum number of email addresses and IP addresses tracked at once.
+     * Default: 10000
+     */
+    private int maxTrackedKeys = 10000;
+}
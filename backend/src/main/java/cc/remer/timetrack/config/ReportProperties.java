@@ -0,0 +1,70 @@
+package cc.remer.timetrack.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Report export configuration properties.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.reports")
+@Getter
+@Setter
+public class ReportProperties {
+
+    /**
+     * Maximum number of reports generated at the same time by a bulk export.
+     * Every report holds a database connection while its data is loaded,
+     * so this should stay well below the connection pool size.
+     * Default: 4
+     */
+    private int exportConcurrency = 4;
+
+    /**
+     * Number of worker threads generating queued report jobs.
+     * Default: 2
+     */
+    private int jobWorkers = 2;
+
+    /**
+     * Maximum number of report jobs waiting for a worker.
+     * Jobs queued beyond this fail immediately instead of piling up.
+     * Default: 100
+     */
+    private int jobQueueCapacity = 100;
+
+    /**
+     * Directory the files of report jobs are stored in.
+     * Default: timetrack-reports in the system temp directory
+     */
+    private Path jobDirectory = Path.of(System.getProperty("java.io.tmpdir"), "timetrack-reports");
+
+    /**
+     * How long report jobs and their files are kept before they are deleted.
+     * Default: 7 days
+     */
+    private Duration jobRetention = Duration.ofDays(7);
+
+    /**
+     * Whether generated monthly reports are cached on disk.
+     * Default: true
+     */
+    private boolean cacheEnabled = true;
+
+    /**
+     * Directory cached report files are stored in.
+     * Default: timetrack-report-cache in the system temp directory
+     */
+    private Path cacheDirectory = Path.of(System.getProperty("java.io.tmpdir"), "timetrack-report-cache");
+
+    /**
+     * How long a cached report file is kept after it was last used.
+     * Default: 30 days
+     */
+    private Duration cacheRetention = Duration.ofDays(30);
+}
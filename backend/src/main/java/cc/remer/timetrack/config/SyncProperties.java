@@ -0,0 +1,38 @@
+package cc.remer.timetrack.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the delta sync of cached records.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.sync")
+@Getter
+@Setter
+public class SyncProperties {
+
+    /**
+     * Maximum number of changed records in a sync response. Clients that are further behind are told
+     * to reload their data instead.
+     * Default: 1000
+     */
+    private int maxChanges = 1000;
+
+    /**
+     * How long deleted records are remembered. Clients that haven't synced for longer must reload
+     * their data.
+     * Default: 90d
+     */
+    private Duration tombstoneRetention = Duration.ofDays(90);
+
+    /**
+     * Number of tombstones deleted per transaction by the scheduled purge.
+     * Default: 1000
+     */
+    private int purgeBatchSize = 1000;
+}
@@ -0,0 +1,44 @@
+package cc.remer.timetrack.config;
+
+import cc.remer.timetrack.adapter.persistence.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for running requests, scheduled jobs and async tasks on virtual threads.
+ *
+ * Virtual threads are enabled with {@code spring.threads.virtual.enabled=true}, which Spring Boot applies
+ * to Tomcat and its task executors. Since the number of concurrent requests is then no longer limited by
+ * Tomcat's thread pool, the data source is guarded so requests queue for a connection instead of timing
+ * out in the connection pool.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            ObjectProvider<ConnectionGuardProperties> connectionGuardProperties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource dataSource)) {
+                    return bean;
+                }
+                ConnectionGuardProperties properties = connectionGuardProperties.getObject();
+                int permits = properties.getPermits() > 0
+                        ? properties.getPermits()
+                        : dataSource.getMaximumPoolSize();
+                log.info("Limiting data source '{}' to {} concurrent connections for virtual threads", beanName, permits);
+                return new ConnectionLimitingDataSource(dataSource, permits, properties.getWaitTimeout());
+            }
+        };
+    }
+}
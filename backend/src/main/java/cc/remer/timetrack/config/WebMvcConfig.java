@@ -1,9 +1,12 @@
 package cc.remer.timetrack.config;
 
+import cc.remer.timetrack.adapter.web.DataVersionInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.resource.PathResourceResolver;
@@ -18,11 +21,21 @@ import java.util.concurrent.TimeUnit;
  * 1. Serving static resources from /app/static (where the frontend build is copied in the Docker container)
  * 2. Falling back to index.html for any non-API routes (SPA routing)
  * <p>
- * API routes (/api/**) are not affected and continue to work normally.
+ * API routes (/api/**) are not affected and continue to work normally, apart from conditional
+ * requests to the read endpoints of {@link DataVersionInterceptor}.
  */
 @Configuration
+@RequiredArgsConstructor
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    private final DataVersionInterceptor dataVersionInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(dataVersionInterceptor)
+                .addPathPatterns(DataVersionInterceptor.VERSIONED_PATHS);
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         CacheControl immutableCache = CacheControl.maxAge(365, TimeUnit.DAYS)
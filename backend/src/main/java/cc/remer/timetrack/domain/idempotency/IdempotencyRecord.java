@@ -0,0 +1,23 @@
+package cc.remer.timetrack.domain.idempotency;
+
+import java.time.LocalDateTime;
+
+/**
+ * A write request made with an idempotency key, and its response once it has completed.
+ *
+ * @param requestHash  digest of the request the key was first used for
+ * @param statusCode   the response status, or null while the request is in progress
+ * @param contentType  the response content type, may be null
+ * @param responseBody the response body, or null while the request is in progress
+ * @param expiresAt    when the key may be used for a new request again
+ */
+public record IdempotencyRecord(String requestHash, Integer statusCode, String contentType,
+                                byte[] responseBody, LocalDateTime expiresAt) {
+
+    /**
+     * Check if the request has completed and its response can be replayed.
+     */
+    public boolean isCompleted() {
+        return statusCode != null;
+    }
+}
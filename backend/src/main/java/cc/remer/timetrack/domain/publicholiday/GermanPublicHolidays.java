@@ -3,55 +3,88 @@ package cc.remer.timetrack.domain.publicholiday;
 import cc.remer.timetrack.domain.user.GermanState;
 import org.springframework.stereotype.Component;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.Month;
-import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Calculator for German public holidays.
  * Supports Berlin and Brandenburg.
+ *
+ * Holidays are defined in a table ({@link #DEFINITIONS}); adding a state or holiday is a data change.
+ * An immutable index keyed by (year, state) is precomputed at startup for
+ * {@link #MIN_YEAR} to {@link #MAX_YEAR}, so lookups don't allocate or recompute Easter.
+ * Years outside that range are calculated on demand.
  */
 @Component
 public class GermanPublicHolidays {
 
+    /**
+     * First year of the precomputed index.
+     */
+    public static final int MIN_YEAR = 1900;
+
+    /**
+     * Last year of the precomputed index.
+     */
+    public static final int MAX_YEAR = 2199;
+
+    /**
+     * All public holidays. An empty state set means the holiday applies to all states.
+     */
+    private static final List<HolidayDefinition> DEFINITIONS = List.of(
+            fixed("Neujahr", Month.JANUARY, 1),
+            fixed("Internationaler Frauentag", Month.MARCH, 8, GermanState.BERLIN),
+            easterBased("Karfreitag", -2),
+            easterBased("Ostermontag", 1),
+            fixed("Tag der Arbeit", Month.MAY, 1),
+            easterBased("Christi Himmelfahrt", 39),
+            easterBased("Pfingstmontag", 50),
+            fixed("Tag der Deutschen Einheit", Month.OCTOBER, 3),
+            fixed("Reformationstag", Month.OCTOBER, 31, GermanState.BRANDENBURG),
+            fixed("1. Weihnachtstag", Month.DECEMBER, 25),
+            fixed("2. Weihnachtstag", Month.DECEMBER, 26)
+    );
+
+    private final Map<GermanState, YearIndex[]> index = new EnumMap<>(GermanState.class);
+
+    public GermanPublicHolidays() {
+        for (GermanState state : GermanState.values()) {
+            YearIndex[] years = new YearIndex[MAX_YEAR - MIN_YEAR + 1];
+            for (int year = MIN_YEAR; year <= MAX_YEAR; year++) {
+                years[year - MIN_YEAR] = YearIndex.build(year, state);
+            }
+            index.put(state, years);
+        }
+    }
+
     /**
      * Get all public holidays for a given year and German state.
      *
      * @param year the year
      * @param state the German state
-     * @return list of public holiday dates
+     * @return immutable list of public holiday dates, sorted by date
      */
     public List<LocalDate> getPublicHolidays(int year, GermanState state) {
-        List<LocalDate> holidays = new ArrayList<>();
-
-        // Fixed holidays (same for all states)
-        holidays.add(LocalDate.of(year, Month.JANUARY, 1));      // New Year's Day
-        holidays.add(LocalDate.of(year, Month.MAY, 1));          // Labour Day
-        holidays.add(LocalDate.of(year, Month.OCTOBER, 3));      // German Unity Day
-        holidays.add(LocalDate.of(year, Month.DECEMBER, 25));    // Christmas Day
-        holidays.add(LocalDate.of(year, Month.DECEMBER, 26));    // Boxing Day
-
-        // Movable holidays (based on Easter)
-        LocalDate easter = calculateEasterSunday(year);
-        holidays.add(easter.minusDays(2));                       // Good Friday
-        holidays.add(easter.plusDays(1));                        // Easter Monday
-        holidays.add(easter.plusDays(39));                       // Ascension Day
-        holidays.add(easter.plusDays(50));                       // Whit Monday
-
-        // State-specific holidays
-        switch (state) {
-            case BERLIN:
-                holidays.add(LocalDate.of(year, Month.MARCH, 8));    // International Women's Day
-                break;
-            case BRANDENBURG:
-                holidays.add(LocalDate.of(year, Month.OCTOBER, 31)); // Reformation Day
-                break;
-        }
+        return lookup(year, state).dates();
+    }
 
-        return holidays;
+    /**
+     * Get all public holidays with their names for a given year and German state.
+     *
+     * @param year the year
+     * @param state the German state
+     * @return immutable list of public holidays, sorted by date
+     */
+    public List<PublicHoliday> getHolidays(int year, GermanState state) {
+        return lookup(year, state).holidays();
     }
 
     /**
@@ -62,8 +95,14 @@ public class GermanPublicHolidays {
      * @return true if it's a public holiday
      */
     public boolean isPublicHoliday(LocalDate date, GermanState state) {
-        List<LocalDate> holidays = getPublicHolidays(date.getYear(), state);
-        return holidays.contains(date);
+        return lookup(date.getYear(), state).days().get(date.getDayOfYear() - 1);
+    }
+
+    private YearIndex lookup(int year, GermanState state) {
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            return YearIndex.build(year, state);
+        }
+        return index.get(state)[year - MIN_YEAR];
     }
 
     /**
@@ -73,7 +112,7 @@ public class GermanPublicHolidays {
      * @param year the year
      * @return Easter Sunday date
      */
-    private LocalDate calculateEasterSunday(int year) {
+    private static LocalDate calculateEasterSunday(int year) {
         int a = year % 19;
         int b = year / 100;
         int c = year % 100;
@@ -91,4 +130,65 @@ public class GermanPublicHolidays {
 
         return LocalDate.of(year, month, day);
     }
+
+    private static HolidayDefinition fixed(String name, Month month, int day, GermanState... states) {
+        return new HolidayDefinition(name, month, day, null, stateSet(states));
+    }
+
+    private static HolidayDefinition easterBased(String name, int daysFromEaster, GermanState... states) {
+        return new HolidayDefinition(name, null, 0, daysFromEaster, stateSet(states));
+    }
+
+    private static Set<GermanState> stateSet(GermanState... states) {
+        return states.length == 0 ? Set.of() : EnumSet.of(states[0], states);
+    }
+
+    /**
+     * A holiday rule: either a fixed date or an offset from Easter Sunday.
+     */
+    private record HolidayDefinition(String name, Month month, int dayOfMonth, Integer daysFromEaster,
+                                     Set<GermanState> states) {
+
+        boolean appliesTo(GermanState state) {
+            return states.isEmpty() || states.contains(state);
+        }
+
+        LocalDate dateIn(int year, LocalDate easterSunday) {
+            return daysFromEaster != null
+                    ? easterSunday.plusDays(daysFromEaster)
+                    : LocalDate.of(year, month, dayOfMonth);
+        }
+    }
+
+    /**
+     * Holidays of one state and year: sorted holidays, their dates and a day-of-year bitset (0-based).
+     */
+    private record YearIndex(List<PublicHoliday> holidays, List<LocalDate> dates, BitSet days) {
+
+        static YearIndex build(int year, GermanState state) {
+            LocalDate easterSunday = calculateEasterSunday(year);
+
+            List<PublicHoliday> holidays = new ArrayList<>();
+            for (HolidayDefinition definition : DEFINITIONS) {
+                if (definition.appliesTo(state)) {
+                    holidays.add(new PublicHoliday(
+                            definition.dateIn(year, easterSunday),
+                            definition.name(),
+                            !definition.states().isEmpty()));
+                }
+            }
+            holidays.sort(Comparator.comparing(PublicHoliday::date));
+
+            BitSet days = new BitSet(366);
+            holidays.forEach(holiday -> days.set(holiday.date().getDayOfYear() - 1));
+
+            // Distinct dates - movable holidays can fall on a fixed one (e.g. Ascension Day on May 1)
+            List<LocalDate> dates = holidays.stream()
+                    .map(PublicHoliday::date)
+                    .distinct()
+                    .toList();
+
+            return new YearIndex(List.copyOf(holidays), dates, days);
+        }
+    }
 }
@@ -0,0 +1,24 @@
+package cc.remer.timetrack.domain.publicholiday;
+
+import java.time.LocalDate;
+
+/**
+ * A public holiday on a specific date.
+ */
+public record PublicHoliday(
+        /**
+         * The date of the holiday
+         */
+        LocalDate date,
+
+        /**
+         * German name of the holiday
+         */
+        String name,
+
+        /**
+         * Whether the holiday only applies to some states
+         */
+        boolean stateSpecific
+) {
+}
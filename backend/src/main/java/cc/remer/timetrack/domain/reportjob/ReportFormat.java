@@ -0,0 +1,25 @@
+package cc.remer.timetrack.domain.reportjob;
+
+/**
+ * File format of a generated report.
+ */
+public enum ReportFormat {
+  PDF("pdf", "application/pdf"),
+  CSV("csv", "text/csv");
+
+  private final String extension;
+  private final String contentType;
+
+  ReportFormat(String extension, String contentType) {
+    this.extension = extension;
+    this.contentType = contentType;
+  }
+
+  public String getExtension() {
+    return extension;
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+}
@@ -0,0 +1,126 @@
+package cc.remer.timetrack.domain.reportjob;
+
+import cc.remer.timetrack.domain.user.User;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * A monthly report generated in the background.
+ * The generated file is stored on local disk; this entity holds its state and metadata.
+ */
+@Entity
+@Table(name = "report_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The user the report is for.
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /**
+     * The user who queued the job (the report owner or an admin).
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "requested_by", nullable = false)
+    private User requestedBy;
+
+    @Column(name = "report_year", nullable = false)
+    private Integer year;
+
+    /**
+     * Month of the report (1-12).
+     */
+    @Column(name = "report_month", nullable = false)
+    private Integer month;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false, length = 10)
+    private ReportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private ReportJobStatus status = ReportJobStatus.QUEUED;
+
+    /**
+     * Download file name, set once the report has been generated.
+     */
+    @Column(name = "file_name")
+    private String fileName;
+
+    /**
+     * Size of the generated file in bytes.
+     */
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
+    /**
+     * Reason the job failed.
+     */
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Check if the job has finished, successfully or not.
+     *
+     * @return true if the job is COMPLETED or FAILED
+     */
+    public boolean isFinished() {
+        return status == ReportJobStatus.COMPLETED || status == ReportJobStatus.FAILED;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReportJob reportJob = (ReportJob) o;
+        return Objects.equals(id, reportJob.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ReportJob{" +
+                "id=" + id +
+                ", userId=" + (user != null ? user.getId() : null) +
+                ", year=" + year +
+                ", month=" + month +
+                ", format=" + format +
+                ", status=" + status +
+                '}';
+    }
+}
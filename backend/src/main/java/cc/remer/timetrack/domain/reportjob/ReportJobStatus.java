@@ -0,0 +1,11 @@
+package cc.remer.timetrack.domain.reportjob;
+
+/**
+ * Processing state of a report job.
+ */
+public enum ReportJobStatus {
+  QUEUED,
+  RUNNING,
+  COMPLETED,
+  FAILED
+}
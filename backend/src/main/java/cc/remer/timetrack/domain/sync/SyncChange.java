@@ -0,0 +1,12 @@
+package cc.remer.timetrack.domain.sync;
+
+/**
+ * Last change of a record in the sync change log.
+ *
+ * @param entityType the kind of record
+ * @param entityId   the record ID
+ * @param deleted    whether the record has been deleted
+ * @param version    the user's data version of the change
+ */
+public record SyncChange(SyncEntityType entityType, Long entityId, boolean deleted, long version) {
+}
@@ -0,0 +1,11 @@
+package cc.remer.timetrack.domain.sync;
+
+/**
+ * Kind of record tracked in the sync change log, as written by the database triggers.
+ */
+public enum SyncEntityType {
+    TIME_ENTRY,
+    TIME_OFF,
+    RECURRING_OFF_DAY,
+    CONFLICT_WARNING
+}
@@ -16,7 +16,7 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "time_entries", indexes = {
-        @Index(name = "idx_time_entries_user_date", columnList = "user_id,entry_date"),
+        @Index(name = "idx_time_entries_user_date_clock_in", columnList = "user_id,entry_date,clock_in,id"),
         @Index(name = "idx_time_entries_clock_in", columnList = "clock_in"),
         @Index(name = "idx_time_entries_user_id", columnList = "user_id")
 })
@@ -0,0 +1,21 @@
+package cc.remer.timetrack.domain.timeentry;
+
+import java.time.LocalDate;
+
+/**
+ * Optional criteria for listing time entries. A null criterion matches all entries.
+ *
+ * @param startDate first entry date (inclusive)
+ * @param endDate   last entry date (inclusive)
+ * @param entryType the entry type
+ * @param hasNotes  whether the entry has non-blank notes
+ */
+public record TimeEntryFilter(LocalDate startDate, LocalDate endDate, EntryType entryType, Boolean hasNotes) {
+
+    /**
+     * Filter matching all entries of a date range.
+     */
+    public static TimeEntryFilter between(LocalDate startDate, LocalDate endDate) {
+        return new TimeEntryFilter(startDate, endDate, null, null);
+    }
+}
@@ -0,0 +1,21 @@
+package cc.remer.timetrack.domain.timeentry;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Position of a time entry in the listing order (entry date, clock-in, ID).
+ *
+ * @param entryDate the entry date
+ * @param clockIn   the clock-in time
+ * @param id        the entry ID, breaking ties between entries with the same clock-in
+ */
+public record TimeEntryPosition(LocalDate entryDate, LocalDateTime clockIn, Long id) {
+
+    /**
+     * Position of an existing entry.
+     */
+    public static TimeEntryPosition of(TimeEntry entry) {
+        return new TimeEntryPosition(entry.getEntryDate(), entry.getClockIn(), entry.getId());
+    }
+}
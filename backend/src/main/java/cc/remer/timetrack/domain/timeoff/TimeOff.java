@@ -71,6 +71,13 @@ public class TimeOff {
     @Builder.Default
     private Boolean confirmed = false;
 
+    /**
+     * Working days of this entry counted against the vacation balance.
+     * Only set for VACATION entries; maintained by VacationBalanceService.
+     */
+    @Column(name = "vacation_days", precision = 5, scale = 1)
+    private BigDecimal vacationDays;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
 import java.util.Objects;
 
 /**
@@ -12,8 +16,7 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "refresh_tokens", indexes = {
-        @Index(name = "idx_refresh_tokens_user_id", columnList = "user_id"),
-        @Index(name = "idx_refresh_tokens_token", columnList = "token"),
+        @Index(name = "idx_refresh_tokens_user_created", columnList = "user_id, created_at"),
         @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
 })
 @Getter
@@ -31,8 +34,11 @@ public class RefreshToken {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(nullable = false, unique = true, columnDefinition = "TEXT")
-    private String token;
+    /**
+     * Hex-encoded SHA-256 digest of the token; the token itself is not stored.
+     */
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
 
     @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
@@ -41,6 +47,21 @@ public class RefreshToken {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    /**
+     * Compute the digest a token is stored and looked up by.
+     *
+     * @param token the refresh token
+     * @return hex-encoded SHA-256 digest
+     */
+    public static String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     /**
      * Check if the refresh token is expired.
      *
@@ -64,12 +85,12 @@ public class RefreshToken {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         RefreshToken that = (RefreshToken) o;
-        return Objects.equals(id, that.id) && Objects.equals(token, that.token);
+        return Objects.equals(id, that.id) && Objects.equals(tokenHash, that.tokenHash);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, token);
+        return Objects.hash(id, tokenHash);
     }
 
     @Override
@@ -7,6 +7,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
@@ -59,7 +60,7 @@ public class VacationBalance {
     private BigDecimal adjustmentDays = BigDecimal.ZERO;
 
     /**
-     * Days already used/taken (past approved vacation entries, calculated from time_off entries).
+     * Days already used/taken (vacation entries ended on or before usedThrough).
      */
     @Builder.Default
     @Column(name = "used_days", precision = 5, scale = 1)
@@ -72,6 +73,27 @@ public class VacationBalance {
     @Column(name = "remaining_days", precision = 5, scale = 1)
     private BigDecimal remainingDays;
 
+    /**
+     * Days of all vacation entries overlapping the year (past and future).
+     */
+    @Builder.Default
+    @Column(name = "planned_days", nullable = false, precision = 5, scale = 1)
+    private BigDecimal plannedDays = BigDecimal.ZERO;
+
+    /**
+     * Date up to which usedDays includes ended vacation entries.
+     * Null if the balance has not been initialized from the time-off entries yet.
+     */
+    @Column(name = "used_through")
+    private LocalDate usedThrough;
+
+    /**
+     * Version for optimistic locking (null until persisted, so Spring Data treats new balances as new).
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -111,6 +133,7 @@ public class VacationBalance {
                 ", userId=" + (user != null ? user.getId() : null) +
                 ", year=" + year +
                 ", annualAllowanceDays=" + annualAllowanceDays +
+                ", plannedDays=" + plannedDays +
                 ", usedDays=" + usedDays +
                 ", remainingDays=" + remainingDays +
                 '}';
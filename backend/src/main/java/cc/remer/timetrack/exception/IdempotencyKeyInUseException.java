@@ -0,0 +1,11 @@
+package cc.remer.timetrack.exception;
+
+/**
+ * Exception thrown when a request is retried with an idempotency key while the first request is still running.
+ */
+public class IdempotencyKeyInUseException extends RuntimeException {
+
+    public IdempotencyKeyInUseException(String message) {
+        super(message);
+    }
+}
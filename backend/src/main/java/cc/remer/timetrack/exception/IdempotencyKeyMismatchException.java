@@ -0,0 +1,11 @@
+package cc.remer.timetrack.exception;
+
+/**
+ * Exception thrown when an idempotency key is reused for a request different from the one it was first used for.
+ */
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package cc.remer.timetrack.exception;
+
+/**
+ * Exception thrown when a report job (or its file) is not found.
+ */
+public class ReportJobNotFoundException extends RuntimeException {
+
+    public ReportJobNotFoundException(Long id) {
+        super("Report job not found with ID: " + id);
+    }
+}
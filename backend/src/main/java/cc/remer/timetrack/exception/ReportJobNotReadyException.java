@@ -0,0 +1,13 @@
+package cc.remer.timetrack.exception;
+
+import cc.remer.timetrack.domain.reportjob.ReportJobStatus;
+
+/**
+ * Exception thrown when the file of a report job is requested before the job has completed.
+ */
+public class ReportJobNotReadyException extends RuntimeException {
+
+    public ReportJobNotReadyException(Long id, ReportJobStatus status) {
+        super("Report job " + id + " is not completed (status: " + status + ")");
+    }
+}
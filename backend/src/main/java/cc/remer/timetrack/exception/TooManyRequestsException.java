@@ -0,0 +1,20 @@
+package cc.remer.timetrack.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a client has to wait before trying again.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -1,23 +1,17 @@
 package cc.remer.timetrack.usecase.authentication;
 
-import cc.remer.timetrack.adapter.persistence.RefreshTokenRepository;
 import cc.remer.timetrack.adapter.security.JwtTokenProvider;
 import cc.remer.timetrack.adapter.security.UserPrincipal;
 import cc.remer.timetrack.api.model.AuthResponse;
 import cc.remer.timetrack.api.model.LoginRequest;
 import cc.remer.timetrack.api.model.UserResponse;
 import cc.remer.timetrack.config.JwtProperties;
-import cc.remer.timetrack.domain.user.RefreshToken;
-import cc.remer.timetrack.domain.user.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.time.LocalDateTime;
 
 /**
  * Use case for user login.
@@ -29,19 +23,25 @@ public class Login {
 
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenService refreshTokenService;
     private final JwtProperties jwtProperties;
+    private final LoginRateLimiter loginRateLimiter;
 
     /**
      * Execute login use case.
      *
-     * @param request the login request
+     * Not transactional, so no database connection is held while the password is checked.
+     *
+     * @param request  the login request
+     * @param clientIp the client IP address, may be null if unknown
      * @return authentication response with tokens
+     * @throws cc.remer.timetrack.exception.TooManyRequestsException if too many attempts were made
      */
-    @Transactional
-    public AuthResponse execute(LoginRequest request) {
+    public AuthResponse execute(LoginRequest request, String clientIp) {
         log.debug("Attempting login for user: {}", request.getEmail());
 
+        loginRateLimiter.acquire(request.getEmail(), clientIp);
+
         // Authenticate user
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
@@ -56,7 +56,7 @@ public class Login {
 
         // Save refresh token
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        saveRefreshToken(userPrincipal.getId(), refreshToken);
+        refreshTokenService.store(userPrincipal.getId(), refreshToken);
 
         log.info("User logged in successfully: {}", request.getEmail());
 
@@ -64,16 +64,6 @@ public class Login {
         return buildAuthResponse(accessToken, refreshToken, userPrincipal);
     }
 
-    private void saveRefreshToken(Long userId, String token) {
-        RefreshToken refreshToken = RefreshToken.builder()
-                .user(User.builder().id(userId).build())
-                .token(token)
-                .expiresAt(LocalDateTime.now().plusSeconds(jwtProperties.getRefreshExpiration() / 1000))
-                .build();
-
-        refreshTokenRepository.save(refreshToken);
-    }
-
     private AuthResponse buildAuthResponse(String accessToken, String refreshToken, UserPrincipal userPrincipal) {
         AuthResponse response = new AuthResponse();
         response.setAccessToken(accessToken);
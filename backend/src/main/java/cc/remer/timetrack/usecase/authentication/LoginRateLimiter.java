@@ -0,0 +1,153 @@
+package cc.remer.timetrack.usecase.authentication;
+
+import cc.remer.timetrack.config.LoginProperties;
+import cc.remer.timetrack.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles login attempts per email address and per client IP address.
+ *
+ * Each key has a token bucket that allows a short burst of attempts and then refills at a steady rate.
+ * Attempts beyond that are rejected before the password is checked, so guessing passwords and
+ * credential stuffing don't cost any hashing time.
+ */
+@Component
+@Slf4j
+public class LoginRateLimiter {
+
+    static final String THROTTLED_MESSAGE = "Zu viele Anmeldeversuche. Bitte versuchen Sie es später erneut.";
+
+    private final LoginProperties loginProperties;
+    private final Clock clock;
+    private final Map<String, TokenBucket> emailBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> ipBuckets = new ConcurrentHashMap<>();
+    private final Counter emailThrottledCounter;
+    private final Counter ipThrottledCounter;
+
+    public LoginRateLimiter(LoginProperties loginProperties, Clock clock, MeterRegistry meterRegistry) {
+        this.loginProperties = loginProperties;
+        this.clock = clock;
+        this.emailThrottledCounter = Counter.builder("auth.login.throttled")
+                .description("Login attempts rejected by the rate limiter")
+                .tag("reason", "email")
+                .register(meterRegistry);
+        this.ipThrottledCounter = Counter.builder("auth.login.throttled")
+                .description("Login attempts rejected by the rate limiter")
+                .tag("reason", "ip")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Take one attempt from the buckets of the client IP address and the email address.
+     *
+     * @param email    the email address the login is attempted for
+     * @param clientIp the client IP address, may be null if unknown
+     * @throws TooManyRequestsException if either bucket is empty
+     */
+    public void acquire(String email, String clientIp) {
+        long nowNanos = toNanos(clock.millis());
+
+        if (clientIp != null) {
+            long waitNanos = take(ipBuckets, clientIp, loginProperties.getIpBurst(),
+                    loginProperties.getIpAttemptsPerMinute(), nowNanos);
+            if (waitNanos > 0) {
+                ipThrottledCounter.increment();
+                log.warn("Login throttled for client {}", clientIp);
+                throw new TooManyRequestsException(THROTTLED_MESSAGE, toRetryAfter(waitNanos));
+            }
+        }
+
+        if (email != null) {
+            String key = email.trim().toLowerCase(Locale.ROOT);
+            long waitNanos = take(emailBuckets, key, loginProperties.getEmailBurst(),
+                    loginProperties.getEmailAttemptsPerMinute(), nowNanos);
+            if (waitNanos > 0) {
+                emailThrottledCounter.increment();
+                log.warn("Login throttled for user: {}", key);
+                throw new TooManyRequestsException(THROTTLED_MESSAGE, toRetryAfter(waitNanos));
+            }
+        }
+    }
+
+    private long take(Map<String, TokenBucket> buckets, String key, int burst, int perMinute, long nowNanos) {
+        if (buckets.size() >= loginProperties.getMaxTrackedKeys() && !buckets.containsKey(key)) {
+            prune(buckets, nowNanos);
+        }
+        TokenBucket bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(burst, perMinute, nowNanos));
+        return bucket.tryTake(nowNanos);
+    }
+
+    /**
+     * Forget keys whose bucket has refilled completely, as they behave like new keys anyway.
+     * If that doesn't free enough room, all keys are forgotten to keep memory bounded.
+     */
+    private void prune(Map<String, TokenBucket> buckets, long nowNanos) {
+        buckets.values().removeIf(bucket -> bucket.isFull(nowNanos));
+        if (buckets.size() >= loginProperties.getMaxTrackedKeys()) {
+            log.warn("Login rate limiter tracks more than {} keys, resetting", loginProperties.getMaxTrackedKeys());
+            buckets.clear();
+        }
+    }
+
+    private static long toNanos(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private static Duration toRetryAfter(long waitNanos) {
+        return Duration.ofSeconds(Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L));
+    }
+
+    /**
+     * Token bucket holding up to {@code capacity} attempts and regaining {@code perMinute} attempts per minute.
+     */
+    private static final class TokenBucket {
+
+        private final int capacity;
+        private final long nanosPerToken;
+        private double tokens;
+        private long updatedAt;
+
+        private TokenBucket(int capacity, int perMinute, long nowNanos) {
+            this.capacity = capacity;
+            this.nanosPerToken = TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+            this.tokens = capacity;
+            this.updatedAt = nowNanos;
+        }
+
+        /**
+         * Take one token.
+         *
+         * @return 0 if a token was taken, otherwise nanoseconds until the next token is available
+         */
+        synchronized long tryTake(long nowNanos) {
+            refill(nowNanos);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) * nanosPerToken);
+        }
+
+        synchronized boolean isFull(long nowNanos) {
+            refill(nowNanos);
+            return tokens >= capacity;
+        }
+
+        private void refill(long nowNanos) {
+            if (nowNanos > updatedAt) {
+                tokens = Math.min(capacity, tokens + (double) (nowNanos - updatedAt) / nanosPerToken);
+                updatedAt = nowNanos;
+            }
+        }
+    }
+}
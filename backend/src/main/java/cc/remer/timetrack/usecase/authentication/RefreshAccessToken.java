@@ -2,6 +2,7 @@ package cc.remer.timetrack.usecase.authentication;
 
 import cc.remer.timetrack.adapter.persistence.RefreshTokenRepository;
 import cc.remer.timetrack.adapter.persistence.UserRepository;
+import cc.remer.timetrack.adapter.security.JwtClaims;
 import cc.remer.timetrack.adapter.security.JwtTokenProvider;
 import cc.remer.timetrack.adapter.security.UserPrincipal;
 import cc.remer.timetrack.api.model.AuthResponse;
@@ -26,6 +27,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class RefreshAccessToken {
 
     private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenService refreshTokenService;
     private final UserRepository userRepository;
     private final JwtTokenProvider tokenProvider;
     private final JwtProperties jwtProperties;
@@ -44,13 +46,14 @@ public class RefreshAccessToken {
         log.debug("Attempting to refresh access token");
 
         // Validate refresh token
-        if (!tokenProvider.validateToken(refreshTokenValue)) {
-            log.error("Invalid refresh token");
-            throw new IllegalArgumentException("Ungültiges Refresh-Token");
-        }
+        JwtClaims claims = tokenProvider.verify(refreshTokenValue)
+                .orElseThrow(() -> {
+                    log.error("Invalid refresh token");
+                    return new IllegalArgumentException("Ungültiges Refresh-Token");
+                });
 
         // Find refresh token in database
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(refreshTokenValue)
+        RefreshToken refreshToken = refreshTokenService.find(refreshTokenValue)
                 .orElseThrow(() -> {
                     log.error("Refresh token not found in database");
                     return new IllegalArgumentException("Refresh-Token nicht gefunden");
@@ -64,7 +67,7 @@ public class RefreshAccessToken {
         }
 
         // Load user
-        Long userId = tokenProvider.getUserIdFromToken(refreshTokenValue);
+        Long userId = claims.userId();
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> {
                     log.error("User not found for ID: {}", userId);
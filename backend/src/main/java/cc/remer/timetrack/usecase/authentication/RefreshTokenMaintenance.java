@@ -0,0 +1,28 @@
+package cc.remer.timetrack.usecase.authentication;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background maintenance of refresh tokens.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenMaintenance {
+
+    private final RefreshTokenService refreshTokenService;
+
+    /**
+     * Delete expired refresh tokens.
+     */
+    @Scheduled(cron = "${app.jwt.refresh-token-purge-cron:0 15 * * * *}")
+    public void purgeExpiredTokens() {
+        int deleted = refreshTokenService.purgeExpiredTokens();
+        if (deleted > 0) {
+            log.info("Purged {} expired refresh tokens", deleted);
+        }
+    }
+}
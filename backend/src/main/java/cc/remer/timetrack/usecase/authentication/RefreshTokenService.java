@@ -0,0 +1,91 @@
+package cc.remer.timetrack.usecase.authentication;
+
+import cc.remer.timetrack.adapter.persistence.RefreshTokenRepository;
+import cc.remer.timetrack.config.JwtProperties;
+import cc.remer.timetrack.domain.user.RefreshToken;
+import cc.remer.timetrack.domain.user.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Stores and looks up refresh tokens.
+ *
+ * Tokens are stored as SHA-256 digests only. Each user keeps at most
+ * {@code app.jwt.max-refresh-tokens-per-user} tokens (0 for no limit); older ones are deleted when a new one is stored.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtProperties jwtProperties;
+    private final Clock clock;
+
+    /**
+     * Store a newly issued refresh token and delete the user's oldest tokens beyond the limit.
+     *
+     * @param userId the user ID
+     * @param token the refresh token
+     */
+    @Transactional
+    public void store(Long userId, String token) {
+        String tokenHash = RefreshToken.hashToken(token);
+
+        // Tokens issued within the same second for the same user are identical
+        if (refreshTokenRepository.existsByTokenHash(tokenHash)) {
+            return;
+        }
+
+        RefreshToken refreshToken = RefreshToken.builder()
+                .user(User.builder().id(userId).build())
+                .tokenHash(tokenHash)
+                .expiresAt(LocalDateTime.now(clock).plusSeconds(jwtProperties.getRefreshExpiration() / 1000))
+                .build();
+        refreshTokenRepository.saveAndFlush(refreshToken);
+
+        int maxTokens = jwtProperties.getMaxRefreshTokensPerUser();
+        if (maxTokens > 0) {
+            int deleted = refreshTokenRepository.deleteAllButNewest(userId, maxTokens);
+            if (deleted > 0) {
+                log.debug("Deleted {} old refresh tokens of user {}", deleted, userId);
+            }
+        }
+    }
+
+    /**
+     * Find a stored refresh token.
+     *
+     * @param token the refresh token
+     * @return the stored token, or empty if unknown
+     */
+    @Transactional(readOnly = true)
+    public Optional<RefreshToken> find(String token) {
+        return refreshTokenRepository.findByTokenHash(RefreshToken.hashToken(token));
+    }
+
+    /**
+     * Delete all expired refresh tokens in batches of {@code app.jwt.refresh-token-purge-batch-size}.
+     * Not transactional; every batch is committed on its own.
+     *
+     * @return number of deleted tokens
+     */
+    public int purgeExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        int batchSize = jwtProperties.getRefreshTokenPurgeBatchSize();
+
+        int total = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredTokens(now, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+}
@@ -0,0 +1,28 @@
+package cc.remer.timetrack.usecase.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background maintenance of idempotency keys.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyMaintenance {
+
+    private final IdempotencyService idempotencyService;
+
+    /**
+     * Delete expired idempotency keys and their stored responses.
+     */
+    @Scheduled(cron = "${app.idempotency.purge-cron:0 45 * * * *}")
+    public void purgeExpiredKeys() {
+        int deleted = idempotencyService.purgeExpired();
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+}
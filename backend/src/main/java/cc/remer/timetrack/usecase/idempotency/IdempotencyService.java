@@ -0,0 +1,159 @@
+package cc.remer.timetrack.usecase.idempotency;
+
+import cc.remer.timetrack.adapter.persistence.IdempotencyKeyRepository;
+import cc.remer.timetrack.config.IdempotencyProperties;
+import cc.remer.timetrack.domain.idempotency.IdempotencyRecord;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps track of idempotency keys and the responses stored for them.
+ *
+ * Keys are scoped per user and stored in the database, so replays work across restarts and instances.
+ * Completed responses don't change until they expire, so they are also kept in a size-bounded
+ * in-memory cache and a retry usually costs a single map lookup.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final IdempotencyProperties idempotencyProperties;
+    private final Clock clock;
+
+    /**
+     * Completed responses by user ID and key, or null if disabled.
+     */
+    private final Map<String, IdempotencyRecord> completed;
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+                              IdempotencyProperties idempotencyProperties, Clock clock) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.idempotencyProperties = idempotencyProperties;
+        this.clock = clock;
+        this.completed = createCache(idempotencyProperties.getCacheSize());
+    }
+
+    /**
+     * Find the request a key has been used for.
+     *
+     * @param userId the user ID
+     * @param key    the idempotency key
+     * @return the request with its response if it has completed, or empty if the key is unused or expired
+     */
+    public Optional<IdempotencyRecord> find(Long userId, String key) {
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        if (completed != null) {
+            String cacheKey = cacheKey(userId, key);
+            IdempotencyRecord cached = completed.get(cacheKey);
+            if (cached != null) {
+                if (cached.expiresAt().isAfter(now)) {
+                    return Optional.of(cached);
+                }
+                completed.remove(cacheKey);
+            }
+        }
+
+        Optional<IdempotencyRecord> stored = idempotencyKeyRepository.find(userId, key, now);
+        stored.filter(IdempotencyRecord::isCompleted).ifPresent(record -> cache(userId, key, record));
+        return stored;
+    }
+
+    /**
+     * Reserve a key for a request about to run.
+     *
+     * @param userId      the user ID
+     * @param key         the idempotency key
+     * @param requestHash digest of the request
+     * @return true if the key was reserved, false if another request holds it or has already completed
+     */
+    public boolean reserve(Long userId, String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        return idempotencyKeyRepository.reserve(userId, key, requestHash, now,
+                now.plus(idempotencyProperties.getLockTimeout()));
+    }
+
+    /**
+     * Store the response of a request holding the reservation of a key.
+     *
+     * @param userId       the user ID
+     * @param key          the idempotency key
+     * @param requestHash  digest of the request
+     * @param statusCode   the response status
+     * @param contentType  the response content type, may be null
+     * @param responseBody the response body
+     */
+    public void complete(Long userId, String key, String requestHash, int statusCode, String contentType,
+                         byte[] responseBody) {
+        LocalDateTime expiresAt = LocalDateTime.now(clock).plus(idempotencyProperties.getTtl());
+        if (idempotencyKeyRepository.complete(userId, key, statusCode, contentType, responseBody, expiresAt)) {
+            cache(userId, key, new IdempotencyRecord(requestHash, statusCode, contentType, responseBody, expiresAt));
+        } else {
+            log.warn("Reservation of idempotency key of user {} lapsed before the request completed", userId);
+        }
+    }
+
+    /**
+     * Release the reservation of a key whose request failed, so a retry runs it again.
+     *
+     * @param userId the user ID
+     * @param key    the idempotency key
+     */
+    public void release(Long userId, String key) {
+        idempotencyKeyRepository.release(userId, key);
+    }
+
+    /**
+     * Delete expired keys in batches.
+     *
+     * @return number of deleted keys
+     */
+    public int purgeExpired() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        int batchSize = idempotencyProperties.getPurgeBatchSize();
+
+        int total = 0;
+        int deleted;
+        do {
+            deleted = idempotencyKeyRepository.deleteExpired(now, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+
+    private void cache(Long userId, String key, IdempotencyRecord record) {
+        if (completed != null) {
+            completed.put(cacheKey(userId, key), record);
+        }
+    }
+
+    private static String cacheKey(Long userId, String key) {
+        return userId + ":" + key;
+    }
+
+    /**
+     * Create a size-bounded map evicting the least recently used entry.
+     *
+     * @param maxSize the maximum number of entries
+     * @return the map, or null if the cache is disabled
+     */
+    private static Map<String, IdempotencyRecord> createCache(int maxSize) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+}
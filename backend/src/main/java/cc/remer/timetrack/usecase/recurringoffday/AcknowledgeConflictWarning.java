@@ -3,8 +3,11 @@ package cc.remer.timetrack.usecase.recurringoffday;
 import cc.remer.timetrack.adapter.persistence.RecurringOffDayConflictWarningRepository;
 import cc.remer.timetrack.domain.recurringoffday.RecurringOffDayConflictWarning;
 import cc.remer.timetrack.domain.user.User;
+import cc.remer.timetrack.usecase.userevent.UserDataChange;
+import cc.remer.timetrack.usecase.userevent.UserDataChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +20,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class AcknowledgeConflictWarning {
 
     private final RecurringOffDayConflictWarningRepository warningRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Acknowledge a warning for the authenticated user.
@@ -44,6 +48,8 @@ public class AcknowledgeConflictWarning {
         RecurringOffDayConflictWarning saved = warningRepository.save(warning);
 
         log.info("Warning {} acknowledged by user {}", warningId, user.getId());
+        eventPublisher.publishEvent(UserDataChangedEvent.of(user.getId(), UserDataChange.CONFLICT_WARNINGS,
+                saved.getConflictDate()));
         return saved;
     }
 }
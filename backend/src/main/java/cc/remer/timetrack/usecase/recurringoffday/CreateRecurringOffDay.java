@@ -7,9 +7,13 @@ import cc.remer.timetrack.domain.recurringoffday.RecurringOffDay;
 import cc.remer.timetrack.domain.recurringoffday.RecurrencePattern;
 import cc.remer.timetrack.domain.user.User;
 import cc.remer.timetrack.usecase.user.UserService;
+import cc.remer.timetrack.usecase.userevent.UserDataChange;
+import cc.remer.timetrack.usecase.userevent.UserDataChangedEvent;
 import cc.remer.timetrack.util.ValidationUtils;
+import cc.remer.timetrack.usecase.vacationbalance.VacationBalanceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +28,8 @@ public class CreateRecurringOffDay {
     private final RecurringOffDayRepository recurringOffDayRepository;
     private final UserService userService;
     private final RecurringOffDayMapper mapper;
+    private final VacationBalanceService vacationBalanceService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Execute the use case to create a recurring off-day.
@@ -54,6 +60,11 @@ public class CreateRecurringOffDay {
         RecurringOffDay saved = recurringOffDayRepository.save(entity);
         log.info("Created recurring off-day with ID: {}", saved.getId());
 
+        // Recurring off-days don't count as vacation days
+        vacationBalanceService.recalculateVacationBalances(userId);
+
+        eventPublisher.publishEvent(UserDataChangedEvent.of(userId, UserDataChange.RECURRING_OFF_DAYS));
+
         return mapper.toResponse(saved);
     }
 
@@ -6,8 +6,12 @@ import cc.remer.timetrack.api.model.CreateRecurringOffDayExemptionRequest;
 import cc.remer.timetrack.api.model.RecurringOffDayExemptionResponse;
 import cc.remer.timetrack.domain.recurringoffday.RecurringOffDay;
 import cc.remer.timetrack.domain.recurringoffday.RecurringOffDayExemption;
+import cc.remer.timetrack.usecase.userevent.UserDataChange;
+import cc.remer.timetrack.usecase.userevent.UserDataChangedEvent;
+import cc.remer.timetrack.usecase.vacationbalance.VacationBalanceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +29,8 @@ public class CreateRecurringOffDayExemption {
     private final RecurringOffDayExemptionRepository exemptionRepository;
     private final RecurringOffDayExemptionMapper mapper;
     private final RecurringOffDayEvaluator evaluator;
+    private final VacationBalanceService vacationBalanceService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Execute the use case to create an exemption for a recurring off-day.
@@ -75,6 +81,12 @@ public class CreateRecurringOffDayExemption {
         RecurringOffDayExemption savedExemption = exemptionRepository.save(exemption);
         log.info("Created exemption with ID: {}", savedExemption.getId());
 
+        // Vacation on the exempted date counts again
+        vacationBalanceService.refreshVacationsInRange(userId, exemptionDate, exemptionDate);
+
+        eventPublisher.publishEvent(
+                UserDataChangedEvent.of(userId, UserDataChange.RECURRING_OFF_DAYS, exemptionDate));
+
         return mapper.toResponse(savedExemption);
     }
 
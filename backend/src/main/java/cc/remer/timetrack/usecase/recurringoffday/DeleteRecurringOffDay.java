@@ -4,8 +4,12 @@ import cc.remer.timetrack.adapter.persistence.RecurringOffDayRepository;
 import cc.remer.timetrack.domain.recurringoffday.RecurringOffDay;
 import cc.remer.timetrack.exception.RecurringOffDayNotFoundException;
 import cc.remer.timetrack.usecase.AuthorizationService;
+import cc.remer.timetrack.usecase.userevent.UserDataChange;
+import cc.remer.timetrack.usecase.userevent.UserDataChangedEvent;
+import cc.remer.timetrack.usecase.vacationbalance.VacationBalanceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +23,8 @@ public class DeleteRecurringOffDay {
 
     private final RecurringOffDayRepository recurringOffDayRepository;
     private final AuthorizationService authorizationService;
+    private final VacationBalanceService vacationBalanceService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Execute the use case to delete a recurring off-day.
@@ -40,5 +46,10 @@ public class DeleteRecurringOffDay {
         // Delete
         recurringOffDayRepository.delete(entity);
         log.info("Deleted recurring off-day ID: {}", id);
+
+        // Vacation on the former off-days counts again
+        vacationBalanceService.recalculateVacationBalances(userId);
+
+        eventPublisher.publishEvent(UserDataChangedEvent.of(userId, UserDataChange.RECURRING_OFF_DAYS));
     }
 }
@@ -4,11 +4,17 @@ import cc.remer.timetrack.adapter.persistence.RecurringOffDayExemptionRepository
 import cc.remer.timetrack.adapter.persistence.RecurringOffDayRepository;
 import cc.remer.timetrack.domain.recurringoffday.RecurringOffDay;
 import cc.remer.timetrack.domain.recurringoffday.RecurringOffDayExemption;
+import cc.remer.timetrack.usecase.userevent.UserDataChange;
+import cc.remer.timetrack.usecase.userevent.UserDataChangedEvent;
+import cc.remer.timetrack.usecase.vacationbalance.VacationBalanceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+
 /**
  * Use case to delete an exemption for a recurring off-day.
  */
@@ -19,6 +25,8 @@ public class DeleteRecurringOffDayExemption {
 
     private final RecurringOffDayRepository recurringOffDayRepository;
     private final RecurringOffDayExemptionRepository exemptionRepository;
+    private final VacationBalanceService vacationBalanceService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Execute the use case to delete an exemption.
@@ -56,5 +64,12 @@ public class DeleteRecurringOffDayExemption {
 
         exemptionRepository.delete(exemption);
         log.info("Deleted exemption with ID: {}", exemptionId);
+
+        // The date is an off-day again and no longer counts as vacation
+        LocalDate exemptionDate = exemption.getExemptionDate();
+        vacationBalanceService.refreshVacationsInRange(userId, exemptionDate, exemptionDate);
+
+        eventPublisher.publishEvent(
+                UserDataChangedEvent.of(userId, UserDataChange.RECURRING_OFF_DAYS, exemptionDate));
     }
 }
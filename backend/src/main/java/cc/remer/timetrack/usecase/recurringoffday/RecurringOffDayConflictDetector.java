@@ -6,8 +6,11 @@ import cc.remer.timetrack.domain.recurringoffday.RecurringOffDay;
 import cc.remer.timetrack.domain.recurringoffday.RecurringOffDayConflictWarning;
 import cc.remer.timetrack.domain.timeentry.TimeEntry;
 import cc.remer.timetrack.domain.user.User;
+import cc.remer.timetrack.usecase.userevent.UserDataChange;
+import cc.remer.timetrack.usecase.userevent.UserDataChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +28,7 @@ public class RecurringOffDayConflictDetector {
     private final RecurringOffDayRepository recurringOffDayRepository;
     private final RecurringOffDayConflictWarningRepository warningRepository;
     private final RecurringOffDayEvaluator evaluator;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Check if a time entry conflicts with any recurring off-days and create a warning if needed.
@@ -52,8 +56,25 @@ public class RecurringOffDayConflictDetector {
                 .findActiveByUserIdAndDate(user.getId(), entryDate);
 
         // Check if any recurring off-day applies to this date (excluding exempted dates)
-        RecurringOffDay conflictingOffDay = activeRecurringOffDays.stream()
-                .filter(offDay -> evaluator.appliesToDateWithExemptions(offDay, entryDate))
+        RecurringOffDaySchedule schedule = evaluator.buildSchedule(
+                user.getId(), activeRecurringOffDays, entryDate, entryDate);
+
+        return createWarningIfConflicting(timeEntry, schedule);
+    }
+
+    /**
+     * Create a warning if the time entry's date is a recurring off-day in the given schedule.
+     *
+     * @param timeEntry the time entry to check
+     * @param schedule the user's recurring off-day schedule covering the entry date
+     * @return the created warning, or null if no conflict
+     */
+    private RecurringOffDayConflictWarning createWarningIfConflicting(TimeEntry timeEntry,
+                                                                      RecurringOffDaySchedule schedule) {
+        User user = timeEntry.getUser();
+        LocalDate entryDate = timeEntry.getEntryDate();
+
+        RecurringOffDay conflictingOffDay = schedule.getRulesFor(entryDate).stream()
                 .findFirst()
                 .orElse(null);
 
@@ -70,7 +91,10 @@ public class RecurringOffDayConflictDetector {
                     .acknowledged(false)
                     .build();
 
-            return warningRepository.save(warning);
+            RecurringOffDayConflictWarning saved = warningRepository.save(warning);
+            eventPublisher.publishEvent(
+                    UserDataChangedEvent.of(user.getId(), UserDataChange.CONFLICT_WARNINGS, entryDate));
+            return saved;
         }
 
         return null;
@@ -80,16 +104,20 @@ public class RecurringOffDayConflictDetector {
      * Clean up warnings when a time entry is deleted.
      * Note: Database has CASCADE DELETE, but we call this for explicit cleanup and logging.
      *
+     * @param userId the ID of the user the time entry belonged to
      * @param timeEntryId the time entry ID that was deleted
      */
     @Transactional
-    public void cleanupWarningsForTimeEntry(Long timeEntryId) {
+    public void cleanupWarningsForTimeEntry(Long userId, Long timeEntryId) {
         if (timeEntryId != null) {
             log.debug("Cleaning up warnings for deleted time entry {}", timeEntryId);
             // Use query-based delete which won't fail if records were already cascade-deleted
             // This is safe even if the database CASCADE already removed the warnings
             try {
-                warningRepository.deleteByTimeEntryId(timeEntryId);
+                int deleted = warningRepository.deleteByTimeEntryId(timeEntryId);
+                if (deleted > 0) {
+                    eventPublisher.publishEvent(UserDataChangedEvent.of(userId, UserDataChange.CONFLICT_WARNINGS));
+                }
                 log.debug("Cleaned up warnings for time entry {}", timeEntryId);
             } catch (Exception e) {
                 // If warnings were already deleted by CASCADE, that's fine - just log it
@@ -113,8 +141,23 @@ public class RecurringOffDayConflictDetector {
 
         log.info("Re-evaluating conflicts for user {} with {} time entries", userId, timeEntries.size());
 
-        for (TimeEntry timeEntry : timeEntries) {
-            detectAndCreateWarningIfNeeded(timeEntry);
+        List<TimeEntry> entriesToCheck = timeEntries.stream()
+                .filter(entry -> entry != null && entry.getUser() != null && entry.getEntryDate() != null)
+                .toList();
+        if (entriesToCheck.isEmpty()) {
+            return;
+        }
+
+        // One schedule for the whole range instead of one lookup per entry
+        LocalDate startDate = entriesToCheck.stream().map(TimeEntry::getEntryDate).min(LocalDate::compareTo).orElseThrow();
+        LocalDate endDate = entriesToCheck.stream().map(TimeEntry::getEntryDate).max(LocalDate::compareTo).orElseThrow();
+        RecurringOffDaySchedule schedule = evaluator.buildSchedule(userId, startDate, endDate);
+
+        for (TimeEntry timeEntry : entriesToCheck) {
+            // Skip dates that already have a warning
+            if (!warningRepository.existsByUserIdAndConflictDate(userId, timeEntry.getEntryDate())) {
+                createWarningIfConflicting(timeEntry, schedule);
+            }
         }
     }
 }
@@ -1,7 +1,9 @@
 package cc.remer.timetrack.usecase.recurringoffday;
 
 import cc.remer.timetrack.adapter.persistence.RecurringOffDayExemptionRepository;
+import cc.remer.timetrack.adapter.persistence.RecurringOffDayRepository;
 import cc.remer.timetrack.domain.recurringoffday.RecurringOffDay;
+import cc.remer.timetrack.domain.recurringoffday.RecurringOffDayExemption;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -9,21 +11,30 @@ import org.springframework.stereotype.Component;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
- * Evaluates whether a recurring off-day applies to a specific date.
+ * Evaluates whether a recurring off-day applies to a specific date
+ * and builds range-scoped {@link RecurringOffDaySchedule}s.
  */
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class RecurringOffDayEvaluator {
 
+    private final RecurringOffDayRepository recurringOffDayRepository;
     private final RecurringOffDayExemptionRepository exemptionRepository;
 
     /**
      * Check if a recurring off-day applies to a specific date.
      * This method checks the pattern match but does NOT consider exemptions.
-     * Use {@link #appliesToDateWithExemptions} to also check for exemptions.
+     * Use {@link #buildSchedule} to also take exemptions into account.
      *
      * @param recurringOffDay the recurring off-day rule
      * @param date the date to check
@@ -105,35 +116,75 @@ public class RecurringOffDayEvaluator {
     }
 
     /**
-     * Check if a recurring off-day applies to a specific date, considering exemptions.
-     * Returns false if the date has an exemption (making it a regular working day).
+     * Build the recurring off-day schedule of a user's active rules for a date range.
      *
-     * @param recurringOffDay the recurring off-day rule
-     * @param date the date to check
-     * @return true if the rule applies to this date and is NOT exempted
+     * @param userId the user ID
+     * @param startDate the start date (inclusive)
+     * @param endDate the end date (inclusive)
+     * @return the schedule with exemptions already removed
      */
-    public boolean appliesToDateWithExemptions(RecurringOffDay recurringOffDay, LocalDate date) {
-        if (!appliesToDate(recurringOffDay, date)) {
-            return false;
+    public RecurringOffDaySchedule buildSchedule(Long userId, LocalDate startDate, LocalDate endDate) {
+        return buildSchedule(userId, recurringOffDayRepository.findByUserIdAndIsActiveTrue(userId), startDate, endDate);
+    }
+
+    /**
+     * Build the recurring off-day schedule of the given rules for a date range.
+     * Occurrences are enumerated in closed form (see {@link RecurringOffDayOccurrences})
+     * and all exemptions of the user within the range are loaded with a single query.
+     *
+     * @param userId the user ID owning the rules
+     * @param recurringOffDays the recurring off-day rules to evaluate
+     * @param startDate the start date (inclusive)
+     * @param endDate the end date (inclusive)
+     * @return the schedule with exemptions already removed
+     */
+    public RecurringOffDaySchedule buildSchedule(Long userId, List<RecurringOffDay> recurringOffDays,
+                                                 LocalDate startDate, LocalDate endDate) {
+        if (recurringOffDays.isEmpty() || startDate.isAfter(endDate)) {
+            return RecurringOffDaySchedule.empty(startDate, endDate);
         }
-        
-        // Check if there's an exemption for this date
-        return !isExempted(recurringOffDay, date);
+        return buildSchedule(recurringOffDays,
+                exemptionRepository.findByUserIdAndDateRange(userId, startDate, endDate),
+                startDate, endDate);
     }
 
     /**
-     * Check if a specific date is exempted from a recurring off-day rule.
+     * Build the recurring off-day schedule of the given rules and already loaded exemptions for a date range.
      *
-     * @param recurringOffDay the recurring off-day rule
-     * @param date the date to check
-     * @return true if the date is exempted
+     * @param recurringOffDays the recurring off-day rules to evaluate
+     * @param exemptions the exemptions of the rules within the range
+     * @param startDate the start date (inclusive)
+     * @param endDate the end date (inclusive)
+     * @return the schedule with exemptions already removed
      */
-    public boolean isExempted(RecurringOffDay recurringOffDay, LocalDate date) {
-        if (recurringOffDay.getId() == null) {
-            return false;
+    public RecurringOffDaySchedule buildSchedule(List<RecurringOffDay> recurringOffDays,
+                                                 List<RecurringOffDayExemption> exemptions,
+                                                 LocalDate startDate, LocalDate endDate) {
+        if (recurringOffDays.isEmpty() || startDate.isAfter(endDate)) {
+            return RecurringOffDaySchedule.empty(startDate, endDate);
+        }
+
+        // Exempted dates are regular working days
+        // (grouped by rule ID - the exemption's rule is a lazy proxy)
+        Map<Long, Set<Integer>> exemptionsByRuleId = new HashMap<>();
+        for (RecurringOffDayExemption exemption : exemptions) {
+            exemptionsByRuleId
+                    .computeIfAbsent(exemption.getRecurringOffDay().getId(), id -> new HashSet<>())
+                    .add((int) exemption.getExemptionDate().toEpochDay());
         }
-        return exemptionRepository.existsByRecurringOffDayIdAndExemptionDate(
-                recurringOffDay.getId(), date);
+
+        Map<RecurringOffDay, int[]> offDaysByRule = new LinkedHashMap<>();
+        for (RecurringOffDay recurringOffDay : recurringOffDays) {
+            int[] occurrences = RecurringOffDayOccurrences.between(recurringOffDay, startDate, endDate);
+            Set<Integer> exemptedDays = exemptionsByRuleId.getOrDefault(recurringOffDay.getId(), Set.of());
+            if (!exemptedDays.isEmpty()) {
+                occurrences = Arrays.stream(occurrences)
+                        .filter(epochDay -> !exemptedDays.contains(epochDay))
+                        .toArray();
+            }
+            offDaysByRule.put(recurringOffDay, occurrences);
+        }
+
+        return new RecurringOffDaySchedule(startDate, endDate, offDaysByRule);
     }
 }
-
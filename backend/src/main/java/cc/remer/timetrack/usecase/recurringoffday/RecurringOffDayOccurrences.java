@@ -0,0 +1,137 @@
+package cc.remer.timetrack.usecase.recurringoffday;
+
+import cc.remer.timetrack.domain.recurringoffday.RecurrencePattern;
+import cc.remer.timetrack.domain.recurringoffday.RecurringOffDay;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+/**
+ * Closed-form generator for the occurrence dates of a recurring off-day rule.
+ *
+ * Instead of testing every date of a window against the pattern, the occurrences
+ * of {@link RecurrencePattern#EVERY_NTH_WEEK} and {@link RecurrencePattern#NTH_WEEKDAY_OF_MONTH}
+ * are enumerated directly, so the work scales with the number of occurrences.
+ * Dates are returned as epoch days ({@link LocalDate#toEpochDay()}).
+ *
+ * The generated dates match {@link RecurringOffDayEvaluator#appliesToDate} exactly.
+ * Exemptions are not considered here.
+ */
+@Slf4j
+public final class RecurringOffDayOccurrences {
+
+    private static final int[] NONE = new int[0];
+
+    private RecurringOffDayOccurrences() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Enumerate the occurrences of a rule within a window.
+     *
+     * @param recurringOffDay the recurring off-day rule
+     * @param startDate the window start (inclusive)
+     * @param endDate the window end (inclusive)
+     * @return the occurrence dates as ascending epoch days
+     */
+    public static int[] between(RecurringOffDay recurringOffDay, LocalDate startDate, LocalDate endDate) {
+        if (!Boolean.TRUE.equals(recurringOffDay.getIsActive())) {
+            return NONE;
+        }
+
+        // Intersect the window with the rule's validity period
+        LocalDate from = startDate.isBefore(recurringOffDay.getStartDate()) ? recurringOffDay.getStartDate() : startDate;
+        LocalDate to = recurringOffDay.getEndDate() != null && endDate.isAfter(recurringOffDay.getEndDate())
+                ? recurringOffDay.getEndDate() : endDate;
+        if (from.isAfter(to) || recurringOffDay.getWeekday() == null) {
+            return NONE;
+        }
+
+        return switch (recurringOffDay.getRecurrencePattern()) {
+            case EVERY_NTH_WEEK -> everyNthWeek(recurringOffDay, from.toEpochDay(), to.toEpochDay());
+            case NTH_WEEKDAY_OF_MONTH -> nthWeekdayOfMonth(recurringOffDay, from, to);
+        };
+    }
+
+    /**
+     * Occurrences of the EVERY_NTH_WEEK pattern.
+     *
+     * A date matches when it falls on the rule's weekday and the whole weeks since the
+     * reference date are a non-negative multiple of the interval. With r being the offset
+     * from the reference date to the next such weekday, that is reference + r + 7 * n * m.
+     * Since {@code ChronoUnit.WEEKS.between} truncates towards zero, the weekday in the six
+     * days before the reference date also counts as week 0 (only when r > 0).
+     */
+    private static int[] everyNthWeek(RecurringOffDay recurringOffDay, long from, long to) {
+        LocalDate referenceDate = recurringOffDay.getReferenceDate();
+        Integer weekInterval = recurringOffDay.getWeekInterval();
+
+        if (referenceDate == null || weekInterval == null || weekInterval < 1) {
+            log.warn("Invalid EVERY_NTH_WEEK configuration for recurring off-day ID: {}",
+                    recurringOffDay.getId());
+            return NONE;
+        }
+
+        int offset = Math.floorMod(recurringOffDay.getWeekday() - referenceDate.getDayOfWeek().getValue(), 7);
+        long first = referenceDate.toEpochDay() + offset;
+        long step = 7L * weekInterval;
+
+        long start = first;
+        if (from > first) {
+            start = first + (from - first + step - 1) / step * step;
+        }
+        long beforeReference = first - 7;
+        boolean includeBeforeReference = offset > 0 && beforeReference >= from && beforeReference <= to;
+
+        int[] occurrences = new int[(start <= to ? (int) ((to - start) / step) + 1 : 0) + 1];
+        int count = 0;
+        if (includeBeforeReference) {
+            occurrences[count++] = (int) beforeReference;
+        }
+        for (long day = start; day <= to; day += step) {
+            occurrences[count++] = (int) day;
+        }
+        return Arrays.copyOf(occurrences, count);
+    }
+
+    /**
+     * Occurrences of the NTH_WEEKDAY_OF_MONTH pattern, one candidate per month.
+     * weekOfMonth = 5 means "last occurrence" of the weekday in the month.
+     */
+    private static int[] nthWeekdayOfMonth(RecurringOffDay recurringOffDay, LocalDate from, LocalDate to) {
+        Short weekOfMonth = recurringOffDay.getWeekOfMonth();
+
+        if (weekOfMonth == null || weekOfMonth < 1 || weekOfMonth > 5) {
+            log.warn("Invalid NTH_WEEKDAY_OF_MONTH configuration for recurring off-day ID: {}",
+                    recurringOffDay.getId());
+            return NONE;
+        }
+
+        YearMonth firstMonth = YearMonth.from(from);
+        YearMonth lastMonth = YearMonth.from(to);
+        int[] occurrences = new int[(int) firstMonth.until(lastMonth, ChronoUnit.MONTHS) + 1];
+        int count = 0;
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+
+        for (YearMonth month = firstMonth; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            LocalDate firstOfMonth = month.atDay(1);
+            int length = month.lengthOfMonth();
+
+            // Day of month of the first occurrence of the weekday
+            int firstOccurrence = 1 + Math.floorMod(recurringOffDay.getWeekday() - firstOfMonth.getDayOfWeek().getValue(), 7);
+            int dayOfMonth = weekOfMonth == 5
+                    ? firstOccurrence + 7 * ((length - firstOccurrence) / 7)
+                    : firstOccurrence + 7 * (weekOfMonth - 1);
+
+            long day = firstOfMonth.toEpochDay() + dayOfMonth - 1;
+            if (dayOfMonth <= length && day >= fromDay && day <= toDay) {
+                occurrences[count++] = (int) day;
+            }
+        }
+        return Arrays.copyOf(occurrences, count);
+    }
+}
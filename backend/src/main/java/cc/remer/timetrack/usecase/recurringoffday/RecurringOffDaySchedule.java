@@ -0,0 +1,133 @@
+package cc.remer.timetrack.usecase.recurringoffday;
+
+import cc.remer.timetrack.domain.recurringoffday.RecurringOffDay;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Precomputed recurring off-days of a user within a date range.
+ * Exemptions are already removed, so lookups never hit the database.
+ *
+ * Off-days are kept as ascending epoch days per rule plus one bitset over the range.
+ * Created by {@link RecurringOffDayEvaluator#buildSchedule}.
+ */
+public final class RecurringOffDaySchedule {
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final long firstEpochDay;
+    private final Map<RecurringOffDay, int[]> offDaysByRule;
+
+    /**
+     * Union of all rules, indexed by days since the start date.
+     */
+    private final BitSet offDays;
+
+    RecurringOffDaySchedule(LocalDate startDate, LocalDate endDate, Map<RecurringOffDay, int[]> offDaysByRule) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.firstEpochDay = startDate.toEpochDay();
+        this.offDaysByRule = new LinkedHashMap<>(offDaysByRule);
+        this.offDays = new BitSet();
+
+        for (int[] epochDays : offDaysByRule.values()) {
+            for (int epochDay : epochDays) {
+                offDays.set((int) (epochDay - firstEpochDay));
+            }
+        }
+    }
+
+    /**
+     * Create a schedule without any off-days.
+     *
+     * @param startDate the start date (inclusive)
+     * @param endDate the end date (inclusive)
+     * @return an empty schedule
+     */
+    public static RecurringOffDaySchedule empty(LocalDate startDate, LocalDate endDate) {
+        return new RecurringOffDaySchedule(startDate, endDate, Map.of());
+    }
+
+    /**
+     * Get the recurring off-day rules that apply to a date (excluding exempted dates).
+     *
+     * @param date the date to check
+     * @return the applying rules, empty if none
+     */
+    public List<RecurringOffDay> getRulesFor(LocalDate date) {
+        if (!isOffDay(date)) {
+            return List.of();
+        }
+
+        int epochDay = (int) date.toEpochDay();
+        List<RecurringOffDay> rules = new ArrayList<>();
+        offDaysByRule.forEach((rule, epochDays) -> {
+            if (Arrays.binarySearch(epochDays, epochDay) >= 0) {
+                rules.add(rule);
+            }
+        });
+        return Collections.unmodifiableList(rules);
+    }
+
+    /**
+     * Check if any recurring off-day applies to a date (excluding exempted dates).
+     *
+     * @param date the date to check
+     * @return true if the date is a recurring off-day
+     */
+    public boolean isOffDay(LocalDate date) {
+        long index = date.toEpochDay() - firstEpochDay;
+        return index >= 0 && index <= Integer.MAX_VALUE && offDays.get((int) index);
+    }
+
+    /**
+     * Get all dates within the range on which any recurring off-day applies.
+     *
+     * @return the off-day dates in ascending order
+     */
+    public Set<LocalDate> getOffDayDates() {
+        Set<LocalDate> dates = new LinkedHashSet<>();
+        offDays.stream().forEach(index -> dates.add(LocalDate.ofEpochDay(firstEpochDay + index)));
+        return Collections.unmodifiableSet(dates);
+    }
+
+    /**
+     * Get the dates within the range on which a specific rule applies.
+     *
+     * @param recurringOffDay the recurring off-day rule
+     * @return the off-day dates of this rule, empty if the rule is not part of the schedule
+     */
+    public Set<LocalDate> getOffDayDates(RecurringOffDay recurringOffDay) {
+        Set<LocalDate> dates = new LinkedHashSet<>();
+        for (int epochDay : offDaysByRule.getOrDefault(recurringOffDay, new int[0])) {
+            dates.add(LocalDate.ofEpochDay(epochDay));
+        }
+        return Collections.unmodifiableSet(dates);
+    }
+
+    /**
+     * Get all off-days within the range as ascending epoch days.
+     *
+     * @return the off-days as epoch days
+     */
+    public int[] getOffEpochDays() {
+        return offDays.stream().map(index -> (int) (firstEpochDay + index)).toArray();
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+}
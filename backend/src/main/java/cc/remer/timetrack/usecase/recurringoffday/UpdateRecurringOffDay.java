@@ -6,8 +6,12 @@ import cc.remer.timetrack.api.model.UpdateRecurringOffDayRequest;
 import cc.remer.timetrack.domain.recurringoffday.RecurringOffDay;
 import cc.remer.timetrack.exception.RecurringOffDayNotFoundException;
 import cc.remer.timetrack.usecase.AuthorizationService;
+import cc.remer.timetrack.usecase.userevent.UserDataChange;
+import cc.remer.timetrack.usecase.userevent.UserDataChangedEvent;
+import cc.remer.timetrack.usecase.vacationbalance.VacationBalanceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +26,8 @@ public class UpdateRecurringOffDay {
     private final RecurringOffDayRepository recurringOffDayRepository;
     private final RecurringOffDayMapper mapper;
     private final AuthorizationService authorizationService;
+    private final VacationBalanceService vacationBalanceService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Execute the use case to update a recurring off-day.
@@ -49,6 +55,11 @@ public class UpdateRecurringOffDay {
         RecurringOffDay updated = recurringOffDayRepository.save(entity);
         log.info("Updated recurring off-day ID: {}", updated.getId());
 
+        // Recurring off-days don't count as vacation days
+        vacationBalanceService.recalculateVacationBalances(userId);
+
+        eventPublisher.publishEvent(UserDataChangedEvent.of(userId, UserDataChange.RECURRING_OFF_DAYS));
+
         return mapper.toResponse(updated);
     }
 }
@@ -0,0 +1,205 @@
+package cc.remer.timetrack.usecase.report;
+
+import cc.remer.timetrack.domain.timeentry.TimeEntry;
+import cc.remer.timetrack.domain.timeoff.TimeOff;
+import cc.remer.timetrack.domain.timeoff.TimeOffType;
+import cc.remer.timetrack.domain.workinghours.WorkingHours;
+import cc.remer.timetrack.usecase.report.DailyReportEntry.DayType;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Assembles the daily rows of time reports from time entries, time-off and working hours.
+ * Shared by the monthly report and the date range export.
+ */
+@Component
+public class DailyReportAssembler {
+
+    private static final ZoneId EUROPE_BERLIN = ZoneId.of("Europe/Berlin");
+
+    /**
+     * Build a map of time-off entries by date.
+     * If multiple time-off entries exist for the same date, prioritize sick days, then vacation.
+     * Returns the complete TimeOff object so we can access notes.
+     */
+    public Map<LocalDate, TimeOff> buildTimeOffMap(List<TimeOff> timeOffEntries, LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, TimeOff> timeOffByDate = new HashMap<>();
+
+        for (TimeOff timeOff : timeOffEntries) {
+            LocalDate currentDate = timeOff.getStartDate().isBefore(startDate) ? startDate : timeOff.getStartDate();
+            LocalDate lastDate = timeOff.getEndDate().isAfter(endDate) ? endDate : timeOff.getEndDate();
+
+            while (!currentDate.isAfter(lastDate)) {
+                // Prioritize sick days over other types
+                TimeOff existingTimeOff = timeOffByDate.get(currentDate);
+                TimeOffType existingType = existingTimeOff != null ? existingTimeOff.getTimeOffType() : null;
+
+                if (existingType == null ||
+                    (timeOff.getTimeOffType() == TimeOffType.SICK && existingType != TimeOffType.SICK && existingType != TimeOffType.CHILD_SICK) ||
+                    (timeOff.getTimeOffType() == TimeOffType.CHILD_SICK && existingType != TimeOffType.SICK && existingType != TimeOffType.CHILD_SICK)) {
+                    timeOffByDate.put(currentDate, timeOff);
+                }
+                currentDate = currentDate.plusDays(1);
+            }
+        }
+
+        return timeOffByDate;
+    }
+
+    /**
+     * Create a daily report entry for a specific date.
+     *
+     * @param date              the date
+     * @param entries           the time entries of the date
+     * @param workingHoursMap   the user's working hours by weekday
+     * @param timeOff           the time-off entry of the date (see {@link #buildTimeOffMap}), or null
+     * @param isRecurringOffDay whether the date is a recurring off-day
+     * @return the daily report entry
+     */
+    public DailyReportEntry createDailyEntry(
+            LocalDate date,
+            List<TimeEntry> entries,
+            Map<Short, WorkingHours> workingHoursMap,
+            TimeOff timeOff,
+            boolean isRecurringOffDay
+    ) {
+        // Get expected hours for this day of week (subtract break minutes)
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        short weekdayValue = (short) dayOfWeek.getValue();
+        WorkingHours workingHours = workingHoursMap.get(weekdayValue);
+
+        // Hours field already contains net hours (break subtracted when saved)
+        Double expectedHours = 0.0;
+        if (workingHours != null && workingHours.getIsWorkingDay() && workingHours.getHours() != null) {
+            expectedHours = workingHours.getHours().doubleValue();
+        }
+
+        // Determine day type
+        DayType dayType = determineDayType(date, timeOff, isRecurringOffDay);
+
+        // Determine notes: priority is time entry notes > time-off notes > time-off type
+        String notes = null;
+        TimeOffType timeOffType = null;
+
+        if (timeOff != null) {
+            timeOffType = timeOff.getTimeOffType();
+            // Use time-off notes if available, otherwise will use type name later
+            notes = timeOff.getNotes();
+        }
+
+        if (entries.isEmpty()) {
+            // No entries for this day
+            return DailyReportEntry.builder()
+                    .date(date)
+                    .startTime(null)
+                    .endTime(null)
+                    .breakMinutes(0)
+                    .totalHours(null)
+                    .expectedHours(expectedHours)
+                    .overtime(null)
+                    .dayType(dayType)
+                    .notes(notes)
+                    .timeOffType(timeOffType)
+                    .build();
+        }
+
+        // Priority for notes: first non-null time entry notes > time-off notes
+        if (notes == null) {
+            notes = entries.stream()
+                    .map(TimeEntry::getNotes)
+                    .filter(Objects::nonNull)
+                    .filter(n -> !n.isBlank())
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        // Find first clock-in and last clock-out
+        // Convert from UTC (stored in DB) to Europe/Berlin timezone
+        LocalTime startTime = entries.stream()
+                .map(TimeEntry::getClockIn)
+                .min(Comparator.naturalOrder())
+                .map(ldt -> ldt.atZone(ZoneId.of("UTC")).withZoneSameInstant(EUROPE_BERLIN).toLocalTime())
+                .orElse(null);
+
+        // Calculate total break minutes for the day
+        int totalBreakMinutes = entries.stream()
+                .mapToInt(entry -> entry.getBreakMinutes() != null ? entry.getBreakMinutes() : 0)
+                .sum();
+
+        // Check if any entry is still active (not clocked out)
+        boolean hasActiveEntry = entries.stream().anyMatch(TimeEntry::isActive);
+
+        LocalTime endTime = null;
+        Double totalHours = null;
+        Double overtime = null;
+
+        if (!hasActiveEntry) {
+            // All entries are clocked out, calculate totals
+            // Convert from UTC (stored in DB) to Europe/Berlin timezone
+            endTime = entries.stream()
+                    .map(TimeEntry::getClockOut)
+                    .filter(Objects::nonNull)
+                    .max(Comparator.naturalOrder())
+                    .map(ldt -> ldt.atZone(ZoneId.of("UTC")).withZoneSameInstant(EUROPE_BERLIN).toLocalTime())
+                    .orElse(null);
+
+            // Calculate total hours (already excludes breaks due to getHoursWorked() implementation)
+            totalHours = entries.stream()
+                    .map(TimeEntry::getHoursWorked)
+                    .filter(Objects::nonNull)
+                    .mapToDouble(Double::doubleValue)
+                    .sum();
+
+            // Calculate overtime
+            overtime = totalHours - expectedHours;
+        }
+
+        return DailyReportEntry.builder()
+                .date(date)
+                .startTime(startTime)
+                .endTime(endTime)
+                .breakMinutes(totalBreakMinutes)
+                .totalHours(totalHours)
+                .expectedHours(expectedHours)
+                .overtime(overtime)
+                .dayType(dayType)
+                .notes(notes)
+                .timeOffType(timeOffType)
+                .build();
+    }
+
+    /**
+     * Determine the day type based on time-off, recurring off-day, and weekend status.
+     */
+    private DayType determineDayType(LocalDate date, TimeOff timeOff, boolean isRecurringOffDay) {
+        if (timeOff != null) {
+            TimeOffType timeOffType = timeOff.getTimeOffType();
+            return switch (timeOffType) {
+                case SICK -> DayType.SICK;
+                case CHILD_SICK -> DayType.SICK;
+                case VACATION -> DayType.VACATION;
+                case PUBLIC_HOLIDAY -> DayType.PUBLIC_HOLIDAY;
+                case EDUCATION -> DayType.REGULAR; // Education days are regular work days with notes
+                default -> DayType.REGULAR;
+            };
+        }
+
+        // Check if recurring off-day
+        if (isRecurringOffDay) {
+            return DayType.RECURRING_OFF_DAY;
+        }
+
+        // Check if weekend
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
+            return DayType.WEEKEND;
+        }
+
+        return DayType.REGULAR;
+    }
+}
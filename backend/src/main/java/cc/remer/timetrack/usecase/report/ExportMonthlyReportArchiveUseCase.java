@@ -0,0 +1,198 @@
+package cc.remer.timetrack.usecase.report;
+
+import cc.remer.timetrack.adapter.persistence.UserRepository;
+import cc.remer.timetrack.config.ReportProperties;
+import cc.remer.timetrack.domain.reportjob.ReportFormat;
+import cc.remer.timetrack.domain.user.User;
+import cc.remer.timetrack.exception.UserNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Use case for exporting the monthly reports of several users as one ZIP archive.
+ *
+ * Reports are generated on virtual threads, at most {@link ReportProperties#getExportConcurrency()}
+ * at a time since each one loads its data in its own transaction. Finished reports are added to the
+ * archive in completion order by the calling thread, and the next report is only started once a
+ * finished one has been written, so at most that many reports are held in memory.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportMonthlyReportArchiveUseCase {
+
+    private final MonthlyReportCache monthlyReportCache;
+    private final UserRepository userRepository;
+    private final ReportProperties reportProperties;
+
+    /**
+     * Validate the period and determine the users to export.
+     * Call this before streaming starts, so invalid requests still get an error response.
+     *
+     * @param year    the year
+     * @param month   the month (1-12)
+     * @param userIds the users to export, or null/empty for all active users
+     * @return the user IDs to export, ordered by name
+     * @throws UserNotFoundException if one of the given users doesn't exist
+     */
+    @Transactional(readOnly = true)
+    public List<Long> resolveUsers(int year, int month, List<Long> userIds) {
+        ExportMonthlyReportUseCase.validateParameters(year, month);
+
+        List<User> users;
+        if (userIds == null || userIds.isEmpty()) {
+            users = userRepository.findByActive(true);
+        } else {
+            Set<Long> requestedIds = new LinkedHashSet<>(userIds);
+            users = userRepository.findAllById(requestedIds);
+            if (users.size() != requestedIds.size()) {
+                users.forEach(user -> requestedIds.remove(user.getId()));
+                log.warn("Users not found for report archive: {}", requestedIds);
+                throw new UserNotFoundException("Benutzer nicht gefunden: " + requestedIds);
+            }
+        }
+
+        return users.stream()
+                .sorted(Comparator.comparing(User::getLastName).thenComparing(User::getFirstName).thenComparing(User::getId))
+                .map(User::getId)
+                .toList();
+    }
+
+    /**
+     * Generate the monthly reports of the given users and write them to a ZIP archive.
+     *
+     * @param year         the year
+     * @param month        the month (1-12)
+     * @param userIds      the users to export (see {@link #resolveUsers})
+     * @param includeCsv   whether to add the CSV report next to the PDF
+     * @param outputStream the stream to write the archive to (not closed)
+     * @throws IOException if a report can't be generated or the archive can't be written
+     */
+    public void writeArchive(int year, int month, List<Long> userIds, boolean includeCsv,
+                             OutputStream outputStream) throws IOException {
+        log.info("Exporting monthly report archive for {}-{} ({} users, CSV: {})", year, month, userIds.size(), includeCsv);
+        long startTime = System.nanoTime();
+
+        int concurrency = Math.max(1, reportProperties.getExportConcurrency());
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("report-export-", 0).factory());
+        try {
+            CompletionService<List<ReportFile>> completionService = new ExecutorCompletionService<>(executor);
+            Iterator<Long> pending = userIds.iterator();
+            int running = 0;
+
+            // Start the first reports; every finished report starts the next one
+            while (running < concurrency && pending.hasNext()) {
+                submit(completionService, pending.next(), year, month, includeCsv);
+                running++;
+            }
+
+            // ZipOutputStream is not thread-safe: only this thread writes to it
+            ZipOutputStream zip = new ZipOutputStream(outputStream);
+            int fileCount = 0;
+            while (running > 0) {
+                List<ReportFile> files = takeNext(completionService);
+                running--;
+                if (pending.hasNext()) {
+                    submit(completionService, pending.next(), year, month, includeCsv);
+                    running++;
+                }
+
+                for (ReportFile file : files) {
+                    zip.putNextEntry(new ZipEntry(file.name()));
+                    zip.write(file.content());
+                    zip.closeEntry();
+                    fileCount++;
+                }
+                zip.flush();
+            }
+            // Finish instead of close: the caller owns the stream
+            zip.finish();
+
+            log.info("Exported {} report files for {}-{} in {} ms",
+                    fileCount, year, month, (System.nanoTime() - startTime) / 1_000_000);
+        } finally {
+            // Cancels reports still running if writing the archive failed
+            executor.shutdownNow();
+            executor.close();
+        }
+    }
+
+    private void submit(CompletionService<List<ReportFile>> completionService, Long userId,
+                        int year, int month, boolean includeCsv) {
+        completionService.submit(() -> generateReports(userId, year, month, includeCsv));
+    }
+
+    private List<ReportFile> takeNext(CompletionService<List<ReportFile>> completionService) throws IOException {
+        try {
+            return completionService.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Report archive export interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException("Failed to generate report", e.getCause());
+        }
+    }
+
+    /**
+     * Load the data of one user and render the report files, or take them from the report cache.
+     */
+    private List<ReportFile> generateReports(Long userId, int year, int month, boolean includeCsv) throws IOException {
+        Set<ReportFormat> formats = includeCsv ? EnumSet.of(ReportFormat.PDF, ReportFormat.CSV) : EnumSet.of(ReportFormat.PDF);
+        PreparedMonthlyReport prepared = monthlyReportCache.prepare(userId, year, month, formats);
+        String baseName = fileBaseName(prepared);
+
+        List<ReportFile> files = new ArrayList<>(formats.size());
+        for (ReportFormat format : formats) {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            monthlyReportCache.write(prepared, format, content);
+            files.add(new ReportFile(baseName + "." + format.getExtension(), content.toByteArray()));
+        }
+
+        return files;
+    }
+
+    /**
+     * File name without extension, e.g. "stundenzettel_2025_12_Müller_Jürgen_42".
+     * The user ID keeps names unique; characters that are unsafe in file names are replaced.
+     */
+    private String fileBaseName(PreparedMonthlyReport report) {
+        User user = report.user();
+        String name = String.format("stundenzettel_%d_%02d_%s_%s_%d",
+                report.year(), report.month(), user.getLastName(), user.getFirstName(), user.getId());
+        return name.replaceAll("[^\\p{L}\\p{N}_-]+", "_");
+    }
+
+    /**
+     * A generated file and its archive entry name.
+     */
+    private record ReportFile(String name, byte[] content) {
+    }
+}
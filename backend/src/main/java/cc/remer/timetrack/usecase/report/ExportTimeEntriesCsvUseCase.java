@@ -0,0 +1,142 @@
+package cc.remer.timetrack.usecase.report;
+
+import cc.remer.timetrack.adapter.persistence.TimeEntryExportRepository;
+import cc.remer.timetrack.adapter.persistence.TimeOffRepository;
+import cc.remer.timetrack.adapter.persistence.UserRepository;
+import cc.remer.timetrack.adapter.persistence.WorkingHoursRepository;
+import cc.remer.timetrack.domain.timeentry.TimeEntry;
+import cc.remer.timetrack.domain.timeoff.TimeOff;
+import cc.remer.timetrack.domain.user.User;
+import cc.remer.timetrack.domain.workinghours.WorkingHours;
+import cc.remer.timetrack.usecase.recurringoffday.RecurringOffDayEvaluator;
+import cc.remer.timetrack.usecase.recurringoffday.RecurringOffDaySchedule;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Use case for exporting the time entries of a user over an arbitrary date range as CSV.
+ *
+ * Rows are written to the output stream day by day while the entries are read through a database
+ * cursor, so neither the entries nor the CSV are held in memory as a whole.
+ *
+ * The cursor needs the read-only transaction, and with it a pooled connection, for as long as the
+ * download takes, so a slow client holds the connection that long. The export is bounded by the range
+ * ({@value #MAX_RANGE_YEARS} years, at most a few thousand rows), and with virtual threads the
+ * connections held at the same time by the connection guard ({@code app.connection-guard}).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportTimeEntriesCsvUseCase {
+
+    /**
+     * Longest range that can be exported at once.
+     */
+    static final int MAX_RANGE_YEARS = 10;
+
+    private static final DateTimeFormatter TITLE_DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    private final UserRepository userRepository;
+    private final TimeEntryExportRepository timeEntryExportRepository;
+    private final TimeOffRepository timeOffRepository;
+    private final WorkingHoursRepository workingHoursRepository;
+    private final RecurringOffDayEvaluator recurringOffDayEvaluator;
+    private final DailyReportAssembler dailyReportAssembler;
+    private final MonthlyReportCsvGenerator csvGenerator;
+
+    /**
+     * Validate the date range of an export.
+     *
+     * @param startDate the start date (inclusive)
+     * @param endDate   the end date (inclusive)
+     * @throws IllegalArgumentException if the range is empty, reversed or too long
+     */
+    public static void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start date and end date are required");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        if (endDate.isAfter(startDate.plusYears(MAX_RANGE_YEARS))) {
+            throw new IllegalArgumentException("Date range must not exceed " + MAX_RANGE_YEARS + " years");
+        }
+    }
+
+    /**
+     * Write the time report of a user for a date range as CSV, one row per day.
+     *
+     * @param userId       the user ID
+     * @param startDate    the start date (inclusive)
+     * @param endDate      the end date (inclusive)
+     * @param outputStream the stream to write the CSV to (UTF-8 with BOM, flushed but not closed)
+     * @throws IOException if the stream can't be written
+     * @throws IllegalArgumentException if the range is invalid or the user doesn't exist
+     */
+    @Transactional(readOnly = true)
+    public void execute(Long userId, LocalDate startDate, LocalDate endDate, OutputStream outputStream) throws IOException {
+        log.info("Exporting CSV for user {} from {} to {}", userId, startDate, endDate);
+        validateRange(startDate, endDate);
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
+
+        Map<Short, WorkingHours> workingHoursMap = workingHoursRepository.findByUserId(userId).stream()
+                .collect(Collectors.toMap(WorkingHours::getWeekday, wh -> wh));
+        Map<LocalDate, TimeOff> timeOffByDate = dailyReportAssembler.buildTimeOffMap(
+                timeOffRepository.findByUserIdAndDateRange(userId, startDate, endDate), startDate, endDate);
+        RecurringOffDaySchedule recurringOffDays = recurringOffDayEvaluator.buildSchedule(userId, startDate, endDate);
+
+        Writer writer = csvGenerator.openWriter(outputStream);
+        csvGenerator.writeHeader(writer, "Zeiterfassung " + startDate.format(TITLE_DATE_FORMATTER)
+                + " – " + endDate.format(TITLE_DATE_FORMATTER), user);
+
+        MonthlyReportCsvGenerator.Totals totals = new MonthlyReportCsvGenerator.Totals();
+        long entryCount = 0;
+
+        try (Stream<TimeEntry> entries = timeEntryExportRepository.streamByUserIdAndDateRange(userId, startDate, endDate)) {
+            Iterator<TimeEntry> iterator = entries.iterator();
+            TimeEntry next = iterator.hasNext() ? iterator.next() : null;
+
+            // Entries arrive ordered by date; collect those of the current day, then write its row
+            List<TimeEntry> dayEntries = new ArrayList<>();
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                dayEntries.clear();
+                while (next != null && next.getEntryDate().equals(date)) {
+                    dayEntries.add(next);
+                    next = iterator.hasNext() ? iterator.next() : null;
+                }
+                entryCount += dayEntries.size();
+
+                DailyReportEntry row = dailyReportAssembler.createDailyEntry(
+                        date,
+                        dayEntries,
+                        workingHoursMap,
+                        timeOffByDate.get(date),
+                        recurringOffDays.isOffDay(date)
+                );
+                csvGenerator.writeRow(writer, row);
+                totals.add(row);
+            }
+        }
+
+        csvGenerator.writeSummary(writer, totals);
+        writer.flush();
+
+        log.info("Exported {} time entries for user {} from {} to {}", entryCount, userId, startDate, endDate);
+    }
+}
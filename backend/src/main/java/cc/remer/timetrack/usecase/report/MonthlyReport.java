@@ -0,0 +1,32 @@
+package cc.remer.timetrack.usecase.report;
+
+import cc.remer.timetrack.domain.user.User;
+
+import java.util.List;
+
+/**
+ * Data of a monthly time report, loaded up front so the document can be written
+ * outside of the transaction (e.g. while streaming the HTTP response).
+ */
+public record MonthlyReport(
+        /**
+         * The year of the report
+         */
+        int year,
+
+        /**
+         * The month of the report (1-12)
+         */
+        int month,
+
+        /**
+         * The user the report is for (fully loaded)
+         */
+        User user,
+
+        /**
+         * One entry per day of the month
+         */
+        List<DailyReportEntry> entries
+) {
+}
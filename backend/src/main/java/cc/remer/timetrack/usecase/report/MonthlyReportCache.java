@@ -0,0 +1,140 @@
+package cc.remer.timetrack.usecase.report;
+
+import cc.remer.timetrack.adapter.persistence.UserRepository;
+import cc.remer.timetrack.adapter.storage.ReportCacheStorage;
+import cc.remer.timetrack.config.ReportProperties;
+import cc.remer.timetrack.domain.reportjob.ReportFormat;
+import cc.remer.timetrack.domain.user.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Caches generated monthly report files on disk.
+ *
+ * A cached file is identified by a hash of the user, period, format and the data watermark of the period
+ * (see {@link UserRepository#findReportDataWatermark}). As soon as any report input changes, the watermark
+ * and therefore the key changes, so cached files never need to be invalidated; unused ones are removed by
+ * {@link ReportCacheMaintenance}. Closed months keep their key and are only rendered once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MonthlyReportCache {
+
+    /**
+     * Part of every cache key. Increase when the PDF or CSV layout changes, so files rendered
+     * by an older version are no longer used.
+     */
+    static final int LAYOUT_VERSION = 1;
+
+    private final ExportMonthlyReportUseCase exportMonthlyReportUseCase;
+    private final UserRepository userRepository;
+    private final ReportCacheStorage reportCacheStorage;
+    private final ReportProperties reportProperties;
+
+    /**
+     * Look up the cached files of a monthly report and load the report data only if a format isn't cached.
+     * The watermark and the data are read from the same snapshot, so a file is never cached under a
+     * watermark that doesn't match its content.
+     *
+     * @param userId  the user ID
+     * @param year    the year
+     * @param month   the month (1-12)
+     * @param formats the formats to be written
+     * @return the prepared report, to be written with {@link #write}
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public PreparedMonthlyReport prepare(Long userId, int year, int month, Set<ReportFormat> formats) {
+        ExportMonthlyReportUseCase.validateParameters(year, month);
+
+        if (!reportProperties.isCacheEnabled()) {
+            MonthlyReport report = exportMonthlyReportUseCase.execute(userId, year, month, null);
+            return new PreparedMonthlyReport(report.user(), year, month, Map.of(), Map.of(), report);
+        }
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
+
+        YearMonth yearMonth = YearMonth.of(year, month);
+        String watermark = userRepository.findReportDataWatermark(userId, yearMonth.atDay(1), yearMonth.atEndOfMonth());
+
+        Map<ReportFormat, String> cacheKeys = new EnumMap<>(ReportFormat.class);
+        Map<ReportFormat, Path> cachedFiles = new EnumMap<>(ReportFormat.class);
+        for (ReportFormat format : formats) {
+            String key = cacheKey(userId, year, month, format, watermark);
+            cacheKeys.put(format, key);
+            reportCacheStorage.find(key, format.getExtension()).ifPresent(file -> cachedFiles.put(format, file));
+        }
+
+        MonthlyReport report = null;
+        if (cachedFiles.size() < formats.size()) {
+            report = exportMonthlyReportUseCase.execute(userId, year, month, user);
+        } else {
+            log.debug("Monthly report of user {} for {}-{} served from cache", userId, year, month);
+        }
+        return new PreparedMonthlyReport(user, year, month, cacheKeys, cachedFiles, report);
+    }
+
+    /**
+     * Write a report file, from the cache or by rendering and caching it.
+     * Doesn't access the database, so it can run after the transaction of {@link #prepare} has ended.
+     *
+     * @param prepared     the prepared report
+     * @param format       the format to write; must have been passed to {@link #prepare}
+     * @param outputStream the stream to write to (not closed)
+     * @throws IOException if the file can't be read, rendered or written
+     */
+    public void write(PreparedMonthlyReport prepared, ReportFormat format, OutputStream outputStream) throws IOException {
+        Path cachedFile = prepared.cachedFiles().get(format);
+        if (cachedFile == null) {
+            String key = prepared.cacheKeys().get(format);
+            if (key == null) {
+                render(prepared.report(), format, outputStream);
+                return;
+            }
+            cachedFile = reportCacheStorage.write(key, format.getExtension(),
+                    fileStream -> render(prepared.report(), format, fileStream));
+            log.debug("Cached {} report of user {} for {}-{}", format, prepared.user().getId(),
+                    prepared.year(), prepared.month());
+        }
+        Files.copy(cachedFile, outputStream);
+    }
+
+    private void render(MonthlyReport report, ReportFormat format, OutputStream outputStream) throws IOException {
+        if (format == ReportFormat.PDF) {
+            exportMonthlyReportUseCase.writePdf(report, outputStream);
+        } else {
+            exportMonthlyReportUseCase.writeCsv(report, outputStream);
+        }
+    }
+
+    /**
+     * Hash of everything that determines the content of a report file.
+     */
+    static String cacheKey(Long userId, int year, int month, ReportFormat format, String watermark) {
+        String source = String.join("|", String.valueOf(LAYOUT_VERSION), String.valueOf(userId),
+                String.valueOf(year), String.valueOf(month), format.name(), String.valueOf(watermark));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
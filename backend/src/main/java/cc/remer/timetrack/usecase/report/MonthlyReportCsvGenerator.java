@@ -4,12 +4,17 @@ import cc.remer.timetrack.domain.user.User;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.DoubleSummaryStatistics;
 import java.util.List;
 import java.util.Locale;
-import java.util.stream.Collectors;
 
 /**
  * Service for generating monthly time report CSVs.
@@ -26,74 +31,104 @@ public class MonthlyReportCsvGenerator {
     private static final String CSV_SEPARATOR = ";"; // Use semicolon for German Excel
 
     /**
-     * Generate a monthly time report as CSV.
+     * Write a monthly time report as CSV.
      *
-     * @param year    the year
-     * @param month   the month (1-12)
-     * @param user    the user for whom the report is generated
-     * @param entries list of daily report entries
-     * @return CSV as byte array (UTF-8 with BOM for Excel compatibility)
+     * @param year         the year
+     * @param month        the month (1-12)
+     * @param user         the user for whom the report is generated
+     * @param entries      list of daily report entries
+     * @param outputStream the stream to write the CSV to (UTF-8 with BOM, flushed but not closed)
+     * @throws IOException if the stream can't be written
      */
-    public byte[] generateMonthlyReport(int year, int month, User user, List<DailyReportEntry> entries) {
+    public void writeMonthlyReport(int year, int month, User user, List<DailyReportEntry> entries,
+                                   OutputStream outputStream) throws IOException {
         log.info("Generating monthly report CSV for user {} for {}-{}", user.getId(), year, month);
 
-        StringBuilder csv = new StringBuilder();
-
-        // Add BOM for Excel UTF-8 recognition
-        csv.append("\uFEFF");
-
-        // Add header
         LocalDate monthDate = LocalDate.of(year, month, 1);
         String monthYearString = monthDate.format(MONTH_YEAR_FORMATTER);
-        csv.append("Stundenzettel ").append(capitalize(monthYearString)).append("\n");
-        csv.append("Mitarbeiter").append(CSV_SEPARATOR)
-                .append(user.getFirstName()).append(" ").append(user.getLastName()).append("\n");
-        csv.append("\n");
-
-        // Add table header
-        csv.append("Datum").append(CSV_SEPARATOR)
-                .append("Anfang").append(CSV_SEPARATOR)
-                .append("Pause (min)").append(CSV_SEPARATOR)
-                .append("Ende").append(CSV_SEPARATOR)
-                .append("Gesamt").append(CSV_SEPARATOR)
-                .append("Überstunden").append("\n");
-
-        // Add data rows
+
+        Writer writer = openWriter(outputStream);
+        writeHeader(writer, "Stundenzettel " + capitalize(monthYearString), user);
+
+        Totals totals = new Totals();
         for (DailyReportEntry entry : entries) {
-            csv.append(entry.date().format(DATE_FORMATTER)).append(CSV_SEPARATOR)
-                    .append(entry.startTime() != null ? entry.startTime().format(TIME_FORMATTER) : "").append(CSV_SEPARATOR)
-                    .append(entry.breakMinutes()).append(CSV_SEPARATOR)
-                    .append(entry.endTime() != null ? entry.endTime().format(TIME_FORMATTER) : "").append(CSV_SEPARATOR)
-                    .append(entry.totalHours() != null ? formatHours(entry.totalHours()) : "").append(CSV_SEPARATOR)
-                    .append(entry.overtime() != null ? formatHours(entry.overtime()) : "").append("\n");
+            writeRow(writer, entry);
+            totals.add(entry);
         }
 
-        // Add summary
-        double totalHours = entries.stream()
-                .filter(e -> e.totalHours() != null)
-                .mapToDouble(DailyReportEntry::totalHours)
-                .sum();
+        writeSummary(writer, totals);
+        writer.flush();
+    }
 
-        double totalExpectedHours = entries.stream()
-                .filter(e -> e.expectedHours() != null)
-                .mapToDouble(DailyReportEntry::expectedHours)
-                .sum();
+    /**
+     * Open a writer on the stream and write the BOM for Excel UTF-8 recognition.
+     * The writer is buffered; flush it when done instead of closing it to keep the stream open.
+     */
+    Writer openWriter(OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write("\uFEFF");
+        return writer;
+    }
 
-        double totalOvertime = entries.stream()
-                .filter(e -> e.overtime() != null)
-                .mapToDouble(DailyReportEntry::overtime)
-                .sum();
+    /**
+     * Write the title, the employee and the table header.
+     */
+    void writeHeader(Writer writer, String title, User user) throws IOException {
+        writer.write(title + "\n");
+        writer.write("Mitarbeiter" + CSV_SEPARATOR + user.getFirstName() + " " + user.getLastName() + "\n");
+        writer.write("\n");
+
+        writer.write("Datum" + CSV_SEPARATOR
+                + "Anfang" + CSV_SEPARATOR
+                + "Pause (min)" + CSV_SEPARATOR
+                + "Ende" + CSV_SEPARATOR
+                + "Gesamt" + CSV_SEPARATOR
+                + "Überstunden" + "\n");
+    }
 
-        csv.append("\n");
-        csv.append("Zusammenfassung\n");
-        csv.append("Gesamtstunden").append(CSV_SEPARATOR).append(formatHours(totalHours)).append("\n");
-        csv.append("Sollstunden").append(CSV_SEPARATOR).append(formatHours(totalExpectedHours)).append("\n");
-        csv.append("Gesamtüberstunden").append(CSV_SEPARATOR).append(formatHoursWithSign(totalOvertime)).append("\n");
+    /**
+     * Write the table row of one day.
+     */
+    void writeRow(Writer writer, DailyReportEntry entry) throws IOException {
+        writer.write(entry.date().format(DATE_FORMATTER) + CSV_SEPARATOR
+                + (entry.startTime() != null ? entry.startTime().format(TIME_FORMATTER) : "") + CSV_SEPARATOR
+                + entry.breakMinutes() + CSV_SEPARATOR
+                + (entry.endTime() != null ? entry.endTime().format(TIME_FORMATTER) : "") + CSV_SEPARATOR
+                + (entry.totalHours() != null ? formatHours(entry.totalHours()) : "") + CSV_SEPARATOR
+                + (entry.overtime() != null ? formatHours(entry.overtime()) : "") + "\n");
+    }
 
-        String csvString = csv.toString();
-        log.info("Successfully generated CSV report ({} bytes)", csvString.length());
+    /**
+     * Write the summary of the written rows.
+     */
+    void writeSummary(Writer writer, Totals totals) throws IOException {
+        writer.write("\n");
+        writer.write("Zusammenfassung\n");
+        writer.write("Gesamtstunden" + CSV_SEPARATOR + formatHours(totals.totalHours.getSum()) + "\n");
+        writer.write("Sollstunden" + CSV_SEPARATOR + formatHours(totals.expectedHours.getSum()) + "\n");
+        writer.write("Gesamtüberstunden" + CSV_SEPARATOR + formatHoursWithSign(totals.overtime.getSum()) + "\n");
+    }
 
-        return csvString.getBytes(StandardCharsets.UTF_8);
+    /**
+     * Running sums of the rows for the summary, so rows don't need to be kept in memory.
+     */
+    static final class Totals {
+
+        private final DoubleSummaryStatistics totalHours = new DoubleSummaryStatistics();
+        private final DoubleSummaryStatistics expectedHours = new DoubleSummaryStatistics();
+        private final DoubleSummaryStatistics overtime = new DoubleSummaryStatistics();
+
+        void add(DailyReportEntry entry) {
+            if (entry.totalHours() != null) {
+                totalHours.accept(entry.totalHours());
+            }
+            if (entry.expectedHours() != null) {
+                expectedHours.accept(entry.expectedHours());
+            }
+            if (entry.overtime() != null) {
+                overtime.accept(entry.overtime());
+            }
+        }
     }
 
     /**
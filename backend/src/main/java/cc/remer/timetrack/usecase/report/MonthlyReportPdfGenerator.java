@@ -7,19 +7,25 @@ import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
 /**
  * Service for generating monthly time report PDFs using Apache PDFBox 3.x.
+ *
+ * The document is written straight to the caller's stream (e.g. the HTTP response)
+ * instead of being buffered as a byte array. Long months continue on further pages.
  */
 @Service
 @Slf4j
@@ -36,139 +42,151 @@ public class MonthlyReportPdfGenerator {
     private static final float NORMAL_FONT_SIZE = 9;
     private static final float SMALL_FONT_SIZE = 8;
 
+    private static final float HEADER_ROW_HEIGHT = 20;
+    private static final float ROW_HEIGHT = 18;
+    private static final float NOTE_LINE_HEIGHT = 10;
+    private static final float CELL_PADDING = 5;
+
     /**
-     * Generate a monthly time report PDF.
-     *
-     * @param year    the year
-     * @param month   the month (1-12)
-     * @param user    the user for whom the report is generated
-     * @param entries list of daily report entries
-     * @return PDF as byte array
+     * Height needed below the table for the summary block.
      */
-    public byte[] generateMonthlyReport(int year, int month, User user, List<DailyReportEntry> entries) {
-        log.info("Generating monthly report PDF for user {} for {}-{}", user.getId(), year, month);
+    private static final float SUMMARY_HEIGHT = 80;
 
-        try (PDDocument document = new PDDocument();
-             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+    private static final String[] TABLE_HEADERS = {"Datum", "Anfang", "Pause", "Ende", "Gesamt", "Überstd.", "Notiz"};
+    private static final float[] COLUMN_WIDTHS = {0.24f, 0.10f, 0.10f, 0.10f, 0.10f, 0.10f, 0.26f}; // Relative widths: Date, Start, Break, End, Total, Overtime, Notes
+    private static final int NOTES_COLUMN = COLUMN_WIDTHS.length - 1;
 
-            PDPage page = new PDPage(PDRectangle.A4);
-            document.addPage(page);
-
-            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-                float yPosition = page.getMediaBox().getHeight() - MARGIN;
+    /**
+     * Write a monthly time report PDF to the given stream.
+     * The table continues on further pages when the month doesn't fit on one page;
+     * the header row is repeated on every page.
+     *
+     * @param year         the year
+     * @param month        the month (1-12)
+     * @param user         the user for whom the report is generated
+     * @param entries      list of daily report entries
+     * @param outputStream the stream to write the PDF to (not closed)
+     * @throws IOException if the PDF can't be written
+     */
+    public void writeMonthlyReport(int year, int month, User user, List<DailyReportEntry> entries,
+                                   OutputStream outputStream) throws IOException {
+        log.info("Generating monthly report PDF for user {} for {}-{}", user.getId(), year, month);
 
+        try (PDDocument document = new PDDocument()) {
+            ReportPages pages = new ReportPages(document);
+            try (pages) {
                 // Add header
-                yPosition = addHeader(contentStream, yPosition, year, month, user);
+                addHeader(pages, year, month, user);
 
                 // Add spacing
-                yPosition -= 20;
+                pages.moveDown(20);
 
                 // Add table
-                yPosition = addTimeEntriesTable(contentStream, yPosition, page.getMediaBox().getWidth(), entries);
+                addTimeEntriesTable(pages, entries);
 
                 // Add summary
-                addSummary(contentStream, yPosition, entries);
+                addSummary(pages, entries);
             }
 
-            document.save(outputStream);
-            byte[] pdfBytes = outputStream.toByteArray();
+            addPageNumbers(document, pages.regularFont());
 
-            log.info("Successfully generated PDF report ({} bytes)", pdfBytes.length);
-            return pdfBytes;
-
-        } catch (IOException e) {
-            log.error("Error generating PDF report", e);
-            throw new RuntimeException("Failed to generate PDF report", e);
+            // PDFBox closes the stream it saves to; the caller owns it
+            document.save(new NonClosingOutputStream(outputStream));
+            log.info("Successfully generated PDF report ({} pages)", document.getNumberOfPages());
         }
     }
 
     /**
      * Add header section with title and user information.
      */
-    private float addHeader(PDPageContentStream contentStream, float yPosition, int year, int month, User user) throws IOException {
+    private void addHeader(ReportPages pages, int year, int month, User user) throws IOException {
         LocalDate monthDate = LocalDate.of(year, month, 1);
         String monthYearString = monthDate.format(MONTH_YEAR_FORMATTER);
         String title = "Stundenzettel " + capitalize(monthYearString);
+        PDPageContentStream contentStream = pages.contentStream();
 
         // Title
         contentStream.beginText();
-        contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), TITLE_FONT_SIZE);
-        contentStream.newLineAtOffset(MARGIN + 150, yPosition);
-        contentStream.showText(title);
+        contentStream.setFont(pages.boldFont(), TITLE_FONT_SIZE);
+        contentStream.newLineAtOffset(MARGIN + 150, pages.yPosition());
+        contentStream.showText(pages.encodable(pages.boldFont(), title));
         contentStream.endText();
 
-        yPosition -= 30;
+        pages.moveDown(30);
 
         // User info
         contentStream.beginText();
-        contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 11);
-        contentStream.newLineAtOffset(MARGIN, yPosition);
-        contentStream.showText("Mitarbeiter: " + user.getFirstName() + " " + user.getLastName());
+        contentStream.setFont(pages.regularFont(), 11);
+        contentStream.newLineAtOffset(MARGIN, pages.yPosition());
+        contentStream.showText(pages.encodable(pages.regularFont(),
+                "Mitarbeiter: " + user.getFirstName() + " " + user.getLastName()));
         contentStream.endText();
 
-        yPosition -= 20;
-
-        return yPosition;
+        pages.moveDown(20);
     }
 
     /**
-     * Add table with daily time entries.
+     * Add table with daily time entries, starting a new page (with a new header row) when a row doesn't fit.
      */
-    private float addTimeEntriesTable(PDPageContentStream contentStream, float yPosition, float pageWidth, List<DailyReportEntry> entries) throws IOException {
-        float tableWidth = pageWidth - 2 * MARGIN;
-        float[] columnWidths = {0.24f, 0.10f, 0.10f, 0.10f, 0.10f, 0.10f, 0.26f}; // Relative widths: Date, Start, Break, End, Total, Overtime, Notes
-        float rowHeight = 18;
-
+    private void addTimeEntriesTable(ReportPages pages, List<DailyReportEntry> entries) throws IOException {
         // Draw header row
-        yPosition = drawTableHeaderRow(contentStream, yPosition, MARGIN, columnWidths, tableWidth);
+        drawTableHeaderRow(pages);
 
         // Draw data rows
         for (DailyReportEntry entry : entries) {
-            yPosition = drawTableDataRow(contentStream, yPosition, MARGIN, columnWidths, tableWidth, entry, rowHeight);
+            String[] values = cellValues(entry);
+            List<String> noteLines = wrap(pages, values[NOTES_COLUMN],
+                    COLUMN_WIDTHS[NOTES_COLUMN] * pages.tableWidth() - 2 * CELL_PADDING);
+            float rowHeight = ROW_HEIGHT + Math.max(noteLines.size() - 1, 0) * NOTE_LINE_HEIGHT;
+
+            if (!pages.fits(rowHeight)) {
+                pages.newPage();
+                drawTableHeaderRow(pages);
+            }
+            drawTableDataRow(pages, values, noteLines, entry.dayType(), rowHeight);
         }
-
-        return yPosition;
     }
 
     /**
      * Draw table header row.
      */
-    private float drawTableHeaderRow(PDPageContentStream contentStream, float yPosition, float xStart, float[] columnWidths, float tableWidth) throws IOException {
-        String[] headers = {"Datum", "Anfang", "Pause", "Ende", "Gesamt", "Überstd.", "Notiz"};
-        float rowHeight = 20;
+    private void drawTableHeaderRow(ReportPages pages) throws IOException {
+        PDPageContentStream contentStream = pages.contentStream();
+        float yPosition = pages.yPosition();
+        float tableWidth = pages.tableWidth();
 
         // Draw background
         contentStream.setNonStrokingColor(220/255f, 220/255f, 220/255f);
-        contentStream.addRect(xStart, yPosition - rowHeight, tableWidth, rowHeight);
+        contentStream.addRect(MARGIN, yPosition - HEADER_ROW_HEIGHT, tableWidth, HEADER_ROW_HEIGHT);
         contentStream.fill();
 
         // Draw text - each cell independently
         contentStream.setNonStrokingColor(0, 0, 0);
-        contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), HEADER_FONT_SIZE);
+        contentStream.setFont(pages.boldFont(), HEADER_FONT_SIZE);
 
-        float xPosition = xStart + 5;
+        float xPosition = MARGIN + CELL_PADDING;
         float yText = yPosition - 14;
 
-        for (int i = 0; i < headers.length; i++) {
+        for (int i = 0; i < TABLE_HEADERS.length; i++) {
             contentStream.beginText();
             contentStream.newLineAtOffset(xPosition, yText);
-            contentStream.showText(headers[i]);
+            contentStream.showText(TABLE_HEADERS[i]);
             contentStream.endText();
-            xPosition += columnWidths[i] * tableWidth;
+            xPosition += COLUMN_WIDTHS[i] * tableWidth;
         }
 
         // Draw border (same light grey as data rows for consistent appearance)
         contentStream.setStrokingColor(200/255f, 200/255f, 200/255f);
-        contentStream.addRect(xStart, yPosition - rowHeight, tableWidth, rowHeight);
+        contentStream.addRect(MARGIN, yPosition - HEADER_ROW_HEIGHT, tableWidth, HEADER_ROW_HEIGHT);
         contentStream.stroke();
 
-        return yPosition - rowHeight;
+        pages.moveDown(HEADER_ROW_HEIGHT);
     }
 
     /**
-     * Draw table data row.
+     * Format the cell values of a table data row.
      */
-    private float drawTableDataRow(PDPageContentStream contentStream, float yPosition, float xStart, float[] columnWidths, float tableWidth, DailyReportEntry entry, float rowHeight) throws IOException {
+    private String[] cellValues(DailyReportEntry entry) {
         // Determine notes: use entry notes if present, otherwise use time-off type name or day type
         String notes = entry.notes();
         if ((notes == null || notes.isBlank()) && entry.timeOffType() != null) {
@@ -179,7 +197,7 @@ public class MonthlyReportPdfGenerator {
             notes = "Freier Tag";
         }
 
-        String[] values = {
+        return new String[]{
                 entry.date().format(DATE_FORMATTER),
                 entry.startTime() != null ? entry.startTime().format(TIME_FORMATTER) : "-",
                 formatBreakMinutes(entry.breakMinutes()),
@@ -188,36 +206,99 @@ public class MonthlyReportPdfGenerator {
                 entry.overtime() != null ? formatHours(entry.overtime()) : "-",
                 notes != null ? notes : ""
         };
+    }
+
+    /**
+     * Draw table data row. Notes are written on as many lines as needed.
+     */
+    private void drawTableDataRow(ReportPages pages, String[] values, List<String> noteLines, DayType dayType,
+                                  float rowHeight) throws IOException {
+        PDPageContentStream contentStream = pages.contentStream();
+        float yPosition = pages.yPosition();
+        float tableWidth = pages.tableWidth();
 
         // Draw background color based on day type
-        float[] bgColor = getBackgroundColor(entry.dayType());
+        float[] bgColor = getBackgroundColor(dayType);
         if (bgColor != null) {
             contentStream.setNonStrokingColor(bgColor[0], bgColor[1], bgColor[2]);
-            contentStream.addRect(xStart, yPosition - rowHeight, tableWidth, rowHeight);
+            contentStream.addRect(MARGIN, yPosition - rowHeight, tableWidth, rowHeight);
             contentStream.fill();
         }
 
         // Draw border
         contentStream.setStrokingColor(200/255f, 200/255f, 200/255f);
-        contentStream.addRect(xStart, yPosition - rowHeight, tableWidth, rowHeight);
+        contentStream.addRect(MARGIN, yPosition - rowHeight, tableWidth, rowHeight);
         contentStream.stroke();
 
         // Reset to black for text
         contentStream.setNonStrokingColor(0, 0, 0);
-        contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), NORMAL_FONT_SIZE);
+        contentStream.setFont(pages.regularFont(), NORMAL_FONT_SIZE);
 
-        float xPosition = xStart + 5;
+        float xPosition = MARGIN + CELL_PADDING;
         float yText = yPosition - 12;
 
-        for (int i = 0; i < values.length; i++) {
+        for (int i = 0; i < NOTES_COLUMN; i++) {
             contentStream.beginText();
             contentStream.newLineAtOffset(xPosition, yText);
             contentStream.showText(values[i]);
             contentStream.endText();
-            xPosition += columnWidths[i] * tableWidth;
+            xPosition += COLUMN_WIDTHS[i] * tableWidth;
         }
 
-        return yPosition - rowHeight;
+        for (String line : noteLines) {
+            contentStream.beginText();
+            contentStream.newLineAtOffset(xPosition, yText);
+            contentStream.showText(line);
+            contentStream.endText();
+            yText -= NOTE_LINE_HEIGHT;
+        }
+
+        pages.moveDown(rowHeight);
+    }
+
+    /**
+     * Break text into lines that fit the given width.
+     * Characters the font can't encode are replaced, and words longer than a line are split.
+     */
+    private List<String> wrap(ReportPages pages, String text, float width) throws IOException {
+        List<String> lines = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return lines;
+        }
+
+        PDFont font = pages.regularFont();
+        StringBuilder line = new StringBuilder();
+        for (String word : pages.encodable(font, text).trim().split("\\s+")) {
+            String candidate = line.isEmpty() ? word : line + " " + word;
+            if (textWidth(font, candidate) <= width) {
+                line.setLength(0);
+                line.append(candidate);
+                continue;
+            }
+
+            if (!line.isEmpty()) {
+                lines.add(line.toString());
+                line.setLength(0);
+            }
+
+            // Split words that don't fit on a line of their own
+            for (int i = 0; i < word.length(); i++) {
+                if (!line.isEmpty() && textWidth(font, line.toString() + word.charAt(i)) > width) {
+                    lines.add(line.toString());
+                    line.setLength(0);
+                }
+                line.append(word.charAt(i));
+            }
+        }
+        if (!line.isEmpty()) {
+            lines.add(line.toString());
+        }
+
+        return lines;
+    }
+
+    private float textWidth(PDFont font, String text) throws IOException {
+        return font.getStringWidth(text) / 1000 * NORMAL_FONT_SIZE;
     }
 
     /**
@@ -243,7 +324,7 @@ public class MonthlyReportPdfGenerator {
     /**
      * Add summary section with totals.
      */
-    private void addSummary(PDPageContentStream contentStream, float yPosition, List<DailyReportEntry> entries) throws IOException {
+    private void addSummary(ReportPages pages, List<DailyReportEntry> entries) throws IOException {
         // Calculate totals
         double totalHours = entries.stream()
                 .filter(e -> e.totalHours() != null)
@@ -263,11 +344,16 @@ public class MonthlyReportPdfGenerator {
                 .mapToDouble(DailyReportEntry::overtime)
                 .sum();
 
-        yPosition -= 25;
+        // Keep the summary together; start a new page if it doesn't fit below the table
+        if (!pages.fits(SUMMARY_HEIGHT)) {
+            pages.newPage();
+        }
+        PDPageContentStream contentStream = pages.contentStream();
+        float yPosition = pages.yPosition() - 25;
 
         // Summary title
         contentStream.beginText();
-        contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 11);
+        contentStream.setFont(pages.boldFont(), 11);
         contentStream.newLineAtOffset(MARGIN, yPosition);
         contentStream.showText("Zusammenfassung:");
         contentStream.endText();
@@ -275,7 +361,7 @@ public class MonthlyReportPdfGenerator {
         yPosition -= 18;
 
         // Summary lines
-        contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 10);
+        contentStream.setFont(pages.regularFont(), 10);
 
         contentStream.beginText();
         contentStream.newLineAtOffset(MARGIN, yPosition);
@@ -295,6 +381,30 @@ public class MonthlyReportPdfGenerator {
         contentStream.newLineAtOffset(MARGIN, yPosition);
         contentStream.showText(String.format("Gesamtüberstunden: %s", formatHoursWithSign(totalOvertime)));
         contentStream.endText();
+
+        pages.moveDown(pages.yPosition() - yPosition);
+    }
+
+    /**
+     * Add "Seite x von y" to the bottom of every page once the number of pages is known.
+     */
+    private void addPageNumbers(PDDocument document, PDFont font) throws IOException {
+        int pageCount = document.getNumberOfPages();
+        int pageNumber = 0;
+        for (PDPage page : document.getPages()) {
+            pageNumber++;
+            String text = "Seite " + pageNumber + " von " + pageCount;
+            float textWidth = font.getStringWidth(text) / 1000 * SMALL_FONT_SIZE;
+
+            try (PDPageContentStream contentStream = new PDPageContentStream(
+                    document, page, PDPageContentStream.AppendMode.APPEND, true, true)) {
+                contentStream.beginText();
+                contentStream.setFont(font, SMALL_FONT_SIZE);
+                contentStream.newLineAtOffset(page.getMediaBox().getWidth() - MARGIN - textWidth, MARGIN / 2);
+                contentStream.showText(text);
+                contentStream.endText();
+            }
+        }
     }
 
     /**
@@ -381,4 +491,123 @@ public class MonthlyReportPdfGenerator {
         }
         return str.substring(0, 1).toUpperCase() + str.substring(1);
     }
+
+    /**
+     * Pages of one report being written: the current page and content stream, the vertical position,
+     * and the fonts shared by all pages of the document.
+     */
+    private static final class ReportPages implements AutoCloseable {
+
+        private final PDDocument document;
+        private final PDFont regularFont;
+        private final PDFont boldFont;
+
+        private PDPage page;
+        private PDPageContentStream contentStream;
+        private float yPosition;
+
+        ReportPages(PDDocument document) throws IOException {
+            this.document = document;
+            // Created once per document so every page references the same font resources
+            this.regularFont = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            this.boldFont = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+            newPage();
+        }
+
+        /**
+         * Finish the current page and continue at the top of a new one.
+         */
+        void newPage() throws IOException {
+            if (contentStream != null) {
+                contentStream.close();
+            }
+            page = new PDPage(PDRectangle.A4);
+            document.addPage(page);
+            contentStream = new PDPageContentStream(document, page);
+            yPosition = page.getMediaBox().getHeight() - MARGIN;
+        }
+
+        /**
+         * Check whether a block of the given height fits above the bottom margin of the current page.
+         */
+        boolean fits(float height) {
+            return yPosition - height >= MARGIN;
+        }
+
+        void moveDown(float height) {
+            yPosition -= height;
+        }
+
+        float yPosition() {
+            return yPosition;
+        }
+
+        float tableWidth() {
+            return page.getMediaBox().getWidth() - 2 * MARGIN;
+        }
+
+        PDPageContentStream contentStream() {
+            return contentStream;
+        }
+
+        PDFont regularFont() {
+            return regularFont;
+        }
+
+        PDFont boldFont() {
+            return boldFont;
+        }
+
+        /**
+         * Replace characters the font can't encode (e.g. emoji or line breaks in notes) with '?'.
+         */
+        String encodable(PDFont font, String text) throws IOException {
+            try {
+                font.encode(text);
+                return text;
+            } catch (IllegalArgumentException e) {
+                StringBuilder result = new StringBuilder(text.length());
+                text.codePoints().forEach(codePoint -> {
+                    String character = Character.toString(codePoint);
+                    result.append(canEncode(font, character) ? character
+                            : Character.isWhitespace(codePoint) ? " " : "?");
+                });
+                return result.toString();
+            }
+        }
+
+        private static boolean canEncode(PDFont font, String character) {
+            try {
+                font.encode(character);
+                return true;
+            } catch (IllegalArgumentException | IOException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            contentStream.close();
+        }
+    }
+
+    /**
+     * Passes writes through to the wrapped stream but only flushes it on close.
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
 }
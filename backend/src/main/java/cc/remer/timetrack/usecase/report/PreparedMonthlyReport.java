@@ -0,0 +1,26 @@
+package cc.remer.timetrack.usecase.report;
+
+import cc.remer.timetrack.domain.reportjob.ReportFormat;
+import cc.remer.timetrack.domain.user.User;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * A monthly report ready to be written, either from cached files or from freshly loaded data.
+ *
+ * @param user        the user the report is for
+ * @param year        the year
+ * @param month       the month (1-12)
+ * @param cacheKeys   content key of each requested format
+ * @param cachedFiles cached file of each format that didn't need to be generated
+ * @param report      the report data, or null if all requested formats are cached
+ */
+public record PreparedMonthlyReport(
+        User user,
+        int year,
+        int month,
+        Map<ReportFormat, String> cacheKeys,
+        Map<ReportFormat, Path> cachedFiles,
+        MonthlyReport report) {
+}
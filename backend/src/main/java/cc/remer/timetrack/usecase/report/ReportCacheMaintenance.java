@@ -0,0 +1,76 @@
+package cc.remer.timetrack.usecase.report;
+
+import cc.remer.timetrack.adapter.persistence.UserRepository;
+import cc.remer.timetrack.adapter.storage.ReportCacheStorage;
+import cc.remer.timetrack.config.ReportProperties;
+import cc.remer.timetrack.domain.reportjob.ReportFormat;
+import cc.remer.timetrack.domain.user.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Background maintenance of the monthly report cache.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReportCacheMaintenance {
+
+    private final MonthlyReportCache monthlyReportCache;
+    private final ReportCacheStorage reportCacheStorage;
+    private final UserRepository userRepository;
+    private final ReportProperties reportProperties;
+    private final Clock clock;
+
+    /**
+     * Generate the reports of all active users for the previous month.
+     * Runs on the first of the month, so the reports that are downloaded right after a month is closed
+     * are served from the cache. Users are processed one after another to keep the load low.
+     */
+    @Scheduled(cron = "${app.reports.cache-warmup-cron:0 0 2 1 * *}")
+    public void warmPreviousMonth() {
+        if (!reportProperties.isCacheEnabled()) {
+            return;
+        }
+
+        YearMonth previousMonth = YearMonth.now(clock).minusMonths(1);
+        List<User> users = userRepository.findByActive(true);
+        Set<ReportFormat> formats = EnumSet.allOf(ReportFormat.class);
+        log.info("Warming report cache for {} users for {}", users.size(), previousMonth);
+
+        int failed = 0;
+        for (User user : users) {
+            try {
+                PreparedMonthlyReport prepared = monthlyReportCache.prepare(
+                        user.getId(), previousMonth.getYear(), previousMonth.getMonthValue(), formats);
+                for (ReportFormat format : formats) {
+                    monthlyReportCache.write(prepared, format, OutputStream.nullOutputStream());
+                }
+            } catch (Exception e) {
+                failed++;
+                log.warn("Failed to warm report cache for user {}: {}", user.getId(), e.getMessage());
+            }
+        }
+        log.info("Warmed report cache for {}, {} users failed", previousMonth, failed);
+    }
+
+    /**
+     * Delete cached files that haven't been used within the retention period.
+     */
+    @Scheduled(cron = "${app.reports.cache-cleanup-cron:0 45 3 * * *}")
+    public void deleteUnusedFiles() {
+        Instant cutoff = clock.instant().minus(reportProperties.getCacheRetention());
+        int deleted = reportCacheStorage.deleteUnusedSince(cutoff);
+        log.debug("Deleted {} cached report files unused since {}", deleted, cutoff);
+    }
+}
@@ -0,0 +1,75 @@
+package cc.remer.timetrack.usecase.reportjob;
+
+import cc.remer.timetrack.adapter.persistence.ReportJobRepository;
+import cc.remer.timetrack.api.model.CreateReportJobRequest;
+import cc.remer.timetrack.api.model.ReportJobResponse;
+import cc.remer.timetrack.domain.reportjob.ReportFormat;
+import cc.remer.timetrack.domain.reportjob.ReportJob;
+import cc.remer.timetrack.domain.reportjob.ReportJobStatus;
+import cc.remer.timetrack.domain.user.Role;
+import cc.remer.timetrack.domain.user.User;
+import cc.remer.timetrack.exception.ForbiddenException;
+import cc.remer.timetrack.usecase.report.ExportMonthlyReportUseCase;
+import cc.remer.timetrack.usecase.user.UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Use case to queue the generation of a monthly report.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CreateReportJob {
+
+    private final ReportJobRepository reportJobRepository;
+    private final UserService userService;
+    private final ReportJobMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Execute the use case to queue a report job.
+     * The report is generated by {@link ReportJobWorker} after this transaction has committed.
+     *
+     * @param currentUserId   the ID of the authenticated user
+     * @param currentUserRole the role of the authenticated user
+     * @param request         the report job request
+     * @return the queued report job
+     */
+    @Transactional
+    public ReportJobResponse execute(Long currentUserId, Role currentUserRole, CreateReportJobRequest request) {
+        Long userId = request.getUserId() != null ? request.getUserId() : currentUserId;
+        log.info("Queueing {} report job for user ID: {} for {}-{} (requested by user ID: {})",
+                request.getFormat(), userId, request.getYear(), request.getMonth(), currentUserId);
+
+        ExportMonthlyReportUseCase.validateParameters(request.getYear(), request.getMonth());
+
+        // Users can queue their own reports, admins anyone's
+        if (currentUserRole != Role.ADMIN && !currentUserId.equals(userId)) {
+            log.warn("User ID {} attempted to queue a report for user ID {} without permission",
+                    currentUserId, userId);
+            throw new ForbiddenException("Sie haben keine Berechtigung, Berichte für andere Benutzer zu erstellen");
+        }
+
+        User user = userService.getUserOrThrow(userId);
+        User requestedBy = userId.equals(currentUserId) ? user : userService.getUserOrThrow(currentUserId);
+
+        ReportJob job = ReportJob.builder()
+                .user(user)
+                .requestedBy(requestedBy)
+                .year(request.getYear())
+                .month(request.getMonth())
+                .format(ReportFormat.valueOf(request.getFormat().getValue()))
+                .status(ReportJobStatus.QUEUED)
+                .build();
+
+        ReportJob saved = reportJobRepository.save(job);
+        log.info("Queued report job with ID: {}", saved.getId());
+
+        eventPublisher.publishEvent(new ReportJobCreatedEvent(saved.getId()));
+        return mapper.toResponse(saved);
+    }
+}
@@ -0,0 +1,63 @@
+package cc.remer.timetrack.usecase.reportjob;
+
+import cc.remer.timetrack.adapter.storage.ReportFileStorage;
+import cc.remer.timetrack.domain.reportjob.ReportJob;
+import cc.remer.timetrack.domain.reportjob.ReportJobStatus;
+import cc.remer.timetrack.domain.user.Role;
+import cc.remer.timetrack.exception.ReportJobNotFoundException;
+import cc.remer.timetrack.exception.ReportJobNotReadyException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+
+/**
+ * Use case to download the file of a completed report job.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DownloadReportJob {
+
+    private final ReportJobService reportJobService;
+    private final ReportFileStorage reportFileStorage;
+
+    /**
+     * A stored report file.
+     *
+     * @param path        the file on disk
+     * @param fileName    the download file name
+     * @param contentType the MIME type of the file
+     * @param sizeBytes   the file size in bytes
+     */
+    public record ReportFile(Path path, String fileName, String contentType, long sizeBytes) {
+    }
+
+    /**
+     * Execute the use case to locate the file of a report job.
+     *
+     * @param jobId           the report job ID
+     * @param currentUserId   the ID of the authenticated user
+     * @param currentUserRole the role of the authenticated user
+     * @return the stored report file
+     * @throws ReportJobNotReadyException if the job hasn't completed
+     * @throws ReportJobNotFoundException if the job or its file doesn't exist
+     */
+    public ReportFile execute(Long jobId, Long currentUserId, Role currentUserRole) {
+        log.info("Downloading report job {} for user ID: {}", jobId, currentUserId);
+
+        ReportJob job = reportJobService.getAccessibleJob(jobId, currentUserId, currentUserRole);
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new ReportJobNotReadyException(jobId, job.getStatus());
+        }
+
+        Path path = reportFileStorage.find(jobId, job.getFormat().getExtension())
+                .orElseThrow(() -> {
+                    log.warn("File of completed report job {} is missing", jobId);
+                    return new ReportJobNotFoundException(jobId);
+                });
+
+        return new ReportFile(path, job.getFileName(), job.getFormat().getContentType(), job.getSizeBytes());
+    }
+}
@@ -0,0 +1,34 @@
+package cc.remer.timetrack.usecase.reportjob;
+
+import cc.remer.timetrack.api.model.ReportJobResponse;
+import cc.remer.timetrack.domain.user.Role;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Use case to get the status of a report job.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GetReportJob {
+
+    private final ReportJobService reportJobService;
+    private final ReportJobMapper mapper;
+
+    /**
+     * Execute the use case to get a report job.
+     *
+     * @param jobId           the report job ID
+     * @param currentUserId   the ID of the authenticated user
+     * @param currentUserRole the role of the authenticated user
+     * @return the report job
+     */
+    @Transactional(readOnly = true)
+    public ReportJobResponse execute(Long jobId, Long currentUserId, Role currentUserRole) {
+        log.debug("Getting report job {} for user ID: {}", jobId, currentUserId);
+        return mapper.toResponse(reportJobService.getAccessibleJob(jobId, currentUserId, currentUserRole));
+    }
+}
@@ -0,0 +1,10 @@
+package cc.remer.timetrack.usecase.reportjob;
+
+/**
+ * Published when a report job has been queued.
+ * The job is handed to a worker once the creating transaction has committed.
+ *
+ * @param jobId the report job ID
+ */
+public record ReportJobCreatedEvent(Long jobId) {
+}
@@ -0,0 +1,84 @@
+package cc.remer.timetrack.usecase.reportjob;
+
+import cc.remer.timetrack.adapter.storage.ReportFileStorage;
+import cc.remer.timetrack.config.ReportProperties;
+import cc.remer.timetrack.domain.reportjob.ReportJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Background maintenance of report jobs.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReportJobMaintenance {
+
+    private final ReportJobService reportJobService;
+    private final ReportJobWorker reportJobWorker;
+    private final ReportFileStorage reportFileStorage;
+    private final ReportProperties reportProperties;
+    private final Clock clock;
+
+    private final Queue<Long> resumedJobIds = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Queue jobs again that were queued or running when the application stopped.
+     * They are handed to the workers as the queue has room, so a backlog doesn't fail new jobs.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        List<Long> jobIds = reportJobService.requeueUnfinishedJobs();
+        if (!jobIds.isEmpty()) {
+            log.info("Resuming {} unfinished report jobs", jobIds.size());
+        }
+        resumedJobIds.addAll(jobIds);
+        submitResumedJobs();
+    }
+
+    /**
+     * Hand resumed jobs to the workers, oldest first, as far as the queue has room.
+     */
+    @Scheduled(fixedDelayString = "${app.reports.job-resume-interval:5s}")
+    public void submitResumedJobs() {
+        Long jobId;
+        while ((jobId = resumedJobIds.peek()) != null && reportJobWorker.submitIfRoom(jobId)) {
+            resumedJobIds.poll();
+        }
+        if (!resumedJobIds.isEmpty()) {
+            log.debug("{} resumed report jobs waiting for room in the queue", resumedJobIds.size());
+        }
+    }
+
+    /**
+     * Delete jobs and files older than the retention period, and files no job refers to anymore,
+     * e.g. of jobs deleted along with their user.
+     */
+    @Scheduled(cron = "${app.reports.job-cleanup-cron:0 30 3 * * *}")
+    public void deleteExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(reportProperties.getJobRetention());
+        List<ReportJob> deleted = reportJobService.deleteJobsCreatedBefore(cutoff);
+        deleted.forEach(job -> reportFileStorage.delete(job.getId(), job.getFormat().getExtension()));
+        log.debug("Deleted {} report jobs created before {}", deleted.size(), cutoff);
+
+        // Files are only written for existing jobs, so listing them first can't catch a new one
+        Set<Long> orphanedJobIds = new HashSet<>(reportFileStorage.findJobIds());
+        orphanedJobIds.removeAll(reportJobService.findExistingJobIds(orphanedJobIds));
+        orphanedJobIds.forEach(reportFileStorage::deleteAll);
+        if (!orphanedJobIds.isEmpty()) {
+            log.info("Deleted the files of {} report jobs that no longer exist", orphanedJobIds.size());
+        }
+    }
+}
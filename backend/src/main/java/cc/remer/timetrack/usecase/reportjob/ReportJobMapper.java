@@ -0,0 +1,33 @@
+package cc.remer.timetrack.usecase.reportjob;
+
+import cc.remer.timetrack.api.model.ReportJobResponse;
+import cc.remer.timetrack.domain.reportjob.ReportJob;
+import cc.remer.timetrack.util.MapperUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapper for ReportJob entity and DTOs.
+ */
+@Component
+public class ReportJobMapper {
+
+    /**
+     * Map entity to response DTO.
+     */
+    public ReportJobResponse toResponse(ReportJob entity) {
+        ReportJobResponse response = new ReportJobResponse();
+        response.setId(entity.getId());
+        response.setUserId(entity.getUser().getId());
+        response.setYear(entity.getYear());
+        response.setMonth(entity.getMonth());
+        response.setFormat(ReportJobResponse.FormatEnum.fromValue(entity.getFormat().name()));
+        response.setStatus(ReportJobResponse.StatusEnum.fromValue(entity.getStatus().name()));
+        response.setFileName(entity.getFileName());
+        response.setSizeBytes(entity.getSizeBytes());
+        response.setErrorMessage(entity.getErrorMessage());
+        response.setCreatedAt(MapperUtils.toOffsetDateTime(entity.getCreatedAt()));
+        response.setStartedAt(MapperUtils.toOffsetDateTime(entity.getStartedAt()));
+        response.setCompletedAt(MapperUtils.toOffsetDateTime(entity.getCompletedAt()));
+        return response;
+    }
+}
@@ -0,0 +1,157 @@
+package cc.remer.timetrack.usecase.reportjob;
+
+import cc.remer.timetrack.adapter.persistence.ReportJobRepository;
+import cc.remer.timetrack.domain.reportjob.ReportJob;
+import cc.remer.timetrack.domain.reportjob.ReportJobStatus;
+import cc.remer.timetrack.domain.user.Role;
+import cc.remer.timetrack.exception.ForbiddenException;
+import cc.remer.timetrack.exception.ReportJobNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Loads report jobs and moves them through their states.
+ *
+ * State changes run in their own transaction, since they are made by worker threads and by
+ * listeners that run after the creating transaction has committed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportJobService {
+
+    private final ReportJobRepository reportJobRepository;
+    private final Clock clock;
+
+    /**
+     * Get a report job the current user may access: the user the report is for,
+     * the user who queued it, or an admin.
+     *
+     * @param jobId           the report job ID
+     * @param currentUserId   the ID of the authenticated user
+     * @param currentUserRole the role of the authenticated user
+     * @return the report job
+     * @throws ReportJobNotFoundException if the job doesn't exist
+     * @throws ForbiddenException if the user may not access the job
+     */
+    @Transactional(readOnly = true)
+    public ReportJob getAccessibleJob(Long jobId, Long currentUserId, Role currentUserRole) {
+        ReportJob job = reportJobRepository.findById(jobId)
+                .orElseThrow(() -> new ReportJobNotFoundException(jobId));
+
+        if (currentUserRole != Role.ADMIN
+                && !currentUserId.equals(job.getUser().getId())
+                && !currentUserId.equals(job.getRequestedBy().getId())) {
+            log.warn("User {} attempted to access report job {} of user {}",
+                    currentUserId, jobId, job.getUser().getId());
+            throw new ForbiddenException("Sie haben keine Berechtigung, diesen Bericht abzurufen");
+        }
+        return job;
+    }
+
+    /**
+     * Mark a queued job as running.
+     *
+     * @param jobId the report job ID
+     * @return the job, or empty if it doesn't exist (anymore) or isn't queued
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<ReportJob> markRunning(Long jobId) {
+        Optional<ReportJob> job = reportJobRepository.findById(jobId)
+                .filter(j -> j.getStatus() == ReportJobStatus.QUEUED);
+        job.ifPresent(j -> {
+            j.setStatus(ReportJobStatus.RUNNING);
+            j.setStartedAt(LocalDateTime.now(clock));
+        });
+        return job;
+    }
+
+    /**
+     * Mark a running job as completed.
+     *
+     * @param jobId     the report job ID
+     * @param fileName  the download file name
+     * @param sizeBytes the size of the stored file in bytes
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void markCompleted(Long jobId, String fileName, long sizeBytes) {
+        reportJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(ReportJobStatus.COMPLETED);
+            job.setFileName(fileName);
+            job.setSizeBytes(sizeBytes);
+            job.setErrorMessage(null);
+            job.setCompletedAt(LocalDateTime.now(clock));
+        });
+    }
+
+    /**
+     * Mark a job as failed.
+     *
+     * @param jobId        the report job ID
+     * @param errorMessage the reason shown to the user
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void markFailed(Long jobId, String errorMessage) {
+        reportJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(ReportJobStatus.FAILED);
+            job.setErrorMessage(errorMessage);
+            job.setCompletedAt(LocalDateTime.now(clock));
+        });
+    }
+
+    /**
+     * Queue jobs again that were interrupted by a shutdown.
+     * Running jobs are reset to queued; queued jobs were only held in memory and are lost on restart.
+     *
+     * @return IDs of all queued jobs, oldest first
+     */
+    @Transactional
+    public List<Long> requeueUnfinishedJobs() {
+        List<ReportJob> jobs = reportJobRepository.findByStatusInOrderByCreatedAtAsc(
+                List.of(ReportJobStatus.QUEUED, ReportJobStatus.RUNNING));
+        for (ReportJob job : jobs) {
+            if (job.getStatus() == ReportJobStatus.RUNNING) {
+                job.setStatus(ReportJobStatus.QUEUED);
+                job.setStartedAt(null);
+            }
+        }
+        return jobs.stream().map(ReportJob::getId).toList();
+    }
+
+    /**
+     * Delete jobs created before the given time.
+     *
+     * @param cutoff the cutoff time (exclusive)
+     * @return the deleted jobs, so their files can be removed
+     */
+    @Transactional
+    public List<ReportJob> deleteJobsCreatedBefore(LocalDateTime cutoff) {
+        List<ReportJob> jobs = reportJobRepository.findByCreatedAtBefore(cutoff);
+        reportJobRepository.deleteAll(jobs);
+        return jobs;
+    }
+
+    /**
+     * Find which of the given jobs still exist.
+     *
+     * @param jobIds the report job IDs
+     * @return IDs of the jobs that exist
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> findExistingJobIds(Collection<Long> jobIds) {
+        if (jobIds.isEmpty()) {
+            return Set.of();
+        }
+        return reportJobRepository.findIdsByIdIn(jobIds);
+    }
+}
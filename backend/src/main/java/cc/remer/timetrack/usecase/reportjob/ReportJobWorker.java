@@ -0,0 +1,145 @@
+package cc.remer.timetrack.usecase.reportjob;
+
+import cc.remer.timetrack.adapter.storage.ReportFileStorage;
+import cc.remer.timetrack.config.ReportProperties;
+import cc.remer.timetrack.domain.reportjob.ReportFormat;
+import cc.remer.timetrack.domain.reportjob.ReportJob;
+import cc.remer.timetrack.usecase.report.MonthlyReportCache;
+import cc.remer.timetrack.usecase.report.PreparedMonthlyReport;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates queued report jobs on a bounded pool of worker threads.
+ *
+ * Report generation never runs on a request thread. If all workers are busy and the queue is full,
+ * new jobs fail right away instead of waiting indefinitely.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReportJobWorker {
+
+    static final String QUEUE_FULL_MESSAGE =
+            "Es werden gerade zu viele Berichte erstellt. Bitte versuchen Sie es später erneut.";
+    static final String GENERATION_FAILED_MESSAGE = "Der Bericht konnte nicht erstellt werden";
+
+    private final ReportJobService reportJobService;
+    private final MonthlyReportCache monthlyReportCache;
+    private final ReportFileStorage reportFileStorage;
+    private final ReportProperties reportProperties;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        executor = new ThreadPoolExecutor(
+                reportProperties.getJobWorkers(),
+                reportProperties.getJobWorkers(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(reportProperties.getJobQueueCapacity()),
+                Thread.ofPlatform().name("report-job-", 0).factory());
+    }
+
+    /**
+     * Stop accepting jobs and give running jobs a moment to finish.
+     * Jobs still queued or running are picked up again on the next start.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Report jobs still running on shutdown, interrupting them");
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Hand a newly queued job to a worker once it is visible to other transactions.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReportJobCreated(ReportJobCreatedEvent event) {
+        submit(event.jobId());
+    }
+
+    /**
+     * Hand a queued job to a worker.
+     * Fails the job if the queue is full.
+     *
+     * @param jobId the report job ID
+     */
+    public void submit(Long jobId) {
+        try {
+            executor.execute(() -> run(jobId));
+            log.debug("Submitted report job {}", jobId);
+        } catch (RejectedExecutionException e) {
+            log.warn("Report job {} rejected, queue is full", jobId);
+            reportJobService.markFailed(jobId, QUEUE_FULL_MESSAGE);
+        }
+    }
+
+    /**
+     * Hand a queued job to a worker if the queue is less than half full, leaving room for new jobs.
+     * Unlike {@link #submit(Long)}, the job stays queued if there is no room.
+     *
+     * @param jobId the report job ID
+     * @return whether the job was handed to a worker
+     */
+    public boolean submitIfRoom(Long jobId) {
+        if (executor.getQueue().remainingCapacity() <= reportProperties.getJobQueueCapacity() / 2) {
+            return false;
+        }
+        try {
+            executor.execute(() -> run(jobId));
+            log.debug("Submitted report job {}", jobId);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Generate the report of a job and store it.
+     *
+     * @param jobId the report job ID
+     */
+    void run(Long jobId) {
+        Optional<ReportJob> claimed = reportJobService.markRunning(jobId);
+        if (claimed.isEmpty()) {
+            log.debug("Report job {} is no longer queued, skipping", jobId);
+            return;
+        }
+
+        ReportJob job = claimed.get();
+        ReportFormat format = job.getFormat();
+        long startTime = System.nanoTime();
+        try {
+            PreparedMonthlyReport report = monthlyReportCache.prepare(
+                    job.getUser().getId(), job.getYear(), job.getMonth(), EnumSet.of(format));
+
+            long sizeBytes = reportFileStorage.write(jobId, format.getExtension(),
+                    outputStream -> monthlyReportCache.write(report, format, outputStream));
+
+            String fileName = String.format("stundenzettel_%d_%02d.%s",
+                    job.getYear(), job.getMonth(), format.getExtension());
+            reportJobService.markCompleted(jobId, fileName, sizeBytes);
+            log.info("Completed report job {} ({} bytes) in {} ms", jobId, sizeBytes,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        } catch (Exception e) {
+            log.error("Report job {} failed", jobId, e);
+            reportJobService.markFailed(jobId, GENERATION_FAILED_MESSAGE);
+        }
+    }
+}
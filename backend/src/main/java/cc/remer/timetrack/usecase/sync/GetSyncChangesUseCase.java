@@ -0,0 +1,102 @@
+package cc.remer.timetrack.usecase.sync;
+
+import cc.remer.timetrack.adapter.persistence.RecurringOffDayConflictWarningRepository;
+import cc.remer.timetrack.adapter.persistence.RecurringOffDayRepository;
+import cc.remer.timetrack.adapter.persistence.SyncChangeRepository;
+import cc.remer.timetrack.adapter.persistence.TimeEntryRepository;
+import cc.remer.timetrack.adapter.persistence.TimeOffRepository;
+import cc.remer.timetrack.adapter.persistence.UserDataVersionRepository;
+import cc.remer.timetrack.config.SyncProperties;
+import cc.remer.timetrack.domain.sync.SyncChange;
+import cc.remer.timetrack.domain.sync.SyncEntityType;
+import cc.remer.timetrack.domain.user.User;
+import cc.remer.timetrack.usecase.sync.model.SyncChanges;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Use case for listing the records of a user that changed since the client's last sync, so a client
+ * can bring its cache up to date without reloading it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GetSyncChangesUseCase {
+
+    private final UserDataVersionRepository userDataVersionRepository;
+    private final SyncChangeRepository syncChangeRepository;
+    private final TimeEntryRepository timeEntryRepository;
+    private final TimeOffRepository timeOffRepository;
+    private final RecurringOffDayRepository recurringOffDayRepository;
+    private final RecurringOffDayConflictWarningRepository conflictWarningRepository;
+    private final SyncProperties syncProperties;
+
+    /**
+     * Get the changes of the authenticated user since a sync token.
+     *
+     * Without token, or if the changes since it can't be listed anymore, the client is told to reload
+     * its data and gets the token to sync from afterwards.
+     *
+     * @param user  the authenticated user
+     * @param since token from the previous sync (null = first sync)
+     * @return the changes and the token for the next sync
+     * @throws IllegalArgumentException if the token is invalid
+     */
+    @Transactional(readOnly = true)
+    public SyncChanges execute(User user, String since) {
+        Long userId = user.getId();
+        log.debug("Getting sync changes for user: {}, since: {}", userId, since);
+
+        // Read the version first: changes committed while the rest is read are listed again next time
+        long version = userDataVersionRepository.find(userId);
+        String token = SyncToken.encode(userId, version);
+        if (since == null || since.isBlank()) {
+            return SyncChanges.reload(token);
+        }
+
+        long sinceVersion = SyncToken.decode(since, userId);
+        if (sinceVersion > version || sinceVersion < userDataVersionRepository.findPurgedVersion(userId)) {
+            log.debug("Sync token of user {} at version {} is no longer valid", userId, sinceVersion);
+            return SyncChanges.reload(token);
+        }
+
+        int maxChanges = syncProperties.getMaxChanges();
+        List<SyncChange> changes = syncChangeRepository.findSince(userId, sinceVersion, maxChanges + 1);
+        if (changes.size() > maxChanges) {
+            log.debug("User {} is more than {} changes behind", userId, maxChanges);
+            return SyncChanges.reload(token);
+        }
+
+        Map<SyncEntityType, List<Long>> upserted = new EnumMap<>(SyncEntityType.class);
+        Map<SyncEntityType, List<Long>> deleted = new EnumMap<>(SyncEntityType.class);
+        for (SyncChange change : changes) {
+            (change.deleted() ? deleted : upserted)
+                    .computeIfAbsent(change.entityType(), type -> new ArrayList<>())
+                    .add(change.entityId());
+        }
+
+        log.debug("Found {} changes for user {} since version {}", changes.size(), userId, sinceVersion);
+        return new SyncChanges(
+                token,
+                false,
+                timeEntryRepository.findAllById(ids(upserted, SyncEntityType.TIME_ENTRY)),
+                timeOffRepository.findAllById(ids(upserted, SyncEntityType.TIME_OFF)),
+                recurringOffDayRepository.findAllById(ids(upserted, SyncEntityType.RECURRING_OFF_DAY)),
+                conflictWarningRepository.findAllById(ids(upserted, SyncEntityType.CONFLICT_WARNING)),
+                ids(deleted, SyncEntityType.TIME_ENTRY),
+                ids(deleted, SyncEntityType.TIME_OFF),
+                ids(deleted, SyncEntityType.RECURRING_OFF_DAY),
+                ids(deleted, SyncEntityType.CONFLICT_WARNING));
+    }
+
+    private static List<Long> ids(Map<SyncEntityType, List<Long>> idsByType, SyncEntityType type) {
+        return idsByType.getOrDefault(type, List.of());
+    }
+}
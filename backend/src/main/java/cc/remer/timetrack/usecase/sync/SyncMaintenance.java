@@ -0,0 +1,43 @@
+package cc.remer.timetrack.usecase.sync;
+
+import cc.remer.timetrack.adapter.persistence.SyncChangeRepository;
+import cc.remer.timetrack.config.SyncProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * Background maintenance of the sync change log.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SyncMaintenance {
+
+    private final SyncChangeRepository syncChangeRepository;
+    private final SyncProperties syncProperties;
+    private final Clock clock;
+
+    /**
+     * Delete tombstones of records deleted longer ago than the retention period.
+     */
+    @Scheduled(cron = "${app.sync.purge-cron:0 0 4 * * *}")
+    public void purgeTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(syncProperties.getTombstoneRetention());
+        int batchSize = syncProperties.getPurgeBatchSize();
+
+        int total = 0;
+        int deleted;
+        do {
+            deleted = syncChangeRepository.deleteTombstones(cutoff, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        if (total > 0) {
+            log.info("Purged {} sync tombstones of records deleted before {}", total, cutoff);
+        }
+    }
+}
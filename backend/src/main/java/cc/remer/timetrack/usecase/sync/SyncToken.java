@@ -0,0 +1,55 @@
+package cc.remer.timetrack.usecase.sync;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the data version a client has synced up to as an opaque token.
+ *
+ * The token contains the user ID, as data versions are counted per user. Clients must pass it back
+ * unchanged; its content is not part of the API.
+ */
+public final class SyncToken {
+
+    private static final String SEPARATOR = ":";
+
+    private SyncToken() {
+    }
+
+    /**
+     * Encode the data version of a user as sync token.
+     *
+     * @param userId  the user ID
+     * @param version the user's data version
+     * @return the token
+     */
+    public static String encode(Long userId, long version) {
+        String value = userId + SEPARATOR + version;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a sync token.
+     *
+     * @param token  the token
+     * @param userId the user the token must have been issued to
+     * @return the data version it points to
+     * @throws IllegalArgumentException if the token is malformed or was issued to another user
+     */
+    static long decode(String token, Long userId) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = value.split(SEPARATOR, -1);
+            if (parts.length != 2 || Long.parseLong(parts[0]) != userId) {
+                throw new IllegalArgumentException("Invalid sync token");
+            }
+            long version = Long.parseLong(parts[1]);
+            if (version < 0) {
+                throw new IllegalArgumentException("Invalid sync token");
+            }
+            return version;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid sync token", e);
+        }
+    }
+}
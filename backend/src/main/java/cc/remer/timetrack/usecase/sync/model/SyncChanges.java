@@ -0,0 +1,44 @@
+package cc.remer.timetrack.usecase.sync.model;
+
+import cc.remer.timetrack.domain.recurringoffday.RecurringOffDay;
+import cc.remer.timetrack.domain.recurringoffday.RecurringOffDayConflictWarning;
+import cc.remer.timetrack.domain.timeentry.TimeEntry;
+import cc.remer.timetrack.domain.timeoff.TimeOff;
+
+import java.util.List;
+
+/**
+ * Records of a user that changed since a sync token.
+ *
+ * @param token                     token to pass to the next sync
+ * @param reloadRequired            whether the client must reload its data, as the changes since its
+ *                                  token can't be listed; the lists are empty then
+ * @param timeEntries               created or updated time entries
+ * @param timeOff                   created or updated time-off entries
+ * @param recurringOffDays          created or updated recurring off-days
+ * @param conflictWarnings          created or updated conflict warnings
+ * @param deletedTimeEntryIds       IDs of deleted time entries
+ * @param deletedTimeOffIds         IDs of deleted time-off entries
+ * @param deletedRecurringOffDayIds IDs of deleted recurring off-days
+ * @param deletedConflictWarningIds IDs of deleted conflict warnings
+ */
+public record SyncChanges(
+        String token,
+        boolean reloadRequired,
+        List<TimeEntry> timeEntries,
+        List<TimeOff> timeOff,
+        List<RecurringOffDay> recurringOffDays,
+        List<RecurringOffDayConflictWarning> conflictWarnings,
+        List<Long> deletedTimeEntryIds,
+        List<Long> deletedTimeOffIds,
+        List<Long> deletedRecurringOffDayIds,
+        List<Long> deletedConflictWarningIds) {
+
+    /**
+     * Tell the client to reload its data and sync from the given token on.
+     */
+    public static SyncChanges reload(String token) {
+        return new SyncChanges(token, true, List.of(), List.of(), List.of(), List.of(),
+                List.of(), List.of(), List.of(), List.of());
+    }
+}
@@ -1,11 +1,14 @@
 package cc.remer.timetrack.usecase.timeentry;
 
-import cc.remer.timetrack.adapter.persistence.TimeEntryRepository;
-import cc.remer.timetrack.domain.timeentry.EntryType;
+import cc.remer.timetrack.adapter.persistence.ActiveTimeEntryRepository;
 import cc.remer.timetrack.domain.timeentry.TimeEntry;
 import cc.remer.timetrack.domain.user.User;
+import cc.remer.timetrack.usecase.userevent.UserDataChange;
+import cc.remer.timetrack.usecase.userevent.UserDataChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,7 +22,8 @@ import java.time.LocalDateTime;
 @Slf4j
 public class ClockInUseCase {
 
-    private final TimeEntryRepository timeEntryRepository;
+    private final ActiveTimeEntryRepository activeTimeEntryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Clock in for the authenticated user.
@@ -28,30 +32,31 @@ public class ClockInUseCase {
      * @param notes optional notes for this work session
      * @return the created time entry
      * @throws IllegalStateException if user is already clocked in
+     * @throws IllegalArgumentException if an existing entry ends after now
      */
     @Transactional
     public TimeEntry execute(User user, String notes) {
         log.debug("Attempting to clock in user: {}", user.getId());
 
-        // Check if user already has an active time entry
-        timeEntryRepository.findByUserIdAndClockOutIsNull(user.getId())
-                .ifPresent(activeEntry -> {
-                    throw new IllegalStateException("Bereits eingecheckt. Bitte zuerst auschecken.");
-                });
-
         LocalDateTime now = LocalDateTime.now();
 
-        TimeEntry timeEntry = TimeEntry.builder()
-                .user(user)
-                .entryDate(now.toLocalDate())
-                .clockIn(now)
-                .entryType(EntryType.WORK)
-                .notes(notes)
-                .build();
-
-        TimeEntry saved = timeEntryRepository.save(timeEntry);
+        // Inserted only if the user has no active entry, in one statement
+        TimeEntry saved;
+        try {
+            saved = activeTimeEntryRepository.clockIn(user.getId(), now, notes)
+                    .orElseThrow(() -> new IllegalStateException("Bereits eingecheckt. Bitte zuerst auschecken."));
+        } catch (DataIntegrityViolationException e) {
+            // E.g. a manual entry that ends after now
+            if (TimeEntryConstraints.isViolated(e, TimeEntryConstraints.NO_OVERLAP)) {
+                throw new IllegalArgumentException(TimeEntryConstraints.OVERLAP_MESSAGE);
+            }
+            throw e;
+        }
         log.info("User {} clocked in at {}", user.getId(), now);
 
+        eventPublisher.publishEvent(
+                UserDataChangedEvent.of(user.getId(), UserDataChange.CLOCKED_IN, saved.getEntryDate()));
+
         return saved;
     }
 }
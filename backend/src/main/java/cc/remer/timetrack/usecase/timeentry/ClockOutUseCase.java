@@ -1,11 +1,14 @@
 package cc.remer.timetrack.usecase.timeentry;
 
-import cc.remer.timetrack.adapter.persistence.TimeEntryRepository;
+import cc.remer.timetrack.adapter.persistence.ActiveTimeEntryRepository;
 import cc.remer.timetrack.domain.timeentry.TimeEntry;
 import cc.remer.timetrack.domain.user.User;
 import cc.remer.timetrack.usecase.recurringoffday.RecurringOffDayConflictDetector;
+import cc.remer.timetrack.usecase.userevent.UserDataChange;
+import cc.remer.timetrack.usecase.userevent.UserDataChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,8 +22,9 @@ import java.time.LocalDateTime;
 @Slf4j
 public class ClockOutUseCase {
 
-    private final TimeEntryRepository timeEntryRepository;
+    private final ActiveTimeEntryRepository activeTimeEntryRepository;
     private final RecurringOffDayConflictDetector conflictDetector;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Clock out for the authenticated user.
@@ -34,23 +38,20 @@ public class ClockOutUseCase {
     public TimeEntry execute(User user, String notes) {
         log.debug("Attempting to clock out user: {}", user.getId());
 
-        TimeEntry activeEntry = timeEntryRepository.findByUserIdAndClockOutIsNull(user.getId())
-                .orElseThrow(() -> new IllegalStateException("Nicht eingecheckt. Bitte zuerst einchecken."));
-
         LocalDateTime now = LocalDateTime.now();
-        activeEntry.setClockOut(now);
-
-        if (notes != null) {
-            activeEntry.setNotes(notes);
-        }
 
-        TimeEntry saved = timeEntryRepository.save(activeEntry);
+        // Completes the active entry, if any, in one statement
+        TimeEntry saved = activeTimeEntryRepository.clockOut(user.getId(), now, notes)
+                .orElseThrow(() -> new IllegalStateException("Nicht eingecheckt. Bitte zuerst einchecken."));
         log.info("User {} clocked out at {}, duration: {} hours",
                 user.getId(), now, saved.getHoursWorked());
 
         // Check for conflicts with recurring off-days
         conflictDetector.detectAndCreateWarningIfNeeded(saved);
 
+        eventPublisher.publishEvent(
+                UserDataChangedEvent.of(user.getId(), UserDataChange.CLOCKED_OUT, saved.getEntryDate()));
+
         return saved;
     }
 }
@@ -5,13 +5,16 @@ import cc.remer.timetrack.domain.timeentry.EntryType;
 import cc.remer.timetrack.domain.timeentry.TimeEntry;
 import cc.remer.timetrack.domain.user.User;
 import cc.remer.timetrack.usecase.recurringoffday.RecurringOffDayConflictDetector;
+import cc.remer.timetrack.usecase.userevent.UserDataChange;
+import cc.remer.timetrack.usecase.userevent.UserDataChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 /**
  * Use case for creating a manual time entry with both start and end times.
@@ -23,6 +26,7 @@ public class CreateTimeEntryUseCase {
 
     private final TimeEntryRepository timeEntryRepository;
     private final RecurringOffDayConflictDetector conflictDetector;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a manual time entry for the authenticated user.
@@ -34,7 +38,7 @@ public class CreateTimeEntryUseCase {
      * @param entryType the type of entry
      * @param notes optional notes for this entry
      * @return the created time entry
-     * @throws IllegalArgumentException if clock out is before clock in, or if times overlap with existing entries
+     * @throws IllegalArgumentException if clock out is before clock in, an active session exists, or times overlap with existing entries
      */
     @Transactional
     public TimeEntry execute(User user, LocalDateTime clockIn, LocalDateTime clockOut,
@@ -46,19 +50,11 @@ public class CreateTimeEntryUseCase {
             throw new IllegalArgumentException("Clock out time must be after clock in time");
         }
 
-        // Check for overlapping entries
-        List<TimeEntry> existingEntries = timeEntryRepository.findByUserId(user.getId());
-        for (TimeEntry existing : existingEntries) {
-            if (existing.getClockOut() == null) {
-                throw new IllegalArgumentException("Cannot create manual entry while an active session exists. Please clock out first.");
-            }
-
-            // Check for overlap: new entry starts before existing ends AND new entry ends after existing starts
-            if (clockIn.isBefore(existing.getClockOut()) && clockOut.isAfter(existing.getClockIn())) {
-                throw new IllegalArgumentException("Time entry overlaps with existing entry from " +
-                    existing.getClockIn() + " to " + existing.getClockOut());
-            }
+        if (timeEntryRepository.findByUserIdAndClockOutIsNull(user.getId()).isPresent()) {
+            throw new IllegalArgumentException(TimeEntryConstraints.ACTIVE_SESSION_MESSAGE);
         }
+        TimeEntryConstraints.checkNoOverlap(
+                timeEntryRepository.findFirstOverlapping(user.getId(), clockIn, clockOut, null));
 
         TimeEntry timeEntry = TimeEntry.builder()
                 .user(user)
@@ -70,13 +66,25 @@ public class CreateTimeEntryUseCase {
                 .notes(notes)
                 .build();
 
-        TimeEntry saved = timeEntryRepository.save(timeEntry);
+        // Overlaps written concurrently since the check are rejected by the database
+        TimeEntry saved;
+        try {
+            saved = timeEntryRepository.saveAndFlush(timeEntry);
+        } catch (DataIntegrityViolationException e) {
+            if (TimeEntryConstraints.isViolated(e, TimeEntryConstraints.NO_OVERLAP)) {
+                throw new IllegalArgumentException(TimeEntryConstraints.OVERLAP_MESSAGE);
+            }
+            throw e;
+        }
         log.info("Manual time entry created for user {} from {} to {}",
             user.getId(), clockIn, clockOut);
 
         // Check for conflicts with recurring off-days
         conflictDetector.detectAndCreateWarningIfNeeded(saved);
 
+        eventPublisher.publishEvent(
+                UserDataChangedEvent.of(user.getId(), UserDataChange.TIME_ENTRIES, saved.getEntryDate()));
+
         return saved;
     }
 }
@@ -4,8 +4,11 @@ import cc.remer.timetrack.adapter.persistence.TimeEntryRepository;
 import cc.remer.timetrack.domain.timeentry.TimeEntry;
 import cc.remer.timetrack.domain.user.User;
 import cc.remer.timetrack.usecase.recurringoffday.RecurringOffDayConflictDetector;
+import cc.remer.timetrack.usecase.userevent.UserDataChange;
+import cc.remer.timetrack.usecase.userevent.UserDataChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +22,7 @@ public class DeleteTimeEntryUseCase {
 
     private final TimeEntryRepository timeEntryRepository;
     private final RecurringOffDayConflictDetector conflictDetector;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Delete a time entry.
@@ -41,12 +45,13 @@ public class DeleteTimeEntryUseCase {
                     "Sie haben keine Berechtigung, diesen Eintrag zu löschen.");
         }
 
-        Long entryIdToDelete = entry.getId();
+        // Clean up any conflict warnings for this entry first, so the cascade doesn't hide them
+        conflictDetector.cleanupWarningsForTimeEntry(user.getId(), entry.getId());
         timeEntryRepository.delete(entry);
         
-        // Clean up any conflict warnings for this deleted entry
-        conflictDetector.cleanupWarningsForTimeEntry(entryIdToDelete);
-        
         log.info("Deleted time entry {} for user {}", entryId, user.getId());
+
+        eventPublisher.publishEvent(
+                UserDataChangedEvent.of(user.getId(), UserDataChange.TIME_ENTRIES, entry.getEntryDate()));
     }
 }
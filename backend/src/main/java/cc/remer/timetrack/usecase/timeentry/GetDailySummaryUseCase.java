@@ -1,7 +1,6 @@
 package cc.remer.timetrack.usecase.timeentry;
 
 import cc.remer.timetrack.adapter.persistence.RecurringOffDayConflictWarningRepository;
-import cc.remer.timetrack.adapter.persistence.RecurringOffDayRepository;
 import cc.remer.timetrack.adapter.persistence.TimeEntryRepository;
 import cc.remer.timetrack.adapter.persistence.TimeOffRepository;
 import cc.remer.timetrack.adapter.persistence.WorkingHoursRepository;
@@ -12,6 +11,7 @@ import cc.remer.timetrack.domain.timeoff.TimeOff;
 import cc.remer.timetrack.domain.user.User;
 import cc.remer.timetrack.domain.workinghours.WorkingHours;
 import cc.remer.timetrack.usecase.recurringoffday.RecurringOffDayEvaluator;
+import cc.remer.timetrack.usecase.recurringoffday.RecurringOffDaySchedule;
 import cc.remer.timetrack.usecase.timeentry.model.DailySummary;
 import cc.remer.timetrack.usecase.timeentry.model.DailySummaryStatus;
 import lombok.RequiredArgsConstructor;
@@ -36,7 +36,6 @@ public class GetDailySummaryUseCase {
 
     private final TimeEntryRepository timeEntryRepository;
     private final TimeOffRepository timeOffRepository;
-    private final RecurringOffDayRepository recurringOffDayRepository;
     private final WorkingHoursRepository workingHoursRepository;
     private final RecurringOffDayConflictWarningRepository conflictWarningRepository;
     private final RecurringOffDayEvaluator recurringOffDayEvaluator;
@@ -75,9 +74,9 @@ public class GetDailySummaryUseCase {
         List<TimeOff> timeOffEntries = timeOffRepository.findByUserIdAndDateRange(
                 user.getId(), startDate, endDate);
 
-        // Get active recurring off-days for the user
-        List<RecurringOffDay> allRecurringOffDays = recurringOffDayRepository
-                .findByUserIdAndIsActiveTrue(user.getId());
+        // Get active recurring off-days for the user (exemptions loaded in one query)
+        RecurringOffDaySchedule recurringOffDaySchedule = recurringOffDayEvaluator
+                .buildSchedule(user.getId(), startDate, endDate);
 
         // Get conflict warnings for the date range
         List<RecurringOffDayConflictWarning> warnings = conflictWarningRepository
@@ -99,9 +98,8 @@ public class GetDailySummaryUseCase {
             // Find time-off entries for this date
             List<TimeOff> dayTimeOffEntries = findTimeOffForDate(timeOffEntries, currentDate);
 
-            // Find recurring off-days that apply to this date
-            List<RecurringOffDay> dayRecurringOffDays = findRecurringOffDaysForDate(
-                    allRecurringOffDays, currentDate);
+            // Find recurring off-days that apply to this date (excluding exempted dates)
+            List<RecurringOffDay> dayRecurringOffDays = recurringOffDaySchedule.getRulesFor(currentDate);
 
             double expectedHours = getExpectedHoursForDate(currentDate, workingHoursPerWeekday);
             double actualHours = calculateActualHours(dayEntries);
@@ -186,14 +184,4 @@ public class GetDailySummaryUseCase {
                         && !date.isAfter(timeOff.getEndDate()))
                 .collect(Collectors.toList());
     }
-
-    /**
-     * Find recurring off-days that apply to a specific date (excluding exempted dates).
-     */
-    private List<RecurringOffDay> findRecurringOffDaysForDate(
-            List<RecurringOffDay> recurringOffDays, LocalDate date) {
-        return recurringOffDays.stream()
-                .filter(rod -> recurringOffDayEvaluator.appliesToDateWithExemptions(rod, date))
-                .collect(Collectors.toList());
-    }
 }
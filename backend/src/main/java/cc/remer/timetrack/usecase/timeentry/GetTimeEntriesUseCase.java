@@ -1,53 +1,61 @@
 package cc.remer.timetrack.usecase.timeentry;
 
-import cc.remer.timetrack.adapter.persistence.TimeEntryRepository;
+import cc.remer.timetrack.adapter.persistence.TimeEntryPageRepository;
 import cc.remer.timetrack.domain.timeentry.TimeEntry;
+import cc.remer.timetrack.domain.timeentry.TimeEntryFilter;
+import cc.remer.timetrack.domain.timeentry.TimeEntryPosition;
 import cc.remer.timetrack.domain.user.User;
+import cc.remer.timetrack.usecase.timeentry.model.TimeEntryPage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
-import java.util.Comparator;
 import java.util.List;
 
 /**
- * Use case for retrieving time entries.
+ * Use case for retrieving time entries page by page.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class GetTimeEntriesUseCase {
 
-    private final TimeEntryRepository timeEntryRepository;
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 500;
+
+    private final TimeEntryPageRepository timeEntryPageRepository;
 
     /**
-     * Get time entries for the authenticated user within a date range.
+     * Get a page of the time entries of the authenticated user.
      *
      * @param user the authenticated user
-     * @param startDate optional start date (null = all time)
-     * @param endDate optional end date (null = all time)
-     * @return list of time entries, sorted by clockIn desc
+     * @param filter the criteria the entries must match
+     * @param cursor continuation token from the previous page (null = first page)
+     * @param limit maximum number of entries on the page (null = {@value #DEFAULT_LIMIT})
+     * @return the page, sorted by entry date and clockIn desc
+     * @throws IllegalArgumentException if the cursor is invalid or the limit is out of range
      */
     @Transactional(readOnly = true)
-    public List<TimeEntry> execute(User user, LocalDate startDate, LocalDate endDate) {
-        log.debug("Getting time entries for user: {}, start: {}, end: {}",
-                user.getId(), startDate, endDate);
-
-        List<TimeEntry> entries;
+    public TimeEntryPage execute(User user, TimeEntryFilter filter, String cursor, Integer limit) {
+        log.debug("Getting time entries for user: {}, filter: {}, cursor: {}, limit: {}",
+                user.getId(), filter, cursor, limit);
 
-        if (startDate != null && endDate != null) {
-            entries = timeEntryRepository.findByUserIdAndEntryDateBetween(
-                    user.getId(), startDate, endDate);
-        } else {
-            entries = timeEntryRepository.findByUserId(user.getId());
+        int pageSize = limit != null ? limit : DEFAULT_LIMIT;
+        if (pageSize < 1 || pageSize > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        TimeEntryPosition after = cursor != null && !cursor.isBlank() ? TimeEntryCursor.decode(cursor) : null;
+
+        // Read one entry more than requested to know whether there is a next page
+        List<TimeEntry> entries = timeEntryPageRepository.findPage(user.getId(), filter, after, pageSize + 1);
+        String nextCursor = null;
+        if (entries.size() > pageSize) {
+            entries = entries.subList(0, pageSize);
+            nextCursor = TimeEntryCursor.encode(TimeEntryPosition.of(entries.getLast()));
         }
-
-        // Sort by clockIn descending (newest first)
-        entries.sort(Comparator.comparing(TimeEntry::getClockIn).reversed());
 
         log.debug("Found {} time entries for user {}", entries.size(), user.getId());
-        return entries;
+        return new TimeEntryPage(entries, nextCursor);
     }
 }
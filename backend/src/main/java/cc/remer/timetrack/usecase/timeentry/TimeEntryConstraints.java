@@ -0,0 +1,71 @@
+package cc.remer.timetrack.usecase.timeentry;
+
+import cc.remer.timetrack.domain.timeentry.TimeEntry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * Database constraints on time entries that the use cases translate into error responses.
+ */
+final class TimeEntryConstraints {
+
+    /**
+     * Exclusion constraint preventing overlapping entries of a user.
+     */
+    static final String NO_OVERLAP = "ex_time_entries_no_overlap";
+
+    /**
+     * Message for an overlap detected by the constraint only, i.e. with an entry written concurrently.
+     */
+    static final String OVERLAP_MESSAGE = "Time entry overlaps with an existing entry";
+
+    static final String ACTIVE_SESSION_MESSAGE =
+            "Cannot create manual entry while an active session exists. Please clock out first.";
+
+    private TimeEntryConstraints() {
+    }
+
+    /**
+     * Reject a write overlapping an existing entry with a message naming that entry. Runs before the
+     * write, as the transaction can't be queried anymore once the constraint has failed it.
+     *
+     * @param overlapping the first entry overlapping the written range, if any
+     * @throws IllegalArgumentException if there is an overlapping entry
+     */
+    static void checkNoOverlap(Optional<TimeEntry> overlapping) {
+        if (overlapping.isEmpty()) {
+            return;
+        }
+        TimeEntry existing = overlapping.get();
+        if (existing.getClockOut() == null) {
+            throw new IllegalArgumentException(ACTIVE_SESSION_MESSAGE);
+        }
+        throw new IllegalArgumentException("Time entry overlaps with existing entry from " +
+                existing.getClockIn() + " to " + existing.getClockOut());
+    }
+
+    /**
+     * Check whether a write failed because of a specific constraint.
+     *
+     * @param e              the exception thrown by the write
+     * @param constraintName the constraint name
+     * @return true if the constraint was violated
+     */
+    static boolean isViolated(DataIntegrityViolationException e, String constraintName) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && constraintName.equalsIgnoreCase(violation.getConstraintName())) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException
+                    && sqlException.getMessage() != null
+                    && sqlException.getMessage().contains("\"" + constraintName + "\"")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,50 @@
+package cc.remer.timetrack.usecase.timeentry;
+
+import cc.remer.timetrack.domain.timeentry.TimeEntryPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Encodes the position of the last entry of a page as an opaque continuation token.
+ *
+ * Clients must pass the token back unchanged; its content is not part of the API.
+ */
+final class TimeEntryCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private TimeEntryCursor() {
+    }
+
+    static String encode(TimeEntryPosition position) {
+        String value = position.entryDate() + SEPARATOR + position.clockIn() + SEPARATOR + position.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a continuation token.
+     *
+     * @param cursor the token
+     * @return the position it points to
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    static TimeEntryPosition decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = value.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TimeEntryPosition(
+                    LocalDate.parse(parts[0]),
+                    LocalDateTime.parse(parts[1]),
+                    Long.parseLong(parts[2]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
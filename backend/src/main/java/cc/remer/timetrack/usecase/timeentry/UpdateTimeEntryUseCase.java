@@ -4,11 +4,16 @@ import cc.remer.timetrack.adapter.persistence.TimeEntryRepository;
 import cc.remer.timetrack.domain.timeentry.EntryType;
 import cc.remer.timetrack.domain.timeentry.TimeEntry;
 import cc.remer.timetrack.domain.user.User;
+import cc.remer.timetrack.usecase.userevent.UserDataChange;
+import cc.remer.timetrack.usecase.userevent.UserDataChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 /**
@@ -20,6 +25,7 @@ import java.time.LocalDateTime;
 public class UpdateTimeEntryUseCase {
 
     private final TimeEntryRepository timeEntryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Update a time entry.
@@ -32,7 +38,7 @@ public class UpdateTimeEntryUseCase {
      * @param entryType new entry type
      * @param notes new notes
      * @return the updated time entry
-     * @throws IllegalArgumentException if entry not found or doesn't belong to user
+     * @throws IllegalArgumentException if entry not found, doesn't belong to user or overlaps with another entry
      * @throws IllegalStateException if clockOut is before clockIn
      */
     @Transactional
@@ -56,6 +62,12 @@ public class UpdateTimeEntryUseCase {
                     "Checkout-Zeit muss nach der Checkin-Zeit liegen.");
         }
 
+        // Before changing the entry, so the query doesn't flush it
+        TimeEntryConstraints.checkNoOverlap(
+                timeEntryRepository.findFirstOverlapping(user.getId(), clockIn, clockOut, entryId));
+
+        LocalDate oldDate = entry.getEntryDate();
+
         // Update fields
         entry.setClockIn(clockIn);
         entry.setClockOut(clockOut);
@@ -64,9 +76,22 @@ public class UpdateTimeEntryUseCase {
         entry.setEntryType(entryType);
         entry.setNotes(notes);
 
-        TimeEntry saved = timeEntryRepository.save(entry);
+        TimeEntry saved;
+        try {
+            saved = timeEntryRepository.saveAndFlush(entry);
+        } catch (DataIntegrityViolationException e) {
+            if (TimeEntryConstraints.isViolated(e, TimeEntryConstraints.NO_OVERLAP)) {
+                throw new IllegalArgumentException(TimeEntryConstraints.OVERLAP_MESSAGE);
+            }
+            throw e;
+        }
         log.info("Updated time entry {} for user {}", entryId, user.getId());
 
+        // The entry may have moved to another day
+        LocalDate newDate = saved.getEntryDate();
+        eventPublisher.publishEvent(new UserDataChangedEvent(user.getId(), UserDataChange.TIME_ENTRIES,
+                oldDate.isBefore(newDate) ? oldDate : newDate, oldDate.isAfter(newDate) ? oldDate : newDate));
+
         return saved;
     }
 }
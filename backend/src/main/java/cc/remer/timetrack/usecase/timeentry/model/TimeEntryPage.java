@@ -0,0 +1,14 @@
+package cc.remer.timetrack.usecase.timeentry.model;
+
+import cc.remer.timetrack.domain.timeentry.TimeEntry;
+
+import java.util.List;
+
+/**
+ * One page of time entries.
+ *
+ * @param entries    the entries of the page, newest first
+ * @param nextCursor continuation token for the next page, null if this is the last page
+ */
+public record TimeEntryPage(List<TimeEntry> entries, String nextCursor) {
+}
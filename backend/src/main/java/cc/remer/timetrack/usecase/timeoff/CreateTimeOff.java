@@ -7,10 +7,13 @@ import cc.remer.timetrack.domain.timeoff.TimeOff;
 import cc.remer.timetrack.domain.timeoff.TimeOffType;
 import cc.remer.timetrack.domain.user.User;
 import cc.remer.timetrack.usecase.user.UserService;
+import cc.remer.timetrack.usecase.userevent.UserDataChange;
+import cc.remer.timetrack.usecase.userevent.UserDataChangedEvent;
 import cc.remer.timetrack.usecase.vacationbalance.VacationBalanceService;
 import cc.remer.timetrack.util.ValidationUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,6 +29,7 @@ public class CreateTimeOff {
     private final UserService userService;
     private final TimeOffMapper mapper;
     private final VacationBalanceService vacationBalanceService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Execute the use case to create a time-off entry.
@@ -56,12 +60,16 @@ public class CreateTimeOff {
         TimeOff saved = timeOffRepository.save(entity);
         log.info("Created time-off entry with ID: {}", saved.getId());
 
-        // Recalculate vacation balance if this is a vacation entry
+        // Add vacation days to the balance, or recount vacation overlapped by a sick/personal day
         if (saved.getTimeOffType() == TimeOffType.VACATION) {
-            vacationBalanceService.recalculateVacationBalanceForDateRange(
-                    userId, saved.getStartDate(), saved.getEndDate());
+            vacationBalanceService.addVacation(saved);
+        } else {
+            vacationBalanceService.refreshVacationsInRange(userId, saved.getStartDate(), saved.getEndDate());
         }
 
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId, UserDataChange.TIME_OFF,
+                saved.getStartDate(), saved.getEndDate()));
+
         return mapper.toResponse(saved);
     }
 
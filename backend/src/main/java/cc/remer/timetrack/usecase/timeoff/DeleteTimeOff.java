@@ -5,12 +5,16 @@ import cc.remer.timetrack.domain.timeoff.TimeOff;
 import cc.remer.timetrack.domain.timeoff.TimeOffType;
 import cc.remer.timetrack.exception.TimeOffNotFoundException;
 import cc.remer.timetrack.usecase.AuthorizationService;
+import cc.remer.timetrack.usecase.userevent.UserDataChange;
+import cc.remer.timetrack.usecase.userevent.UserDataChangedEvent;
 import cc.remer.timetrack.usecase.vacationbalance.VacationBalanceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 /**
@@ -24,6 +28,7 @@ public class DeleteTimeOff {
     private final TimeOffRepository timeOffRepository;
     private final VacationBalanceService vacationBalanceService;
     private final AuthorizationService authorizationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Execute the use case to delete a time-off entry.
@@ -44,18 +49,21 @@ public class DeleteTimeOff {
 
         // Store values before deletion
         TimeOffType type = entity.getTimeOffType();
-        int startYear = entity.getStartDate().getYear();
-        int endYear = entity.getEndDate().getYear();
+        LocalDate startDate = entity.getStartDate();
+        LocalDate endDate = entity.getEndDate();
+        BigDecimal vacationDays = entity.getVacationDays();
 
         // Delete
         timeOffRepository.delete(entity);
         log.info("Deleted time-off entry ID: {}", id);
 
-        // Recalculate vacation balance if this was a vacation entry
+        // Remove vacation days from the balance, or recount vacation that was overlapped by a sick/personal day
         if (type == TimeOffType.VACATION) {
-            LocalDate startDate = entity.getStartDate();
-            LocalDate endDate = entity.getEndDate();
-            vacationBalanceService.recalculateVacationBalanceForDateRange(userId, startDate, endDate);
+            vacationBalanceService.removeVacation(userId, startDate, endDate, vacationDays);
+        } else {
+            vacationBalanceService.refreshVacationsInRange(userId, startDate, endDate);
         }
+
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId, UserDataChange.TIME_OFF, startDate, endDate));
     }
 }
@@ -7,12 +7,16 @@ import cc.remer.timetrack.domain.timeoff.TimeOff;
 import cc.remer.timetrack.domain.timeoff.TimeOffType;
 import cc.remer.timetrack.exception.TimeOffNotFoundException;
 import cc.remer.timetrack.usecase.AuthorizationService;
+import cc.remer.timetrack.usecase.userevent.UserDataChange;
+import cc.remer.timetrack.usecase.userevent.UserDataChangedEvent;
 import cc.remer.timetrack.usecase.vacationbalance.VacationBalanceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 /**
@@ -27,6 +31,7 @@ public class UpdateTimeOff {
     private final TimeOffMapper mapper;
     private final VacationBalanceService vacationBalanceService;
     private final AuthorizationService authorizationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Execute the use case to update a time-off entry.
@@ -47,33 +52,45 @@ public class UpdateTimeOff {
         // Check user owns this time-off entry
         authorizationService.validateOwnership(entity.getUser(), userId, "diesen Abwesenheitseintrag");
 
-        // Store old values to determine which years to recalculate
+        // Store old values to determine which balances to update
         TimeOffType oldType = entity.getTimeOffType();
-        int oldStartYear = entity.getStartDate().getYear();
-        int oldEndYear = entity.getEndDate().getYear();
+        LocalDate oldStartDate = entity.getStartDate();
+        LocalDate oldEndDate = entity.getEndDate();
+        BigDecimal oldVacationDays = entity.getVacationDays();
 
         // Map update request
         mapper.mapUpdateRequest(request, entity);
 
+        if (entity.getTimeOffType() != TimeOffType.VACATION) {
+            entity.setVacationDays(null);
+        }
+
         // Save
         TimeOff updated = timeOffRepository.save(entity);
         log.info("Updated time-off entry ID: {}", updated.getId());
 
-        // Recalculate vacation balance if this involves a vacation entry
-        if (oldType == TimeOffType.VACATION || updated.getTimeOffType() == TimeOffType.VACATION) {
-            // Recalculate for both old and new date ranges to handle all affected years
-            LocalDate oldStartDate = LocalDate.of(oldStartYear, 1, 1);
-            LocalDate oldEndDate = LocalDate.of(oldEndYear, 12, 31);
-            LocalDate newStartDate = updated.getStartDate();
-            LocalDate newEndDate = updated.getEndDate();
-
-            // Get the full range from earliest to latest date
-            LocalDate earliestDate = oldStartDate.isBefore(newStartDate) ? oldStartDate : newStartDate;
-            LocalDate latestDate = oldEndDate.isAfter(newEndDate) ? oldEndDate : newEndDate;
+        // Move the vacation days of this entry between balances
+        if (oldType == TimeOffType.VACATION && updated.getTimeOffType() == TimeOffType.VACATION) {
+            vacationBalanceService.updateVacation(updated, oldStartDate, oldEndDate, oldVacationDays);
+        } else if (oldType == TimeOffType.VACATION) {
+            vacationBalanceService.removeVacation(userId, oldStartDate, oldEndDate, oldVacationDays);
+        } else if (updated.getTimeOffType() == TimeOffType.VACATION) {
+            vacationBalanceService.addVacation(updated);
+        }
 
-            vacationBalanceService.recalculateVacationBalanceForDateRange(userId, earliestDate, latestDate);
+        // Sick/personal days take precedence over vacation, so recount vacation they overlapped or overlap now
+        if (oldType != TimeOffType.VACATION) {
+            vacationBalanceService.refreshVacationsInRange(userId, oldStartDate, oldEndDate);
+        }
+        if (updated.getTimeOffType() != TimeOffType.VACATION) {
+            vacationBalanceService.refreshVacationsInRange(userId, updated.getStartDate(), updated.getEndDate());
         }
 
+        // Both the old and the new days have changed
+        LocalDate startDate = oldStartDate.isBefore(updated.getStartDate()) ? oldStartDate : updated.getStartDate();
+        LocalDate endDate = oldEndDate.isAfter(updated.getEndDate()) ? oldEndDate : updated.getEndDate();
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId, UserDataChange.TIME_OFF, startDate, endDate));
+
         return mapper.toResponse(updated);
     }
 }
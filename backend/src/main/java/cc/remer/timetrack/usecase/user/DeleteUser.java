@@ -1,6 +1,7 @@
 package cc.remer.timetrack.usecase.user;
 
 import cc.remer.timetrack.adapter.persistence.UserRepository;
+import cc.remer.timetrack.adapter.security.PrincipalCache;
 import cc.remer.timetrack.domain.user.User;
 import cc.remer.timetrack.exception.UserNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +20,7 @@ public class DeleteUser {
 
     private final UserRepository userRepository;
     private final UserService userService;
+    private final PrincipalCache principalCache;
 
     /**
      * Execute the delete user use case.
@@ -34,6 +36,7 @@ public class DeleteUser {
         User user = userService.getUserOrThrow(userId);
 
         userRepository.delete(user);
+        principalCache.evict(userId);
         log.info("User deleted successfully: {}", userId);
     }
 }
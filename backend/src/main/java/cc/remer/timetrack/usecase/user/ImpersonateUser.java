@@ -1,16 +1,15 @@
 package cc.remer.timetrack.usecase.user;
 
-import cc.remer.timetrack.adapter.persistence.RefreshTokenRepository;
 import cc.remer.timetrack.adapter.security.JwtTokenProvider;
 import cc.remer.timetrack.adapter.security.UserPrincipal;
 import cc.remer.timetrack.api.model.AuthResponse;
 import cc.remer.timetrack.api.model.UserResponse;
 import cc.remer.timetrack.config.JwtProperties;
-import cc.remer.timetrack.domain.user.RefreshToken;
 import cc.remer.timetrack.domain.user.Role;
 import cc.remer.timetrack.domain.user.User;
 import cc.remer.timetrack.exception.ForbiddenException;
 import cc.remer.timetrack.exception.UserNotFoundException;
+import cc.remer.timetrack.usecase.authentication.RefreshTokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -19,7 +18,6 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -33,7 +31,7 @@ public class ImpersonateUser {
 
     private final UserService userService;
     private final JwtTokenProvider tokenProvider;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenService refreshTokenService;
     private final JwtProperties jwtProperties;
 
     /**
@@ -89,7 +87,7 @@ public class ImpersonateUser {
         String refreshToken = tokenProvider.generateRefreshToken(targetAuthentication);
 
         // Save refresh token
-        saveRefreshToken(targetUser.getId(), refreshToken);
+        refreshTokenService.store(targetUser.getId(), refreshToken);
 
         log.info("Admin {} successfully impersonating user {} ({})",
                 adminPrincipal.getId(), targetUser.getId(), targetUser.getEmail());
@@ -98,16 +96,6 @@ public class ImpersonateUser {
         return buildAuthResponse(accessToken, refreshToken, targetPrincipal);
     }
 
-    private void saveRefreshToken(Long userId, String token) {
-        RefreshToken refreshToken = RefreshToken.builder()
-                .user(User.builder().id(userId).build())
-                .token(token)
-                .expiresAt(LocalDateTime.now().plusSeconds(jwtProperties.getRefreshExpiration() / 1000))
-                .build();
-
-        refreshTokenRepository.save(refreshToken);
-    }
-
     private AuthResponse buildAuthResponse(String accessToken, String refreshToken, UserPrincipal userPrincipal) {
         AuthResponse response = new AuthResponse();
         response.setAccessToken(accessToken);
@@ -1,6 +1,7 @@
 package cc.remer.timetrack.usecase.user;
 
 import cc.remer.timetrack.adapter.persistence.UserRepository;
+import cc.remer.timetrack.adapter.security.PrincipalCache;
 import cc.remer.timetrack.adapter.security.UserPrincipal;
 import cc.remer.timetrack.api.model.UpdateUserRequest;
 import cc.remer.timetrack.api.model.UserResponse;
@@ -10,8 +11,12 @@ import cc.remer.timetrack.domain.user.User;
 import cc.remer.timetrack.exception.DuplicateEmailException;
 import cc.remer.timetrack.exception.ForbiddenException;
 import cc.remer.timetrack.exception.UserNotFoundException;
+import cc.remer.timetrack.usecase.userevent.UserDataChange;
+import cc.remer.timetrack.usecase.userevent.UserDataChangedEvent;
+import cc.remer.timetrack.usecase.vacationbalance.VacationBalanceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -29,6 +34,9 @@ public class UpdateUser {
     private final UserService userService;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final VacationBalanceService vacationBalanceService;
+    private final PrincipalCache principalCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Execute the update user use case.
@@ -77,6 +85,10 @@ public class UpdateUser {
             user.setLastName(request.getLastName());
         }
 
+        // Public holidays and half-day holidays decide which days count as vacation days
+        GermanState oldState = user.getState();
+        Boolean oldHalfDayHolidaysEnabled = user.getHalfDayHolidaysEnabled();
+
         // Update state (all users can update their own state)
         if (request.getState() != null) {
             user.setState(GermanState.valueOf(request.getState().getValue()));
@@ -107,6 +119,16 @@ public class UpdateUser {
         User savedUser = userRepository.save(user);
         log.info("User updated successfully: {}", savedUser.getId());
 
+        // Email, role and active status are checked on every request
+        principalCache.evict(savedUser.getId());
+
+        if (savedUser.getState() != oldState
+                || !savedUser.getHalfDayHolidaysEnabled().equals(oldHalfDayHolidaysEnabled)) {
+            vacationBalanceService.recalculateVacationBalances(savedUser.getId());
+        }
+
+        eventPublisher.publishEvent(UserDataChangedEvent.of(savedUser.getId(), UserDataChange.PROFILE));
+
         return userMapper.toResponse(savedUser);
     }
 
@@ -0,0 +1,29 @@
+package cc.remer.timetrack.usecase.userevent;
+
+/**
+ * Kind of change made to the data of a user, telling clients what to load again.
+ */
+public enum UserDataChange {
+    CLOCKED_IN("clocked-in"),
+    CLOCKED_OUT("clocked-out"),
+    TIME_ENTRIES("time-entries"),
+    CONFLICT_WARNINGS("conflict-warnings"),
+    TIME_OFF("time-off"),
+    WORKING_HOURS("working-hours"),
+    RECURRING_OFF_DAYS("recurring-off-days"),
+    VACATION_BALANCE("vacation-balance"),
+    PROFILE("profile");
+
+    private final String eventName;
+
+    UserDataChange(String eventName) {
+        this.eventName = eventName;
+    }
+
+    /**
+     * Name of the server-sent event announcing the change.
+     */
+    public String getEventName() {
+        return eventName;
+    }
+}
@@ -0,0 +1,29 @@
+package cc.remer.timetrack.usecase.userevent;
+
+import java.time.LocalDate;
+
+/**
+ * Published when data of a user has changed.
+ * Delivered to the user's event streams once the changing transaction has committed.
+ *
+ * @param userId    the user ID
+ * @param change    what has changed
+ * @param startDate first day affected by the change, or null if not bound to days
+ * @param endDate   last day affected by the change, or null if not bound to days
+ */
+public record UserDataChangedEvent(Long userId, UserDataChange change, LocalDate startDate, LocalDate endDate) {
+
+    /**
+     * A change affecting a single day.
+     */
+    public static UserDataChangedEvent of(Long userId, UserDataChange change, LocalDate date) {
+        return new UserDataChangedEvent(userId, change, date, date);
+    }
+
+    /**
+     * A change not bound to particular days.
+     */
+    public static UserDataChangedEvent of(Long userId, UserDataChange change) {
+        return new UserDataChangedEvent(userId, change, null, null);
+    }
+}
@@ -0,0 +1,41 @@
+package cc.remer.timetrack.usecase.userevent;
+
+import cc.remer.timetrack.adapter.persistence.UserDataVersionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps a version of each user's data that read endpoints use to answer conditional requests.
+ *
+ * The version is bumped right before the changing transaction commits, inside it, so a client can
+ * never see the new version together with the old data.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserDataVersionService {
+
+    private final UserDataVersionRepository userDataVersionRepository;
+
+    /**
+     * Bump the version of the user whose data has changed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        long version = userDataVersionRepository.increment(event.userId());
+        log.debug("Data of user {} changed ({}), now at version {}", event.userId(), event.change(), version);
+    }
+
+    /**
+     * Get the current data version of a user.
+     *
+     * @param userId the user ID
+     * @return the version, 0 if the user's data has never changed
+     */
+    public long getVersion(Long userId) {
+        return userDataVersionRepository.find(userId);
+    }
+}
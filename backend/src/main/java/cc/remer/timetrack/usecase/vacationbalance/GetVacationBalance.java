@@ -3,11 +3,11 @@ package cc.remer.timetrack.usecase.vacationbalance;
 import cc.remer.timetrack.adapter.persistence.UserRepository;
 import cc.remer.timetrack.adapter.persistence.VacationBalanceRepository;
 import cc.remer.timetrack.api.model.VacationBalanceResponse;
-import cc.remer.timetrack.domain.user.User;
 import cc.remer.timetrack.domain.vacationbalance.VacationBalance;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Clock;
 import java.time.Year;
@@ -24,54 +24,44 @@ public class GetVacationBalance {
     private final VacationBalanceRepository vacationBalanceRepository;
     private final UserRepository userRepository;
     private final VacationBalanceMapper mapper;
-    private final VacationBalanceService vacationBalanceService;
     private final Clock clock;
 
     private static final BigDecimal DEFAULT_ANNUAL_ALLOWANCE_DAYS = new BigDecimal("30.0");
 
     /**
      * Execute the use case to get vacation balance.
-     * Always recalculates used days from time-off entries to ensure accuracy.
+     * Reads the incrementally maintained balance without recalculating or writing anything.
+     * If no balance is stored for the year yet, the defaults are returned.
      *
      * @param userId the user ID
      * @param year the year (if null, uses current year)
      * @return the vacation balance response
      */
+    @Transactional(readOnly = true)
     public VacationBalanceResponse execute(Long userId, Integer year) {
         int targetYear = year != null ? year : Year.now(clock).getValue();
         log.info("Getting vacation balance for user ID: {} and year: {}", userId, targetYear);
 
-        // Get or create balance
         VacationBalance balance = vacationBalanceRepository.findByUserIdAndYear(userId, targetYear)
-                .orElseGet(() -> createDefaultBalance(userId, targetYear));
-
-        // Always recalculate used days from time-off entries to ensure accuracy
-        // This handles both new and historical vacation entries
-        vacationBalanceService.recalculateVacationBalance(userId, targetYear);
-
-        // Reload the balance after recalculation
-        balance = vacationBalanceRepository.findByUserIdAndYear(userId, targetYear)
-                .orElseThrow(() -> new IllegalStateException("Balance should exist after recalculation"));
+                .orElseGet(() -> defaultBalance(userId, targetYear));
 
         return mapper.toResponse(balance);
     }
 
     /**
-     * Create a default vacation balance for a user and year.
+     * Build a default vacation balance for a user and year without persisting it.
+     * A balance is stored as soon as a vacation entry or allowance is saved for the year.
      *
      * @param userId the user ID
      * @param year the year
-     * @return the created vacation balance
+     * @return the default vacation balance
      */
-    private VacationBalance createDefaultBalance(Long userId, int year) {
-        log.info("Creating default vacation balance for user ID: {} and year: {} with {} days",
+    private VacationBalance defaultBalance(Long userId, int year) {
+        log.debug("No vacation balance stored for user ID: {} and year: {}, using {} days",
                 userId, year, DEFAULT_ANNUAL_ALLOWANCE_DAYS);
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + userId));
-
         VacationBalance balance = VacationBalance.builder()
-                .user(user)
+                .user(userRepository.getReferenceById(userId))
                 .year(year)
                 .annualAllowanceDays(DEFAULT_ANNUAL_ALLOWANCE_DAYS)
                 .carriedOverDays(BigDecimal.ZERO)
@@ -81,6 +71,6 @@ public class GetVacationBalance {
 
         balance.calculateRemainingDays();
 
-        return vacationBalanceRepository.save(balance);
+        return balance;
     }
 }
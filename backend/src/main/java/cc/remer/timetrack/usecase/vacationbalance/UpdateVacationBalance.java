@@ -8,8 +8,11 @@ import cc.remer.timetrack.domain.user.Role;
 import cc.remer.timetrack.domain.user.User;
 import cc.remer.timetrack.domain.vacationbalance.VacationBalance;
 import cc.remer.timetrack.exception.UserNotFoundException;
+import cc.remer.timetrack.usecase.userevent.UserDataChange;
+import cc.remer.timetrack.usecase.userevent.UserDataChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,6 +31,7 @@ public class UpdateVacationBalance {
     private final VacationBalanceRepository vacationBalanceRepository;
     private final UserRepository userRepository;
     private final VacationBalanceMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Execute the use case to update vacation balance.
@@ -74,6 +78,8 @@ public class UpdateVacationBalance {
         VacationBalance updated = vacationBalanceRepository.save(balance);
         log.info("Updated vacation balance ID: {}", updated.getId());
 
+        eventPublisher.publishEvent(UserDataChangedEvent.of(request.getUserId(), UserDataChange.VACATION_BALANCE));
+
         return mapper.toResponse(updated);
     }
 }
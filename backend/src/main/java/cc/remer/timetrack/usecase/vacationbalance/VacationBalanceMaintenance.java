@@ -0,0 +1,37 @@
+package cc.remer.timetrack.usecase.vacationbalance;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background maintenance of the incrementally maintained vacation balances.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VacationBalanceMaintenance {
+
+    private final VacationBalanceService vacationBalanceService;
+
+    /**
+     * Count vacation entries and initialize balances stored before vacation days were kept per entry.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeVacationBalances() {
+        vacationBalanceService.initializeVacationBalances();
+    }
+
+    /**
+     * Add vacation that ended since the last run to the used days.
+     * Runs shortly after midnight, so balance reads don't need to correct used days.
+     */
+    @Scheduled(cron = "${app.vacation-balance.roll-forward-cron:0 5 0 * * *}")
+    public void rollForwardUsedDays() {
+        log.debug("Rolling forward used vacation days");
+        vacationBalanceService.rollForwardUsedDays();
+    }
+}
@@ -19,14 +19,12 @@ public class VacationBalanceMapper {
     private final VacationBalanceService vacationBalanceService;
 
     /**
-     * Map entity to response DTO, calculating plannedDays dynamically.
+     * Map entity to response DTO using the stored planned days.
+     * Used days include vacation that ended since the balance was last rolled forward.
      */
     public VacationBalanceResponse toResponse(VacationBalance entity) {
-        // Calculate planned days from time-off entries
-        BigDecimal plannedDays = vacationBalanceService.calculatePlannedDays(
-                entity.getUser().getId(),
-                entity.getYear()
-        );
+        BigDecimal plannedDays = entity.getPlannedDays();
+        BigDecimal usedDays = vacationBalanceService.getUsedDays(entity);
 
         // Calculate actual remaining days: total available - planned days
         BigDecimal totalAvailable = entity.getAnnualAllowanceDays()
@@ -42,7 +40,7 @@ public class VacationBalanceMapper {
         response.setCarriedOverDays(entity.getCarriedOverDays().doubleValue());
         response.setAdjustmentDays(entity.getAdjustmentDays().doubleValue());
         response.setPlannedDays(plannedDays.doubleValue());
-        response.setUsedDays(entity.getUsedDays().doubleValue());
+        response.setUsedDays(usedDays.doubleValue());
         response.setRemainingDays(remainingDays.doubleValue());
         response.setCreatedAt(MapperUtils.toOffsetDateTime(entity.getCreatedAt()));
         response.setUpdatedAt(MapperUtils.toOffsetDateTime(entity.getUpdatedAt()));
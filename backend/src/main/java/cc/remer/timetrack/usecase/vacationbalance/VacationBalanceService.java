@@ -5,7 +5,6 @@ import cc.remer.timetrack.adapter.persistence.UserRepository;
 import cc.remer.timetrack.adapter.persistence.VacationBalanceRepository;
 import cc.remer.timetrack.domain.timeoff.TimeOff;
 import cc.remer.timetrack.domain.timeoff.TimeOffType;
-import cc.remer.timetrack.domain.user.GermanState;
 import cc.remer.timetrack.domain.user.User;
 import cc.remer.timetrack.domain.vacationbalance.VacationBalance;
 import lombok.RequiredArgsConstructor;
@@ -16,10 +15,21 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
 
 /**
  * Service to manage vacation balance calculations.
+ *
+ * The working days of every vacation entry are stored on the entry (vacation_days).
+ * Balances are maintained incrementally from those counts:
+ * - plannedDays is the sum of all vacation entries overlapping the year
+ * - usedDays is the sum of those that ended on or before usedThrough
+ * Creating, updating or deleting time-off applies the difference to the affected balances,
+ * so reading a balance never has to recalculate working days.
  */
 @Service
 @RequiredArgsConstructor
@@ -35,114 +45,319 @@ public class VacationBalanceService {
     private static final BigDecimal DEFAULT_ANNUAL_ALLOWANCE_DAYS = new BigDecimal("30.0");
 
     /**
-     * Recalculate vacation balance for a user and year based on VACATION time-off entries.
-     * Only updates usedDays (past vacation). plannedDays is calculated on-demand.
+     * Count the days of a new vacation entry and add them to the affected balances.
+     *
+     * @param vacation the saved vacation entry
+     */
+    @Transactional
+    public void addVacation(TimeOff vacation) {
+        Long userId = vacation.getUser().getId();
+        BigDecimal days = createContext(userId, List.of(vacation))
+                .countWorkingDays(vacation.getStartDate(), vacation.getEndDate());
+        vacation.setVacationDays(days);
+        timeOffRepository.save(vacation);
+
+        applyChanges(userId,
+                List.of(new VacationDaysChange(vacation.getStartDate(), vacation.getEndDate(), days)));
+    }
+
+    /**
+     * Remove the days of a deleted (or no longer vacation) entry from the affected balances.
      *
      * @param userId the user ID
-     * @param year the year
+     * @param startDate the former start date of the entry
+     * @param endDate the former end date of the entry
+     * @param vacationDays the days stored on the entry (null if never counted)
      */
     @Transactional
-    public void recalculateVacationBalance(Long userId, int year) {
-        log.info("Recalculating vacation balance for user ID: {} and year: {}", userId, year);
+    public void removeVacation(Long userId, LocalDate startDate, LocalDate endDate, BigDecimal vacationDays) {
+        if (vacationDays == null) {
+            return;
+        }
+        applyChanges(userId, List.of(new VacationDaysChange(startDate, endDate, vacationDays.negate())));
+    }
 
+    /**
+     * Update the balances after a vacation entry has been changed.
+     * Recounts the entry and moves its days from the old to the new date range.
+     *
+     * @param vacation the saved vacation entry
+     * @param oldStartDate the start date before the update
+     * @param oldEndDate the end date before the update
+     * @param oldVacationDays the days stored before the update (null if never counted)
+     */
+    @Transactional
+    public void updateVacation(TimeOff vacation, LocalDate oldStartDate, LocalDate oldEndDate,
+                               BigDecimal oldVacationDays) {
+        Long userId = vacation.getUser().getId();
+        BigDecimal days = createContext(userId, List.of(vacation))
+                .countWorkingDays(vacation.getStartDate(), vacation.getEndDate());
+        vacation.setVacationDays(days);
+        timeOffRepository.save(vacation);
+
+        List<VacationDaysChange> changes = new ArrayList<>();
+        if (oldVacationDays != null) {
+            changes.add(new VacationDaysChange(oldStartDate, oldEndDate, oldVacationDays.negate()));
+        }
+        changes.add(new VacationDaysChange(vacation.getStartDate(), vacation.getEndDate(), days));
+        applyChanges(userId, changes);
+    }
+
+    /**
+     * Recount the vacation entries overlapping a date range.
+     * Used when a non-vacation entry (sick, personal, etc.) changes, since those take precedence over vacation.
+     *
+     * @param userId the user ID
+     * @param startDate the start date of the range
+     * @param endDate the end date of the range
+     */
+    @Transactional
+    public void refreshVacationsInRange(Long userId, LocalDate startDate, LocalDate endDate) {
+        List<TimeOff> vacationEntries = timeOffRepository.findByUserIdAndTypeAndYear(
+                userId, TimeOffType.VACATION, startDate, endDate);
+        if (vacationEntries.isEmpty()) {
+            return;
+        }
+
+        WorkingDaysContext context = createContext(userId, vacationEntries);
+        List<VacationDaysChange> changes = new ArrayList<>();
+        for (TimeOff vacation : vacationEntries) {
+            BigDecimal oldDays = vacation.getVacationDays() != null ? vacation.getVacationDays() : BigDecimal.ZERO;
+            BigDecimal days = context.countWorkingDays(vacation.getStartDate(), vacation.getEndDate());
+            if (days.compareTo(oldDays) != 0) {
+                vacation.setVacationDays(days);
+                changes.add(new VacationDaysChange(vacation.getStartDate(), vacation.getEndDate(), days.subtract(oldDays)));
+            }
+        }
+
+        if (!changes.isEmpty()) {
+            timeOffRepository.saveAll(vacationEntries);
+            applyChanges(userId, changes);
+        }
+    }
+
+    /**
+     * Recalculate all vacation balances of a user.
+     * Used when the user's calendar changes (working hours, recurring off-days, state, half-day holidays).
+     *
+     * @param userId the user ID
+     */
+    @Transactional
+    public void recalculateVacationBalances(Long userId) {
+        List<TimeOff> vacationEntries = timeOffRepository.findByUserIdAndTimeOffType(userId, TimeOffType.VACATION);
+        if (vacationEntries.isEmpty()) {
+            return;
+        }
+
+        // Count every entry once, then rebuild each year from the counted entries
+        WorkingDaysContext context = createContext(userId, vacationEntries);
+        Map<Integer, List<TimeOff>> entriesByYear = new TreeMap<>();
+        for (TimeOff vacation : vacationEntries) {
+            vacation.setVacationDays(context.countWorkingDays(vacation.getStartDate(), vacation.getEndDate()));
+            for (int year = vacation.getStartDate().getYear(); year <= vacation.getEndDate().getYear(); year++) {
+                entriesByYear.computeIfAbsent(year, y -> new ArrayList<>()).add(vacation);
+            }
+        }
+        timeOffRepository.saveAll(vacationEntries);
+
+        log.info("Recalculating vacation balances for user ID: {} (years {})", userId, entriesByYear.keySet());
+        entriesByYear.forEach((year, yearEntries) -> rebuildBalance(userId, year, yearEntries));
+    }
+
+    /**
+     * Rebuild planned and used days of a balance from the counted vacation entries overlapping the year.
+     *
+     * @param userId the user ID
+     * @param year the year
+     * @param vacationEntries the vacation entries overlapping the year, with their days already stored
+     */
+    private void rebuildBalance(Long userId, int year, List<TimeOff> vacationEntries) {
         // Get or create vacation balance
         VacationBalance balance = vacationBalanceRepository.findByUserIdAndYear(userId, year)
                 .orElseGet(() -> createDefaultBalance(userId, year));
 
-        // Get all VACATION time-off entries for the year
-        LocalDate yearStart = LocalDate.of(year, 1, 1);
-        LocalDate yearEnd = LocalDate.of(year, 12, 31);
         LocalDate today = LocalDate.now(clock);
+        BigDecimal totalPlannedDays = BigDecimal.ZERO;
+        BigDecimal totalUsedDays = BigDecimal.ZERO;
+        for (TimeOff vacation : vacationEntries) {
+            BigDecimal days = vacation.getVacationDays();
+            totalPlannedDays = totalPlannedDays.add(days);
 
-        List<TimeOff> vacationEntries = timeOffRepository.findByUserIdAndTypeAndYear(
-                userId, TimeOffType.VACATION, yearStart, yearEnd);
-
-        // Calculate used days (only past vacation entries where end date <= today)
-        BigDecimal totalUsedDays = vacationEntries.stream()
-                .filter(timeOff -> !timeOff.getEndDate().isAfter(today))
-                .map(this::calculateDaysForTimeOff)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+            // Used days only include past vacation entries (end date <= today)
+            if (!vacation.getEndDate().isAfter(today)) {
+                totalUsedDays = totalUsedDays.add(days);
+            }
+        }
 
-        // Update used days (this is what gets stored)
+        balance.setPlannedDays(totalPlannedDays);
         balance.setUsedDays(totalUsedDays);
+        balance.setUsedThrough(today);
         balance.calculateRemainingDays();
 
         vacationBalanceRepository.save(balance);
-        log.info("Updated vacation balance for user ID: {} and year: {}. Used: {}, Remaining: {}",
-                userId, year, totalUsedDays, balance.getRemainingDays());
+        log.info("Updated vacation balance for user ID: {} and year: {}. Planned: {}, Used: {}, Remaining: {}",
+                userId, year, totalPlannedDays, totalUsedDays, balance.getRemainingDays());
     }
 
     /**
-     * Recalculate vacation balance for all years that fall within a date range.
-     * Automatically handles multi-year spans by recalculating each affected year.
-     * This is a convenience method to avoid manual year iteration in use cases.
+     * Get the used days of a balance as of today without modifying it.
+     * If the balance has not been rolled forward yet, the vacation entries that ended
+     * since then are added with a single aggregate query.
      *
-     * @param userId the user ID
-     * @param startDate the start date of the range
-     * @param endDate the end date of the range
+     * @param balance the vacation balance
+     * @return the used days as of today
+     */
+    public BigDecimal getUsedDays(VacationBalance balance) {
+        LocalDate today = LocalDate.now(clock);
+        if (balance.getUsedThrough() == null || !balance.getUsedThrough().isBefore(today)) {
+            return balance.getUsedDays();
+        }
+        return balance.getUsedDays().add(sumDaysEndedBetween(balance, balance.getUsedThrough(), today));
+    }
+
+    /**
+     * Add vacation entries that ended since the last roll-forward to the used days of all balances.
+     *
+     * @return the number of balances rolled forward
      */
     @Transactional
-    public void recalculateVacationBalanceForDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
-        if (startDate == null || endDate == null) {
-            log.warn("Cannot recalculate vacation balance: startDate or endDate is null");
-            return;
+    public int rollForwardUsedDays() {
+        LocalDate today = LocalDate.now(clock);
+        List<VacationBalance> balances = vacationBalanceRepository.findByUsedThroughBefore(today);
+
+        for (VacationBalance balance : balances) {
+            balance.setUsedDays(balance.getUsedDays().add(sumDaysEndedBetween(balance, balance.getUsedThrough(), today)));
+            balance.setUsedThrough(today);
+            balance.calculateRemainingDays();
         }
+        vacationBalanceRepository.saveAll(balances);
 
-        int startYear = startDate.getYear();
-        int endYear = endDate.getYear();
+        log.info("Rolled forward used vacation days of {} balances to {}", balances.size(), today);
+        return balances.size();
+    }
+
+    /**
+     * Count vacation entries that have no stored days yet and initialize balances that
+     * were created before vacation days were stored per entry.
+     */
+    @Transactional
+    public void initializeVacationBalances() {
+        List<TimeOff> uncounted = timeOffRepository.findByTimeOffTypeAndVacationDaysIsNull(TimeOffType.VACATION);
 
-        log.info("Recalculating vacation balance for user ID: {} from {} to {} (years {}-{})",
-                userId, startDate, endDate, startYear, endYear);
+        // One calculation context per user for all of their uncounted entries
+        Map<Long, List<TimeOff>> uncountedByUser = new TreeMap<>();
+        for (TimeOff vacation : uncounted) {
+            uncountedByUser.computeIfAbsent(vacation.getUser().getId(), id -> new ArrayList<>()).add(vacation);
+        }
+        uncountedByUser.forEach((userId, vacationEntries) -> {
+            WorkingDaysContext context = createContext(userId, vacationEntries);
+            for (TimeOff vacation : vacationEntries) {
+                vacation.setVacationDays(context.countWorkingDays(vacation.getStartDate(), vacation.getEndDate()));
+            }
+        });
+        timeOffRepository.saveAll(uncounted);
 
-        // Recalculate for all years in the range
-        for (int year = startYear; year <= endYear; year++) {
-            recalculateVacationBalance(userId, year);
+        List<VacationBalance> uninitialized = vacationBalanceRepository.findByUsedThroughIsNull();
+        for (VacationBalance balance : uninitialized) {
+            initializeFromStoredDays(balance);
+        }
+        vacationBalanceRepository.saveAll(uninitialized);
+
+        if (!uncounted.isEmpty() || !uninitialized.isEmpty()) {
+            log.info("Counted {} vacation entries and initialized {} vacation balances",
+                    uncounted.size(), uninitialized.size());
         }
     }
 
     /**
-     * Calculate total planned vacation days for a user and year.
-     * This includes all VACATION time-off entries regardless of dates.
-     *
-     * @param userId the user ID
-     * @param year the year
-     * @return total planned days
+     * Apply changes of vacation days to the balances of every year they touch.
+     * Each entry counts with its full days in every year it overlaps.
+     * Missing or uninitialized balances are built from the stored entry days instead,
+     * which already include the changes.
      */
-    public BigDecimal calculatePlannedDays(Long userId, int year) {
-        LocalDate yearStart = LocalDate.of(year, 1, 1);
-        LocalDate yearEnd = LocalDate.of(year, 12, 31);
+    private void applyChanges(Long userId, List<VacationDaysChange> changes) {
+        Map<Integer, List<VacationDaysChange>> changesByYear = new TreeMap<>();
+        for (VacationDaysChange change : changes) {
+            for (int year = change.startDate().getYear(); year <= change.endDate().getYear(); year++) {
+                changesByYear.computeIfAbsent(year, y -> new ArrayList<>()).add(change);
+            }
+        }
 
-        List<TimeOff> vacationEntries = timeOffRepository.findByUserIdAndTypeAndYear(
-                userId, TimeOffType.VACATION, yearStart, yearEnd);
+        changesByYear.forEach((year, yearChanges) -> {
+            VacationBalance balance = vacationBalanceRepository.findByUserIdAndYear(userId, year)
+                    .orElseGet(() -> createDefaultBalance(userId, year));
+
+            if (balance.getUsedThrough() == null) {
+                initializeFromStoredDays(balance);
+            } else {
+                for (VacationDaysChange change : yearChanges) {
+                    balance.setPlannedDays(balance.getPlannedDays().add(change.days()));
+                    if (!change.endDate().isAfter(balance.getUsedThrough())) {
+                        balance.setUsedDays(balance.getUsedDays().add(change.days()));
+                    }
+                }
+                balance.calculateRemainingDays();
+            }
+
+            vacationBalanceRepository.save(balance);
+            log.debug("Updated vacation balance for user ID: {} and year: {}. Planned: {}, Used: {}",
+                    userId, year, balance.getPlannedDays(), balance.getUsedDays());
+        });
+    }
+
+    /**
+     * Set planned and used days of a balance from the stored days of the vacation entries.
+     */
+    private void initializeFromStoredDays(VacationBalance balance) {
+        LocalDate today = LocalDate.now(clock);
+        LocalDate yearStart = LocalDate.of(balance.getYear(), 1, 1);
+        LocalDate yearEnd = LocalDate.of(balance.getYear(), 12, 31);
+
+        BigDecimal plannedDays = timeOffRepository.sumVacationDays(
+                balance.getUser().getId(), TimeOffType.VACATION, yearStart, yearEnd);
+
+        balance.setPlannedDays(Objects.requireNonNullElse(plannedDays, BigDecimal.ZERO));
+        balance.setUsedDays(sumDaysEndedBetween(balance, yearStart.minusDays(1), today));
+        balance.setUsedThrough(today);
+        balance.calculateRemainingDays();
+    }
 
-        return vacationEntries.stream()
-                .map(this::calculateDaysForTimeOff)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private BigDecimal sumDaysEndedBetween(VacationBalance balance, LocalDate endedAfter, LocalDate endedUntil) {
+        BigDecimal days = timeOffRepository.sumVacationDaysEndedBetween(
+                balance.getUser().getId(),
+                TimeOffType.VACATION,
+                LocalDate.of(balance.getYear(), 1, 1),
+                LocalDate.of(balance.getYear(), 12, 31),
+                endedAfter,
+                endedUntil);
+        return Objects.requireNonNullElse(days, BigDecimal.ZERO);
     }
 
     /**
-     * Calculate the number of vacation days for a time-off entry.
-     * Only counts working days, excluding:
+     * Create a calculation context covering all given vacation entries of a user.
+     * Counting only includes working days, excluding:
      * - Weekends (non-working days according to user's working hours)
      * - Public holidays
      * - Recurring off-days
+     * - Other time-off entries (sick, personal, etc.)
      * Supports half-day holidays (Dec 24 & 31) which count as 0.5 days.
      *
-     * @param timeOff the time-off entry
-     * @return the number of working vacation days (may include fractional days)
+     * @param userId the user ID
+     * @param vacationEntries the vacation entries to count (must not be empty)
+     * @return the calculation context
      */
-    private BigDecimal calculateDaysForTimeOff(TimeOff timeOff) {
-        User user = timeOff.getUser();
-        GermanState userState = user.getState();
-
-        BigDecimal workingDays = workingDaysCalculator.calculateWorkingDays(
-                user.getId(),
-                userState,
-                timeOff.getStartDate(),
-                timeOff.getEndDate()
-        );
-
-        return workingDays;
+    private WorkingDaysContext createContext(Long userId, List<TimeOff> vacationEntries) {
+        LocalDate startDate = vacationEntries.getFirst().getStartDate();
+        LocalDate endDate = vacationEntries.getFirst().getEndDate();
+        for (TimeOff vacation : vacationEntries) {
+            if (vacation.getStartDate().isBefore(startDate)) {
+                startDate = vacation.getStartDate();
+            }
+            if (vacation.getEndDate().isAfter(endDate)) {
+                endDate = vacation.getEndDate();
+            }
+        }
+        return workingDaysCalculator.createContext(userId, startDate, endDate);
     }
 
     /**
@@ -172,4 +387,10 @@ public class VacationBalanceService {
 
         return balance;
     }
+
+    /**
+     * Change of the vacation days an entry contributes to the balances of its years.
+     */
+    private record VacationDaysChange(LocalDate startDate, LocalDate endDate, BigDecimal days) {
+    }
 }
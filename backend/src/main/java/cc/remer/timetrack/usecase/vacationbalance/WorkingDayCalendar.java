@@ -0,0 +1,210 @@
+package cc.remer.timetrack.usecase.vacationbalance;
+
+import cc.remer.timetrack.domain.DayTypePrecedence;
+import cc.remer.timetrack.domain.timeoff.TimeOff;
+import cc.remer.timetrack.domain.workinghours.WorkingHours;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Compiled working-day calendar for a single user and year.
+ *
+ * Every layer that decides whether a day counts as a working day is stored as a
+ * bitset indexed by day-of-year (0-based):
+ * - configured working days (from the user's working hours)
+ * - public holidays for the user's state
+ * - half-day holidays (Dec 24 & 31, only if enabled for the user)
+ * - recurring off-days with exemptions already removed
+ * - days blocked by other time-off entries (sick, personal, etc.)
+ *
+ * The layers are combined once into prefix sums (in half-day units), so counting
+ * the working days of any range within the year is O(1).
+ *
+ * Precedence rules follow {@link DayTypePrecedence}.
+ */
+public final class WorkingDayCalendar {
+
+    private final int year;
+    private final LocalDate firstDay;
+    private final int length;
+
+    private final BitSet workingDays;
+    private final BitSet publicHolidays;
+    private final BitSet halfDays;
+    private final BitSet recurringOffDays;
+    private final BitSet blockedDays;
+
+    /**
+     * Prefix sums of half-day units where recurring off-days are excluded.
+     * Entry i holds the units of days [0, i).
+     */
+    private final int[] unitsExcludingRecurringOffDays;
+
+    /**
+     * Prefix sums of half-day units where recurring off-days still count.
+     * Used for sick/personal days, which take precedence over recurring off-days.
+     */
+    private final int[] unitsIncludingRecurringOffDays;
+
+    private WorkingDayCalendar(int year, BitSet workingDays, BitSet publicHolidays, BitSet halfDays,
+                               BitSet recurringOffDays, BitSet blockedDays) {
+        this.year = year;
+        this.firstDay = LocalDate.of(year, 1, 1);
+        this.length = Year.of(year).length();
+        this.workingDays = workingDays;
+        this.publicHolidays = publicHolidays;
+        this.halfDays = halfDays;
+        this.recurringOffDays = recurringOffDays;
+        this.blockedDays = blockedDays;
+        this.unitsExcludingRecurringOffDays = new int[length + 1];
+        this.unitsIncludingRecurringOffDays = new int[length + 1];
+
+        for (int day = 0; day < length; day++) {
+            int units = dayUnits(day);
+            unitsIncludingRecurringOffDays[day + 1] = unitsIncludingRecurringOffDays[day] + units;
+            unitsExcludingRecurringOffDays[day + 1] = unitsExcludingRecurringOffDays[day]
+                    + (recurringOffDays.get(day) ? 0 : units);
+        }
+    }
+
+    /**
+     * Compile the calendar for one year.
+     *
+     * @param year the calendar year
+     * @param workingHours the user's working hours configuration
+     * @param publicHolidays public holidays for the user's state (dates outside the year are ignored)
+     * @param halfDayHolidaysEnabled whether Dec 24 & 31 count as half days
+     * @param recurringOffDays recurring off-days as epoch days, exemptions already removed
+     *                         (days outside the year are ignored)
+     * @param blockingTimeOff time-off entries that block a day (sick, personal, etc.)
+     * @return the compiled calendar
+     */
+    public static WorkingDayCalendar compile(int year,
+                                             Collection<WorkingHours> workingHours,
+                                             Collection<LocalDate> publicHolidays,
+                                             boolean halfDayHolidaysEnabled,
+                                             int[] recurringOffDays,
+                                             Collection<TimeOff> blockingTimeOff) {
+        LocalDate firstDay = LocalDate.of(year, 1, 1);
+        LocalDate lastDay = LocalDate.of(year, 12, 31);
+        int length = Year.of(year).length();
+
+        // Weekdays (1=Monday, 7=Sunday) configured as working days
+        boolean[] workingWeekdays = new boolean[8];
+        for (WorkingHours wh : workingHours) {
+            if (Boolean.TRUE.equals(wh.getIsWorkingDay())) {
+                workingWeekdays[wh.getWeekday()] = true;
+            }
+        }
+
+        BitSet workingDays = new BitSet(length);
+        int firstWeekday = firstDay.getDayOfWeek().getValue();
+        for (int day = 0; day < length; day++) {
+            if (workingWeekdays[(firstWeekday - 1 + day) % 7 + 1]) {
+                workingDays.set(day);
+            }
+        }
+
+        BitSet holidays = new BitSet(length);
+        for (LocalDate holiday : publicHolidays) {
+            if (holiday.getYear() == year) {
+                holidays.set(holiday.getDayOfYear() - 1);
+            }
+        }
+
+        BitSet halfDays = new BitSet(length);
+        if (halfDayHolidaysEnabled) {
+            // December 24th (Christmas Eve) and December 31st (New Year's Eve)
+            halfDays.set(LocalDate.of(year, 12, 24).getDayOfYear() - 1);
+            halfDays.set(lastDay.getDayOfYear() - 1);
+        }
+
+        BitSet offDays = new BitSet(length);
+        long firstEpochDay = firstDay.toEpochDay();
+        for (int offDay : recurringOffDays) {
+            long day = offDay - firstEpochDay;
+            if (day >= 0 && day < length) {
+                offDays.set((int) day);
+            }
+        }
+
+        BitSet blocked = new BitSet(length);
+        for (TimeOff timeOff : blockingTimeOff) {
+            if (timeOff.getEndDate().isBefore(firstDay) || timeOff.getStartDate().isAfter(lastDay)) {
+                continue;
+            }
+            LocalDate from = timeOff.getStartDate().isBefore(firstDay) ? firstDay : timeOff.getStartDate();
+            LocalDate to = timeOff.getEndDate().isAfter(lastDay) ? lastDay : timeOff.getEndDate();
+            blocked.set(from.getDayOfYear() - 1, to.getDayOfYear());
+        }
+
+        return new WorkingDayCalendar(year, workingDays, holidays, halfDays, offDays, blocked);
+    }
+
+    /**
+     * Count the working days between start and end date (inclusive).
+     * Both dates are clamped to this calendar's year.
+     *
+     * @param startDate the start date (inclusive)
+     * @param endDate the end date (inclusive)
+     * @param excludeRecurringOffDays whether recurring off-days are excluded
+     *                                (false when counting sick/personal days)
+     * @return the number of working days (may include fractional days for half-day holidays)
+     */
+    public BigDecimal countWorkingDays(LocalDate startDate, LocalDate endDate, boolean excludeRecurringOffDays) {
+        int from = Math.max(indexOf(startDate), 0);
+        int to = Math.min(indexOf(endDate), length - 1);
+        if (from > to) {
+            return BigDecimal.ZERO;
+        }
+
+        int[] prefix = excludeRecurringOffDays ? unitsExcludingRecurringOffDays : unitsIncludingRecurringOffDays;
+        int halfDayUnits = prefix[to + 1] - prefix[from];
+
+        // Two units per full day: 3 units = 1.5 days
+        return BigDecimal.valueOf(halfDayUnits * 5L, 1);
+    }
+
+    /**
+     * Check whether a single date counts as a working day in this calendar.
+     *
+     * @param date the date to check (must be within this calendar's year)
+     * @param excludeRecurringOffDays whether recurring off-days are excluded
+     * @return true if it's a working day
+     */
+    public boolean isWorkingDay(LocalDate date, boolean excludeRecurringOffDays) {
+        int day = indexOf(date);
+        if (day < 0 || day >= length) {
+            throw new IllegalArgumentException("Date " + date + " is not within calendar year " + year);
+        }
+        return dayUnits(day) > 0 && !(excludeRecurringOffDays && recurringOffDays.get(day));
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * Half-day units contributed by a day, ignoring recurring off-days.
+     *
+     * Priority order for determining if a day should NOT count as a working day:
+     * 1. Not configured as a working day (weekend)
+     * 2. Public holiday
+     * 3. Time-off entries (sick, personal) - these take precedence over recurring off-days
+     * 4. Recurring off-days (applied by the prefix sums)
+     */
+    private int dayUnits(int day) {
+        if (!workingDays.get(day) || publicHolidays.get(day) || blockedDays.get(day)) {
+            return 0;
+        }
+        return halfDays.get(day) ? 1 : 2;
+    }
+
+    private int indexOf(LocalDate date) {
+        return (int) (date.toEpochDay() - firstDay.toEpochDay());
+    }
+}
@@ -1,18 +1,17 @@
 package cc.remer.timetrack.usecase.vacationbalance;
 
-import cc.remer.timetrack.adapter.persistence.RecurringOffDayRepository;
 import cc.remer.timetrack.adapter.persistence.TimeOffRepository;
 import cc.remer.timetrack.adapter.persistence.UserRepository;
 import cc.remer.timetrack.adapter.persistence.WorkingHoursRepository;
 import cc.remer.timetrack.domain.DayTypePrecedence;
 import cc.remer.timetrack.domain.publicholiday.GermanPublicHolidays;
-import cc.remer.timetrack.domain.recurringoffday.RecurringOffDay;
 import cc.remer.timetrack.domain.timeoff.TimeOff;
 import cc.remer.timetrack.domain.timeoff.TimeOffType;
 import cc.remer.timetrack.domain.user.GermanState;
 import cc.remer.timetrack.domain.user.User;
 import cc.remer.timetrack.domain.workinghours.WorkingHours;
 import cc.remer.timetrack.usecase.recurringoffday.RecurringOffDayEvaluator;
+import cc.remer.timetrack.usecase.recurringoffday.RecurringOffDaySchedule;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -24,6 +23,8 @@ import java.util.List;
 /**
  * Service to calculate working days between two dates.
  * Excludes weekends, public holidays, and recurring off-days.
+ * Counting is answered from a compiled {@link WorkingDayCalendar} per year.
+ * Callers counting many entries of one user should reuse a {@link WorkingDaysContext}.
  *
  * Precedence rules follow {@link DayTypePrecedence}.
  * See /precedence-rules.md for detailed documentation.
@@ -34,7 +35,6 @@ import java.util.List;
 public class WorkingDaysCalculator {
 
     private final WorkingHoursRepository workingHoursRepository;
-    private final RecurringOffDayRepository recurringOffDayRepository;
     private final TimeOffRepository timeOffRepository;
     private final UserRepository userRepository;
     private final GermanPublicHolidays germanPublicHolidays;
@@ -80,25 +80,6 @@ public class WorkingDaysCalculator {
             return BigDecimal.ZERO;
         }
 
-        // Load user to check half-day holidays setting
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + userId));
-
-        boolean halfDayHolidaysEnabled = user.getHalfDayHolidaysEnabled();
-
-        // Load user's working hours configuration
-        List<WorkingHours> workingHoursList = workingHoursRepository.findByUserId(userId);
-
-        // Load user's recurring off-days
-        List<RecurringOffDay> recurringOffDays = recurringOffDayRepository.findByUserId(userId);
-
-        // Load other time-off entries (excluding vacation) that overlap with this date range
-        List<TimeOff> otherTimeOffEntries = timeOffRepository.findByUserIdAndDateRange(userId, startDate, endDate)
-                .stream()
-                .filter(timeOff -> timeOff.getTimeOffType() != TimeOffType.VACATION)
-                .filter(timeOff -> excludeTimeOffId == null || !timeOff.getId().equals(excludeTimeOffId)) // Exclude current entry
-                .toList();
-
         // Determine if we should check recurring off-days
         // When calculating for a sick/personal day (excludeTimeOffId is set and type is not vacation),
         // don't check recurring off-days - sick days take precedence over recurring off-days
@@ -113,107 +94,72 @@ public class WorkingDaysCalculator {
             }
         }
 
-        BigDecimal workingDays = BigDecimal.ZERO;
-        LocalDate currentDate = startDate;
-
-        while (!currentDate.isAfter(endDate)) {
-            if (isWorkingDay(currentDate, workingHoursList, recurringOffDays, otherTimeOffEntries, userState, checkRecurringOffDays)) {
-                // Check if this is a half-day holiday
-                if (isHalfDayHoliday(currentDate, halfDayHolidaysEnabled)) {
-                    workingDays = workingDays.add(new BigDecimal("0.5"));
-                } else {
-                    workingDays = workingDays.add(BigDecimal.ONE);
-                }
-            }
-            currentDate = currentDate.plusDays(1);
-        }
+        WorkingDaysContext context = createContext(userId, userState, startDate.getYear(), endDate.getYear(),
+                excludeTimeOffId, checkRecurringOffDays);
+        BigDecimal workingDays = context.countWorkingDays(startDate, endDate);
 
-        log.debug("Calculated {} working days for user {} between {} and {} (excluding timeOff ID: {}, checkRecurringOffDays: {}, halfDayHolidays: {})",
-                workingDays, userId, startDate, endDate, excludeTimeOffId, checkRecurringOffDays, halfDayHolidaysEnabled);
+        log.debug("Calculated {} working days for user {} between {} and {} (excluding timeOff ID: {}, checkRecurringOffDays: {})",
+                workingDays, userId, startDate, endDate, excludeTimeOffId, checkRecurringOffDays);
 
         return workingDays;
     }
 
     /**
-     * Check if a specific date is a working day for the user.
-     *
-     * Priority order for determining if a day should NOT count as a working day:
-     * 1. Not configured as a working day (weekend)
-     * 2. Public holiday
-     * 3. Time-off entries (sick, personal) - these take precedence over recurring off-days
-     * 4. Recurring off-days (only checked when checkRecurringOffDays is true)
+     * Load everything needed to count vacation days of a user once, for all years touched by the range.
+     * Use the context to count any number of vacation entries within those years without further queries.
      *
-     * @param date the date to check
-     * @param workingHoursList the user's working hours configuration
-     * @param recurringOffDays the user's recurring off-days
-     * @param otherTimeOffEntries other time-off entries (sick, personal, etc.)
-     * @param userState the user's German state
-     * @param checkRecurringOffDays whether to check recurring off-days (false when calculating sick/personal days)
-     * @return true if it's a working day
+     * @param userId the user ID
+     * @param startDate the earliest date that will be counted
+     * @param endDate the latest date that will be counted
+     * @return the calculation context (recurring off-days excluded, all non-vacation time-off blocking)
      */
-    private boolean isWorkingDay(LocalDate date, List<WorkingHours> workingHoursList,
-                                  List<RecurringOffDay> recurringOffDays,
-                                  List<TimeOff> otherTimeOffEntries,
-                                  GermanState userState,
-                                  boolean checkRecurringOffDays) {
-        // Get weekday (1=Monday, 7=Sunday)
-        int weekday = date.getDayOfWeek().getValue();
-
-        // Check if it's configured as a working day
-        WorkingHours workingHours = workingHoursList.stream()
-                .filter(wh -> wh.getWeekday() == weekday)
-                .findFirst()
-                .orElse(null);
-
-        // If no configuration or explicitly non-working, it's not a working day
-        if (workingHours == null || !workingHours.getIsWorkingDay()) {
-            return false;
-        }
-
-        // Check if it's a public holiday
-        if (germanPublicHolidays.isPublicHoliday(date, userState)) {
-            return false;
-        }
-
-        // Check if there's another time-off entry (sick, personal, etc.) covering this date
-        // Sick/personal days take precedence over recurring off-days
-        for (TimeOff timeOff : otherTimeOffEntries) {
-            if (!date.isBefore(timeOff.getStartDate()) && !date.isAfter(timeOff.getEndDate())) {
-                return false;
-            }
-        }
-
-        // Check if it's a recurring off-day (only if checkRecurringOffDays is true)
-        // When calculating sick/personal days, we skip this check so they take precedence
-        // Also checks exemptions - if a date is exempted, the recurring off-day doesn't apply
-        if (checkRecurringOffDays) {
-            for (RecurringOffDay rod : recurringOffDays) {
-                if (recurringOffDayEvaluator.appliesToDateWithExemptions(rod, date)) {
-                    return false;
-                }
-            }
-        }
-
-        return true;
+    public WorkingDaysContext createContext(Long userId, LocalDate startDate, LocalDate endDate) {
+        return createContext(userId, null, startDate.getYear(), endDate.getYear(), null, true);
     }
 
     /**
-     * Check if a specific date is a half-day holiday (Dec 24 or Dec 31).
-     * Only applies if the user has the half-day holidays feature enabled.
+     * Load the user, working hours, recurring off-day schedule and blocking time-off of whole years.
      *
-     * @param date the date to check
-     * @param halfDayHolidaysEnabled whether the feature is enabled for the user
-     * @return true if it's a half-day holiday
+     * @param userId the user ID
+     * @param userState the user's German state (null to use the state stored on the user)
+     * @param firstYear the first year to load
+     * @param lastYear the last year to load
+     * @param excludeTimeOffId optional ID of a time-off entry that should not block any day
+     * @param excludeRecurringOffDays whether recurring off-days are excluded from the count
+     * @return the calculation context
      */
-    private boolean isHalfDayHoliday(LocalDate date, boolean halfDayHolidaysEnabled) {
-        if (!halfDayHolidaysEnabled) {
-            return false;
-        }
+    private WorkingDaysContext createContext(Long userId, GermanState userState, int firstYear, int lastYear,
+                                             Long excludeTimeOffId, boolean excludeRecurringOffDays) {
+        LocalDate firstDay = LocalDate.of(firstYear, 1, 1);
+        LocalDate lastDay = LocalDate.of(lastYear, 12, 31);
 
-        int month = date.getMonthValue();
-        int day = date.getDayOfMonth();
+        // Load user to check half-day holidays setting
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + userId));
+
+        // Load user's working hours configuration
+        List<WorkingHours> workingHoursList = workingHoursRepository.findByUserId(userId);
+
+        // Load user's recurring off-days for all years (exemptions in one query)
+        RecurringOffDaySchedule recurringOffDays = recurringOffDayEvaluator.buildSchedule(userId, firstDay, lastDay);
+
+        // Other time-off entries (excluding vacation) block days - they take precedence over vacation
+        List<TimeOff> blockingTimeOff = timeOffRepository.findByUserIdAndDateRange(userId, firstDay, lastDay)
+                .stream()
+                .filter(timeOff -> timeOff.getTimeOffType() != TimeOffType.VACATION)
+                .filter(timeOff -> excludeTimeOffId == null || !timeOff.getId().equals(excludeTimeOffId)) // Exclude current entry
+                .toList();
 
-        // December 24th (Christmas Eve) and December 31st (New Year's Eve)
-        return month == 12 && (day == 24 || day == 31);
+        return new WorkingDaysContext(
+                userId,
+                userState != null ? userState : user.getState(),
+                user.getHalfDayHolidaysEnabled(),
+                workingHoursList,
+                recurringOffDays.getOffEpochDays(),
+                blockingTimeOff,
+                excludeRecurringOffDays,
+                firstYear,
+                lastYear,
+                germanPublicHolidays);
     }
 }
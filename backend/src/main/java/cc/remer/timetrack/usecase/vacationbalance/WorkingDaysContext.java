@@ -0,0 +1,109 @@
+package cc.remer.timetrack.usecase.vacationbalance;
+
+import cc.remer.timetrack.domain.publicholiday.GermanPublicHolidays;
+import cc.remer.timetrack.domain.timeoff.TimeOff;
+import cc.remer.timetrack.domain.user.GermanState;
+import cc.remer.timetrack.domain.workinghours.WorkingHours;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calculation inputs of one user loaded once for a range of years.
+ *
+ * Holds the user's settings, working hours, recurring off-day schedule and blocking time-off
+ * entries, and compiles one {@link WorkingDayCalendar} per year on first use.
+ * Counting many entries with the same context doesn't query the database again.
+ *
+ * Created by {@link WorkingDaysCalculator#createContext}; a context reflects the data at the time
+ * it was created and is meant to live for a single calculation only. Not thread-safe.
+ */
+public final class WorkingDaysContext {
+
+    private final Long userId;
+    private final GermanState userState;
+    private final boolean halfDayHolidaysEnabled;
+    private final List<WorkingHours> workingHours;
+    private final int[] recurringOffDays;
+    private final List<TimeOff> blockingTimeOff;
+    private final boolean excludeRecurringOffDays;
+    private final int firstYear;
+    private final int lastYear;
+    private final GermanPublicHolidays germanPublicHolidays;
+
+    private final Map<Integer, WorkingDayCalendar> calendars = new HashMap<>();
+
+    WorkingDaysContext(Long userId,
+                       GermanState userState,
+                       boolean halfDayHolidaysEnabled,
+                       List<WorkingHours> workingHours,
+                       int[] recurringOffDays,
+                       List<TimeOff> blockingTimeOff,
+                       boolean excludeRecurringOffDays,
+                       int firstYear,
+                       int lastYear,
+                       GermanPublicHolidays germanPublicHolidays) {
+        this.userId = userId;
+        this.userState = userState;
+        this.halfDayHolidaysEnabled = halfDayHolidaysEnabled;
+        this.workingHours = workingHours;
+        this.recurringOffDays = recurringOffDays;
+        this.blockingTimeOff = blockingTimeOff;
+        this.excludeRecurringOffDays = excludeRecurringOffDays;
+        this.firstYear = firstYear;
+        this.lastYear = lastYear;
+        this.germanPublicHolidays = germanPublicHolidays;
+    }
+
+    /**
+     * Count the working days between start and end date (inclusive).
+     *
+     * @param startDate the start date (inclusive)
+     * @param endDate the end date (inclusive)
+     * @return the number of working days (may include fractional days for half-day holidays)
+     * @throws IllegalArgumentException if the range is not within the years of this context
+     */
+    public BigDecimal countWorkingDays(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            return BigDecimal.ZERO;
+        }
+        if (!covers(startDate, endDate)) {
+            throw new IllegalArgumentException("Range " + startDate + " to " + endDate
+                    + " is not within the years " + firstYear + " to " + lastYear + " of user " + userId);
+        }
+
+        BigDecimal workingDays = BigDecimal.ZERO;
+        for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+            workingDays = workingDays.add(calendar(year).countWorkingDays(startDate, endDate, excludeRecurringOffDays));
+        }
+        return workingDays;
+    }
+
+    /**
+     * Check whether a date range lies within the years this context was loaded for.
+     *
+     * @param startDate the start date (inclusive)
+     * @param endDate the end date (inclusive)
+     * @return true if the range can be counted with this context
+     */
+    public boolean covers(LocalDate startDate, LocalDate endDate) {
+        return startDate.getYear() >= firstYear && endDate.getYear() <= lastYear;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    private WorkingDayCalendar calendar(int year) {
+        return calendars.computeIfAbsent(year, y -> WorkingDayCalendar.compile(
+                y,
+                workingHours,
+                germanPublicHolidays.getPublicHolidays(y, userState),
+                halfDayHolidaysEnabled,
+                recurringOffDays,
+                blockingTimeOff));
+    }
+}
@@ -6,9 +6,13 @@ import cc.remer.timetrack.api.model.WorkingDayConfig;
 import cc.remer.timetrack.domain.user.User;
 import cc.remer.timetrack.domain.workinghours.WorkingHours;
 import cc.remer.timetrack.usecase.user.UserService;
+import cc.remer.timetrack.usecase.userevent.UserDataChange;
+import cc.remer.timetrack.usecase.userevent.UserDataChangedEvent;
+import cc.remer.timetrack.usecase.vacationbalance.VacationBalanceService;
 import cc.remer.timetrack.util.ValidationUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,6 +33,8 @@ public class UpdateWorkingDay {
     private final WorkingHoursRepository workingHoursRepository;
     private final UserService userService;
     private final WorkingHoursMapper mapper;
+    private final VacationBalanceService vacationBalanceService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Update working hours for a single weekday for the authenticated user.
@@ -69,6 +75,10 @@ public class UpdateWorkingDay {
             hours = BigDecimal.valueOf(dayConfig.getHours());
         }
 
+        // Vacation days only depend on which weekdays are working days, not on the hours
+        boolean workingDayChanged = workingHours == null
+                || !dayConfig.getIsWorkingDay().equals(workingHours.getIsWorkingDay());
+
         if (workingHours == null) {
             // Create new working hours entry
             workingHours = WorkingHours.builder()
@@ -91,8 +101,14 @@ public class UpdateWorkingDay {
 
         workingHours = workingHoursRepository.save(workingHours);
 
+        if (workingDayChanged) {
+            vacationBalanceService.recalculateVacationBalances(userId);
+        }
+
         log.info("Successfully updated working day {} for user ID: {}", weekday, userId);
 
+        eventPublisher.publishEvent(UserDataChangedEvent.of(userId, UserDataChange.WORKING_HOURS));
+
         return mapper.toWorkingDayConfig(workingHours);
     }
 
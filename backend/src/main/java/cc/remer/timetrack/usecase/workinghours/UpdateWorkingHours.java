@@ -7,9 +7,13 @@ import cc.remer.timetrack.api.model.WorkingHoursResponse;
 import cc.remer.timetrack.domain.user.User;
 import cc.remer.timetrack.domain.workinghours.WorkingHours;
 import cc.remer.timetrack.usecase.user.UserService;
+import cc.remer.timetrack.usecase.userevent.UserDataChange;
+import cc.remer.timetrack.usecase.userevent.UserDataChangedEvent;
+import cc.remer.timetrack.usecase.vacationbalance.VacationBalanceService;
 import cc.remer.timetrack.util.ValidationUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,6 +36,8 @@ public class UpdateWorkingHours {
     private final WorkingHoursRepository workingHoursRepository;
     private final UserService userService;
     private final WorkingHoursMapper mapper;
+    private final VacationBalanceService vacationBalanceService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Update working hours for the authenticated user.
@@ -53,6 +59,9 @@ public class UpdateWorkingHours {
         Map<Short, WorkingHours> workingHoursMap = existingWorkingHours.stream()
                 .collect(Collectors.toMap(WorkingHours::getWeekday, wh -> wh));
 
+        // Vacation days only depend on which weekdays are working days, not on the hours
+        boolean workingDaysChanged = false;
+
         // Update or create working hours for each day
         for (UpdateWorkingDayConfig dayConfig : request.getWorkingDays()) {
             Short weekday = dayConfig.getWeekday().shortValue();
@@ -74,6 +83,9 @@ public class UpdateWorkingHours {
             }
 
             WorkingHours workingHours = workingHoursMap.get(weekday);
+            if (workingHours == null || !isWorkingDay.equals(workingHours.getIsWorkingDay())) {
+                workingDaysChanged = true;
+            }
             if (workingHours == null) {
                 // Create new working hours entry
                 workingHours = WorkingHours.builder()
@@ -97,11 +109,17 @@ public class UpdateWorkingHours {
             workingHoursRepository.save(workingHours);
         }
 
+        if (workingDaysChanged) {
+            vacationBalanceService.recalculateVacationBalances(userId);
+        }
+
         // Retrieve updated working hours
         List<WorkingHours> updatedWorkingHours = workingHoursRepository.findByUserId(userId);
 
         log.info("Successfully updated working hours for user ID: {}", userId);
 
+        eventPublisher.publishEvent(UserDataChangedEvent.of(userId, UserDataChange.WORKING_HOURS));
+
         return mapper.toResponse(userId, updatedWorkingHours);
     }
 
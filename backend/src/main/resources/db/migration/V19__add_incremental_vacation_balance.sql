@@ -0,0 +1,18 @@
+-- Maintain vacation balances incrementally instead of recalculating them on every read
+
+-- Working days of a vacation entry, stored when the entry (or the user's calendar) changes.
+-- NULL for non-vacation entries and for entries not yet backfilled.
+ALTER TABLE time_off ADD COLUMN vacation_days DECIMAL(5,1);
+
+-- Sum of vacation_days of all vacation entries overlapping the year
+ALTER TABLE vacation_balance ADD COLUMN planned_days DECIMAL(5,1) NOT NULL DEFAULT 0.0;
+
+-- used_days covers vacation entries that ended on or before this date.
+-- NULL means the balance has not been initialized from the stored entry day counts yet.
+ALTER TABLE vacation_balance ADD COLUMN used_through DATE;
+
+-- Optimistic locking for concurrent balance updates
+ALTER TABLE vacation_balance ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Index for summing vacation days of a user by type and date range
+CREATE INDEX idx_time_off_user_type_dates ON time_off(user_id, time_off_type, start_date, end_date);
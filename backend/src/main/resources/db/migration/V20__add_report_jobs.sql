@@ -0,0 +1,28 @@
+-- Table: report_jobs
+-- Reports generated in the background; the finished file is stored on local disk,
+-- this table holds the job state and file metadata
+
+CREATE TABLE IF NOT EXISTS report_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    requested_by BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    report_year INTEGER NOT NULL,
+    report_month INTEGER NOT NULL,
+    format VARCHAR(10) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    file_name VARCHAR(255),
+    size_bytes BIGINT,
+    error_message TEXT,
+    started_at TIMESTAMP,
+    completed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT chk_report_jobs_month CHECK (report_month BETWEEN 1 AND 12),
+    CONSTRAINT chk_report_jobs_format CHECK (format IN ('PDF', 'CSV')),
+    CONSTRAINT chk_report_jobs_status CHECK (status IN ('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED'))
+);
+
+CREATE INDEX idx_report_jobs_user_id ON report_jobs(user_id);
+CREATE INDEX idx_report_jobs_requested_by ON report_jobs(requested_by);
+CREATE INDEX idx_report_jobs_status ON report_jobs(status);
+CREATE INDEX idx_report_jobs_created_at ON report_jobs(created_at);
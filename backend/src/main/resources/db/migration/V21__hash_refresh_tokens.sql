@@ -0,0 +1,15 @@
+-- Store refresh tokens as SHA-256 digests instead of the full JWT
+
+-- Hex-encoded SHA-256 of the token; existing tokens are hashed so they stay valid
+ALTER TABLE refresh_tokens ADD COLUMN token_hash VARCHAR(64);
+UPDATE refresh_tokens SET token_hash = encode(sha256(convert_to(token, 'UTF8')), 'hex');
+ALTER TABLE refresh_tokens ALTER COLUMN token_hash SET NOT NULL;
+
+-- Dropping the column also drops its unique constraint
+DROP INDEX idx_refresh_tokens_token;
+ALTER TABLE refresh_tokens DROP COLUMN token;
+ALTER TABLE refresh_tokens ADD CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash);
+
+-- Index for finding the newest tokens of a user when capping them
+DROP INDEX idx_refresh_tokens_user_id;
+CREATE INDEX idx_refresh_tokens_user_created ON refresh_tokens(user_id, created_at);
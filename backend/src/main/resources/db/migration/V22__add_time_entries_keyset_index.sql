@@ -0,0 +1,4 @@
+-- Index for listing a user's time entries page by page, ordered by (entry_date, clock_in, id).
+-- Scanned backwards for the newest-first listing; also covers lookups by user and date.
+CREATE INDEX idx_time_entries_user_date_clock_in ON time_entries(user_id, entry_date, clock_in, id);
+DROP INDEX idx_time_entries_user_date;
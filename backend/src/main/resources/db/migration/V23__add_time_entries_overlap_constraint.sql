@@ -0,0 +1,82 @@
+-- Prevent overlapping time entries of a user in the database instead of checking in the application.
+-- An active entry (clock_out IS NULL) covers everything from its clock-in onwards.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Entries changed by this migration to resolve existing overlaps, as they were before.
+-- Review them and correct the entries if needed, then drop the table.
+CREATE TABLE time_entries_overlap_fixes (
+    time_entry_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    entry_date DATE NOT NULL,
+    clock_in TIMESTAMP NOT NULL,
+    clock_out TIMESTAMP,
+    break_minutes INTEGER NOT NULL,
+    notes TEXT,
+    action VARCHAR(20) NOT NULL,
+    fixed_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- Editing entries and clocking in after a manual entry ending in the future could create overlaps.
+-- Walk each user's entries by clock-in; an entry overlapping the previous one is resolved by:
+-- CLOSED:  the previous entry was left active, it ends where the next one starts
+-- TRIMMED: the entry starts within the previous one, it now starts where the previous one ends
+-- REMOVED: the entry lies entirely within the previous one, or the previous entry was left active
+--          and the entry starts at the same instant (the stale clock-in is removed, not the entry)
+DO $$
+DECLARE
+    entry RECORD;
+    prev_user_id BIGINT;
+    prev_id BIGINT;
+    prev_clock_in TIMESTAMP;
+    prev_clock_out TIMESTAMP;
+BEGIN
+    FOR entry IN SELECT * FROM time_entries ORDER BY user_id, clock_in, id LOOP
+        IF prev_user_id IS DISTINCT FROM entry.user_id
+                OR (prev_clock_out IS NOT NULL AND entry.clock_in >= prev_clock_out) THEN
+            NULL;
+        ELSIF prev_clock_out IS NULL AND entry.clock_in > prev_clock_in THEN
+            INSERT INTO time_entries_overlap_fixes
+                (time_entry_id, user_id, entry_date, clock_in, clock_out, break_minutes, notes, action)
+            SELECT id, user_id, entry_date, clock_in, clock_out, break_minutes, notes, 'CLOSED'
+            FROM time_entries WHERE id = prev_id;
+            UPDATE time_entries SET clock_out = entry.clock_in WHERE id = prev_id;
+            RAISE WARNING 'Time entry % of user % was still active, clocked out at % where entry % starts',
+                prev_id, entry.user_id, entry.clock_in, entry.id;
+        ELSIF prev_clock_out IS NULL AND entry.clock_in = prev_clock_in THEN
+            INSERT INTO time_entries_overlap_fixes
+                (time_entry_id, user_id, entry_date, clock_in, clock_out, break_minutes, notes, action)
+            SELECT id, user_id, entry_date, clock_in, clock_out, break_minutes, notes, 'REMOVED'
+            FROM time_entries WHERE id = prev_id;
+            DELETE FROM time_entries WHERE id = prev_id;
+            RAISE WARNING 'Time entry % of user % was still active and started with entry %, it was removed',
+                prev_id, entry.user_id, entry.id;
+        ELSIF prev_clock_out IS NOT NULL AND (entry.clock_out IS NULL OR entry.clock_out > prev_clock_out) THEN
+            INSERT INTO time_entries_overlap_fixes
+                (time_entry_id, user_id, entry_date, clock_in, clock_out, break_minutes, notes, action)
+            VALUES (entry.id, entry.user_id, entry.entry_date, entry.clock_in, entry.clock_out,
+                entry.break_minutes, entry.notes, 'TRIMMED');
+            UPDATE time_entries SET clock_in = prev_clock_out WHERE id = entry.id;
+            RAISE WARNING 'Time entry % of user % overlapped entry %, clock-in moved from % to %',
+                entry.id, entry.user_id, prev_id, entry.clock_in, prev_clock_out;
+            entry.clock_in := prev_clock_out;
+        ELSE
+            INSERT INTO time_entries_overlap_fixes
+                (time_entry_id, user_id, entry_date, clock_in, clock_out, break_minutes, notes, action)
+            VALUES (entry.id, entry.user_id, entry.entry_date, entry.clock_in, entry.clock_out,
+                entry.break_minutes, entry.notes, 'REMOVED');
+            DELETE FROM time_entries WHERE id = entry.id;
+            RAISE WARNING 'Time entry % of user % lay within entry % and was removed',
+                entry.id, entry.user_id, prev_id;
+            CONTINUE;
+        END IF;
+
+        prev_user_id := entry.user_id;
+        prev_id := entry.id;
+        prev_clock_in := entry.clock_in;
+        prev_clock_out := entry.clock_out;
+    END LOOP;
+END $$;
+
+ALTER TABLE time_entries ADD CONSTRAINT ex_time_entries_no_overlap
+    EXCLUDE USING gist (user_id WITH =, tsrange(clock_in, clock_out, '[)') WITH &&);
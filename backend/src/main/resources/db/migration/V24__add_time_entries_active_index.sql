@@ -0,0 +1,4 @@
+-- At most one active (not clocked out) entry per user.
+-- Clock-in inserts with ON CONFLICT on this index; clock-out and active-entry lookups use it too.
+-- The overlap constraint already rules out two active entries of a user, so existing data satisfies it.
+CREATE UNIQUE INDEX uk_time_entries_user_active ON time_entries(user_id) WHERE clock_out IS NULL;
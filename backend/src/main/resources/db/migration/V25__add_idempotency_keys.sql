@@ -0,0 +1,17 @@
+-- Responses of write requests sent with an Idempotency-Key header, replayed when a client retries.
+-- A row without status_code is a request still in progress; the primary key makes the first one win.
+CREATE TABLE idempotency_keys (
+    user_id BIGINT NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    status_code INTEGER,
+    content_type VARCHAR(255),
+    response_body BYTEA,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (user_id, idempotency_key),
+    CONSTRAINT fk_idempotency_keys_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Used by the scheduled purge of expired keys
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
@@ -0,0 +1,9 @@
+-- Counter bumped in the same transaction as every change to a user's data.
+-- Read endpoints use it as ETag, so unchanged data is answered with 304 Not Modified.
+-- Users without a row haven't changed anything yet and are at version 0.
+CREATE TABLE user_data_versions (
+    user_id BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    CONSTRAINT pk_user_data_versions PRIMARY KEY (user_id),
+    CONSTRAINT fk_user_data_versions_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
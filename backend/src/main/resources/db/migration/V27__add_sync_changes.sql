@@ -0,0 +1,95 @@
+-- Change log of the records clients keep in their cache, answering "what changed since my last sync?"
+-- Each record has one row with the user's data version of its last change, deleted records stay as
+-- tombstones until they are purged. Versions are handed out under the lock of the user's row in
+-- user_data_versions, held until commit, so they are ordered like the commits of the user's changes
+-- and a client that has seen version N never misses a change with a higher one.
+CREATE TABLE sync_changes (
+    user_id BIGINT NOT NULL,
+    entity_type VARCHAR(32) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    deleted BOOLEAN NOT NULL,
+    version BIGINT NOT NULL,
+    changed_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_sync_changes PRIMARY KEY (user_id, entity_type, entity_id),
+    CONSTRAINT fk_sync_changes_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_sync_changes_user_version ON sync_changes(user_id, version);
+CREATE INDEX idx_sync_changes_tombstones ON sync_changes(changed_at) WHERE deleted;
+
+-- Highest version whose tombstones have been purged; older sync tokens can't be served anymore
+ALTER TABLE user_data_versions ADD COLUMN purged_version BIGINT NOT NULL DEFAULT 0;
+
+-- Written by triggers rather than the application, so cascading deletes (e.g. the warnings of a
+-- deleted time entry) and bulk statements leave their tombstones too.
+CREATE FUNCTION save_sync_change(changed_user_id BIGINT, changed_type VARCHAR, changed_id BIGINT,
+                                 is_deleted BOOLEAN) RETURNS void AS $$
+DECLARE
+    next_version BIGINT;
+BEGIN
+    -- Rows removed along with their user need no tombstone
+    IF changed_user_id IS NULL OR NOT EXISTS (SELECT 1 FROM users WHERE id = changed_user_id) THEN
+        RETURN;
+    END IF;
+
+    INSERT INTO user_data_versions (user_id, version)
+    VALUES (changed_user_id, 1)
+    ON CONFLICT (user_id) DO UPDATE SET version = user_data_versions.version + 1
+    RETURNING version INTO next_version;
+
+    INSERT INTO sync_changes (user_id, entity_type, entity_id, deleted, version, changed_at)
+    VALUES (changed_user_id, changed_type, changed_id, is_deleted, next_version, now())
+    ON CONFLICT (user_id, entity_type, entity_id) DO UPDATE
+    SET deleted = EXCLUDED.deleted, version = EXCLUDED.version, changed_at = EXCLUDED.changed_at;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION record_sync_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM save_sync_change(OLD.user_id, TG_ARGV[0], OLD.id, true);
+    ELSE
+        PERFORM save_sync_change(NEW.user_id, TG_ARGV[0], NEW.id, false);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Exemptions change the days a recurring off-day falls on, so they are recorded as a change of it.
+-- When the recurring off-day itself is deleted, its own tombstone covers its exemptions.
+CREATE FUNCTION record_exemption_sync_change() RETURNS trigger AS $$
+DECLARE
+    changed_off_day_id BIGINT;
+    changed_user_id BIGINT;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        changed_off_day_id := OLD.recurring_off_day_id;
+    ELSE
+        changed_off_day_id := NEW.recurring_off_day_id;
+    END IF;
+
+    SELECT user_id INTO changed_user_id FROM recurring_off_days WHERE id = changed_off_day_id;
+    PERFORM save_sync_change(changed_user_id, 'RECURRING_OFF_DAY', changed_off_day_id, false);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_time_entries_sync
+    AFTER INSERT OR UPDATE OR DELETE ON time_entries
+    FOR EACH ROW EXECUTE FUNCTION record_sync_change('TIME_ENTRY');
+
+CREATE TRIGGER trg_time_off_sync
+    AFTER INSERT OR UPDATE OR DELETE ON time_off
+    FOR EACH ROW EXECUTE FUNCTION record_sync_change('TIME_OFF');
+
+CREATE TRIGGER trg_recurring_off_days_sync
+    AFTER INSERT OR UPDATE OR DELETE ON recurring_off_days
+    FOR EACH ROW EXECUTE FUNCTION record_sync_change('RECURRING_OFF_DAY');
+
+CREATE TRIGGER trg_conflict_warnings_sync
+    AFTER INSERT OR UPDATE OR DELETE ON recurring_off_day_conflict_warnings
+    FOR EACH ROW EXECUTE FUNCTION record_sync_change('CONFLICT_WARNING');
+
+CREATE TRIGGER trg_recurring_off_day_exemptions_sync
+    AFTER INSERT OR UPDATE OR DELETE ON recurring_off_day_exemptions
+    FOR EACH ROW EXECUTE FUNCTION record_exemption_sync_change();
@@ -0,0 +1,133 @@
+package cc.remer.timetrack.adapter.persistence;
+
+import cc.remer.timetrack.domain.timeentry.TimeEntry;
+import cc.remer.timetrack.domain.user.GermanState;
+import cc.remer.timetrack.domain.user.Role;
+import cc.remer.timetrack.domain.user.User;
+import cc.remer.timetrack.usecase.timeentry.ClockInUseCase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for ActiveTimeEntryRepository.
+ */
+@DisplayName("ActiveTimeEntryRepository Integration Tests")
+class ActiveTimeEntryRepositoryTest extends RepositoryTestBase {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 12, 1, 8, 0);
+    private static final int CONCURRENT_CLOCK_INS = 8;
+
+    @Autowired
+    private ActiveTimeEntryRepository activeTimeEntryRepository;
+
+    @Autowired
+    private ClockInUseCase clockInUseCase;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should insert no row when the user is already clocked in")
+    void shouldNotClockInTwice() {
+        // Given
+        User user = createTestUser();
+        Optional<TimeEntry> first = activeTimeEntryRepository.clockIn(user.getId(), NOW, "First");
+
+        // When
+        Optional<TimeEntry> second = activeTimeEntryRepository.clockIn(user.getId(), NOW.plusHours(1), "Second");
+
+        // Then
+        assertThat(first).hasValueSatisfying(entry -> {
+            assertThat(entry.getClockIn()).isEqualTo(NOW);
+            assertThat(entry.getClockOut()).isNull();
+            assertThat(entry.getNotes()).isEqualTo("First");
+        });
+        assertThat(second).isEmpty();
+        assertThat(countActiveEntries(user)).isEqualTo(1);
+        assertThatThrownBy(() -> clockInUseCase.execute(user, null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Bereits eingecheckt. Bitte zuerst auschecken.");
+    }
+
+    @Test
+    @DisplayName("Should clock in again after clocking out")
+    void shouldClockInAfterClockOut() {
+        // Given
+        User user = createTestUser();
+        activeTimeEntryRepository.clockIn(user.getId(), NOW, null);
+        activeTimeEntryRepository.clockOut(user.getId(), NOW.plusHours(4), null);
+
+        // When
+        Optional<TimeEntry> next = activeTimeEntryRepository.clockIn(user.getId(), NOW.plusHours(5), null);
+
+        // Then
+        assertThat(next).isPresent();
+        assertThat(countActiveEntries(user)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should leave exactly one active entry when clock-ins race")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldClockInOnceWhenRacing() throws Exception {
+        // Given: Each clock-in commits on its own, as from separate requests
+        User user = createTestUser("racing@test.local", "Racing", "User", Role.USER, GermanState.BERLIN);
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_CLOCK_INS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Optional<TimeEntry>>> results = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_CLOCK_INS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        return activeTimeEntryRepository.clockIn(user.getId(), NOW, null);
+                    } catch (DataIntegrityViolationException e) {
+                        // The overlap constraint may catch a racing insert before the active-entry index does
+                        return Optional.empty();
+                    }
+                }));
+            }
+
+            // When
+            start.countDown();
+            int clockedIn = 0;
+            for (Future<Optional<TimeEntry>> result : results) {
+                if (result.get(10, TimeUnit.SECONDS).isPresent()) {
+                    clockedIn++;
+                }
+            }
+
+            // Then
+            assertThat(clockedIn).isEqualTo(1);
+            assertThat(countActiveEntries(user)).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+            // Entries are deleted along with the user
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+        }
+    }
+
+    private int countActiveEntries(User user) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM time_entries WHERE user_id = ? AND clock_out IS NULL",
+                Integer.class, user.getId());
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,93 @@
+package cc.remer.timetrack.adapter.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ConnectionLimitingDataSource.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Connection Limiting Data Source Tests")
+class ConnectionLimitingDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ConnectionLimitingDataSource(target, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("Fails after the wait timeout when all permits are taken and succeeds once one is returned")
+    void shouldLimitBorrowedConnections() throws SQLException {
+        // Given
+        Connection pooled = mock(Connection.class);
+        when(target.getConnection()).thenReturn(pooled);
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+
+        // When / Then
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        assertThat(dataSource.getConnection()).isNotNull();
+        verify(pooled).close();
+    }
+
+    @Test
+    @DisplayName("Returns the permit only once when a connection is closed twice")
+    void shouldReleaseOnce() throws SQLException {
+        // Given
+        when(target.getConnection()).thenReturn(mock(Connection.class));
+        Connection connection = dataSource.getConnection();
+
+        // When
+        connection.close();
+        connection.close();
+
+        // Then: Still only two connections can be borrowed
+        dataSource.getConnection();
+        dataSource.getConnection();
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class);
+    }
+
+    @Test
+    @DisplayName("Returns the permit if the pool fails to provide a connection")
+    void shouldReleaseOnFailure() throws SQLException {
+        // Given
+        Connection pooled = mock(Connection.class);
+        when(target.getConnection())
+                .thenThrow(new SQLTransientConnectionException("pool timeout"))
+                .thenThrow(new SQLTransientConnectionException("pool timeout"))
+                .thenReturn(pooled);
+
+        // When
+        assertThatThrownBy(() -> dataSource.getConnection()).hasMessage("pool timeout");
+        assertThatThrownBy(() -> dataSource.getConnection()).hasMessage("pool timeout");
+
+        // Then
+        Connection connection = dataSource.getConnection();
+        assertThat(connection.unwrap(Connection.class)).isSameAs(connection);
+    }
+}
@@ -0,0 +1,96 @@
+package cc.remer.timetrack.adapter.persistence;
+
+import cc.remer.timetrack.domain.idempotency.IdempotencyRecord;
+import cc.remer.timetrack.domain.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for IdempotencyKeyRepository.
+ */
+@DisplayName("Idempotency Key Repository Integration Tests")
+class IdempotencyKeyRepositoryTest extends RepositoryTestBase {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 12, 1, 8, 0);
+    private static final byte[] BODY = "{\"id\":7}".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.saveAndFlush(createTestUser());
+    }
+
+    @Test
+    @DisplayName("Only the first reservation of a key wins until its response has expired")
+    void shouldReserveKeyOnce() {
+        // When
+        boolean first = idempotencyKeyRepository.reserve(user.getId(), "key", "hash", NOW, NOW.plusMinutes(1));
+        boolean second = idempotencyKeyRepository.reserve(user.getId(), "key", "hash", NOW, NOW.plusMinutes(1));
+        boolean completed = idempotencyKeyRepository.complete(user.getId(), "key", 201, "application/json", BODY,
+                NOW.plusHours(24));
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(completed).isTrue();
+        assertThat(idempotencyKeyRepository.find(user.getId(), "key", NOW)).hasValueSatisfying(record -> {
+            assertThat(record.requestHash()).isEqualTo("hash");
+            assertThat(record.statusCode()).isEqualTo(201);
+            assertThat(record.contentType()).isEqualTo("application/json");
+            assertThat(record.responseBody()).isEqualTo(BODY);
+            assertThat(record.isCompleted()).isTrue();
+        });
+        assertThat(idempotencyKeyRepository.reserve(user.getId(), "key", "other", NOW.plusHours(1), NOW.plusHours(2)))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("A lapsed reservation is taken over and a released one can be reserved again")
+    void shouldTakeOverLapsedAndReleasedReservations() {
+        // Given
+        idempotencyKeyRepository.reserve(user.getId(), "lapsed", "hash", NOW, NOW.plusMinutes(1));
+        idempotencyKeyRepository.reserve(user.getId(), "released", "hash", NOW, NOW.plusMinutes(1));
+        idempotencyKeyRepository.release(user.getId(), "released");
+
+        // When
+        boolean lapsed = idempotencyKeyRepository.reserve(user.getId(), "lapsed", "retry",
+                NOW.plusMinutes(2), NOW.plusMinutes(3));
+        boolean released = idempotencyKeyRepository.reserve(user.getId(), "released", "retry", NOW, NOW.plusMinutes(1));
+
+        // Then
+        assertThat(lapsed).isTrue();
+        assertThat(released).isTrue();
+        assertThat(idempotencyKeyRepository.find(user.getId(), "lapsed", NOW.plusMinutes(2)))
+                .map(IdempotencyRecord::requestHash)
+                .hasValue("retry");
+    }
+
+    @Test
+    @DisplayName("Keys are scoped per user and expired keys are purged")
+    void shouldScopeKeysPerUserAndPurgeExpired() {
+        // Given
+        User other = userRepository.saveAndFlush(createOtherTestUser());
+        idempotencyKeyRepository.reserve(user.getId(), "key", "hash", NOW, NOW.plusMinutes(1));
+
+        // When
+        boolean otherUser = idempotencyKeyRepository.reserve(other.getId(), "key", "hash", NOW, NOW.plusHours(1));
+        int deleted = idempotencyKeyRepository.deleteExpired(NOW.plusMinutes(30), 100);
+
+        // Then
+        assertThat(otherUser).isTrue();
+        assertThat(deleted).isEqualTo(1);
+        assertThat(idempotencyKeyRepository.find(user.getId(), "key", NOW)).isEmpty();
+        assertThat(idempotencyKeyRepository.find(other.getId(), "key", NOW)).isPresent();
+    }
+}
@@ -0,0 +1,116 @@
+package cc.remer.timetrack.adapter.persistence;
+
+import cc.remer.timetrack.adapter.persistence.MonthlyReportDataRepository.MonthlyReportData;
+import cc.remer.timetrack.domain.recurringoffday.RecurringOffDay;
+import cc.remer.timetrack.domain.recurringoffday.RecurringOffDayExemption;
+import cc.remer.timetrack.domain.timeentry.TimeEntry;
+import cc.remer.timetrack.domain.timeoff.TimeOffType;
+import cc.remer.timetrack.domain.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for MonthlyReportDataRepository.
+ */
+@DisplayName("MonthlyReportDataRepository Integration Tests")
+class MonthlyReportDataRepositoryTest extends RepositoryTestBase {
+
+    private static final LocalDate START = LocalDate.of(2025, 11, 1);
+    private static final LocalDate END = LocalDate.of(2025, 11, 30);
+
+    @Autowired
+    private MonthlyReportDataRepository monthlyReportDataRepository;
+
+    @Autowired
+    private RecurringOffDayExemptionRepository exemptionRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = createTestUser();
+    }
+
+    @Test
+    @DisplayName("Loads all report inputs of the user for the period")
+    void shouldLoadReportInputs() {
+        // Given: Data inside and outside the period, and data of another user
+        createDefaultWorkingHours(user);
+        createTimeEntry(user, LocalDate.of(2025, 11, 3), "Kundentermin");
+        createTimeEntry(user, LocalDate.of(2025, 12, 1), null);
+        createTimeOff(user, LocalDate.of(2025, 10, 30), LocalDate.of(2025, 11, 4), TimeOffType.VACATION, "Urlaub");
+        createTimeOff(user, LocalDate.of(2025, 12, 22), LocalDate.of(2025, 12, 23));
+        RecurringOffDay rule = createRecurringOffDay(user);
+        exemptionRepository.save(RecurringOffDayExemption.builder()
+                .recurringOffDay(rule).exemptionDate(LocalDate.of(2025, 11, 24)).build());
+        exemptionRepository.save(RecurringOffDayExemption.builder()
+                .recurringOffDay(rule).exemptionDate(LocalDate.of(2025, 12, 22)).build());
+
+        User otherUser = createOtherTestUser();
+        createTimeEntry(otherUser, LocalDate.of(2025, 11, 3), null);
+
+        // When
+        Optional<MonthlyReportData> result = monthlyReportDataRepository.load(user.getId(), START, END);
+
+        // Then
+        assertThat(result).isPresent();
+        MonthlyReportData data = result.get();
+        assertThat(data.user().getId()).isEqualTo(user.getId());
+        assertThat(data.user().getLastName()).isEqualTo("User");
+
+        assertThat(data.timeEntries()).singleElement().satisfies(entry -> {
+            assertThat(entry.getEntryDate()).isEqualTo(LocalDate.of(2025, 11, 3));
+            assertThat(entry.getClockIn()).isEqualTo(LocalDateTime.of(2025, 11, 3, 8, 0));
+            assertThat(entry.getClockOut()).isEqualTo(LocalDateTime.of(2025, 11, 3, 16, 30));
+            assertThat(entry.getBreakMinutes()).isEqualTo(30);
+            assertThat(entry.getNotes()).isEqualTo("Kundentermin");
+            assertThat(entry.getHoursWorked()).isEqualTo(8.0);
+            assertThat(entry.getUser()).isSameAs(data.user());
+        });
+
+        assertThat(data.timeOffEntries()).singleElement().satisfies(timeOff -> {
+            assertThat(timeOff.getTimeOffType()).isEqualTo(TimeOffType.VACATION);
+            assertThat(timeOff.getStartDate()).isEqualTo(LocalDate.of(2025, 10, 30));
+            assertThat(timeOff.getNotes()).isEqualTo("Urlaub");
+        });
+
+        assertThat(data.workingHours()).hasSize(7);
+        assertThat(data.recurringOffDays()).singleElement().satisfies(offDay -> {
+            assertThat(offDay.getWeekInterval()).isEqualTo(4);
+            assertThat(offDay.getReferenceDate()).isEqualTo(LocalDate.of(2025, 1, 6));
+        });
+        assertThat(data.exemptions()).singleElement().satisfies(exemption -> {
+            assertThat(exemption.getExemptionDate()).isEqualTo(LocalDate.of(2025, 11, 24));
+            assertThat(exemption.getRecurringOffDay().getId()).isEqualTo(rule.getId());
+        });
+    }
+
+    @Test
+    @DisplayName("Returns empty for an unknown user")
+    void shouldReturnEmptyForUnknownUser() {
+        // When
+        Optional<MonthlyReportData> result = monthlyReportDataRepository.load(-1L, START, END);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    private void createTimeEntry(User owner, LocalDate date, String notes) {
+        timeEntryRepository.save(TimeEntry.builder()
+                .user(owner)
+                .entryDate(date)
+                .clockIn(date.atTime(8, 0))
+                .clockOut(date.atTime(16, 30))
+                .breakMinutes(30)
+                .notes(notes)
+                .build());
+    }
+}
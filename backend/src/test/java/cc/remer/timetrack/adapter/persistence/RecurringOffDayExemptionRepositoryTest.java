@@ -0,0 +1,83 @@
+package cc.remer.timetrack.adapter.persistence;
+
+import cc.remer.timetrack.domain.recurringoffday.RecurringOffDay;
+import cc.remer.timetrack.domain.recurringoffday.RecurringOffDayExemption;
+import cc.remer.timetrack.domain.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for RecurringOffDayExemptionRepository.
+ */
+@DisplayName("RecurringOffDayExemptionRepository Integration Tests")
+class RecurringOffDayExemptionRepositoryTest extends RepositoryTestBase {
+
+    @Autowired
+    private RecurringOffDayExemptionRepository exemptionRepository;
+
+    private User testUser;
+    private RecurringOffDay offDay;
+
+    @BeforeEach
+    void setUp() {
+        testUser = createTestUser();
+        offDay = createRecurringOffDay(testUser);
+    }
+
+    @Test
+    @DisplayName("Should find the user's exemptions within the range, including both ends")
+    void shouldFindExemptionsWithinRange() {
+        // Given
+        RecurringOffDayExemption first = createExemption(offDay, LocalDate.of(2025, 12, 29));
+        RecurringOffDayExemption last = createExemption(offDay, LocalDate.of(2026, 1, 26));
+        createExemption(offDay, LocalDate.of(2025, 12, 1));
+        createExemption(offDay, LocalDate.of(2026, 2, 23));
+
+        // When
+        List<RecurringOffDayExemption> result = exemptionRepository.findByUserIdAndDateRange(
+                testUser.getId(), LocalDate.of(2025, 12, 29), LocalDate.of(2026, 1, 26));
+
+        // Then
+        assertThat(result).extracting(RecurringOffDayExemption::getId)
+                .containsExactlyInAnyOrder(first.getId(), last.getId());
+    }
+
+    @Test
+    @DisplayName("Should find exemptions of all the user's recurring off-days and none of other users")
+    void shouldFindExemptionsOfUserOnly() {
+        // Given
+        RecurringOffDay secondOffDay = createRecurringOffDay(
+                testUser, 5, 2, LocalDate.of(2025, 12, 19), LocalDate.of(2025, 12, 1), "Every 2nd Friday");
+        User otherUser = createOtherTestUser();
+        RecurringOffDay otherOffDay = createRecurringOffDay(otherUser);
+
+        RecurringOffDayExemption monday = createExemption(offDay, LocalDate.of(2025, 12, 29));
+        RecurringOffDayExemption friday = createExemption(secondOffDay, LocalDate.of(2026, 1, 2));
+        createExemption(otherOffDay, LocalDate.of(2025, 12, 29));
+
+        // When
+        List<RecurringOffDayExemption> result = exemptionRepository.findByUserIdAndDateRange(
+                testUser.getId(), LocalDate.of(2025, 12, 1), LocalDate.of(2026, 1, 31));
+
+        // Then
+        assertThat(result).extracting(RecurringOffDayExemption::getId)
+                .containsExactlyInAnyOrder(monday.getId(), friday.getId());
+        assertThat(exemptionRepository.findByUserIdAndDateRange(
+                testUser.getId(), LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28))).isEmpty();
+    }
+
+    private RecurringOffDayExemption createExemption(RecurringOffDay recurringOffDay, LocalDate date) {
+        return exemptionRepository.save(RecurringOffDayExemption.builder()
+                .recurringOffDay(recurringOffDay)
+                .exemptionDate(date)
+                .reason("Working this day")
+                .build());
+    }
+}
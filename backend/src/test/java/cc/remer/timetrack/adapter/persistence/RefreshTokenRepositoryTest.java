@@ -17,7 +17,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 /**
  * Integration tests for RefreshTokenRepository.
- * Tests the fix for the token column size issue (VARCHAR(255) -> TEXT).
+ * Tokens are stored as fixed-size SHA-256 digests, however long the JWT is.
  */
 @DisplayName("RefreshToken Repository Integration Tests")
 class RefreshTokenRepositoryTest extends RepositoryTestBase {
@@ -53,12 +53,12 @@ class RefreshTokenRepositoryTest extends RepositoryTestBase {
     }
 
     @Test
-    @DisplayName("Should save refresh token with long JWT token (> 255 chars)")
+    @DisplayName("Should save refresh token of a long JWT as a fixed-size digest")
     void shouldSaveRefreshTokenWithLongToken() {
         // Given
         RefreshToken refreshToken = RefreshToken.builder()
                 .user(testUser)
-                .token(longJwtToken)
+                .tokenHash(RefreshToken.hashToken(longJwtToken))
                 .expiresAt(LocalDateTime.now().plusDays(7))
                 .build();
 
@@ -66,9 +66,9 @@ class RefreshTokenRepositoryTest extends RepositoryTestBase {
         RefreshToken savedToken = refreshTokenRepository.save(refreshToken);
 
         // Then
+        assertThat(longJwtToken.length()).isGreaterThan(255);
         assertThat(savedToken.getId()).isNotNull();
-        assertThat(savedToken.getToken()).isEqualTo(longJwtToken);
-        assertThat(savedToken.getToken().length()).isGreaterThan(255);
+        assertThat(savedToken.getTokenHash()).hasSize(64).isNotEqualTo(longJwtToken);
         assertThat(savedToken.getCreatedAt()).isNotNull();
     }
 
@@ -78,17 +78,17 @@ class RefreshTokenRepositoryTest extends RepositoryTestBase {
         // Given
         RefreshToken refreshToken = RefreshToken.builder()
                 .user(testUser)
-                .token(longJwtToken)
+                .tokenHash(RefreshToken.hashToken(longJwtToken))
                 .expiresAt(LocalDateTime.now().plusDays(7))
                 .build();
         refreshTokenRepository.save(refreshToken);
 
         // When
-        Optional<RefreshToken> foundToken = refreshTokenRepository.findByToken(longJwtToken);
+        Optional<RefreshToken> foundToken = refreshTokenRepository.findByTokenHash(RefreshToken.hashToken(longJwtToken));
 
         // Then
         assertThat(foundToken).isPresent();
-        assertThat(foundToken.get().getToken()).isEqualTo(longJwtToken);
+        assertThat(foundToken.get().getTokenHash()).isEqualTo(RefreshToken.hashToken(longJwtToken));
         assertThat(foundToken.get().getUser().getId()).isEqualTo(testUser.getId());
     }
 
@@ -98,13 +98,13 @@ class RefreshTokenRepositoryTest extends RepositoryTestBase {
         // Given
         RefreshToken token1 = RefreshToken.builder()
                 .user(testUser)
-                .token(longJwtToken)
+                .tokenHash(RefreshToken.hashToken(longJwtToken))
                 .expiresAt(LocalDateTime.now().plusDays(7))
                 .build();
 
         RefreshToken token2 = RefreshToken.builder()
                 .user(testUser)
-                .token(longJwtToken + "_second")
+                .tokenHash(RefreshToken.hashToken(longJwtToken + "_second"))
                 .expiresAt(LocalDateTime.now().plusDays(7))
                 .build();
 
@@ -116,8 +116,8 @@ class RefreshTokenRepositoryTest extends RepositoryTestBase {
 
         // Then
         assertThat(tokens).hasSize(2);
-        assertThat(tokens).extracting(RefreshToken::getToken)
-                .containsExactlyInAnyOrder(longJwtToken, longJwtToken + "_second");
+        assertThat(tokens).extracting(RefreshToken::getTokenHash)
+                .containsExactlyInAnyOrder(RefreshToken.hashToken(longJwtToken), RefreshToken.hashToken(longJwtToken + "_second"));
     }
 
     @Test
@@ -126,16 +126,16 @@ class RefreshTokenRepositoryTest extends RepositoryTestBase {
         // Given
         RefreshToken refreshToken = RefreshToken.builder()
                 .user(testUser)
-                .token(longJwtToken)
+                .tokenHash(RefreshToken.hashToken(longJwtToken))
                 .expiresAt(LocalDateTime.now().plusDays(7))
                 .build();
         refreshTokenRepository.save(refreshToken);
 
         // When
-        refreshTokenRepository.deleteByToken(longJwtToken);
+        refreshTokenRepository.deleteByTokenHash(RefreshToken.hashToken(longJwtToken));
 
         // Then
-        Optional<RefreshToken> foundToken = refreshTokenRepository.findByToken(longJwtToken);
+        Optional<RefreshToken> foundToken = refreshTokenRepository.findByTokenHash(RefreshToken.hashToken(longJwtToken));
         assertThat(foundToken).isEmpty();
     }
 
@@ -145,13 +145,13 @@ class RefreshTokenRepositoryTest extends RepositoryTestBase {
         // Given
         RefreshToken token1 = RefreshToken.builder()
                 .user(testUser)
-                .token(longJwtToken)
+                .tokenHash(RefreshToken.hashToken(longJwtToken))
                 .expiresAt(LocalDateTime.now().plusDays(7))
                 .build();
 
         RefreshToken token2 = RefreshToken.builder()
                 .user(testUser)
-                .token(longJwtToken + "_second")
+                .tokenHash(RefreshToken.hashToken(longJwtToken + "_second"))
                 .expiresAt(LocalDateTime.now().plusDays(7))
                 .build();
 
@@ -172,13 +172,13 @@ class RefreshTokenRepositoryTest extends RepositoryTestBase {
         // Given
         RefreshToken expiredToken = RefreshToken.builder()
                 .user(testUser)
-                .token(longJwtToken + "_expired")
+                .tokenHash(RefreshToken.hashToken(longJwtToken + "_expired"))
                 .expiresAt(LocalDateTime.now().minusDays(1))
                 .build();
 
         RefreshToken validToken = RefreshToken.builder()
                 .user(testUser)
-                .token(longJwtToken + "_valid")
+                .tokenHash(RefreshToken.hashToken(longJwtToken + "_valid"))
                 .expiresAt(LocalDateTime.now().plusDays(7))
                 .build();
 
@@ -186,13 +186,13 @@ class RefreshTokenRepositoryTest extends RepositoryTestBase {
         refreshTokenRepository.save(validToken);
 
         // When
-        int deletedCount = refreshTokenRepository.deleteExpiredTokens(LocalDateTime.now());
+        int deletedCount = refreshTokenRepository.deleteExpiredTokens(LocalDateTime.now(), 100);
 
         // Then
         assertThat(deletedCount).isEqualTo(1);
         List<RefreshToken> remainingTokens = refreshTokenRepository.findByUserId(testUser.getId());
         assertThat(remainingTokens).hasSize(1);
-        assertThat(remainingTokens.get(0).getToken()).isEqualTo(longJwtToken + "_valid");
+        assertThat(remainingTokens.get(0).getTokenHash()).isEqualTo(RefreshToken.hashToken(longJwtToken + "_valid"));
     }
 
     @Test
@@ -201,13 +201,13 @@ class RefreshTokenRepositoryTest extends RepositoryTestBase {
         // Given
         RefreshToken expiredToken = RefreshToken.builder()
                 .user(testUser)
-                .token(longJwtToken + "_expired")
+                .tokenHash(RefreshToken.hashToken(longJwtToken + "_expired"))
                 .expiresAt(LocalDateTime.now().minusDays(1))
                 .build();
 
         RefreshToken validToken = RefreshToken.builder()
                 .user(testUser)
-                .token(longJwtToken + "_valid")
+                .tokenHash(RefreshToken.hashToken(longJwtToken + "_valid"))
                 .expiresAt(LocalDateTime.now().plusDays(7))
                 .build();
 
@@ -215,12 +215,12 @@ class RefreshTokenRepositoryTest extends RepositoryTestBase {
         refreshTokenRepository.save(validToken);
 
         // When
-        boolean expiredExists = refreshTokenRepository.existsByTokenAndNotExpired(
-                longJwtToken + "_expired", LocalDateTime.now());
-        boolean validExists = refreshTokenRepository.existsByTokenAndNotExpired(
-                longJwtToken + "_valid", LocalDateTime.now());
-        boolean nonExistentExists = refreshTokenRepository.existsByTokenAndNotExpired(
-                "nonexistent", LocalDateTime.now());
+        boolean expiredExists = refreshTokenRepository.existsByTokenHashAndNotExpired(
+                RefreshToken.hashToken(longJwtToken + "_expired"), LocalDateTime.now());
+        boolean validExists = refreshTokenRepository.existsByTokenHashAndNotExpired(
+                RefreshToken.hashToken(longJwtToken + "_valid"), LocalDateTime.now());
+        boolean nonExistentExists = refreshTokenRepository.existsByTokenHashAndNotExpired(
+                RefreshToken.hashToken("nonexistent"), LocalDateTime.now());
 
         // Then
         assertThat(expiredExists).isFalse();
@@ -234,13 +234,13 @@ class RefreshTokenRepositoryTest extends RepositoryTestBase {
         // Given
         RefreshToken expiredToken = RefreshToken.builder()
                 .user(testUser)
-                .token(longJwtToken + "_expired")
+                .tokenHash(RefreshToken.hashToken(longJwtToken + "_expired"))
                 .expiresAt(LocalDateTime.now().minusDays(1))
                 .build();
 
         RefreshToken validToken = RefreshToken.builder()
                 .user(testUser)
-                .token(longJwtToken + "_valid")
+                .tokenHash(RefreshToken.hashToken(longJwtToken + "_valid"))
                 .expiresAt(LocalDateTime.now().plusDays(7))
                 .build();
 
@@ -257,13 +257,59 @@ class RefreshTokenRepositoryTest extends RepositoryTestBase {
         assertThat(validIsValid).isTrue();
     }
 
+    @Test
+    @DisplayName("Should delete expired refresh tokens in batches")
+    void shouldDeleteExpiredRefreshTokensInBatches() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            refreshTokenRepository.saveAndFlush(RefreshToken.builder()
+                    .user(testUser)
+                    .tokenHash(RefreshToken.hashToken(longJwtToken + "_expired_" + i))
+                    .expiresAt(LocalDateTime.now().minusDays(1))
+                    .build());
+        }
+
+        // When
+        int firstBatch = refreshTokenRepository.deleteExpiredTokens(LocalDateTime.now(), 2);
+        int secondBatch = refreshTokenRepository.deleteExpiredTokens(LocalDateTime.now(), 2);
+        int thirdBatch = refreshTokenRepository.deleteExpiredTokens(LocalDateTime.now(), 2);
+
+        // Then
+        assertThat(firstBatch).isEqualTo(2);
+        assertThat(secondBatch).isEqualTo(2);
+        assertThat(thirdBatch).isEqualTo(1);
+        assertThat(refreshTokenRepository.findByUserId(testUser.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep only the newest refresh tokens of a user")
+    void shouldDeleteAllButNewestTokens() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            refreshTokenRepository.saveAndFlush(RefreshToken.builder()
+                    .user(testUser)
+                    .tokenHash(RefreshToken.hashToken(longJwtToken + "_" + i))
+                    .expiresAt(LocalDateTime.now().plusDays(7))
+                    .build());
+        }
+
+        // When
+        int deletedCount = refreshTokenRepository.deleteAllButNewest(testUser.getId(), 2);
+
+        // Then
+        assertThat(deletedCount).isEqualTo(2);
+        assertThat(refreshTokenRepository.findByUserId(testUser.getId()))
+                .extracting(RefreshToken::getTokenHash)
+                .containsExactlyInAnyOrder(RefreshToken.hashToken(longJwtToken + "_2"), RefreshToken.hashToken(longJwtToken + "_3"));
+    }
+
     @Test
     @DisplayName("Should handle token uniqueness constraint")
     void shouldHandleTokenUniquenessConstraint() {
         // Given
         RefreshToken token1 = RefreshToken.builder()
                 .user(testUser)
-                .token(longJwtToken)
+                .tokenHash(RefreshToken.hashToken(longJwtToken))
                 .expiresAt(LocalDateTime.now().plusDays(7))
                 .build();
         refreshTokenRepository.save(token1);
@@ -282,7 +328,7 @@ class RefreshTokenRepositoryTest extends RepositoryTestBase {
 
         RefreshToken token2 = RefreshToken.builder()
                 .user(anotherUser)
-                .token(longJwtToken) // Same token as token1
+                .tokenHash(RefreshToken.hashToken(longJwtToken)) // Same token as token1
                 .expiresAt(LocalDateTime.now().plusDays(7))
                 .build();
 
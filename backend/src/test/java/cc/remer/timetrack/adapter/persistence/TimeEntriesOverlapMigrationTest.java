@@ -0,0 +1,135 @@
+package cc.remer.timetrack.adapter.persistence;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the migration resolving overlapping time entries (V23).
+ *
+ * Each test migrates a database of its own up to V22, inserts the overlapping entries and then
+ * runs V23 on them.
+ */
+@Testcontainers
+@DisplayName("Time Entries Overlap Migration Tests")
+class TimeEntriesOverlapMigrationTest {
+
+    private static final String DATABASE = "overlap_migration_test";
+    private static final LocalDateTime MORNING = LocalDateTime.of(2025, 12, 1, 8, 0);
+
+    @Container
+    private static final TimetrackPostgresContainer postgres = TimetrackPostgresContainer.getInstance();
+
+    private JdbcTemplate admin;
+    private JdbcTemplate jdbcTemplate;
+    private DriverManagerDataSource dataSource;
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        admin = new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+        admin.execute("CREATE DATABASE " + DATABASE);
+
+        dataSource = new DriverManagerDataSource(
+                "jdbc:postgresql://" + postgres.getHost() + ":"
+                        + postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + DATABASE,
+                postgres.getUsername(), postgres.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        migrate("22");
+
+        userId = jdbcTemplate.queryForObject("""
+                INSERT INTO users (email, password_hash, first_name, last_name, role, state)
+                VALUES ('overlap@test.local', 'hash', 'Overlap', 'User', 'USER', 'BERLIN')
+                RETURNING id
+                """, Long.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        admin.execute("DROP DATABASE IF EXISTS " + DATABASE + " WITH (FORCE)");
+    }
+
+    @Test
+    @DisplayName("Should remove a stale active entry instead of a finished one starting at the same time")
+    void shouldRemoveStaleActiveEntryStartingWithFinishedOne() {
+        // Given: The forgotten clock-in has the lower ID, so it is walked first
+        long active = insertEntry(MORNING, null, "Forgotten");
+        long finished = insertEntry(MORNING, MORNING.plusHours(8), "Worked");
+
+        // When
+        migrate("23");
+
+        // Then
+        assertThat(entryIds()).containsExactly(finished);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT clock_out FROM time_entries WHERE id = ?", Timestamp.class, finished))
+                .isEqualTo(Timestamp.valueOf(MORNING.plusHours(8)));
+        assertThat(fixes()).singleElement().satisfies(fix -> {
+            assertThat(fix.get("time_entry_id")).isEqualTo(active);
+            assertThat(fix.get("action")).isEqualTo("REMOVED");
+            assertThat(fix.get("notes")).isEqualTo("Forgotten");
+        });
+    }
+
+    @Test
+    @DisplayName("Should close a stale active entry where the next entry starts")
+    void shouldCloseStaleActiveEntry() {
+        // Given
+        long active = insertEntry(MORNING, null, null);
+        long next = insertEntry(MORNING.plusHours(2), MORNING.plusHours(6), null);
+
+        // When
+        migrate("23");
+
+        // Then
+        assertThat(entryIds()).containsExactly(active, next);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT clock_out FROM time_entries WHERE id = ?", Timestamp.class, active))
+                .isEqualTo(Timestamp.valueOf(MORNING.plusHours(2)));
+        assertThat(fixes()).singleElement().satisfies(fix -> {
+            assertThat(fix.get("time_entry_id")).isEqualTo(active);
+            assertThat(fix.get("action")).isEqualTo("CLOSED");
+        });
+    }
+
+    private void migrate(String target) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    private long insertEntry(LocalDateTime clockIn, LocalDateTime clockOut, String notes) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO time_entries (user_id, entry_date, clock_in, clock_out, notes)
+                VALUES (?, ?, ?, ?, ?)
+                RETURNING id
+                """, Long.class, userId, clockIn.toLocalDate(), Timestamp.valueOf(clockIn),
+                clockOut != null ? Timestamp.valueOf(clockOut) : null, notes);
+    }
+
+    private List<Long> entryIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM time_entries ORDER BY id", Long.class);
+    }
+
+    private List<Map<String, Object>> fixes() {
+        return jdbcTemplate.queryForList("SELECT * FROM time_entries_overlap_fixes ORDER BY time_entry_id");
+    }
+}
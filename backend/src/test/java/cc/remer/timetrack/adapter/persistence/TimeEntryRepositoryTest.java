@@ -9,6 +9,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.time.Duration;
 import java.time.LocalDate;
@@ -17,6 +18,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Integration tests for TimeEntryRepository.
@@ -127,6 +129,10 @@ class TimeEntryRepositoryTest extends RepositoryTestBase {
                 .clockOut(null)
                 .entryType(EntryType.WORK)
                 .build();
+        // A completed entry before the active one, as entries of a user can't overlap
+        testEntry.setEntryDate(LocalDate.now().minusDays(1));
+        testEntry.setClockIn(testEntry.getClockIn().minusDays(1));
+        testEntry.setClockOut(testEntry.getClockOut().minusDays(1));
 
         timeEntryRepository.save(activeEntry);
         timeEntryRepository.save(testEntry); // This one has clock out
@@ -163,44 +169,48 @@ class TimeEntryRepositoryTest extends RepositoryTestBase {
     }
 
     @Test
-    @DisplayName("Should detect overlapping time entries")
-    void shouldDetectOverlappingTimeEntries() {
+    @DisplayName("Should reject overlapping time entries of the same user")
+    void shouldRejectOverlappingTimeEntries() {
         // Given
-        TimeEntry existingEntry = TimeEntry.builder()
+        LocalDate today = LocalDate.now();
+        timeEntryRepository.saveAndFlush(testEntry);
+
+        // When - entries that only touch the existing one are allowed
+        timeEntryRepository.saveAndFlush(TimeEntry.builder()
                 .user(testUser)
-                .entryDate(LocalDate.now())
-                .clockIn(LocalDateTime.now().withHour(9).withMinute(0).withSecond(0).withNano(0))
-                .clockOut(LocalDateTime.now().withHour(17).withMinute(0).withSecond(0).withNano(0))
+                .entryDate(today)
+                .clockIn(today.atTime(17, 0))
+                .clockOut(today.atTime(18, 0))
                 .entryType(EntryType.WORK)
-                .build();
-        timeEntryRepository.save(existingEntry);
-
-        // When - check for overlap with different scenarios
-        boolean overlapsMiddle = timeEntryRepository.hasOverlappingEntries(
-                testUser.getId(),
-                LocalDateTime.now().withHour(12).withMinute(0).withSecond(0).withNano(0),
-                LocalDateTime.now().withHour(14).withMinute(0).withSecond(0).withNano(0),
-                null
-        );
+                .build());
 
-        boolean overlapsStart = timeEntryRepository.hasOverlappingEntries(
-                testUser.getId(),
-                LocalDateTime.now().withHour(8).withMinute(0).withSecond(0).withNano(0),
-                LocalDateTime.now().withHour(10).withMinute(0).withSecond(0).withNano(0),
-                null
-        );
+        // Then
+        assertThatThrownBy(() -> timeEntryRepository.saveAndFlush(TimeEntry.builder()
+                .user(testUser)
+                .entryDate(today)
+                .clockIn(today.atTime(12, 0))
+                .clockOut(today.atTime(14, 0))
+                .entryType(EntryType.WORK)
+                .build()))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("ex_time_entries_no_overlap");
+    }
 
-        boolean noOverlap = timeEntryRepository.hasOverlappingEntries(
-                testUser.getId(),
-                LocalDateTime.now().withHour(18).withMinute(0).withSecond(0).withNano(0),
-                LocalDateTime.now().withHour(19).withMinute(0).withSecond(0).withNano(0),
-                null
-        );
+    @Test
+    @DisplayName("Should treat an active entry as open-ended when checking overlaps")
+    void shouldRejectEntriesAfterActiveEntry() {
+        // Given
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        timeEntryRepository.saveAndFlush(TimeEntry.builder()
+                .user(testUser)
+                .entryDate(yesterday)
+                .clockIn(yesterday.atTime(9, 0))
+                .entryType(EntryType.WORK)
+                .build());
 
-        // Then
-        assertThat(overlapsMiddle).isTrue();
-        assertThat(overlapsStart).isTrue();
-        assertThat(noOverlap).isFalse();
+        // When / Then
+        assertThatThrownBy(() -> timeEntryRepository.saveAndFlush(testEntry))
+                .isInstanceOf(DataIntegrityViolationException.class);
     }
 
     @Test
@@ -0,0 +1,42 @@
+package cc.remer.timetrack.adapter.persistence;
+
+import cc.remer.timetrack.domain.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for UserDataVersionRepository.
+ */
+@DisplayName("User Data Version Repository Integration Tests")
+class UserDataVersionRepositoryTest extends RepositoryTestBase {
+
+    @Autowired
+    private UserDataVersionRepository userDataVersionRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.saveAndFlush(createTestUser());
+    }
+
+    @Test
+    @DisplayName("Starts at version 0 and counts up with every change")
+    void shouldIncrementVersion() {
+        // Given
+        assertThat(userDataVersionRepository.find(user.getId())).isZero();
+
+        // When
+        long first = userDataVersionRepository.increment(user.getId());
+        long second = userDataVersionRepository.increment(user.getId());
+
+        // Then
+        assertThat(first).isEqualTo(1L);
+        assertThat(second).isEqualTo(2L);
+        assertThat(userDataVersionRepository.find(user.getId())).isEqualTo(2L);
+    }
+}
@@ -0,0 +1,142 @@
+package cc.remer.timetrack.adapter.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares request handling on platform threads with virtual threads, with and without the connection guard.
+ *
+ * Each simulated request blocks outside the database for a while (e.g. a call to another service),
+ * then runs a short query. Not part of the regular build, run it with
+ * {@code ./mvnw test -Dtest=VirtualThreadBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Virtual Thread Benchmark")
+class VirtualThreadBenchmarkTest {
+
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 5000);
+    private static final int POOL_SIZE = 10;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final Duration POOL_TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration BLOCKING_WORK = Duration.ofMillis(50);
+    private static final double QUERY_SECONDS = 0.005;
+
+    private static final TimetrackPostgresContainer postgres = TimetrackPostgresContainer.getInstance();
+    private static HikariDataSource pool;
+
+    @BeforeAll
+    static void startDatabase() {
+        postgres.start();
+        pool = new HikariDataSource();
+        pool.setJdbcUrl(postgres.getJdbcUrl());
+        pool.setUsername(postgres.getUsername());
+        pool.setPassword(postgres.getPassword());
+        pool.setMaximumPoolSize(POOL_SIZE);
+        pool.setMinimumIdle(POOL_SIZE);
+        pool.setConnectionTimeout(POOL_TIMEOUT.toMillis());
+    }
+
+    @AfterAll
+    static void closePool() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Runs the same load in all three modes and prints the results")
+    void compareModes() throws Exception {
+        // Warm up the pool and the JIT
+        run("warm-up", Executors.newFixedThreadPool(TOMCAT_MAX_THREADS), pool, 500);
+
+        Result platform = run("platform threads (" + TOMCAT_MAX_THREADS + ")",
+                Executors.newFixedThreadPool(TOMCAT_MAX_THREADS), pool, REQUESTS);
+        Result unguarded = run("virtual threads, unguarded",
+                Executors.newVirtualThreadPerTaskExecutor(), pool, REQUESTS);
+        Result guarded = run("virtual threads, guarded",
+                Executors.newVirtualThreadPerTaskExecutor(),
+                new ConnectionLimitingDataSource(pool, POOL_SIZE, Duration.ofMinutes(5)), REQUESTS);
+
+        System.out.printf("%n%-30s %10s %12s %10s %10s %10s%n",
+                "mode", "failed", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (Result result : List.of(platform, unguarded, guarded)) {
+            System.out.println(result);
+        }
+
+        assertThat(guarded.failed()).isZero();
+    }
+
+    private Result run(String mode, ExecutorService executor, DataSource dataSource, int requests) throws Exception {
+        long start = System.nanoTime();
+        List<Future<Long>> futures = new ArrayList<>(requests);
+        try (executor) {
+            for (int i = 0; i < requests; i++) {
+                futures.add(executor.submit(() -> handleRequest(dataSource, System.nanoTime())));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        int failed = 0;
+        long[] latencies = new long[requests];
+        int completed = 0;
+        for (Future<Long> future : futures) {
+            try {
+                latencies[completed++] = future.get();
+            } catch (Exception e) {
+                failed++;
+            }
+        }
+        latencies = Arrays.copyOf(latencies, completed);
+        Arrays.sort(latencies);
+        return new Result(mode, failed, completed * (double) TimeUnit.SECONDS.toNanos(1) / elapsed,
+                percentile(latencies, 0.50), percentile(latencies, 0.99),
+                latencies.length == 0 ? 0 : latencies[latencies.length - 1]);
+    }
+
+    /**
+     * Simulate a request and return its latency in nanoseconds, measured from when it was submitted.
+     */
+    private long handleRequest(DataSource dataSource, long submittedAt) throws SQLException, InterruptedException {
+        Thread.sleep(BLOCKING_WORK);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_sleep(?)")) {
+            statement.setDouble(1, QUERY_SECONDS);
+            statement.execute();
+        }
+        return System.nanoTime() - submittedAt;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+    }
+
+    private record Result(String mode, int failed, double throughput, long p50, long p99, long max) {
+
+        @Override
+        public String toString() {
+            return String.format("%-30s %10d %12.1f %10d %10d %10d", mode, failed, throughput,
+                    TimeUnit.NANOSECONDS.toMillis(p50), TimeUnit.NANOSECONDS.toMillis(p99),
+                    TimeUnit.NANOSECONDS.toMillis(max));
+        }
+    }
+}
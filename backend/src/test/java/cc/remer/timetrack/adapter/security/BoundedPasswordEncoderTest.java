@@ -0,0 +1,164 @@
+package cc.remer.timetrack.adapter.security;
+
+import cc.remer.timetrack.api.model.ErrorResponse;
+import cc.remer.timetrack.exception.GlobalExceptionHandler;
+import cc.remer.timetrack.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * Unit tests for BoundedPasswordEncoder.
+ */
+@DisplayName("Bounded Password Encoder Tests")
+class BoundedPasswordEncoderTest {
+
+    private SlowEncoder delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedPasswordEncoder encoder;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new SlowEncoder();
+        meterRegistry = new SimpleMeterRegistry();
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, meterRegistry);
+        callers = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        delegate.release.countDown();
+        callers.shutdownNow();
+        encoder.close();
+    }
+
+    @Test
+    @DisplayName("Passes the results of the delegate through")
+    void shouldPassResultsThrough() {
+        // When / Then
+        assertThat(encoder.encode("secret")).isEqualTo("{hash}secret");
+        assertThat(encoder.matches("secret", "{hash}secret")).isTrue();
+        assertThat(encoder.matches("wrong", "{hash}secret")).isFalse();
+        assertThat(encoder.upgradeEncoding("{hash}secret")).isFalse();
+        assertThatThrownBy(() -> encoder.matches("secret", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("No encoded password");
+        assertThat(meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Rejects operations with 429 and Retry-After while the worker is busy and the queue is full")
+    void shouldRejectWhenQueueIsFull() throws InterruptedException {
+        // Given
+        saturate();
+
+        // When
+        Throwable thrown = catchThrowable(() -> encoder.matches("secret", "{hash}secret"));
+
+        // Then
+        assertThat(thrown).isInstanceOf(TooManyRequestsException.class)
+                .hasMessage(BoundedPasswordEncoder.QUEUE_FULL_MESSAGE);
+        assertThat(((TooManyRequestsException) thrown).getRetryAfter()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(meterRegistry.get("auth.password.rejected").counter().count()).isEqualTo(1.0);
+
+        ResponseEntity<ErrorResponse> response = new GlobalExceptionHandler()
+                .handleTooManyRequestsException((TooManyRequestsException) thrown);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("Lets a full queue fail the login instead of reporting bad credentials")
+    void shouldPropagateThroughAuthenticationProvider() throws InterruptedException {
+        // Given
+        UserDetails user = User.withUsername("user@test.com").password("{hash}secret").roles("USER").build();
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(username -> user);
+        provider.setPasswordEncoder(encoder);
+
+        Authentication authenticated = provider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("user@test.com", "secret"));
+        assertThat(authenticated.isAuthenticated()).isTrue();
+        assertThatThrownBy(() -> provider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("user@test.com", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+
+        // When
+        saturate();
+
+        // Then
+        assertThatThrownBy(() -> provider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("user@test.com", "secret")))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    /**
+     * Occupy the single worker and the single queue slot.
+     */
+    private void saturate() throws InterruptedException {
+        callers.submit(() -> encoder.matches(SlowEncoder.SLOW, "{hash}slow"));
+        assertThat(delegate.started.await(5, TimeUnit.SECONDS)).isTrue();
+        callers.submit(() -> encoder.matches(SlowEncoder.SLOW, "{hash}slow"));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.password.queue.size").gauge().value() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(meterRegistry.get("auth.password.queue.size").gauge().value()).isEqualTo(1.0);
+    }
+
+    /**
+     * Encoder prefixing the raw password, whose checks of {@link #SLOW} block until released.
+     */
+    private static final class SlowEncoder implements PasswordEncoder {
+
+        static final String SLOW = "slow";
+
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "{hash}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            if (encodedPassword == null) {
+                throw new IllegalArgumentException("No encoded password");
+            }
+            if (SLOW.contentEquals(rawPassword)) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return encodedPassword.equals(encode(rawPassword));
+        }
+    }
+}
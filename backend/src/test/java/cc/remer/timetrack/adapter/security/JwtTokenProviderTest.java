@@ -0,0 +1,147 @@
+package cc.remer.timetrack.adapter.security;
+
+import cc.remer.timetrack.config.JwtProperties;
+import cc.remer.timetrack.domain.user.Role;
+import cc.remer.timetrack.domain.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for JwtTokenProvider.
+ */
+@DisplayName("JWT Token Provider Tests")
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-key-with-at-least-256-bits-for-hs256";
+
+    private MutableClock clock;
+    private JwtProperties jwtProperties;
+    private JwtTokenProvider tokenProvider;
+    private Authentication authentication;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-12-01T08:00:00Z"));
+        jwtProperties = new JwtProperties();
+        jwtProperties.setSecret(SECRET);
+        jwtProperties.setExpiration(60_000L);
+        tokenProvider = new JwtTokenProvider(jwtProperties, clock);
+
+        UserPrincipal principal = UserPrincipal.create(User.builder()
+                .id(42L)
+                .email("admin@test.com")
+                .passwordHash("hash")
+                .role(Role.ADMIN)
+                .active(true)
+                .build());
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    @Test
+    @DisplayName("Extracts all claims of a valid token in one call")
+    void shouldVerifyToken() {
+        // Given
+        String token = tokenProvider.generateAccessToken(authentication);
+
+        // When
+        Optional<JwtClaims> claims = tokenProvider.verify(token);
+
+        // Then
+        assertThat(claims).hasValueSatisfying(c -> {
+            assertThat(c.userId()).isEqualTo(42L);
+            assertThat(c.email()).isEqualTo("admin@test.com");
+            assertThat(c.authorities()).containsExactly("ROLE_ADMIN");
+            assertThat(c.impersonatedBy()).isNull();
+            assertThat(c.expiresAt()).isEqualTo(Instant.parse("2025-12-01T08:01:00Z"));
+        });
+        assertThat(tokenProvider.verify(token)).isEqualTo(claims);
+    }
+
+    @Test
+    @DisplayName("Rejects tokens signed with another key and tampered tokens")
+    void shouldRejectInvalidTokens() {
+        // Given
+        JwtProperties otherProperties = new JwtProperties();
+        otherProperties.setSecret("another-secret-key-with-at-least-256-bits-for-hs256");
+        String foreignToken = new JwtTokenProvider(otherProperties, clock).generateAccessToken(authentication);
+        String token = tokenProvider.generateAccessToken(authentication);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // When / Then
+        assertThat(tokenProvider.verify(foreignToken)).isEmpty();
+        assertThat(tokenProvider.verify(tampered)).isEmpty();
+        assertThat(tokenProvider.verify("not-a-token")).isEmpty();
+        assertThat(tokenProvider.verify("")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("A cached token is rejected once it has expired")
+    void shouldExpireCachedTokens() {
+        // Given: The token has been verified and cached
+        String token = tokenProvider.generateAccessToken(authentication);
+        assertThat(tokenProvider.verify(token)).isPresent();
+
+        // When
+        clock.advance(Duration.ofMinutes(2));
+
+        // Then
+        assertThat(tokenProvider.verify(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Verifies tokens without the cache when it is disabled")
+    void shouldWorkWithoutCache() {
+        // Given
+        jwtProperties.setVerifiedTokenCacheSize(0);
+        JwtTokenProvider uncachedProvider = new JwtTokenProvider(jwtProperties, clock);
+        String token = uncachedProvider.generateAccessToken(authentication);
+
+        // When / Then
+        assertThat(uncachedProvider.verify(token)).hasValueSatisfying(c -> assertThat(c.userId()).isEqualTo(42L));
+        clock.advance(Duration.ofMinutes(2));
+        assertThat(uncachedProvider.verify(token)).isEmpty();
+    }
+
+    /**
+     * Clock that can be moved forward by the test.
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package cc.remer.timetrack.adapter.security;
+
+import cc.remer.timetrack.adapter.persistence.UserRepository;
+import cc.remer.timetrack.config.JwtProperties;
+import cc.remer.timetrack.domain.user.Role;
+import cc.remer.timetrack.domain.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for PrincipalCache.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Principal Cache Tests")
+class PrincipalCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-12-01T08:00:00Z");
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private Clock clock;
+
+    private PrincipalCache principalCache;
+    private User user;
+    private JwtClaims claims;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setPrincipalCacheTtl(30_000L);
+        principalCache = new PrincipalCache(userRepository, jwtProperties, clock);
+
+        user = User.builder()
+                .id(1L)
+                .email("user@test.com")
+                .passwordHash("hash")
+                .role(Role.USER)
+                .active(true)
+                .build();
+        claims = new JwtClaims(1L, "user@test.com", List.of("ROLE_USER"), null, NOW.plusSeconds(3600));
+    }
+
+    @Test
+    @DisplayName("Builds the principal from the claims and loads the user only once within the TTL")
+    void shouldCacheUser() {
+        // Given
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(10), NOW.plusSeconds(31));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        // When
+        Optional<UserPrincipal> first = principalCache.resolve(claims);
+        principalCache.resolve(claims);
+        principalCache.resolve(claims);
+
+        // Then: Loaded again after the TTL has passed
+        assertThat(first).hasValueSatisfying(principal -> {
+            assertThat(principal.getId()).isEqualTo(1L);
+            assertThat(principal.getEmail()).isEqualTo("user@test.com");
+            assertThat(principal.getRole()).isEqualTo(Role.USER);
+            assertThat(principal.getPassword()).isNull();
+            assertThat(principal.isEnabled()).isTrue();
+            assertThat(principal.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_USER");
+        });
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Evicting a user makes role and status changes visible on the next request")
+    void shouldReloadAfterEviction() {
+        // Given
+        when(clock.instant()).thenReturn(NOW);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        principalCache.resolve(claims);
+
+        User deactivatedAdmin = User.builder()
+                .id(1L)
+                .email("user@test.com")
+                .passwordHash("hash")
+                .role(Role.ADMIN)
+                .active(false)
+                .build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(deactivatedAdmin));
+
+        // When
+        principalCache.evict(1L);
+        Optional<UserPrincipal> result = principalCache.resolve(claims);
+
+        // Then
+        assertThat(result).hasValueSatisfying(principal -> {
+            assertThat(principal.getRole()).isEqualTo(Role.ADMIN);
+            assertThat(principal.isEnabled()).isFalse();
+        });
+    }
+
+    @Test
+    @DisplayName("Doesn't cache a user loaded before an eviction that lands while loading")
+    void shouldNotCacheStateLoadedBeforeEviction() {
+        // Given: The change commits and evicts while a concurrent request is still loading the old state
+        when(clock.instant()).thenReturn(NOW);
+        User deactivated = User.builder()
+                .id(1L)
+                .email("user@test.com")
+                .passwordHash("hash")
+                .role(Role.USER)
+                .active(false)
+                .build();
+        when(userRepository.findById(1L))
+                .thenAnswer(invocation -> {
+                    principalCache.evict(1L);
+                    return Optional.of(user);
+                })
+                .thenReturn(Optional.of(deactivated));
+
+        // When
+        Optional<UserPrincipal> concurrent = principalCache.resolve(claims);
+        Optional<UserPrincipal> next = principalCache.resolve(claims);
+
+        // Then: The request that raced the change still sees the old state, the next one the new
+        assertThat(concurrent).hasValueSatisfying(principal -> assertThat(principal.isEnabled()).isTrue());
+        assertThat(next).hasValueSatisfying(principal -> assertThat(principal.isEnabled()).isFalse());
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Rejects tokens of deleted users and tokens issued for a previous email")
+    void shouldRejectUnknownUsers() {
+        // Given
+        when(clock.instant()).thenReturn(NOW);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findById(2L)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThat(principalCache.resolve(new JwtClaims(2L, "gone@test.com", List.of(), null, NOW))).isEmpty();
+        assertThat(principalCache.resolve(new JwtClaims(1L, "old@test.com", List.of(), null, NOW))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Keeps the impersonating admin from the claims")
+    void shouldKeepImpersonation() {
+        // Given
+        when(clock.instant()).thenReturn(NOW);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        // When
+        Optional<UserPrincipal> result = principalCache.resolve(
+                new JwtClaims(1L, "user@test.com", List.of("ROLE_USER"), 7L, NOW.plusSeconds(3600)));
+
+        // Then
+        assertThat(result).hasValueSatisfying(principal -> assertThat(principal.getImpersonatedBy()).isEqualTo(7L));
+    }
+}
@@ -0,0 +1,139 @@
+package cc.remer.timetrack.adapter.web;
+
+import cc.remer.timetrack.adapter.persistence.RepositoryTestBase;
+import cc.remer.timetrack.adapter.security.UserPrincipal;
+import cc.remer.timetrack.api.model.CreateTimeOffRequest;
+import cc.remer.timetrack.domain.user.GermanState;
+import cc.remer.timetrack.domain.user.Role;
+import cc.remer.timetrack.domain.user.User;
+import cc.remer.timetrack.usecase.timeentry.ClockInUseCase;
+import cc.remer.timetrack.usecase.timeoff.CreateTimeOff;
+import cc.remer.timetrack.usecase.userevent.UserDataVersionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for conditional requests after real changes to a user's data.
+ *
+ * Runs without the rolled back test transaction, as the version is bumped right before the use
+ * case's own transaction commits.
+ */
+@DisplayName("Data Version Integration Tests")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DataVersionIntegrationTest extends RepositoryTestBase {
+
+    @Autowired
+    private DataVersionInterceptor interceptor;
+
+    @Autowired
+    private UserDataVersionService userDataVersionService;
+
+    @Autowired
+    private CreateTimeOff createTimeOff;
+
+    @Autowired
+    private ClockInUseCase clockInUseCase;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = createTestUser("versions@test.local", "Version", "User", Role.USER, GermanState.BERLIN);
+        createDefaultWorkingHours(testUser);
+
+        UserPrincipal principal = UserPrincipal.create(testUser);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        // Everything else of the user is deleted along with it
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", testUser.getId());
+    }
+
+    @Test
+    @DisplayName("Should change the ETag when time-off is created")
+    void shouldChangeEtagOnCreateTimeOff() {
+        // Given
+        String etag = currentEtag();
+        long version = userDataVersionService.getVersion(testUser.getId());
+
+        // When
+        CreateTimeOffRequest request = new CreateTimeOffRequest();
+        request.setStartDate(LocalDate.of(2025, 12, 1));
+        request.setEndDate(LocalDate.of(2025, 12, 5));
+        request.setTimeOffType(CreateTimeOffRequest.TimeOffTypeEnum.VACATION);
+        createTimeOff.execute(testUser.getId(), request);
+
+        // Then
+        assertThat(userDataVersionService.getVersion(testUser.getId())).isGreaterThan(version);
+        assertThat(revalidate(etag)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should change the ETag when the user clocks in")
+    void shouldChangeEtagOnClockIn() {
+        // Given
+        String etag = currentEtag();
+        long version = userDataVersionService.getVersion(testUser.getId());
+
+        // When
+        clockInUseCase.execute(testUser, null);
+
+        // Then
+        assertThat(userDataVersionService.getVersion(testUser.getId())).isGreaterThan(version);
+        assertThat(revalidate(etag)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep answering 304 while nothing changes")
+    void shouldKeepEtagWithoutChanges() {
+        // Given
+        String etag = currentEtag();
+
+        // When / Then
+        assertThat(revalidate(etag)).isFalse();
+    }
+
+    private String currentEtag() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(get(), response, new Object());
+        return response.getHeader(HttpHeaders.ETAG);
+    }
+
+    /**
+     * Revalidate a cached response, returns whether the controller has to answer in full.
+     */
+    private boolean revalidate(String etag) {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean proceed = interceptor.preHandle(request, response, new Object());
+        assertThat(response.getStatus()).isEqualTo(proceed ? 200 : 304);
+        return proceed;
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/api/time-entries/daily-summary");
+    }
+}
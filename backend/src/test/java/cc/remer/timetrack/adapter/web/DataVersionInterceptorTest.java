@@ -0,0 +1,137 @@
+package cc.remer.timetrack.adapter.web;
+
+import cc.remer.timetrack.adapter.security.UserPrincipal;
+import cc.remer.timetrack.domain.user.Role;
+import cc.remer.timetrack.domain.user.User;
+import cc.remer.timetrack.usecase.sync.SyncToken;
+import cc.remer.timetrack.usecase.userevent.UserDataVersionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for DataVersionInterceptor.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Data Version Interceptor Tests")
+class DataVersionInterceptorTest {
+
+    private static final String ETAG = "W/\"1-7-20251201\"";
+
+    @Mock
+    private UserDataVersionService userDataVersionService;
+
+    private DataVersionInterceptor interceptor;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        Clock clock = Clock.fixed(Instant.parse("2025-12-01T08:00:00Z"), ZoneId.of("Europe/Berlin"));
+        interceptor = new DataVersionInterceptor(userDataVersionService, clock, meterRegistry);
+
+        UserPrincipal principal = UserPrincipal.create(User.builder()
+                .id(1L)
+                .email("user@test.com")
+                .passwordHash("hash")
+                .role(Role.USER)
+                .active(true)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Tags the response with the user's data version and lets the request through")
+    void shouldTagResponse() {
+        // Given
+        when(userDataVersionService.getVersion(1L)).thenReturn(7L);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean proceed = interceptor.preHandle(get(), response, new Object());
+
+        // Then
+        assertThat(proceed).isTrue();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("private, no-cache");
+        assertThat(response.getHeader(DataVersionInterceptor.SYNC_TOKEN_HEADER))
+                .isEqualTo(SyncToken.encode(1L, 7L));
+        assertThat(meterRegistry.get("http.conditional.requests").tag("outcome", "modified").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Answers 304 without reaching the controller while the version is unchanged")
+    void shouldAnswerNotModified() {
+        // Given: The browser compares strong and lists several tags
+        when(userDataVersionService.getVersion(1L)).thenReturn(7L);
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"1-6-20251201\", \"1-7-20251201\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, new Object());
+
+        // Then
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+    }
+
+    @Test
+    @DisplayName("Answers in full after the data has changed or the day has passed")
+    void shouldAnswerChangedData() {
+        // Given
+        when(userDataVersionService.getVersion(1L)).thenReturn(8L);
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+
+        // When / Then
+        assertThat(interceptor.preHandle(request, new MockHttpServletResponse(), new Object())).isTrue();
+        assertThat(DataVersionInterceptor.buildEtag(1L, 7L, LocalDate.of(2025, 12, 2)))
+                .isNotEqualTo(ETAG);
+    }
+
+    @Test
+    @DisplayName("Ignores writes and anonymous requests")
+    void shouldIgnoreWritesAndAnonymousRequests() {
+        // Given
+        MockHttpServletRequest post = new MockHttpServletRequest("POST", "/api/time-off");
+        post.addHeader(HttpHeaders.IF_NONE_MATCH, "*");
+
+        // When / Then
+        assertThat(interceptor.preHandle(post, new MockHttpServletResponse(), new Object())).isTrue();
+        SecurityContextHolder.clearContext();
+        assertThat(interceptor.preHandle(get(), new MockHttpServletResponse(), new Object())).isTrue();
+        verifyNoInteractions(userDataVersionService);
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/api/time-entries/daily-summary");
+    }
+}
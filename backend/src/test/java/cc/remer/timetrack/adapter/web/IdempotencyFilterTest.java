@@ -0,0 +1,205 @@
+package cc.remer.timetrack.adapter.web;
+
+import cc.remer.timetrack.adapter.security.UserPrincipal;
+import cc.remer.timetrack.domain.idempotency.IdempotencyRecord;
+import cc.remer.timetrack.domain.user.Role;
+import cc.remer.timetrack.domain.user.User;
+import cc.remer.timetrack.exception.IdempotencyKeyInUseException;
+import cc.remer.timetrack.exception.IdempotencyKeyMismatchException;
+import cc.remer.timetrack.usecase.idempotency.IdempotencyService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for IdempotencyFilter.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Idempotency Filter Tests")
+class IdempotencyFilterTest {
+
+    private static final String KEY = "4f6d2c1e-clock-in";
+    private static final String CREATED_BODY = "{\"id\":7}";
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private HandlerExceptionResolver exceptionResolver;
+
+    private IdempotencyFilter filter;
+    private SimpleMeterRegistry meterRegistry;
+    private List<String> controllerCalls;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new IdempotencyFilter(idempotencyService, exceptionResolver, meterRegistry);
+        controllerCalls = new ArrayList<>();
+
+        UserPrincipal principal = UserPrincipal.create(User.builder()
+                .id(1L)
+                .email("user@test.com")
+                .passwordHash("hash")
+                .role(Role.USER)
+                .active(true)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Runs the first request with a key and stores its response")
+    void shouldStoreFirstResponse() throws Exception {
+        // Given
+        when(idempotencyService.find(1L, KEY)).thenReturn(Optional.empty());
+        when(idempotencyService.reserve(eq(1L), eq(KEY), anyString())).thenReturn(true);
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(clockInRequest("{\"notes\":\"a\"}"), response, controller(HttpServletResponse.SC_CREATED));
+
+        // Then: The controller has read the body the filter had already consumed
+        assertThat(controllerCalls).containsExactly("{\"notes\":\"a\"}");
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getContentAsString()).isEqualTo(CREATED_BODY);
+        verify(idempotencyService).complete(eq(1L), eq(KEY), anyString(), eq(201), eq("application/json"),
+                eq(CREATED_BODY.getBytes(StandardCharsets.UTF_8)));
+        verify(idempotencyService, never()).release(any(), any());
+    }
+
+    @Test
+    @DisplayName("Replays the stored response to a retry without running the request again")
+    void shouldReplayStoredResponse() throws Exception {
+        // Given: The first request has completed
+        when(idempotencyService.find(1L, KEY)).thenReturn(Optional.empty());
+        when(idempotencyService.reserve(eq(1L), eq(KEY), anyString())).thenReturn(true);
+        filter.doFilter(clockInRequest("{\"notes\":\"a\"}"), new MockHttpServletResponse(), controller(201));
+
+        ArgumentCaptor<String> requestHash = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyService).complete(eq(1L), eq(KEY), requestHash.capture(), anyInt(), any(), any());
+        when(idempotencyService.find(1L, KEY)).thenReturn(Optional.of(new IdempotencyRecord(requestHash.getValue(),
+                201, "application/json", CREATED_BODY.getBytes(StandardCharsets.UTF_8), LocalDateTime.MAX)));
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(clockInRequest("{\"notes\":\"a\"}"), response, controller(201));
+
+        // Then
+        assertThat(controllerCalls).hasSize(1);
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getContentType()).isEqualTo("application/json");
+        assertThat(response.getContentAsString()).isEqualTo(CREATED_BODY);
+        assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(meterRegistry.counter("http.idempotency.requests", "outcome", "replayed").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Rejects a key reused for a different body and a key whose request is still running")
+    void shouldRejectMismatchAndConcurrentRequests() throws Exception {
+        // Given
+        when(idempotencyService.find(1L, KEY))
+                .thenReturn(Optional.of(new IdempotencyRecord("other-request", 201, "application/json",
+                        CREATED_BODY.getBytes(StandardCharsets.UTF_8), LocalDateTime.MAX)))
+                .thenReturn(Optional.of(new IdempotencyRecord("other-request", null, null, null, LocalDateTime.MAX)));
+
+        // When
+        filter.doFilter(clockInRequest("{\"notes\":\"b\"}"), new MockHttpServletResponse(), controller(201));
+        filter.doFilter(clockInRequest("{\"notes\":\"b\"}"), new MockHttpServletResponse(), controller(201));
+
+        // Then
+        assertThat(controllerCalls).isEmpty();
+        verify(exceptionResolver).resolveException(any(), any(), isNull(), any(IdempotencyKeyMismatchException.class));
+        verify(exceptionResolver).resolveException(any(), any(), isNull(), any(IdempotencyKeyInUseException.class));
+        verify(idempotencyService, never()).reserve(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Releases the key when the request fails with a server error, so it can be retried")
+    void shouldReleaseKeyOnServerError() throws Exception {
+        // Given
+        when(idempotencyService.find(1L, KEY)).thenReturn(Optional.empty());
+        when(idempotencyService.reserve(eq(1L), eq(KEY), anyString())).thenReturn(true);
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(clockInRequest("{}"), response, controller(HttpServletResponse.SC_INTERNAL_SERVER_ERROR));
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(500);
+        verify(idempotencyService).release(1L, KEY);
+        verify(idempotencyService, never()).complete(any(), any(), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Ignores requests without a key and endpoints that don't support keys")
+    void shouldIgnoreOtherRequests() throws Exception {
+        // Given
+        MockHttpServletRequest withoutKey = new MockHttpServletRequest("POST", "/api/time-entries/clock-in");
+        MockHttpServletRequest otherEndpoint = new MockHttpServletRequest("PUT", "/api/time-entries/7");
+        otherEndpoint.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, KEY);
+
+        // When
+        filter.doFilter(withoutKey, new MockHttpServletResponse(), controller(201));
+        filter.doFilter(otherEndpoint, new MockHttpServletResponse(), controller(200));
+
+        // Then
+        assertThat(controllerCalls).hasSize(2);
+        verify(idempotencyService, never()).find(any(), any());
+    }
+
+    private MockHttpServletRequest clockInRequest(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/time-entries/clock-in");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, KEY);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    /**
+     * Stand-in for the controller: records the body it reads and answers with the given status.
+     */
+    private FilterChain controller(int status) {
+        return (request, response) -> {
+            controllerCalls.add(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(status);
+            httpResponse.setContentType("application/json");
+            httpResponse.getOutputStream().write(CREATED_BODY.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+}
@@ -1,17 +1,31 @@
 package cc.remer.timetrack.adapter.web;
 
 import cc.remer.timetrack.adapter.persistence.RepositoryTestBase;
+import cc.remer.timetrack.api.model.PublicHolidaysResponse;
 import cc.remer.timetrack.domain.publicholiday.GermanPublicHolidays;
+import cc.remer.timetrack.domain.publicholiday.PublicHoliday;
 import cc.remer.timetrack.domain.user.GermanState;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.time.LocalDate;
 import java.time.Month;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
  * Integration tests for German public holidays calculator.
@@ -22,6 +36,12 @@ class PublicHolidaysIntegrationTest extends RepositoryTestBase {
     @Autowired
     private GermanPublicHolidays germanPublicHolidays;
 
+    @Autowired
+    private PublicHolidaysController publicHolidaysController;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
     @Test
     @DisplayName("Should get public holidays for Berlin")
     void shouldGetPublicHolidaysForBerlin() {
@@ -103,4 +123,100 @@ class PublicHolidaysIntegrationTest extends RepositoryTestBase {
         assertThat(holidays2025).allMatch(date -> date.getYear() == 2025);
         assertThat(holidays2026).allMatch(date -> date.getYear() == 2026);
     }
+
+    @Test
+    @DisplayName("Should provide holiday names sorted by date")
+    void shouldProvideHolidayNamesSortedByDate() {
+        // Act
+        List<PublicHoliday> holidays = germanPublicHolidays.getHolidays(2025, GermanState.BERLIN);
+
+        // Assert
+        assertThat(holidays).extracting(PublicHoliday::date).isSorted();
+        assertThat(holidays).contains(
+                new PublicHoliday(LocalDate.of(2025, Month.JANUARY, 1), "Neujahr", false),
+                new PublicHoliday(LocalDate.of(2025, Month.MARCH, 8), "Internationaler Frauentag", true),
+                new PublicHoliday(LocalDate.of(2025, Month.APRIL, 18), "Karfreitag", false),
+                new PublicHoliday(LocalDate.of(2025, Month.JUNE, 9), "Pfingstmontag", false));
+    }
+
+    @Test
+    @DisplayName("Should calculate holidays outside the precomputed range")
+    void shouldCalculateHolidaysOutsidePrecomputedRange() {
+        // Act
+        int year = GermanPublicHolidays.MAX_YEAR + 1;
+        List<LocalDate> holidays = germanPublicHolidays.getPublicHolidays(year, GermanState.BRANDENBURG);
+
+        // Assert
+        assertThat(holidays).contains(LocalDate.of(year, Month.OCTOBER, 31));
+        assertThat(germanPublicHolidays.isPublicHoliday(LocalDate.of(year, Month.DECEMBER, 25), GermanState.BRANDENBURG)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should return current year +/- 2 years and all states by default")
+    void shouldReturnDefaultWindowForAllStates() {
+        // Act (test clock is fixed to 2025-08-01)
+        ResponseEntity<byte[]> response = publicHolidaysController.getPublicHolidays(null, null);
+        PublicHolidaysResponse body = jsonMapper.readValue(response.getBody(), PublicHolidaysResponse.class);
+
+        // Assert
+        assertThat(body.getHolidaysByYearAndState())
+                .containsOnlyKeys("2023", "2024", "2025", "2026", "2027");
+        assertThat(body.getHolidaysByYearAndState().get("2025"))
+                .containsOnlyKeys("BERLIN", "BRANDENBURG");
+        assertThat(body.getHolidaysByYearAndState().get("2025").get("BERLIN").getFirst().getDate())
+                .isEqualTo(LocalDate.of(2025, Month.JANUARY, 1));
+        assertThat(response.getHeaders().getCacheControl()).contains("max-age=604800", "public");
+    }
+
+    @Test
+    @DisplayName("Should filter by year and state and reuse the serialized response")
+    void shouldFilterByYearAndStateAndReuseCachedResponse() {
+        // Act
+        ResponseEntity<byte[]> first = publicHolidaysController.getPublicHolidays(2026, "BRANDENBURG");
+        ResponseEntity<byte[]> second = publicHolidaysController.getPublicHolidays(2026, "BRANDENBURG");
+        ResponseEntity<byte[]> berlin = publicHolidaysController.getPublicHolidays(2026, "BERLIN");
+        PublicHolidaysResponse body = jsonMapper.readValue(first.getBody(), PublicHolidaysResponse.class);
+
+        // Assert
+        assertThat(body.getHolidaysByYearAndState()).containsOnlyKeys("2026");
+        assertThat(body.getHolidaysByYearAndState().get("2026")).containsOnlyKeys("BRANDENBURG");
+        assertThat(first.getHeaders().getETag()).isNotBlank().startsWith("\"");
+        assertThat(second.getBody()).isSameAs(first.getBody());
+        assertThat(second.getHeaders().getETag()).isEqualTo(first.getHeaders().getETag());
+        assertThat(berlin.getHeaders().getETag()).isNotEqualTo(first.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("Should answer a current If-None-Match with 304 and other years or states with 200")
+    void shouldRevalidateWithEtag() throws Exception {
+        // Arrange
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(publicHolidaysController).build();
+        MvcResult result = mockMvc.perform(get("/api/public-holidays").param("year", "2025").param("state", "BERLIN"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.holidaysByYearAndState['2025'].BERLIN[0].date").value("2025-01-01"))
+                .andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/public-holidays").param("year", "2025").param("state", "BERLIN")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(new byte[0]));
+        mockMvc.perform(get("/api/public-holidays").param("year", "2026").param("state", "BERLIN")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/public-holidays").param("year", "2025").param("state", "BRANDENBURG")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown states")
+    void shouldRejectUnknownState() {
+        // Act & Assert
+        assertThatThrownBy(() -> publicHolidaysController.getPublicHolidays(2025, "BAYERN"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
 }
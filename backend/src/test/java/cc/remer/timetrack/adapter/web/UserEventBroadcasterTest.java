@@ -0,0 +1,222 @@
+package cc.remer.timetrack.adapter.web;
+
+import cc.remer.timetrack.config.EventStreamProperties;
+import cc.remer.timetrack.usecase.userevent.UserDataChange;
+import cc.remer.timetrack.usecase.userevent.UserDataChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for UserEventBroadcaster.
+ */
+@DisplayName("User Event Broadcaster Tests")
+class UserEventBroadcasterTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 12, 1);
+
+    private EventStreamProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private UserEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EventStreamProperties();
+        properties.setHeartbeatInterval(Duration.ofHours(1));
+        properties.setQueueCapacity(2);
+        properties.setMaxStreamsPerUser(2);
+        meterRegistry = new SimpleMeterRegistry();
+        broadcaster = new UserEventBroadcaster(properties, meterRegistry);
+        broadcaster.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.stop();
+    }
+
+    @Test
+    @DisplayName("Sends a change to every stream of the user and to no other user")
+    void shouldSendChangesToStreamsOfUser() throws InterruptedException {
+        // Given: Two tabs of user 1 and one tab of user 2
+        RecordingEmitter firstTab = new RecordingEmitter();
+        RecordingEmitter secondTab = new RecordingEmitter();
+        RecordingEmitter otherUser = new RecordingEmitter();
+        broadcaster.subscribe(1L, firstTab);
+        broadcaster.subscribe(1L, secondTab);
+        broadcaster.subscribe(2L, otherUser);
+
+        // When
+        broadcaster.onUserDataChanged(new UserDataChangedEvent(1L, UserDataChange.TIME_OFF, DAY, DAY.plusDays(4)));
+
+        // Then: Each stream first gets a heartbeat comment to open it
+        for (RecordingEmitter tab : new RecordingEmitter[] {firstTab, secondTab}) {
+            assertThat(tab.next()).isEqualTo(":\n\n");
+            assertThat(tab.next())
+                    .startsWith("event:time-off\ndata:")
+                    .contains("startDate=2025-12-01", "endDate=2025-12-05");
+        }
+        assertThat(otherUser.next()).isEqualTo(":\n\n");
+        assertThat(otherUser.sent.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    @DisplayName("Replaces the pending events of a stream that falls behind with a single resync")
+    void shouldResyncSlowStreams() throws InterruptedException {
+        // Given: The client doesn't take the opening heartbeat yet
+        RecordingEmitter slowTab = new RecordingEmitter();
+        slowTab.blockFirstSend();
+        broadcaster.subscribe(1L, slowTab);
+        assertThat(slowTab.sendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When: More changes arrive than the queue holds
+        for (int i = 0; i < 5; i++) {
+            broadcaster.onUserDataChanged(UserDataChangedEvent.of(1L, UserDataChange.TIME_ENTRIES, DAY.plusDays(i)));
+        }
+        slowTab.release.countDown();
+
+        // Then
+        assertThat(slowTab.next()).isEqualTo(":\n\n");
+        assertThat(slowTab.next()).startsWith("event:" + UserEventBroadcaster.RESYNC_EVENT + "\n");
+        assertThat(slowTab.sent.poll(100, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(meterRegistry.get("http.events.resyncs").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Closes the oldest stream of a user when the limit is reached")
+    void shouldCloseOldestStream() {
+        // Given
+        RecordingEmitter oldest = new RecordingEmitter();
+        broadcaster.subscribe(1L, oldest);
+        broadcaster.subscribe(1L, new RecordingEmitter());
+
+        // When
+        broadcaster.subscribe(1L, new RecordingEmitter());
+
+        // Then
+        assertThat(oldest.completed).isTrue();
+        assertThat(meterRegistry.get("http.events.streams").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Drops a stream once sending to it fails")
+    void shouldDropBrokenStreams() throws InterruptedException {
+        // Given
+        RecordingEmitter brokenTab = new RecordingEmitter();
+        brokenTab.failSends = true;
+
+        // When
+        broadcaster.subscribe(1L, brokenTab);
+
+        // Then
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (broadcaster.countStreams() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(broadcaster.countStreams()).isZero();
+    }
+
+    @Test
+    @DisplayName("Keeps sending to other streams while clients stall")
+    void shouldNotDelayOtherStreamsWhileClientsStall() throws InterruptedException {
+        // Given: More stalled clients than there used to be sender threads
+        for (long userId = 1; userId <= 4; userId++) {
+            RecordingEmitter stalledTab = new RecordingEmitter();
+            stalledTab.blockFirstSend();
+            broadcaster.subscribe(userId, stalledTab);
+            assertThat(stalledTab.sendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+        RecordingEmitter tab = new RecordingEmitter();
+        broadcaster.subscribe(5L, tab);
+
+        // When
+        broadcaster.onUserDataChanged(UserDataChangedEvent.of(5L, UserDataChange.TIME_ENTRIES, DAY));
+
+        // Then
+        assertThat(tab.next()).isEqualTo(":\n\n");
+        assertThat(tab.next()).startsWith("event:time-entries\n");
+    }
+
+    @Test
+    @DisplayName("Drops a stream whose client doesn't take an event within the send timeout")
+    void shouldDropStalledStreams() throws InterruptedException {
+        // Given
+        properties.setSendTimeout(Duration.ofMillis(100));
+        RecordingEmitter stalledTab = new RecordingEmitter();
+        stalledTab.blockFirstSend();
+
+        // When
+        broadcaster.subscribe(1L, stalledTab);
+        assertThat(stalledTab.sendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Then: The blocked write is aborted and later changes aren't queued for the stream anymore
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (broadcaster.countStreams() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(broadcaster.countStreams()).isZero();
+        assertThat(meterRegistry.get("http.events.stalled").counter().count()).isEqualTo(1.0);
+
+        broadcaster.onUserDataChanged(UserDataChangedEvent.of(1L, UserDataChange.TIME_ENTRIES, DAY));
+        stalledTab.release.countDown();
+        assertThat(stalledTab.sent.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    /**
+     * Emitter recording the text of the events sent to it instead of writing a response.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch sendStarted = new CountDownLatch(1);
+        private volatile CountDownLatch release = new CountDownLatch(0);
+        private volatile boolean failSends;
+        private volatile boolean completed;
+
+        void blockFirstSend() {
+            release = new CountDownLatch(1);
+        }
+
+        String next() throws InterruptedException {
+            return sent.poll(5, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sendStarted.countDown();
+            if (failSends) {
+                throw new IOException("Broken pipe");
+            }
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Write aborted");
+            }
+            release = new CountDownLatch(0);
+            sent.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package cc.remer.timetrack.usecase.authentication;
+
+import cc.remer.timetrack.config.LoginProperties;
+import cc.remer.timetrack.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for LoginRateLimiter.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Login Rate Limiter Tests")
+class LoginRateLimiterTest {
+
+    private static final long NOW = Instant.parse("2025-12-01T08:00:00Z").toEpochMilli();
+
+    @Mock
+    private Clock clock;
+
+    private LoginProperties loginProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private LoginRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        loginProperties = new LoginProperties();
+        loginProperties.setEmailBurst(3);
+        loginProperties.setEmailAttemptsPerMinute(6);
+        loginProperties.setIpBurst(5);
+        loginProperties.setIpAttemptsPerMinute(60);
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new LoginRateLimiter(loginProperties, clock, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Rejects attempts for an email beyond the burst until a token has been regained")
+    void shouldThrottlePerEmail() {
+        // Given: The burst is used up, also with differently cased emails
+        when(clock.millis()).thenReturn(NOW);
+        rateLimiter.acquire("user@test.com", "10.0.0.1");
+        rateLimiter.acquire("USER@test.com", "10.0.0.2");
+        rateLimiter.acquire(" user@test.com ", "10.0.0.3");
+
+        // When / Then: One token is regained every 10 seconds
+        assertThatThrownBy(() -> rateLimiter.acquire("user@test.com", "10.0.0.4"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfter()).isEqualTo(Duration.ofSeconds(10)));
+        rateLimiter.acquire("other@test.com", "10.0.0.4");
+
+        when(clock.millis()).thenReturn(NOW + 10_000);
+        rateLimiter.acquire("user@test.com", "10.0.0.4");
+
+        assertThat(meterRegistry.get("auth.login.throttled").tag("reason", "email").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Rejects attempts from a client IP beyond the burst, whatever the email")
+    void shouldThrottlePerIp() {
+        // Given
+        when(clock.millis()).thenReturn(NOW);
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.acquire("user" + i + "@test.com", "10.0.0.1");
+        }
+
+        // When / Then
+        assertThatThrownBy(() -> rateLimiter.acquire("fresh@test.com", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfter()).isEqualTo(Duration.ofSeconds(1)));
+        rateLimiter.acquire("fresh@test.com", "10.0.0.2");
+
+        assertThat(meterRegistry.get("auth.login.throttled").tag("reason", "ip").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Stops tracking keys once too many are tracked")
+    void shouldBoundTrackedKeys() {
+        // Given: One email is throttled
+        loginProperties.setMaxTrackedKeys(2);
+        when(clock.millis()).thenReturn(NOW);
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire("user@test.com", null);
+        }
+        assertThatThrownBy(() -> rateLimiter.acquire("user@test.com", null))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        // When: More emails are attempted than can be tracked
+        rateLimiter.acquire("a@test.com", null);
+        rateLimiter.acquire("b@test.com", null);
+
+        // Then: The throttled email was forgotten and starts with a full burst
+        rateLimiter.acquire("user@test.com", null);
+    }
+}
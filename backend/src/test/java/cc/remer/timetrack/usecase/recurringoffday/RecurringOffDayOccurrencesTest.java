@@ -0,0 +1,120 @@
+package cc.remer.timetrack.usecase.recurringoffday;
+
+import cc.remer.timetrack.domain.recurringoffday.RecurrencePattern;
+import cc.remer.timetrack.domain.recurringoffday.RecurringOffDay;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RecurringOffDayOccurrences.
+ */
+@DisplayName("Recurring Off-Day Occurrences Tests")
+class RecurringOffDayOccurrencesTest {
+
+    private final RecurringOffDayEvaluator evaluator = new RecurringOffDayEvaluator(null, null);
+
+    @Test
+    @DisplayName("Every 2nd Monday from reference date")
+    void shouldEnumerateEveryNthWeek() {
+        // Given
+        RecurringOffDay rule = everyNthWeek(1, 2, LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 1));
+
+        // When
+        int[] result = RecurringOffDayOccurrences.between(rule, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 28));
+
+        // Then
+        assertThat(result).containsExactly(
+                epochDay(2025, 1, 6), epochDay(2025, 1, 20), epochDay(2025, 2, 3), epochDay(2025, 2, 17));
+    }
+
+    @Test
+    @DisplayName("Last Friday of the month (weekOfMonth = 5)")
+    void shouldEnumerateLastWeekdayOfMonth() {
+        // Given
+        RecurringOffDay rule = nthWeekdayOfMonth(5, 5, LocalDate.of(2025, 1, 1));
+
+        // When
+        int[] result = RecurringOffDayOccurrences.between(rule, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31));
+
+        // Then: Jan 31, Feb 28, Mar 28
+        assertThat(result).containsExactly(epochDay(2025, 1, 31), epochDay(2025, 2, 28), epochDay(2025, 3, 28));
+    }
+
+    @Test
+    @DisplayName("Inactive rules and rules outside their validity period have no occurrences")
+    void shouldRespectActiveFlagAndValidityPeriod() {
+        // Given
+        RecurringOffDay inactive = everyNthWeek(1, 1, LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 1));
+        inactive.setIsActive(false);
+        RecurringOffDay ended = nthWeekdayOfMonth(2, 1, LocalDate.of(2024, 1, 1));
+        ended.setEndDate(LocalDate.of(2024, 12, 31));
+
+        // When / Then
+        assertThat(RecurringOffDayOccurrences.between(inactive, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31))).isEmpty();
+        assertThat(RecurringOffDayOccurrences.between(ended, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Generated occurrences match date-by-date evaluation")
+    void shouldMatchAppliesToDate() {
+        // Given: all weekdays, intervals, weeks of month and reference dates not aligned to the weekday
+        List<RecurringOffDay> rules = new ArrayList<>();
+        for (int weekday = 1; weekday <= 7; weekday++) {
+            for (int interval = 1; interval <= 4; interval++) {
+                for (int shift = 0; shift < 7; shift++) {
+                    rules.add(everyNthWeek(weekday, interval, LocalDate.of(2025, 3, 3).plusDays(shift), LocalDate.of(2025, 2, 20)));
+                }
+            }
+            for (int weekOfMonth = 1; weekOfMonth <= 5; weekOfMonth++) {
+                rules.add(nthWeekdayOfMonth(weekday, weekOfMonth, LocalDate.of(2025, 2, 20)));
+            }
+        }
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2027, 12, 31);
+
+        for (RecurringOffDay rule : rules) {
+            // When
+            int[] result = RecurringOffDayOccurrences.between(rule, start, end);
+
+            // Then
+            List<Integer> expected = new ArrayList<>();
+            for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+                if (evaluator.appliesToDate(rule, date)) {
+                    expected.add((int) date.toEpochDay());
+                }
+            }
+            assertThat(result).as(rule.toString()).containsExactlyElementsOf(expected);
+        }
+    }
+
+    private RecurringOffDay everyNthWeek(int weekday, int interval, LocalDate referenceDate, LocalDate startDate) {
+        return RecurringOffDay.builder()
+                .recurrencePattern(RecurrencePattern.EVERY_NTH_WEEK)
+                .weekday((short) weekday)
+                .weekInterval(interval)
+                .referenceDate(referenceDate)
+                .startDate(startDate)
+                .isActive(true)
+                .build();
+    }
+
+    private RecurringOffDay nthWeekdayOfMonth(int weekday, int weekOfMonth, LocalDate startDate) {
+        return RecurringOffDay.builder()
+                .recurrencePattern(RecurrencePattern.NTH_WEEKDAY_OF_MONTH)
+                .weekday((short) weekday)
+                .weekOfMonth((short) weekOfMonth)
+                .startDate(startDate)
+                .isActive(true)
+                .build();
+    }
+
+    private int epochDay(int year, int month, int day) {
+        return (int) LocalDate.of(year, month, day).toEpochDay();
+    }
+}
@@ -0,0 +1,128 @@
+package cc.remer.timetrack.usecase.recurringoffday;
+
+import cc.remer.timetrack.domain.recurringoffday.RecurrencePattern;
+import cc.remer.timetrack.domain.recurringoffday.RecurringOffDay;
+import cc.remer.timetrack.domain.recurringoffday.RecurringOffDayExemption;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RecurringOffDaySchedule.
+ */
+@DisplayName("Recurring Off-Day Schedule Tests")
+class RecurringOffDayScheduleTest {
+
+    private final RecurringOffDayEvaluator evaluator = new RecurringOffDayEvaluator(null, null);
+
+    @Test
+    @DisplayName("Off-days of a range across the year boundary, without exempted dates")
+    void shouldBuildScheduleAcrossYearBoundary() {
+        // Given: Every 2nd Friday from Dec 19, 2025, exempted on Jan 2, 2026
+        RecurringOffDay rule = everyNthWeek(1L, 5, 2, LocalDate.of(2025, 12, 19));
+        LocalDate start = LocalDate.of(2025, 12, 15);
+        LocalDate end = LocalDate.of(2026, 1, 20);
+
+        // When
+        RecurringOffDaySchedule schedule = evaluator.buildSchedule(
+                List.of(rule), List.of(exemption(rule, LocalDate.of(2026, 1, 2))), start, end);
+
+        // Then
+        assertThat(schedule.getOffDayDates()).containsExactly(LocalDate.of(2025, 12, 19), LocalDate.of(2026, 1, 16));
+        assertThat(schedule.getOffEpochDays()).containsExactly(
+                (int) LocalDate.of(2025, 12, 19).toEpochDay(), (int) LocalDate.of(2026, 1, 16).toEpochDay());
+        assertThat(schedule.isOffDay(LocalDate.of(2025, 12, 19))).isTrue();
+        assertThat(schedule.isOffDay(LocalDate.of(2026, 1, 2))).isFalse();
+        assertThat(schedule.getRulesFor(LocalDate.of(2026, 1, 16))).containsExactly(rule);
+        assertThat(schedule.getRulesFor(LocalDate.of(2026, 1, 2))).isEmpty();
+        assertThat(schedule.getStartDate()).isEqualTo(start);
+        assertThat(schedule.getEndDate()).isEqualTo(end);
+    }
+
+    @Test
+    @DisplayName("Dates outside the range are never off-days")
+    void shouldIgnoreDatesOutsideRange() {
+        // Given
+        RecurringOffDay rule = everyNthWeek(1L, 5, 2, LocalDate.of(2025, 12, 19));
+
+        // When
+        RecurringOffDaySchedule schedule = evaluator.buildSchedule(
+                List.of(rule), List.of(), LocalDate.of(2025, 12, 15), LocalDate.of(2026, 1, 20));
+
+        // Then: Dec 5 and Jan 30 follow the pattern, but lie outside the range
+        assertThat(schedule.isOffDay(LocalDate.of(2025, 12, 5))).isFalse();
+        assertThat(schedule.isOffDay(LocalDate.of(2026, 1, 30))).isFalse();
+        assertThat(schedule.getRulesFor(LocalDate.of(2026, 1, 30))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("An exemption only removes the date of its own rule")
+    void shouldApplyExemptionsPerRule() {
+        // Given: Every Monday and every first Monday of the month, the weekly rule exempted on Jan 5, 2026
+        RecurringOffDay weekly = everyNthWeek(1L, 1, 1, LocalDate.of(2025, 12, 1));
+        RecurringOffDay firstMonday = nthWeekdayOfMonth(2L, 1, 1, LocalDate.of(2025, 12, 1));
+        RecurringOffDay otherRule = everyNthWeek(3L, 3, 1, LocalDate.of(2025, 12, 3));
+
+        // When
+        RecurringOffDaySchedule schedule = evaluator.buildSchedule(
+                List.of(weekly, firstMonday),
+                List.of(exemption(weekly, LocalDate.of(2026, 1, 5)), exemption(otherRule, LocalDate.of(2025, 12, 29))),
+                LocalDate.of(2025, 12, 29), LocalDate.of(2026, 1, 12));
+
+        // Then
+        assertThat(schedule.getOffDayDates()).containsExactly(
+                LocalDate.of(2025, 12, 29), LocalDate.of(2026, 1, 5), LocalDate.of(2026, 1, 12));
+        assertThat(schedule.getRulesFor(LocalDate.of(2026, 1, 5))).containsExactly(firstMonday);
+        assertThat(schedule.getRulesFor(LocalDate.of(2025, 12, 29))).containsExactly(weekly);
+        assertThat(schedule.getOffDayDates(weekly)).containsExactly(LocalDate.of(2025, 12, 29), LocalDate.of(2026, 1, 12));
+        assertThat(schedule.getOffDayDates(firstMonday)).containsExactly(LocalDate.of(2026, 1, 5));
+        assertThat(schedule.getOffDayDates(otherRule)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("An empty schedule has no off-days")
+    void shouldHaveNoOffDaysWhenEmpty() {
+        // When
+        RecurringOffDaySchedule schedule = RecurringOffDaySchedule.empty(LocalDate.of(2025, 12, 1), LocalDate.of(2026, 1, 31));
+
+        // Then
+        assertThat(schedule.getOffDayDates()).isEmpty();
+        assertThat(schedule.getOffEpochDays()).isEmpty();
+        assertThat(schedule.isOffDay(LocalDate.of(2026, 1, 5))).isFalse();
+        assertThat(schedule.getRulesFor(LocalDate.of(2026, 1, 5))).isEmpty();
+    }
+
+    private RecurringOffDay everyNthWeek(Long id, int weekday, int interval, LocalDate referenceDate) {
+        return RecurringOffDay.builder()
+                .id(id)
+                .recurrencePattern(RecurrencePattern.EVERY_NTH_WEEK)
+                .weekday((short) weekday)
+                .weekInterval(interval)
+                .referenceDate(referenceDate)
+                .startDate(referenceDate)
+                .isActive(true)
+                .build();
+    }
+
+    private RecurringOffDay nthWeekdayOfMonth(Long id, int weekday, int weekOfMonth, LocalDate startDate) {
+        return RecurringOffDay.builder()
+                .id(id)
+                .recurrencePattern(RecurrencePattern.NTH_WEEKDAY_OF_MONTH)
+                .weekday((short) weekday)
+                .weekOfMonth((short) weekOfMonth)
+                .startDate(startDate)
+                .isActive(true)
+                .build();
+    }
+
+    private RecurringOffDayExemption exemption(RecurringOffDay rule, LocalDate date) {
+        return RecurringOffDayExemption.builder()
+                .recurringOffDay(rule)
+                .exemptionDate(date)
+                .build();
+    }
+}
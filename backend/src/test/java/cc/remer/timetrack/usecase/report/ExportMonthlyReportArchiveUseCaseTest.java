@@ -0,0 +1,164 @@
+package cc.remer.timetrack.usecase.report;
+
+import cc.remer.timetrack.adapter.persistence.UserRepository;
+import cc.remer.timetrack.config.ReportProperties;
+import cc.remer.timetrack.domain.reportjob.ReportFormat;
+import cc.remer.timetrack.domain.user.Role;
+import cc.remer.timetrack.domain.user.User;
+import cc.remer.timetrack.exception.UserNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ExportMonthlyReportArchiveUseCase.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Monthly Report Archive Export Tests")
+class ExportMonthlyReportArchiveUseCaseTest {
+
+    @Mock
+    private MonthlyReportCache monthlyReportCache;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private ReportProperties reportProperties;
+    private ExportMonthlyReportArchiveUseCase useCase;
+
+    private final Map<Long, User> users = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        reportProperties = new ReportProperties();
+        reportProperties.setExportConcurrency(2);
+        useCase = new ExportMonthlyReportArchiveUseCase(monthlyReportCache, userRepository, reportProperties);
+
+        for (long id = 1; id <= 5; id++) {
+            users.put(id, User.builder()
+                    .id(id)
+                    .email("user" + id + "@test.com")
+                    .firstName("Test")
+                    .lastName("User " + id)
+                    .passwordHash("hash")
+                    .role(Role.USER)
+                    .active(true)
+                    .build());
+        }
+
+        lenient().when(monthlyReportCache.prepare(anyLong(), anyInt(), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    User user = users.get(invocation.<Long>getArgument(0));
+                    int year = invocation.getArgument(1);
+                    int month = invocation.getArgument(2);
+                    return new PreparedMonthlyReport(user, year, month, Map.of(), Map.of(),
+                            new MonthlyReport(year, month, user, List.of()));
+                });
+    }
+
+    @Test
+    @DisplayName("Writes one PDF and CSV per user with bounded concurrency")
+    void shouldWriteArchiveWithBoundedConcurrency() throws IOException {
+        // Given: Rendering a PDF takes a moment and records how many run at the same time
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        doAnswer(invocation -> {
+            PreparedMonthlyReport report = invocation.getArgument(0);
+            ReportFormat format = invocation.getArgument(1);
+            if (format == ReportFormat.PDF) {
+                int now = running.incrementAndGet();
+                maxRunning.accumulateAndGet(now, Math::max);
+                Thread.sleep(50);
+                running.decrementAndGet();
+            }
+            invocation.<OutputStream>getArgument(2).write((format + " " + report.user().getId()).getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(monthlyReportCache).write(any(), any(), any());
+
+        // When
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        useCase.writeArchive(2025, 12, List.of(1L, 2L, 3L, 4L, 5L), true, outputStream);
+
+        // Then: 10 files, each with the content of its user
+        Map<String, String> entries = readZip(outputStream.toByteArray());
+        assertThat(entries).hasSize(10);
+        assertThat(entries).containsEntry("stundenzettel_2025_12_User_3_Test_3.pdf", "PDF 3");
+        assertThat(entries).containsEntry("stundenzettel_2025_12_User_3_Test_3.csv", "CSV 3");
+        assertThat(maxRunning.get()).isBetween(1, 2);
+    }
+
+    @Test
+    @DisplayName("Resolves all active users ordered by name when no users are given")
+    void shouldResolveActiveUsers() {
+        // Given
+        when(userRepository.findByActive(true)).thenReturn(new ArrayList<>(List.of(users.get(2L), users.get(1L))));
+
+        // When
+        List<Long> result = useCase.resolveUsers(2025, 12, null);
+
+        // Then
+        assertThat(result).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Rejects unknown users before streaming starts")
+    void shouldRejectUnknownUsers() {
+        // Given
+        when(userRepository.findAllById(any())).thenReturn(new ArrayList<>(List.of(users.get(1L))));
+
+        // When / Then
+        assertThatThrownBy(() -> useCase.resolveUsers(2025, 12, List.of(1L, 99L)))
+                .isInstanceOf(UserNotFoundException.class)
+                .hasMessageContaining("99");
+    }
+
+    @Test
+    @DisplayName("Fails the export if a report can't be generated")
+    void shouldPropagateReportFailure() {
+        // Given
+        when(monthlyReportCache.prepare(eq(2L), anyInt(), anyInt(), any()))
+                .thenThrow(new IllegalArgumentException("User not found: 2"));
+
+        // When / Then
+        assertThatThrownBy(() -> useCase.writeArchive(2025, 12, List.of(1L, 2L), false, new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("User not found");
+    }
+
+    private Map<String, String> readZip(byte[] archive) throws IOException {
+        Map<String, String> entries = new ConcurrentHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,168 @@
+package cc.remer.timetrack.usecase.report;
+
+import cc.remer.timetrack.adapter.persistence.TimeEntryExportRepository;
+import cc.remer.timetrack.adapter.persistence.TimeOffRepository;
+import cc.remer.timetrack.adapter.persistence.UserRepository;
+import cc.remer.timetrack.adapter.persistence.WorkingHoursRepository;
+import cc.remer.timetrack.domain.timeentry.EntryType;
+import cc.remer.timetrack.domain.timeentry.TimeEntry;
+import cc.remer.timetrack.domain.timeoff.TimeOff;
+import cc.remer.timetrack.domain.timeoff.TimeOffType;
+import cc.remer.timetrack.domain.user.Role;
+import cc.remer.timetrack.domain.user.User;
+import cc.remer.timetrack.domain.workinghours.WorkingHours;
+import cc.remer.timetrack.usecase.recurringoffday.RecurringOffDayEvaluator;
+import cc.remer.timetrack.usecase.recurringoffday.RecurringOffDaySchedule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ExportTimeEntriesCsvUseCase.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Time Entries CSV Export Tests")
+class ExportTimeEntriesCsvUseCaseTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 12, 1);
+    private static final LocalDate END = LocalDate.of(2025, 12, 3);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TimeEntryExportRepository timeEntryExportRepository;
+
+    @Mock
+    private TimeOffRepository timeOffRepository;
+
+    @Mock
+    private WorkingHoursRepository workingHoursRepository;
+
+    @Mock
+    private RecurringOffDayEvaluator recurringOffDayEvaluator;
+
+    private ExportTimeEntriesCsvUseCase useCase;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ExportTimeEntriesCsvUseCase(userRepository, timeEntryExportRepository, timeOffRepository,
+                workingHoursRepository, recurringOffDayEvaluator, new DailyReportAssembler(),
+                new MonthlyReportCsvGenerator());
+        user = User.builder()
+                .id(1L)
+                .email("user@test.com")
+                .firstName("Jürgen")
+                .lastName("Müller")
+                .passwordHash("hash")
+                .role(Role.USER)
+                .active(true)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Writes one row per day of the range, including days without entries, and a summary")
+    void shouldWriteRowPerDay() throws IOException {
+        // Given: Two entries on Monday, vacation on Tuesday and a short Wednesday
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(workingHoursRepository.findByUserId(1L)).thenReturn(workingWeek());
+        when(timeOffRepository.findByUserIdAndDateRange(1L, START, END)).thenReturn(List.of(TimeOff.builder()
+                .id(1L)
+                .startDate(LocalDate.of(2025, 12, 2))
+                .endDate(LocalDate.of(2025, 12, 2))
+                .timeOffType(TimeOffType.VACATION)
+                .build()));
+        when(recurringOffDayEvaluator.buildSchedule(1L, START, END)).thenReturn(RecurringOffDaySchedule.empty(START, END));
+
+        AtomicBoolean closed = new AtomicBoolean();
+        when(timeEntryExportRepository.streamByUserIdAndDateRange(1L, START, END)).thenReturn(Stream.of(
+                entry(1L, LocalDateTime.of(2025, 12, 1, 8, 0), LocalDateTime.of(2025, 12, 1, 12, 0), 0),
+                entry(2L, LocalDateTime.of(2025, 12, 1, 13, 0), LocalDateTime.of(2025, 12, 1, 17, 0), 0),
+                entry(3L, LocalDateTime.of(2025, 12, 3, 8, 0), LocalDateTime.of(2025, 12, 3, 14, 0), 30)
+        ).onClose(() -> closed.set(true)));
+
+        // When
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        useCase.execute(1L, START, END, outputStream);
+
+        // Then: Times are shown in Europe/Berlin and the cursor is closed
+        String csv = outputStream.toString(StandardCharsets.UTF_8);
+        assertThat(csv).startsWith("\uFEFFZeiterfassung 01.12.2025 – 03.12.2025\n");
+        assertThat(csv).contains("Mitarbeiter;Jürgen Müller\n");
+        assertThat(csv).contains("01.12.2025;09:00;0;18:00;8,00;0,00\n");
+        assertThat(csv).contains("02.12.2025;;0;;;\n");
+        assertThat(csv).contains("03.12.2025;09:00;30;15:00;5,50;-2,50\n");
+        assertThat(csv).endsWith("Gesamtstunden;13,50\nSollstunden;24,00\nGesamtüberstunden;-2,50\n");
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    @DisplayName("Rejects reversed and too long ranges")
+    void shouldRejectInvalidRanges() {
+        assertThatThrownBy(() -> ExportTimeEntriesCsvUseCase.validateRange(END, START))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("after");
+        assertThatThrownBy(() -> ExportTimeEntriesCsvUseCase.validateRange(START, START.plusYears(10).plusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("10 years");
+
+        ExportTimeEntriesCsvUseCase.validateRange(START, START.plusYears(10));
+    }
+
+    @Test
+    @DisplayName("Rejects unknown users before writing anything")
+    void shouldRejectUnknownUser() {
+        // Given
+        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When / Then
+        assertThatThrownBy(() -> useCase.execute(99L, START, END, outputStream))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("User not found: 99");
+        assertThat(outputStream.size()).isZero();
+    }
+
+    private TimeEntry entry(Long id, LocalDateTime clockIn, LocalDateTime clockOut, int breakMinutes) {
+        return TimeEntry.builder()
+                .id(id)
+                .entryDate(clockIn.toLocalDate())
+                .clockIn(clockIn)
+                .clockOut(clockOut)
+                .breakMinutes(breakMinutes)
+                .entryType(EntryType.WORK)
+                .build();
+    }
+
+    private List<WorkingHours> workingWeek() {
+        List<WorkingHours> workingHours = new ArrayList<>();
+        for (short weekday = 1; weekday <= 7; weekday++) {
+            workingHours.add(WorkingHours.builder()
+                    .weekday(weekday)
+                    .hours(weekday <= 5 ? BigDecimal.valueOf(8) : BigDecimal.ZERO)
+                    .isWorkingDay(weekday <= 5)
+                    .build());
+        }
+        return workingHours;
+    }
+}
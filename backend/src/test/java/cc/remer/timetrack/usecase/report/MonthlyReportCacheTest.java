@@ -0,0 +1,137 @@
+package cc.remer.timetrack.usecase.report;
+
+import cc.remer.timetrack.adapter.persistence.UserRepository;
+import cc.remer.timetrack.adapter.storage.ReportCacheStorage;
+import cc.remer.timetrack.config.ReportProperties;
+import cc.remer.timetrack.domain.reportjob.ReportFormat;
+import cc.remer.timetrack.domain.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for MonthlyReportCache.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Monthly Report Cache Tests")
+class MonthlyReportCacheTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 11, 1);
+    private static final LocalDate END = LocalDate.of(2025, 11, 30);
+
+    @Mock
+    private ExportMonthlyReportUseCase exportMonthlyReportUseCase;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @TempDir
+    private Path cacheDirectory;
+
+    private ReportProperties reportProperties;
+    private MonthlyReportCache cache;
+    private User user;
+    private final AtomicInteger renderCount = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        reportProperties = new ReportProperties();
+        reportProperties.setCacheDirectory(cacheDirectory);
+        cache = new MonthlyReportCache(exportMonthlyReportUseCase, userRepository,
+                new ReportCacheStorage(reportProperties), reportProperties);
+
+        user = User.builder().id(1L).firstName("Test").lastName("User").build();
+        when(exportMonthlyReportUseCase.execute(eq(1L), eq(2025), eq(11), any()))
+                .thenAnswer(invocation -> new MonthlyReport(2025, 11, user, List.of()));
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1)
+                    .write(("PDF " + renderCount.incrementAndGet()).getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportMonthlyReportUseCase).writePdf(any(), any());
+    }
+
+    @Test
+    @DisplayName("Serves unchanged reports from the cache without loading data")
+    void shouldServeUnchangedReportFromCache() throws IOException {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findReportDataWatermark(1L, START, END)).thenReturn("watermark-1");
+
+        // When
+        String first = download();
+        String second = download();
+
+        // Then
+        assertThat(first).isEqualTo("PDF 1");
+        assertThat(second).isEqualTo("PDF 1");
+        verify(exportMonthlyReportUseCase, times(1)).execute(anyLong(), anyInt(), anyInt(), any());
+        verify(exportMonthlyReportUseCase, times(1)).writePdf(any(), any());
+    }
+
+    @Test
+    @DisplayName("Generates the report again when its data has changed")
+    void shouldRegenerateWhenWatermarkChanges() throws IOException {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findReportDataWatermark(1L, START, END)).thenReturn("watermark-1", "watermark-2");
+
+        // When
+        String first = download();
+        String second = download();
+
+        // Then
+        assertThat(first).isEqualTo("PDF 1");
+        assertThat(second).isEqualTo("PDF 2");
+        verify(exportMonthlyReportUseCase, times(2)).execute(anyLong(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Renders directly when the cache is disabled")
+    void shouldRenderDirectlyWhenDisabled() throws IOException {
+        // Given
+        reportProperties.setCacheEnabled(false);
+
+        // When
+        String first = download();
+        String second = download();
+
+        // Then
+        assertThat(first).isEqualTo("PDF 1");
+        assertThat(second).isEqualTo("PDF 2");
+        verify(userRepository, never()).findReportDataWatermark(anyLong(), any(), any());
+        assertThat(cacheDirectory).isEmptyDirectory();
+    }
+
+    private String download() throws IOException {
+        PreparedMonthlyReport prepared = cache.prepare(1L, 2025, 11, EnumSet.of(ReportFormat.PDF));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        cache.write(prepared, ReportFormat.PDF, outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,118 @@
+package cc.remer.timetrack.usecase.report;
+
+import cc.remer.timetrack.domain.user.Role;
+import cc.remer.timetrack.domain.user.User;
+import cc.remer.timetrack.usecase.report.DailyReportEntry.DayType;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for MonthlyReportPdfGenerator.
+ */
+@DisplayName("Monthly Report PDF Generator Tests")
+class MonthlyReportPdfGeneratorTest {
+
+    private MonthlyReportPdfGenerator generator;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        generator = new MonthlyReportPdfGenerator();
+        user = User.builder()
+                .id(1L)
+                .email("user@test.com")
+                .firstName("Jürgen")
+                .lastName("Müller")
+                .passwordHash("hash")
+                .role(Role.USER)
+                .active(true)
+                .build();
+    }
+
+    @Test
+    @DisplayName("A month without notes fits on one page")
+    void shouldWriteSinglePage() throws IOException {
+        // Given
+        List<DailyReportEntry> entries = monthEntries(2025, 12, null);
+
+        // When
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        generator.writeMonthlyReport(2025, 12, user, entries, outputStream);
+
+        // Then
+        try (PDDocument document = Loader.loadPDF(outputStream.toByteArray())) {
+            assertThat(document.getNumberOfPages()).isEqualTo(1);
+
+            String text = new PDFTextStripper().getText(document);
+            assertThat(text).contains("Stundenzettel Dezember 2025");
+            assertThat(text).contains("Mitarbeiter: Jürgen Müller");
+            assertThat(text).contains("Zusammenfassung:");
+            assertThat(text).contains("Seite 1 von 1");
+        }
+    }
+
+    @Test
+    @DisplayName("Long notes are wrapped and the table continues on the next page")
+    void shouldContinueOnNextPage() throws IOException {
+        // Given: Every day has notes spanning several lines, including characters the font can't encode
+        String notes = "Kundentermin in Potsdam, anschließend Abstimmung mit dem Team zur Planung "
+                + "des nächsten Releases 🚀\nund Nachbereitung der offenen Punkte";
+        List<DailyReportEntry> entries = monthEntries(2025, 12, notes);
+
+        // When
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        generator.writeMonthlyReport(2025, 12, user, entries, outputStream);
+
+        // Then: The header row is repeated and the summary is kept at the end
+        try (PDDocument document = Loader.loadPDF(outputStream.toByteArray())) {
+            int pageCount = document.getNumberOfPages();
+            assertThat(pageCount).isGreaterThan(1);
+
+            assertThat(pageText(document, 2)).contains("Datum", "Anfang", "Notiz");
+
+            String lastPage = pageText(document, pageCount);
+            assertThat(lastPage).contains("Zusammenfassung:");
+            assertThat(lastPage).contains("Seite " + pageCount + " von " + pageCount);
+        }
+    }
+
+    private String pageText(PDDocument document, int page) throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setStartPage(page);
+        stripper.setEndPage(page);
+        return stripper.getText(document);
+    }
+
+    private List<DailyReportEntry> monthEntries(int year, int month, String notes) {
+        List<DailyReportEntry> entries = new ArrayList<>();
+        YearMonth yearMonth = YearMonth.of(year, month);
+        for (int day = 1; day <= yearMonth.lengthOfMonth(); day++) {
+            entries.add(DailyReportEntry.builder()
+                    .date(LocalDate.of(year, month, day))
+                    .startTime(LocalTime.of(8, 0))
+                    .endTime(LocalTime.of(16, 30))
+                    .breakMinutes(30)
+                    .totalHours(8.0)
+                    .expectedHours(8.0)
+                    .overtime(0.0)
+                    .dayType(DayType.REGULAR)
+                    .notes(notes)
+                    .build());
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,99 @@
+package cc.remer.timetrack.usecase.reportjob;
+
+import cc.remer.timetrack.adapter.storage.ReportFileStorage;
+import cc.remer.timetrack.config.ReportProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ReportJobMaintenance.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Report Job Maintenance Tests")
+class ReportJobMaintenanceTest {
+
+    @Mock
+    private ReportJobService reportJobService;
+
+    @Mock
+    private ReportJobWorker reportJobWorker;
+
+    @TempDir
+    private Path jobDirectory;
+
+    private ReportJobMaintenance maintenance;
+
+    @BeforeEach
+    void setUp() {
+        ReportProperties reportProperties = new ReportProperties();
+        reportProperties.setJobDirectory(jobDirectory);
+
+        maintenance = new ReportJobMaintenance(reportJobService, reportJobWorker,
+                new ReportFileStorage(reportProperties), reportProperties,
+                Clock.fixed(Instant.parse("2025-12-15T10:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Submits resumed jobs as the queue has room instead of failing them")
+    void shouldResumeJobsGradually() {
+        // Given: The queue has room for one job on startup
+        when(reportJobService.requeueUnfinishedJobs()).thenReturn(List.of(1L, 2L, 3L));
+        when(reportJobWorker.submitIfRoom(1L)).thenReturn(true);
+        when(reportJobWorker.submitIfRoom(2L)).thenReturn(false, true);
+        when(reportJobWorker.submitIfRoom(3L)).thenReturn(true);
+
+        // When
+        maintenance.resumeUnfinishedJobs();
+        maintenance.submitResumedJobs();
+
+        // Then
+        InOrder order = inOrder(reportJobWorker);
+        order.verify(reportJobWorker).submitIfRoom(1L);
+        order.verify(reportJobWorker, times(2)).submitIfRoom(2L);
+        order.verify(reportJobWorker).submitIfRoom(3L);
+        verify(reportJobWorker, never()).submit(anyLong());
+        verify(reportJobService, never()).markFailed(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Deletes files of jobs that no longer exist")
+    void shouldDeleteOrphanedFiles() throws Exception {
+        // Given: Job 2 was deleted along with its user
+        Files.writeString(jobDirectory.resolve("1.pdf"), "kept");
+        Files.writeString(jobDirectory.resolve("2.csv"), "orphaned");
+        Files.writeString(jobDirectory.resolve("report-3-123.tmp"), "in progress");
+        when(reportJobService.deleteJobsCreatedBefore(any())).thenReturn(List.of());
+        when(reportJobService.findExistingJobIds(Set.of(1L, 2L))).thenReturn(Set.of(1L));
+
+        // When
+        maintenance.deleteExpiredJobs();
+
+        // Then
+        assertThat(jobDirectory.resolve("1.pdf")).exists();
+        assertThat(jobDirectory.resolve("2.csv")).doesNotExist();
+        assertThat(jobDirectory.resolve("report-3-123.tmp")).exists();
+    }
+}
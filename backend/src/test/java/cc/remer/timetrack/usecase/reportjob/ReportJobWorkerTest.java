@@ -0,0 +1,197 @@
+package cc.remer.timetrack.usecase.reportjob;
+
+import cc.remer.timetrack.adapter.storage.ReportFileStorage;
+import cc.remer.timetrack.config.ReportProperties;
+import cc.remer.timetrack.domain.reportjob.ReportFormat;
+import cc.remer.timetrack.domain.reportjob.ReportJob;
+import cc.remer.timetrack.domain.reportjob.ReportJobStatus;
+import cc.remer.timetrack.domain.user.User;
+import cc.remer.timetrack.usecase.report.MonthlyReport;
+import cc.remer.timetrack.usecase.report.MonthlyReportCache;
+import cc.remer.timetrack.usecase.report.PreparedMonthlyReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ReportJobWorker.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Report Job Worker Tests")
+class ReportJobWorkerTest {
+
+    @Mock
+    private ReportJobService reportJobService;
+
+    @Mock
+    private MonthlyReportCache monthlyReportCache;
+
+    @TempDir
+    private Path jobDirectory;
+
+    private ReportJobWorker worker;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReportProperties reportProperties = new ReportProperties();
+        reportProperties.setJobWorkers(1);
+        reportProperties.setJobQueueCapacity(1);
+        reportProperties.setJobDirectory(jobDirectory);
+
+        worker = new ReportJobWorker(reportJobService, monthlyReportCache,
+                new ReportFileStorage(reportProperties), reportProperties);
+        worker.start();
+
+        user = User.builder().id(1L).firstName("Test").lastName("User").build();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        worker.stop();
+    }
+
+    @Test
+    @DisplayName("Generates the report and stores the file")
+    void shouldCompleteJob() throws Exception {
+        // Given
+        when(reportJobService.markRunning(10L)).thenReturn(Optional.of(job(10L, ReportFormat.CSV)));
+        PreparedMonthlyReport report = new PreparedMonthlyReport(user, 2025, 12, Map.of(), Map.of(),
+                new MonthlyReport(2025, 12, user, List.of()));
+        when(monthlyReportCache.prepare(1L, 2025, 12, Set.of(ReportFormat.CSV))).thenReturn(report);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(2).write("Datum;Anfang".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(monthlyReportCache).write(eq(report), eq(ReportFormat.CSV), any());
+
+        // When
+        worker.run(10L);
+
+        // Then
+        Path file = jobDirectory.resolve("10.csv");
+        assertThat(Files.readString(file)).isEqualTo("Datum;Anfang");
+        verify(reportJobService).markCompleted(10L, "stundenzettel_2025_12.csv", 12L);
+        verify(reportJobService, never()).markFailed(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Marks the job failed if the report can't be generated")
+    void shouldFailJob() {
+        // Given
+        when(reportJobService.markRunning(11L)).thenReturn(Optional.of(job(11L, ReportFormat.PDF)));
+        when(monthlyReportCache.prepare(1L, 2025, 12, Set.of(ReportFormat.PDF)))
+                .thenThrow(new IllegalArgumentException("User not found: 1"));
+
+        // When
+        worker.run(11L);
+
+        // Then
+        verify(reportJobService).markFailed(11L, ReportJobWorker.GENERATION_FAILED_MESSAGE);
+        verify(reportJobService, never()).markCompleted(anyLong(), any(), anyLong());
+        assertThat(jobDirectory.resolve("11.pdf")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Skips jobs that are no longer queued")
+    void shouldSkipJobNotQueued() {
+        // Given
+        when(reportJobService.markRunning(12L)).thenReturn(Optional.empty());
+
+        // When
+        worker.run(12L);
+
+        // Then
+        verify(monthlyReportCache, never()).prepare(anyLong(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Fails jobs right away when the queue is full")
+    void shouldRejectJobWhenQueueIsFull() throws InterruptedException {
+        // Given: The only worker is busy and one job is waiting
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(reportJobService.markRunning(anyLong())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+        worker.submit(1L);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        worker.submit(2L);
+
+        // When
+        worker.submit(3L);
+
+        // Then
+        verify(reportJobService).markFailed(3L, ReportJobWorker.QUEUE_FULL_MESSAGE);
+        release.countDown();
+        verify(reportJobService, timeout(5000)).markRunning(2L);
+        verify(reportJobService, never()).markFailed(eq(2L), any());
+    }
+
+    @Test
+    @DisplayName("Leaves resumed jobs queued instead of failing them when the queue has no room")
+    void shouldKeepResumedJobQueuedWhenQueueIsFull() throws InterruptedException {
+        // Given: The only worker is busy
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(reportJobService.markRunning(anyLong())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+        worker.submit(1L);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        boolean second = worker.submitIfRoom(2L);
+        boolean third = worker.submitIfRoom(3L);
+
+        // Then
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        release.countDown();
+        verify(reportJobService, timeout(5000)).markRunning(2L);
+        verify(reportJobService, never()).markRunning(3L);
+        verify(reportJobService, never()).markFailed(anyLong(), any());
+    }
+
+    private ReportJob job(Long id, ReportFormat format) {
+        return ReportJob.builder()
+                .id(id)
+                .user(user)
+                .requestedBy(user)
+                .year(2025)
+                .month(12)
+                .format(format)
+                .status(ReportJobStatus.RUNNING)
+                .build();
+    }
+}
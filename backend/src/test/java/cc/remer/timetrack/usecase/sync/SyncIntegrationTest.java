@@ -0,0 +1,191 @@
+package cc.remer.timetrack.usecase.sync;
+
+import cc.remer.timetrack.adapter.persistence.RecurringOffDayConflictWarningRepository;
+import cc.remer.timetrack.adapter.persistence.RecurringOffDayExemptionRepository;
+import cc.remer.timetrack.adapter.persistence.RepositoryTestBase;
+import cc.remer.timetrack.adapter.persistence.SyncChangeRepository;
+import cc.remer.timetrack.config.SyncProperties;
+import cc.remer.timetrack.domain.recurringoffday.RecurringOffDay;
+import cc.remer.timetrack.domain.recurringoffday.RecurringOffDayConflictWarning;
+import cc.remer.timetrack.domain.recurringoffday.RecurringOffDayExemption;
+import cc.remer.timetrack.domain.timeentry.EntryType;
+import cc.remer.timetrack.domain.timeentry.TimeEntry;
+import cc.remer.timetrack.domain.timeoff.TimeOff;
+import cc.remer.timetrack.domain.user.User;
+import cc.remer.timetrack.usecase.sync.model.SyncChanges;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for the delta sync, including the triggers maintaining the change log.
+ */
+@DisplayName("Sync Integration Tests")
+class SyncIntegrationTest extends RepositoryTestBase {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 12, 1);
+
+    @Autowired
+    private GetSyncChangesUseCase getSyncChangesUseCase;
+
+    @Autowired
+    private SyncChangeRepository syncChangeRepository;
+
+    @Autowired
+    private RecurringOffDayConflictWarningRepository conflictWarningRepository;
+
+    @Autowired
+    private RecurringOffDayExemptionRepository exemptionRepository;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userRepository.saveAndFlush(createTestUser());
+    }
+
+    @Test
+    @DisplayName("Should tell a client without token to reload")
+    void shouldRequireReloadWithoutToken() {
+        // When
+        SyncChanges changes = getSyncChangesUseCase.execute(testUser, null);
+
+        // Then
+        assertThat(changes.reloadRequired()).isTrue();
+        assertThat(changes.token()).isNotBlank();
+        assertThat(changes.timeEntries()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should list records changed and deleted since the token, and nothing after that")
+    void shouldListChangesSinceToken() {
+        // Given
+        TimeOff unchanged = timeOffRepository.saveAndFlush(createTimeOff(testUser, DAY, DAY));
+        TimeOff updated = timeOffRepository.saveAndFlush(createTimeOff(testUser, DAY.plusDays(7), DAY.plusDays(8)));
+        TimeOff deleted = timeOffRepository.saveAndFlush(createTimeOff(testUser, DAY.plusDays(14), DAY.plusDays(14)));
+        String token = getSyncChangesUseCase.execute(testUser, null).token();
+
+        // When
+        updated.setNotes("Moved");
+        timeOffRepository.saveAndFlush(updated);
+        timeOffRepository.delete(deleted);
+        TimeEntry created = timeEntryRepository.saveAndFlush(createTimeEntry(DAY.plusDays(1)));
+        SyncChanges changes = getSyncChangesUseCase.execute(testUser, token);
+
+        // Then
+        assertThat(changes.reloadRequired()).isFalse();
+        assertThat(changes.timeOff()).extracting(TimeOff::getId).containsExactly(updated.getId());
+        assertThat(changes.deletedTimeOffIds()).containsExactly(deleted.getId());
+        assertThat(changes.timeEntries()).extracting(TimeEntry::getId).containsExactly(created.getId());
+        assertThat(changes.timeOff()).extracting(TimeOff::getId).doesNotContain(unchanged.getId());
+
+        SyncChanges next = getSyncChangesUseCase.execute(testUser, changes.token());
+        assertThat(next.reloadRequired()).isFalse();
+        assertThat(next.timeOff()).isEmpty();
+        assertThat(next.timeEntries()).isEmpty();
+        assertThat(next.deletedTimeOffIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should leave tombstones for records deleted by cascade")
+    void shouldListCascadingDeletes() {
+        // Given
+        TimeEntry entry = timeEntryRepository.saveAndFlush(createTimeEntry(DAY));
+        RecurringOffDayConflictWarning warning = conflictWarningRepository.saveAndFlush(
+                RecurringOffDayConflictWarning.builder()
+                        .user(testUser)
+                        .conflictDate(DAY)
+                        .timeEntryId(entry.getId())
+                        .build());
+        String token = getSyncChangesUseCase.execute(testUser, null).token();
+
+        // When: The database deletes the warning along with its entry
+        timeEntryRepository.delete(entry);
+        timeEntryRepository.flush();
+        SyncChanges changes = getSyncChangesUseCase.execute(testUser, token);
+
+        // Then
+        assertThat(changes.deletedTimeEntryIds()).containsExactly(entry.getId());
+        assertThat(changes.deletedConflictWarningIds()).containsExactly(warning.getId());
+    }
+
+    @Test
+    @DisplayName("Should list the recurring off-day of an added or removed exemption")
+    void shouldListRecurringOffDayOfChangedExemption() {
+        // Given
+        RecurringOffDay offDay = createRecurringOffDay(testUser);
+        recurringOffDayRepository.flush();
+        String token = getSyncChangesUseCase.execute(testUser, null).token();
+
+        // When
+        RecurringOffDayExemption exemption = exemptionRepository.saveAndFlush(
+                RecurringOffDayExemption.builder()
+                        .recurringOffDay(offDay)
+                        .exemptionDate(LocalDate.of(2025, 2, 3))
+                        .reason("Working this Monday")
+                        .build());
+        SyncChanges added = getSyncChangesUseCase.execute(testUser, token);
+        exemptionRepository.delete(exemption);
+        exemptionRepository.flush();
+        SyncChanges removed = getSyncChangesUseCase.execute(testUser, added.token());
+
+        // Then
+        assertThat(added.reloadRequired()).isFalse();
+        assertThat(added.recurringOffDays()).extracting(RecurringOffDay::getId).containsExactly(offDay.getId());
+        assertThat(removed.recurringOffDays()).extracting(RecurringOffDay::getId).containsExactly(offDay.getId());
+        assertThat(removed.deletedRecurringOffDayIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should tell the client to reload once tombstones since its token are purged")
+    void shouldRequireReloadAfterPurge() {
+        // Given
+        TimeOff deleted = timeOffRepository.saveAndFlush(createTimeOff(testUser, DAY, DAY));
+        String token = getSyncChangesUseCase.execute(testUser, null).token();
+        timeOffRepository.delete(deleted);
+        timeOffRepository.flush();
+
+        // When
+        SyncProperties properties = new SyncProperties();
+        properties.setTombstoneRetention(Duration.ofDays(-1));
+        new SyncMaintenance(syncChangeRepository, properties, Clock.systemDefaultZone()).purgeTombstones();
+        SyncChanges changes = getSyncChangesUseCase.execute(testUser, token);
+
+        // Then
+        assertThat(changes.reloadRequired()).isTrue();
+        assertThat(changes.deletedTimeOffIds()).isEmpty();
+        assertThat(getSyncChangesUseCase.execute(testUser, changes.token()).reloadRequired()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject a token issued to another user")
+    void shouldRejectTokenOfOtherUser() {
+        // Given
+        User otherUser = userRepository.saveAndFlush(createOtherTestUser());
+        String token = getSyncChangesUseCase.execute(otherUser, null).token();
+
+        // When / Then
+        assertThatThrownBy(() -> getSyncChangesUseCase.execute(testUser, token))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid sync token");
+        assertThatThrownBy(() -> getSyncChangesUseCase.execute(testUser, "not-a-token"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private TimeEntry createTimeEntry(LocalDate date) {
+        return TimeEntry.builder()
+                .user(testUser)
+                .entryDate(date)
+                .clockIn(date.atTime(9, 0))
+                .clockOut(date.atTime(17, 0))
+                .entryType(EntryType.WORK)
+                .build();
+    }
+}
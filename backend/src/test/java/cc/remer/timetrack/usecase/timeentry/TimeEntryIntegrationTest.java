@@ -3,9 +3,11 @@ package cc.remer.timetrack.usecase.timeentry;
 import cc.remer.timetrack.adapter.persistence.RepositoryTestBase;
 import cc.remer.timetrack.domain.timeentry.EntryType;
 import cc.remer.timetrack.domain.timeentry.TimeEntry;
+import cc.remer.timetrack.domain.timeentry.TimeEntryFilter;
 import cc.remer.timetrack.domain.user.User;
 import cc.remer.timetrack.usecase.timeentry.model.DailySummary;
 import cc.remer.timetrack.usecase.timeentry.model.DailySummaryStatus;
+import cc.remer.timetrack.usecase.timeentry.model.TimeEntryPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -35,6 +37,9 @@ class TimeEntryIntegrationTest extends RepositoryTestBase {
     @Autowired
     private GetDailySummaryUseCase getDailySummaryUseCase;
 
+    @Autowired
+    private CreateTimeEntryUseCase createTimeEntryUseCase;
+
     @Autowired
     private UpdateTimeEntryUseCase updateTimeEntryUseCase;
 
@@ -149,6 +154,22 @@ class TimeEntryIntegrationTest extends RepositoryTestBase {
         assertThat(clockedOut.getNotes()).isEqualTo("Updated notes");
     }
 
+    @Test
+    @DisplayName("Should keep notes when clocking out without notes")
+    void shouldKeepNotesWhenClockingOutWithoutNotes() {
+        // Arrange
+        TimeEntry clockedIn = clockInUseCase.execute(testUser, "Initial notes");
+
+        // Act
+        TimeEntry clockedOut = clockOutUseCase.execute(testUser, null);
+
+        // Assert
+        assertThat(clockedOut.getId()).isEqualTo(clockedIn.getId());
+        assertThat(clockedOut.getNotes()).isEqualTo("Initial notes");
+        assertThat(clockedOut.isActive()).isFalse();
+        assertThat(timeEntryRepository.findByUserIdAndClockOutIsNull(testUser.getId())).isEmpty();
+    }
+
     // ===== Get Time Entries Tests =====
 
     @Test
@@ -160,7 +181,7 @@ class TimeEntryIntegrationTest extends RepositoryTestBase {
         createCompletedEntry(testUser, LocalDate.now(), 8.0);
 
         // Act
-        List<TimeEntry> entries = getTimeEntriesUseCase.execute(testUser, null, null);
+        List<TimeEntry> entries = getTimeEntriesUseCase.execute(testUser, TimeEntryFilter.between(null, null), null, null).entries();
 
         // Assert
         assertThat(entries).hasSize(3);
@@ -180,7 +201,7 @@ class TimeEntryIntegrationTest extends RepositoryTestBase {
         createCompletedEntry(testUser, endDate.plusDays(1), 8.0); // Outside range
 
         // Act
-        List<TimeEntry> entries = getTimeEntriesUseCase.execute(testUser, startDate, endDate);
+        List<TimeEntry> entries = getTimeEntriesUseCase.execute(testUser, TimeEntryFilter.between(startDate, endDate), null, null).entries();
 
         // Assert
         assertThat(entries).hasSize(3);
@@ -195,7 +216,7 @@ class TimeEntryIntegrationTest extends RepositoryTestBase {
         createCompletedEntry(testUser, LocalDate.now(), 8.0);
 
         // Act
-        List<TimeEntry> entries = getTimeEntriesUseCase.execute(testUser, null, null);
+        List<TimeEntry> entries = getTimeEntriesUseCase.execute(testUser, TimeEntryFilter.between(null, null), null, null).entries();
 
         // Assert
         assertThat(entries).hasSize(3);
@@ -212,13 +233,83 @@ class TimeEntryIntegrationTest extends RepositoryTestBase {
         createCompletedEntry(otherUser, LocalDate.now(), 8.0);
 
         // Act
-        List<TimeEntry> entries = getTimeEntriesUseCase.execute(testUser, null, null);
+        List<TimeEntry> entries = getTimeEntriesUseCase.execute(testUser, TimeEntryFilter.between(null, null), null, null).entries();
 
         // Assert
         assertThat(entries).hasSize(1);
         assertThat(entries.get(0).getUser().getId()).isEqualTo(testUser.getId());
     }
 
+    @Test
+    @DisplayName("Should page through entries with a continuation token")
+    void shouldPageThroughEntries() {
+        // Arrange: Two entries on the same day, a page boundary falls between them
+        LocalDate today = LocalDate.now();
+        for (int i = 1; i <= 4; i++) {
+            createCompletedEntry(testUser, today.minusDays(i), 8.0);
+        }
+        TimeEntry evening = timeEntryRepository.saveAndFlush(TimeEntry.builder()
+                .user(testUser)
+                .entryDate(today.minusDays(2))
+                .clockIn(today.minusDays(2).atTime(17, 0))
+                .clockOut(today.minusDays(2).atTime(18, 0))
+                .entryType(EntryType.WORK)
+                .build());
+        createCompletedEntry(otherUser, today.minusDays(1), 8.0);
+
+        // Act
+        TimeEntryPage first = getTimeEntriesUseCase.execute(testUser, TimeEntryFilter.between(null, null), null, 2);
+        TimeEntryPage second = getTimeEntriesUseCase.execute(testUser, TimeEntryFilter.between(null, null), first.nextCursor(), 2);
+        TimeEntryPage third = getTimeEntriesUseCase.execute(testUser, TimeEntryFilter.between(null, null), second.nextCursor(), 2);
+
+        // Assert
+        assertThat(first.entries()).extracting(TimeEntry::getEntryDate)
+                .containsExactly(today.minusDays(1), today.minusDays(2));
+        assertThat(second.entries()).extracting(TimeEntry::getEntryDate)
+                .containsExactly(today.minusDays(2), today.minusDays(3));
+        assertThat(first.entries().get(1).getId()).isEqualTo(evening.getId());
+        assertThat(second.entries().get(0).getClockIn()).isEqualTo(today.minusDays(2).atTime(8, 0));
+        assertThat(third.entries()).extracting(TimeEntry::getEntryDate).containsExactly(today.minusDays(4));
+        assertThat(third.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should filter entries by notes")
+    void shouldFilterEntriesByNotes() {
+        // Arrange
+        TimeEntry withNotes = createCompletedEntry(testUser, LocalDate.now().minusDays(2), 8.0);
+        withNotes.setNotes("Kundentermin");
+        timeEntryRepository.saveAndFlush(withNotes);
+        TimeEntry blankNotes = createCompletedEntry(testUser, LocalDate.now().minusDays(1), 8.0);
+        blankNotes.setNotes("  ");
+        timeEntryRepository.saveAndFlush(blankNotes);
+        createCompletedEntry(testUser, LocalDate.now(), 8.0);
+
+        // Act
+        List<TimeEntry> noted = getTimeEntriesUseCase.execute(testUser,
+                new TimeEntryFilter(null, null, EntryType.WORK, true), null, null).entries();
+        List<TimeEntry> unnoted = getTimeEntriesUseCase.execute(testUser,
+                new TimeEntryFilter(null, null, null, false), null, null).entries();
+
+        // Assert
+        assertThat(noted).extracting(TimeEntry::getId).containsExactly(withNotes.getId());
+        assertThat(unnoted).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid cursors and limits")
+    void shouldRejectInvalidCursorsAndLimits() {
+        TimeEntryFilter filter = TimeEntryFilter.between(null, null);
+
+        assertThatThrownBy(() -> getTimeEntriesUseCase.execute(testUser, filter, "not-a-cursor", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> getTimeEntriesUseCase.execute(testUser, filter, null, 501))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> getTimeEntriesUseCase.execute(testUser, filter, null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     // ===== Get Daily Summary Tests =====
 
     @Test
@@ -316,7 +407,13 @@ class TimeEntryIntegrationTest extends RepositoryTestBase {
         // Arrange
         LocalDate today = LocalDate.now();
         createCompletedEntry(testUser, today, 4.0);
-        createCompletedEntry(testUser, today, 4.0);
+        timeEntryRepository.saveAndFlush(TimeEntry.builder()
+                .user(testUser)
+                .entryDate(today)
+                .clockIn(today.atTime(13, 0))
+                .clockOut(today.atTime(17, 0))
+                .entryType(EntryType.WORK)
+                .build());
 
         // Act
         List<DailySummary> summaries = getDailySummaryUseCase.execute(
@@ -369,6 +466,57 @@ class TimeEntryIntegrationTest extends RepositoryTestBase {
         assertThat(updated.getHoursWorked()).isEqualTo(7.5); // 8h - 0.5h break = 7.5h
     }
 
+    @Test
+    @DisplayName("Should fail to update entry so that it overlaps another entry")
+    void shouldFailToUpdateIntoOverlap() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        createCompletedEntry(testUser, today, 4.0);
+        TimeEntry afternoon = timeEntryRepository.saveAndFlush(TimeEntry.builder()
+                .user(testUser)
+                .entryDate(today)
+                .clockIn(today.atTime(13, 0))
+                .clockOut(today.atTime(17, 0))
+                .entryType(EntryType.WORK)
+                .build());
+
+        // Act & Assert
+        assertThatThrownBy(() -> updateTimeEntryUseCase.execute(
+                testUser, afternoon.getId(), today.atTime(11, 0), today.atTime(17, 0), 0, EntryType.WORK, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Time entry overlaps with existing entry from "
+                        + today.atTime(8, 0) + " to " + today.atTime(12, 0));
+    }
+
+    @Test
+    @DisplayName("Should fail to create entry overlapping another entry, naming that entry")
+    void shouldFailToCreateOverlappingEntry() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        createCompletedEntry(testUser, today, 4.0);
+
+        // Act & Assert
+        assertThatThrownBy(() -> createTimeEntryUseCase.execute(
+                testUser, today.atTime(11, 0), today.atTime(14, 0), 0, EntryType.WORK, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Time entry overlaps with existing entry from "
+                        + today.atTime(8, 0) + " to " + today.atTime(12, 0));
+    }
+
+    @Test
+    @DisplayName("Should fail to create entry while an active session exists")
+    void shouldFailToCreateEntryWhileActiveSessionExists() {
+        // Arrange
+        clockInUseCase.execute(testUser, null);
+        LocalDate lastWeek = LocalDate.now().minusDays(7);
+
+        // Act & Assert: Even without overlapping the session
+        assertThatThrownBy(() -> createTimeEntryUseCase.execute(
+                testUser, lastWeek.atTime(8, 0), lastWeek.atTime(12, 0), 0, EntryType.WORK, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cannot create manual entry while an active session exists. Please clock out first.");
+    }
+
     @Test
     @DisplayName("Should fail to update non-existent entry")
     void shouldFailToUpdateNonExistentEntry() {
@@ -459,6 +607,7 @@ class TimeEntryIntegrationTest extends RepositoryTestBase {
                 .entryType(EntryType.WORK)
                 .build();
 
-        return timeEntryRepository.save(entry);
+        // Flushed so the entries are visible to queries that bypass the persistence context
+        return timeEntryRepository.saveAndFlush(entry);
     }
 }
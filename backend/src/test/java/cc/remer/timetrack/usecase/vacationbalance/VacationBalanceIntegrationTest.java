@@ -2,24 +2,37 @@ package cc.remer.timetrack.usecase.vacationbalance;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import cc.remer.timetrack.adapter.persistence.RepositoryTestBase;
+import cc.remer.timetrack.api.model.CreateRecurringOffDayRequest;
 import cc.remer.timetrack.api.model.CreateTimeOffRequest;
+import cc.remer.timetrack.api.model.ErrorResponse;
 import cc.remer.timetrack.api.model.TimeOffResponse;
+import cc.remer.timetrack.api.model.UpdateTimeOffRequest;
 import cc.remer.timetrack.api.model.UpdateVacationBalanceRequest;
 import cc.remer.timetrack.api.model.VacationBalanceResponse;
 import cc.remer.timetrack.domain.user.GermanState;
 import cc.remer.timetrack.domain.user.Role;
 import cc.remer.timetrack.domain.user.User;
+import cc.remer.timetrack.domain.vacationbalance.VacationBalance;
+import cc.remer.timetrack.exception.GlobalExceptionHandler;
+import cc.remer.timetrack.usecase.recurringoffday.CreateRecurringOffDay;
 import cc.remer.timetrack.usecase.timeoff.CreateTimeOff;
 import cc.remer.timetrack.usecase.timeoff.DeleteTimeOff;
+import cc.remer.timetrack.usecase.timeoff.UpdateTimeOff;
 
 /**
  * Integration tests for vacation balance use cases.
@@ -39,6 +52,18 @@ class VacationBalanceIntegrationTest extends RepositoryTestBase {
     @Autowired
     private DeleteTimeOff deleteTimeOff;
 
+    @Autowired
+    private UpdateTimeOff updateTimeOff;
+
+    @Autowired
+    private CreateRecurringOffDay createRecurringOffDay;
+
+    @Autowired
+    private VacationBalanceService vacationBalanceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private User testUser;
 
     @BeforeEach
@@ -52,6 +77,33 @@ class VacationBalanceIntegrationTest extends RepositoryTestBase {
         createDefaultWorkingHours(testUser);
     }
 
+    @Test
+    @DisplayName("Should reject a time-off change with 409 when the balance was changed concurrently")
+    void shouldRejectConcurrentBalanceChange() {
+        // Arrange: The balance is loaded, then another transaction changes and commits it
+        VacationBalance balance = createVacationBalance(testUser, 2025);
+        vacationBalanceRepository.flush();
+        jdbcTemplate.update("UPDATE vacation_balance SET version = version + 1 WHERE id = ?", balance.getId());
+
+        CreateTimeOffRequest vacation = new CreateTimeOffRequest();
+        vacation.setStartDate(LocalDate.of(2025, 3, 10));
+        vacation.setEndDate(LocalDate.of(2025, 3, 14));
+        vacation.setTimeOffType(CreateTimeOffRequest.TimeOffTypeEnum.VACATION);
+
+        // Act
+        Throwable thrown = catchThrowable(() -> {
+            createTimeOff.execute(testUser.getId(), vacation);
+            vacationBalanceRepository.flush();
+        });
+
+        // Assert
+        assertThat(thrown).isInstanceOf(OptimisticLockingFailureException.class);
+        ResponseEntity<ErrorResponse> response = new GlobalExceptionHandler()
+                .handleOptimisticLockingFailure((RuntimeException) thrown);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody().getCode()).isEqualTo("CONCURRENT_MODIFICATION");
+    }
+
     @Test
     @DisplayName("Should get vacation balance for current year")
     void shouldGetVacationBalanceForCurrentYear() {
@@ -103,12 +155,12 @@ class VacationBalanceIntegrationTest extends RepositoryTestBase {
     }
 
     @Test
-    @DisplayName("Should auto-create vacation balance if not exists")
-    void shouldAutoCreateVacationBalanceIfNotExists() {
+    @DisplayName("Should return default vacation balance if not exists")
+    void shouldReturnDefaultVacationBalanceIfNotExists() {
         // Act - Request balance for 2024 which doesn't exist yet
         VacationBalanceResponse response = getVacationBalance.execute(testUser.getId(), 2024);
 
-        // Assert - Should create a new balance with defaults
+        // Assert - Should return a balance with defaults
         assertThat(response).isNotNull();
         assertThat(response.getYear()).isEqualTo(2024);
         assertThat(response.getAnnualAllowanceDays()).isEqualTo(30.0);
@@ -826,6 +878,101 @@ class VacationBalanceIntegrationTest extends RepositoryTestBase {
         assertThat(balance.getRemainingDays()).isEqualTo(25.5); // 30 - 4.5 = 25.5
     }
 
+    // ==================== Incremental Balance Tests ====================
+
+    @Test
+    @DisplayName("Should not persist anything when reading a balance")
+    void shouldNotPersistWhenReadingBalance() {
+        // Act
+        VacationBalanceResponse response = getVacationBalance.execute(testUser.getId(), 2024);
+
+        // Assert - Defaults are returned without creating a balance
+        assertThat(response.getId()).isNull();
+        assertThat(response.getRemainingDays()).isEqualTo(30.0);
+        assertThat(vacationBalanceRepository.existsByUserIdAndYear(testUser.getId(), 2024)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should store vacation days per entry and apply them as deltas")
+    void shouldStoreVacationDaysAndApplyDeltas() {
+        // Arrange - March 10-14, 2025: Mon-Fri = 5 working days
+        CreateTimeOffRequest request = new CreateTimeOffRequest();
+        request.setStartDate(LocalDate.of(2025, 3, 10));
+        request.setEndDate(LocalDate.of(2025, 3, 14));
+        request.setTimeOffType(CreateTimeOffRequest.TimeOffTypeEnum.VACATION);
+
+        // Act
+        TimeOffResponse timeOff = createTimeOff.execute(testUser.getId(), request);
+        VacationBalance afterCreate = vacationBalanceRepository.findByUserIdAndYear(testUser.getId(), 2025).orElseThrow();
+        Long versionAfterCreate = afterCreate.getVersion();
+
+        UpdateTimeOffRequest update = new UpdateTimeOffRequest();
+        update.setEndDate(LocalDate.of(2025, 3, 12));
+        updateTimeOff.execute(testUser.getId(), timeOff.getId(), update);
+        vacationBalanceRepository.flush();
+
+        // Assert
+        assertThat(timeOffRepository.findById(timeOff.getId()).orElseThrow().getVacationDays())
+                .isEqualByComparingTo("3.0");
+        VacationBalance afterUpdate = vacationBalanceRepository.findByUserIdAndYear(testUser.getId(), 2025).orElseThrow();
+        assertThat(afterUpdate.getPlannedDays()).isEqualByComparingTo("3.0");
+        assertThat(afterUpdate.getUsedDays()).isEqualByComparingTo("3.0");
+        assertThat(afterUpdate.getUsedThrough()).isEqualTo(LocalDate.of(2025, 8, 1));
+        assertThat(afterUpdate.getVersion()).isGreaterThan(versionAfterCreate);
+    }
+
+    @Test
+    @DisplayName("Should recount vacation when a recurring off-day is added afterwards")
+    void shouldRecountVacationWhenRecurringOffDayIsAdded() {
+        // Arrange - Jan 6-9, 2025 (Mon-Thu) = 4 working days
+        CreateTimeOffRequest request = new CreateTimeOffRequest();
+        request.setStartDate(LocalDate.of(2025, 1, 6));
+        request.setEndDate(LocalDate.of(2025, 1, 9));
+        request.setTimeOffType(CreateTimeOffRequest.TimeOffTypeEnum.VACATION);
+        createTimeOff.execute(testUser.getId(), request);
+
+        // Act - Every other Monday off starting Jan 6
+        CreateRecurringOffDayRequest offDay = new CreateRecurringOffDayRequest();
+        offDay.setRecurrencePattern(CreateRecurringOffDayRequest.RecurrencePatternEnum.EVERY_NTH_WEEK);
+        offDay.setWeekday(1);
+        offDay.setWeekInterval(2);
+        offDay.setReferenceDate(LocalDate.of(2025, 1, 6));
+        offDay.setStartDate(LocalDate.of(2025, 1, 1));
+        createRecurringOffDay.execute(testUser.getId(), offDay);
+
+        // Assert - Jan 6 no longer counts
+        VacationBalanceResponse balance = getVacationBalance.execute(testUser.getId(), 2025);
+        assertThat(balance.getPlannedDays()).isEqualTo(3.0);
+        assertThat(balance.getUsedDays()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Should include vacation ended since the last roll-forward")
+    void shouldIncludeVacationEndedSinceLastRollForward() {
+        // Arrange - July 7-11, 2025 = 5 working days, balance last rolled forward before it ended
+        CreateTimeOffRequest request = new CreateTimeOffRequest();
+        request.setStartDate(LocalDate.of(2025, 7, 7));
+        request.setEndDate(LocalDate.of(2025, 7, 11));
+        request.setTimeOffType(CreateTimeOffRequest.TimeOffTypeEnum.VACATION);
+        createTimeOff.execute(testUser.getId(), request);
+
+        VacationBalance balance = vacationBalanceRepository.findByUserIdAndYear(testUser.getId(), 2025).orElseThrow();
+        balance.setUsedDays(BigDecimal.ZERO);
+        balance.setUsedThrough(LocalDate.of(2025, 7, 1));
+        vacationBalanceRepository.saveAndFlush(balance);
+
+        // Act & Assert - Reads correct the used days without storing them
+        assertThat(getVacationBalance.execute(testUser.getId(), 2025).getUsedDays()).isEqualTo(5.0);
+        assertThat(vacationBalanceRepository.findByUserIdAndYear(testUser.getId(), 2025).orElseThrow().getUsedDays())
+                .isEqualByComparingTo(BigDecimal.ZERO);
+
+        // Act & Assert - Roll-forward stores them
+        vacationBalanceService.rollForwardUsedDays();
+        VacationBalance rolledForward = vacationBalanceRepository.findByUserIdAndYear(testUser.getId(), 2025).orElseThrow();
+        assertThat(rolledForward.getUsedDays()).isEqualByComparingTo("5.0");
+        assertThat(rolledForward.getUsedThrough()).isEqualTo(LocalDate.of(2025, 8, 1));
+    }
+
     // ==================== Authorization Tests ====================
 
     @Test
@@ -0,0 +1,100 @@
+package cc.remer.timetrack.usecase.vacationbalance;
+
+import cc.remer.timetrack.domain.timeoff.TimeOff;
+import cc.remer.timetrack.domain.timeoff.TimeOffType;
+import cc.remer.timetrack.domain.workinghours.WorkingHours;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for WorkingDayCalendar.
+ */
+@DisplayName("Working Day Calendar Tests")
+class WorkingDayCalendarTest {
+
+    private List<WorkingHours> standardWorkingHours;
+
+    @BeforeEach
+    void setUp() {
+        // Standard Mon-Fri working hours
+        standardWorkingHours = new ArrayList<>();
+        for (short weekday = 1; weekday <= 7; weekday++) {
+            boolean isWorkingDay = weekday <= 5;
+            standardWorkingHours.add(WorkingHours.builder()
+                    .weekday(weekday)
+                    .isWorkingDay(isWorkingDay)
+                    .hours(isWorkingDay ? new BigDecimal("8.00") : BigDecimal.ZERO)
+                    .build());
+        }
+    }
+
+    @Test
+    @DisplayName("Counts configured working days of a whole year")
+    void shouldCountWorkingDaysOfWholeYear() {
+        // Given: 2025 has 261 weekdays (Mon-Fri)
+        WorkingDayCalendar calendar = WorkingDayCalendar.compile(
+                2025, standardWorkingHours, List.of(), false, new int[0], List.of());
+
+        // When
+        BigDecimal result = calendar.countWorkingDays(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), true);
+
+        // Then
+        assertThat(result).isEqualByComparingTo(new BigDecimal("261"));
+    }
+
+    @Test
+    @DisplayName("Applies every layer with the documented precedence")
+    void shouldApplyAllLayers() {
+        // Given: Dec 22-31, 2025 with Christmas holidays, half-days, a recurring off-day on Dec 29
+        // and a sick day on Dec 30
+        TimeOff sickDay = TimeOff.builder()
+                .startDate(LocalDate.of(2025, 12, 30))
+                .endDate(LocalDate.of(2025, 12, 30))
+                .timeOffType(TimeOffType.SICK)
+                .build();
+        WorkingDayCalendar calendar = WorkingDayCalendar.compile(
+                2025,
+                standardWorkingHours,
+                List.of(LocalDate.of(2025, 12, 25), LocalDate.of(2025, 12, 26)),
+                true,
+                new int[]{(int) LocalDate.of(2025, 12, 29).toEpochDay()},
+                List.of(sickDay));
+
+        // When
+        BigDecimal vacationDays = calendar.countWorkingDays(LocalDate.of(2025, 12, 22), LocalDate.of(2025, 12, 31), true);
+        BigDecimal withRecurringOffDays = calendar.countWorkingDays(LocalDate.of(2025, 12, 22), LocalDate.of(2025, 12, 31), false);
+
+        // Then: Dec 22 (1.0) + Dec 23 (1.0) + Dec 24 (0.5) + Dec 31 (0.5) = 3.0
+        assertThat(vacationDays).isEqualByComparingTo(new BigDecimal("3.0"));
+        // Dec 29 counts again when recurring off-days are not excluded
+        assertThat(withRecurringOffDays).isEqualByComparingTo(new BigDecimal("4.0"));
+        assertThat(calendar.isWorkingDay(LocalDate.of(2025, 12, 30), false)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Clamps ranges to the calendar year")
+    void shouldClampRangeToYear() {
+        // Given
+        WorkingDayCalendar calendar = WorkingDayCalendar.compile(
+                2025, standardWorkingHours, List.of(), false, new int[0], List.of());
+
+        // When: Dec 29, 2025 - Jan 9, 2026
+        BigDecimal result = calendar.countWorkingDays(LocalDate.of(2025, 12, 29), LocalDate.of(2026, 1, 9), true);
+
+        // Then: only Dec 29-31 are within the calendar
+        assertThat(result).isEqualByComparingTo(new BigDecimal("3"));
+        assertThat(calendar.countWorkingDays(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 9), true))
+                .isEqualByComparingTo(BigDecimal.ZERO);
+        assertThatThrownBy(() -> calendar.isWorkingDay(LocalDate.of(2026, 1, 2), true))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
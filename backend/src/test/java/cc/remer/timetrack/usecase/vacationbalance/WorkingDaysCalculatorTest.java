@@ -1,6 +1,5 @@
 package cc.remer.timetrack.usecase.vacationbalance;
 
-import cc.remer.timetrack.adapter.persistence.RecurringOffDayRepository;
 import cc.remer.timetrack.adapter.persistence.TimeOffRepository;
 import cc.remer.timetrack.adapter.persistence.UserRepository;
 import cc.remer.timetrack.adapter.persistence.WorkingHoursRepository;
@@ -10,6 +9,7 @@ import cc.remer.timetrack.domain.user.Role;
 import cc.remer.timetrack.domain.user.User;
 import cc.remer.timetrack.domain.workinghours.WorkingHours;
 import cc.remer.timetrack.usecase.recurringoffday.RecurringOffDayEvaluator;
+import cc.remer.timetrack.usecase.recurringoffday.RecurringOffDaySchedule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -24,9 +24,13 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -39,9 +43,6 @@ class WorkingDaysCalculatorTest {
     @Mock
     private WorkingHoursRepository workingHoursRepository;
 
-    @Mock
-    private RecurringOffDayRepository recurringOffDayRepository;
-
     @Mock
     private TimeOffRepository timeOffRepository;
 
@@ -64,7 +65,6 @@ class WorkingDaysCalculatorTest {
     void setUp() {
         calculator = new WorkingDaysCalculator(
                 workingHoursRepository,
-                recurringOffDayRepository,
                 timeOffRepository,
                 userRepository,
                 germanPublicHolidays,
@@ -110,9 +110,10 @@ class WorkingDaysCalculatorTest {
         }
 
         // Default mock behavior (lenient to avoid unnecessary stubbing errors)
-        lenient().when(recurringOffDayRepository.findByUserId(anyLong())).thenReturn(List.of());
+        lenient().when(recurringOffDayEvaluator.buildSchedule(anyLong(), any(LocalDate.class), any(LocalDate.class)))
+                .thenAnswer(invocation -> RecurringOffDaySchedule.empty(invocation.getArgument(1), invocation.getArgument(2)));
         lenient().when(timeOffRepository.findByUserIdAndDateRange(anyLong(), any(), any())).thenReturn(List.of());
-        lenient().when(germanPublicHolidays.isPublicHoliday(any(), any())).thenReturn(false);
+        lenient().when(germanPublicHolidays.getPublicHolidays(anyInt(), any())).thenReturn(List.of());
     }
 
     @Test
@@ -122,8 +123,9 @@ class WorkingDaysCalculatorTest {
         // Dec 23 (Tue) = 1.0, Dec 24 (Wed) = 0.5, Dec 25 (Thu) = 0 (Christmas), Dec 26 (Fri) = 0 (2nd Christmas Day), Dec 27 (Sat) = 0 (weekend)
         when(userRepository.findById(1L)).thenReturn(Optional.of(userWithHalfDayHolidays));
         when(workingHoursRepository.findByUserId(1L)).thenReturn(standardWorkingHours);
-        when(germanPublicHolidays.isPublicHoliday(LocalDate.of(2025, 12, 25), GermanState.BERLIN)).thenReturn(true); // Christmas
-        when(germanPublicHolidays.isPublicHoliday(LocalDate.of(2025, 12, 26), GermanState.BERLIN)).thenReturn(true); // 2nd Christmas Day
+        when(germanPublicHolidays.getPublicHolidays(2025, GermanState.BERLIN)).thenReturn(List.of(
+                LocalDate.of(2025, 12, 25), // Christmas
+                LocalDate.of(2025, 12, 26))); // 2nd Christmas Day
 
         // When
         BigDecimal result = calculator.calculateWorkingDays(
@@ -144,7 +146,7 @@ class WorkingDaysCalculatorTest {
         // Dec 30 (Tue) = 1.0, Dec 31 (Wed) = 0.5, Jan 1 (Thu) = 0 (New Year), Jan 2 (Fri) = 1.0
         when(userRepository.findById(1L)).thenReturn(Optional.of(userWithHalfDayHolidays));
         when(workingHoursRepository.findByUserId(1L)).thenReturn(standardWorkingHours);
-        when(germanPublicHolidays.isPublicHoliday(LocalDate.of(2026, 1, 1), GermanState.BERLIN)).thenReturn(true); // New Year
+        when(germanPublicHolidays.getPublicHolidays(2026, GermanState.BERLIN)).thenReturn(List.of(LocalDate.of(2026, 1, 1))); // New Year
 
         // When
         BigDecimal result = calculator.calculateWorkingDays(
@@ -202,8 +204,9 @@ class WorkingDaysCalculatorTest {
         // Given: User WITHOUT half-day holidays enabled, vacation Dec 23-27, 2025
         when(userRepository.findById(2L)).thenReturn(Optional.of(userWithoutHalfDayHolidays));
         when(workingHoursRepository.findByUserId(2L)).thenReturn(standardWorkingHours);
-        when(germanPublicHolidays.isPublicHoliday(LocalDate.of(2025, 12, 25), GermanState.BERLIN)).thenReturn(true);
-        when(germanPublicHolidays.isPublicHoliday(LocalDate.of(2025, 12, 26), GermanState.BERLIN)).thenReturn(true);
+        when(germanPublicHolidays.getPublicHolidays(2025, GermanState.BERLIN)).thenReturn(List.of(
+                LocalDate.of(2025, 12, 25),
+                LocalDate.of(2025, 12, 26)));
 
         // When
         BigDecimal result = calculator.calculateWorkingDays(
@@ -261,7 +264,7 @@ class WorkingDaysCalculatorTest {
         // Given: User with half-day holidays enabled, Dec 24 is a public holiday
         when(userRepository.findById(1L)).thenReturn(Optional.of(userWithHalfDayHolidays));
         when(workingHoursRepository.findByUserId(1L)).thenReturn(standardWorkingHours);
-        when(germanPublicHolidays.isPublicHoliday(LocalDate.of(2025, 12, 24), GermanState.BERLIN)).thenReturn(true);
+        when(germanPublicHolidays.getPublicHolidays(2025, GermanState.BERLIN)).thenReturn(List.of(LocalDate.of(2025, 12, 24)));
 
         // When
         BigDecimal result = calculator.calculateWorkingDays(
@@ -283,8 +286,9 @@ class WorkingDaysCalculatorTest {
         // Dec 25-28 = holidays/weekend, Dec 29 (Mon) = 1.0, Dec 30 (Tue) = 1.0, Dec 31 (Wed) = 0.5
         when(userRepository.findById(1L)).thenReturn(Optional.of(userWithHalfDayHolidays));
         when(workingHoursRepository.findByUserId(1L)).thenReturn(standardWorkingHours);
-        when(germanPublicHolidays.isPublicHoliday(LocalDate.of(2025, 12, 25), GermanState.BERLIN)).thenReturn(true); // Christmas
-        when(germanPublicHolidays.isPublicHoliday(LocalDate.of(2025, 12, 26), GermanState.BERLIN)).thenReturn(true); // 2nd Christmas Day
+        when(germanPublicHolidays.getPublicHolidays(2025, GermanState.BERLIN)).thenReturn(List.of(
+                LocalDate.of(2025, 12, 25), // Christmas
+                LocalDate.of(2025, 12, 26))); // 2nd Christmas Day
 
         // When
         BigDecimal result = calculator.calculateWorkingDays(
@@ -333,4 +337,54 @@ class WorkingDaysCalculatorTest {
         // Then: 0 days
         assertThat(result).isEqualByComparingTo(BigDecimal.ZERO);
     }
+
+    @Test
+    @DisplayName("Calculation context loads inputs once and counts entries across years")
+    void testContextReusedAcrossEntries() {
+        // Given: User with half-day holidays enabled, context covering 2025 and 2026
+        when(userRepository.findById(1L)).thenReturn(Optional.of(userWithHalfDayHolidays));
+        when(workingHoursRepository.findByUserId(1L)).thenReturn(standardWorkingHours);
+        when(germanPublicHolidays.getPublicHolidays(2025, GermanState.BERLIN))
+                .thenReturn(List.of(LocalDate.of(2025, 12, 25), LocalDate.of(2025, 12, 26)));
+        when(germanPublicHolidays.getPublicHolidays(2026, GermanState.BERLIN))
+                .thenReturn(List.of(LocalDate.of(2026, 1, 1))); // New Year
+
+        WorkingDaysContext context = calculator.createContext(1L, LocalDate.of(2025, 10, 20), LocalDate.of(2026, 1, 2));
+
+        // When: Counting three entries with the same context
+        BigDecimal october = context.countWorkingDays(LocalDate.of(2025, 10, 20), LocalDate.of(2025, 10, 24));
+        BigDecimal turnOfYear = context.countWorkingDays(LocalDate.of(2025, 12, 29), LocalDate.of(2026, 1, 2));
+        BigDecimal christmas = context.countWorkingDays(LocalDate.of(2025, 12, 22), LocalDate.of(2025, 12, 24));
+
+        // Then: Counts match the single-entry calculation, holidays of both years included
+        assertThat(october).isEqualByComparingTo(new BigDecimal("5.0"));
+        // Dec 29 (1.0) + Dec 30 (1.0) + Dec 31 (0.5) + Jan 1 (0, New Year) + Jan 2 (1.0) = 3.5 days
+        assertThat(turnOfYear).isEqualByComparingTo(new BigDecimal("3.5"));
+        // Dec 22 (1.0) + Dec 23 (1.0) + Dec 24 (0.5) = 2.5 days
+        assertThat(christmas).isEqualByComparingTo(new BigDecimal("2.5"));
+
+        // And: Every input was loaded exactly once, holidays once per year
+        verify(germanPublicHolidays, times(1)).getPublicHolidays(2025, GermanState.BERLIN);
+        verify(germanPublicHolidays, times(1)).getPublicHolidays(2026, GermanState.BERLIN);
+        verify(userRepository, times(1)).findById(1L);
+        verify(workingHoursRepository, times(1)).findByUserId(1L);
+        verify(recurringOffDayEvaluator, times(1))
+                .buildSchedule(1L, LocalDate.of(2025, 1, 1), LocalDate.of(2026, 12, 31));
+        verify(timeOffRepository, times(1))
+                .findByUserIdAndDateRange(1L, LocalDate.of(2025, 1, 1), LocalDate.of(2026, 12, 31));
+    }
+
+    @Test
+    @DisplayName("Calculation context rejects ranges outside its years")
+    void testContextRejectsRangeOutsideYears() {
+        // Given: Context covering 2025 only
+        when(userRepository.findById(1L)).thenReturn(Optional.of(userWithHalfDayHolidays));
+        when(workingHoursRepository.findByUserId(1L)).thenReturn(standardWorkingHours);
+
+        WorkingDaysContext context = calculator.createContext(1L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31));
+
+        // When / Then
+        assertThatThrownBy(() -> context.countWorkingDays(LocalDate.of(2025, 12, 29), LocalDate.of(2026, 1, 2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
 }
@@ -0,0 +1,108 @@
+import { getAccessToken } from './client'
+
+/**
+ * A change announced on the event stream of the current user.
+ * `resync` means events were missed and all data should be reloaded.
+ */
+export interface UserEvent {
+  name: string
+  startDate?: string | null
+  endDate?: string | null
+}
+
+const MIN_RETRY_DELAY = 1000
+const MAX_RETRY_DELAY = 30000
+
+/**
+ * Open the server-sent event stream of the current user and reopen it whenever it closes.
+ * Uses fetch instead of EventSource, as EventSource can't send the Authorization header.
+ * After reopening, a `resync` event is emitted since changes may have been missed meanwhile.
+ * Returns a function closing the stream for good.
+ */
+export function openUserEventStream(onEvent: (event: UserEvent) => void): () => void {
+  const controller = new AbortController()
+
+  const run = async () => {
+    let retryDelay = MIN_RETRY_DELAY
+    let connected = false
+
+    while (!controller.signal.aborted) {
+      try {
+        const token = getAccessToken()
+        if (!token) return
+
+        const response = await fetch(`${import.meta.env.VITE_API_BASE_URL ?? ''}/api/events`, {
+          headers: { Accept: 'text/event-stream', Authorization: `Bearer ${token}` },
+          signal: controller.signal
+        })
+
+        if (response.status === 401) {
+          // Import dynamically to avoid circular dependency
+          const { useAuth } = await import('@/composables/useAuth')
+          await useAuth().refreshAccessToken()
+          continue
+        }
+        if (!response.ok || !response.body) {
+          throw new Error(`Event stream failed with status ${response.status}`)
+        }
+
+        if (connected) {
+          onEvent({ name: 'resync' })
+        }
+        connected = true
+        retryDelay = MIN_RETRY_DELAY
+
+        await readEvents(response.body, onEvent)
+      } catch (error) {
+        if (controller.signal.aborted) return
+        // Refreshing the token failed, the user is being logged out
+        if (error instanceof Error && error.message === 'No refresh token available') return
+        console.debug('Event stream interrupted', error)
+      }
+
+      if (controller.signal.aborted) return
+      await new Promise(resolve => setTimeout(resolve, retryDelay))
+      retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY)
+    }
+  }
+
+  run()
+  return () => controller.abort()
+}
+
+/**
+ * Parse the events of a stream until it ends. Comment lines (heartbeats) are skipped.
+ */
+async function readEvents(body: ReadableStream<Uint8Array>, onEvent: (event: UserEvent) => void) {
+  const reader = body.getReader()
+  const decoder = new TextDecoder()
+  let buffer = ''
+
+  while (true) {
+    const { done, value } = await reader.read()
+    if (done) return
+    buffer += decoder.decode(value, { stream: true })
+
+    const blocks = buffer.split(/\r?\n\r?\n/)
+    buffer = blocks.pop() ?? ''
+
+    for (const block of blocks) {
+      let name = 'message'
+      const data: string[] = []
+      for (const line of block.split(/\r?\n/)) {
+        if (line.startsWith('event:')) {
+          name = line.slice(6).trim()
+        } else if (line.startsWith('data:')) {
+          data.push(line.slice(5).trimStart())
+        }
+      }
+      if (data.length === 0) continue
+
+      try {
+        onEvent({ name, ...JSON.parse(data.join('\n')) })
+      } catch (error) {
+        console.debug('Ignoring malformed event', name, error)
+      }
+    }
+  }
+}
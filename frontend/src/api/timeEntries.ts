@@ -0,0 +1,32 @@
+import apiClient from '@/api/client'
+import { TimeEntriesService } from '@/api/generated'
+import type { DailySummaryResponse, TimeEntryResponse } from '@/api/generated'
+
+const PAGE_SIZE = 500
+
+/**
+ * Load all time entries of a date range, newest first, following the continuation tokens of the paged endpoint.
+ */
+export async function fetchAllTimeEntries(startDate?: string, endDate?: string): Promise<TimeEntryResponse[]> {
+  const entries: TimeEntryResponse[] = []
+  let cursor: string | undefined
+  do {
+    const page = await TimeEntriesService.getTimeEntries(startDate, endDate, undefined, undefined, cursor, PAGE_SIZE)
+    entries.push(...page.items)
+    cursor = page.nextCursor
+  } while (cursor)
+  return entries
+}
+
+/**
+ * Load the daily summaries of a date range together with the sync token of the data version they were read at.
+ */
+export async function fetchDailySummaries(
+  startDate: string,
+  endDate: string
+): Promise<{ summaries: DailySummaryResponse[], syncToken: string | null }> {
+  const response = await apiClient.get<DailySummaryResponse[]>('/api/time-entries/daily-summary', {
+    params: { startDate, endDate }
+  })
+  return { summaries: response.data, syncToken: response.headers['sync-token'] ?? null }
+}
@@ -5,8 +5,10 @@ import { useErrorHandler } from '@/composables/useErrorHandler'
 import { useCache } from '@/composables/useCache'
 import { useConflictWarnings } from '@/composables/useConflictWarnings'
 import { useUndoDelete } from '@/composables/useUndoDelete'
-import { TimeEntriesService, PublicHolidaysService, WorkingHoursService, TimeOffService, type CreateTimeEntryRequest, type CreateTimeOffRequest } from '@/api/generated'
-import type { DailySummaryResponse, PublicHolidayResponse, TimeOffResponse, WorkingHoursResponse, TimeEntryResponse } from '@/api/generated'
+import { TimeEntriesService, PublicHolidaysService, WorkingHoursService, TimeOffService, SyncService, type CreateTimeEntryRequest, type CreateTimeOffRequest } from '@/api/generated'
+import type { DailySummaryResponse, PublicHolidayResponse, TimeOffResponse, WorkingHoursResponse, TimeEntryResponse, SyncResponse } from '@/api/generated'
+import { fetchAllTimeEntries, fetchDailySummaries } from '@/api/timeEntries'
+import type { UserEvent } from '@/api/events'
 import { TimeOffType } from '@/types/enums'
 
 /**
@@ -52,6 +54,8 @@ export function useDashboard() {
   const allPublicHolidaysCache = ref<Map<number, PublicHolidayResponse[]> | null>(null)
   // Promise to prevent race condition when fetching holidays
   let publicHolidaysFetchPromise: Promise<Map<number, PublicHolidayResponse[]>> | null = null
+  // Token of the last delta sync, changes after it are not in the cache yet
+  let syncToken: string | null = null
 
   // Computed
   const hasTodayWorkingHours = computed(() => {
@@ -236,9 +240,9 @@ export function useDashboard() {
       // Determine which years we need holidays for
       const yearsNeeded = new Set([startDate.getFullYear(), endDate.getFullYear()])
 
-      // Fetch all data in parallel
-      const [summaries, ...holidayResponses] = await Promise.all([
-        TimeEntriesService.getDailySummary(startDateStr, endDateStr),
+      // Fetch all data in parallel, the summaries come with the token to sync from afterwards
+      const [loaded, ...holidayResponses] = await Promise.all([
+        fetchDailySummaries(startDateStr, endDateStr),
         ...Array.from(yearsNeeded).map(y => getPublicHolidaysForYear(y)),
         WorkingHoursService.getWorkingHours()
       ])
@@ -250,8 +254,10 @@ export function useDashboard() {
       // Flatten public holidays
       const publicHolidays = holidayResponses.slice(0, -1).flat() as PublicHolidayResponse[]
 
+      syncToken = loaded.syncToken
+
       // Merge public holidays with summaries
-      const summariesWithHolidays = mergePublicHolidays(summaries, publicHolidays)
+      const summariesWithHolidays = mergePublicHolidays(loaded.summaries, publicHolidays)
 
       // Store summaries in cache (clear first, then store)
       dailySummaryCache.clearCache()
@@ -397,7 +403,7 @@ export function useDashboard() {
   const loadActiveEntry = async () => {
     try {
       const today = formatDateString(new Date())
-      const entries = await TimeEntriesService.getTimeEntries(today, today)
+      const entries = await fetchAllTimeEntries(today, today)
       activeEntry.value = entries.find(e => e.isActive) || null
     } catch (error) {
       handleError(error, 'Failed to load active entry', { logError: true })
@@ -547,6 +553,115 @@ export function useDashboard() {
     await calculateOvertime()
   }
 
+  // Refresh the loaded days within the range of a pushed change
+  const refreshEventDays = async (event: UserEvent) => {
+    const { startDate, endDate } = event
+    if (!startDate || !endDate) return
+
+    const loadedDates = new Set([...dailySummaries.value, ...currentWeekSummaries.value]
+      .map(s => s.date)
+      .filter((date): date is string => !!date && date >= startDate && date <= endDate))
+    await refreshDays(Array.from(loadedDates))
+  }
+
+  // Find the cached and displayed days touched by synced changes, before and after the change
+  const findSyncedDays = (changes: SyncResponse): string[] => {
+    const ranges: Array<[string, string]> = [
+      ...changes.timeEntries.map(e => [e.entryDate, e.entryDate] as [string, string]),
+      ...changes.timeOff.map(t => [t.startDate, t.endDate] as [string, string]),
+      ...changes.conflictWarnings.map(w => [w.conflictDate, w.conflictDate] as [string, string])
+    ]
+    const entryIds = new Set([...changes.timeEntries.map(e => e.id), ...changes.deletedTimeEntryIds])
+    const timeOffIds = new Set([...changes.timeOff.map(t => t.id), ...changes.deletedTimeOffIds])
+    const warningIds = new Set([...changes.conflictWarnings.map(w => w.id), ...changes.deletedConflictWarningIds])
+
+    const loadedSummaries = [
+      ...dailySummaryCache.getCacheKeys().map(key => dailySummaryCache.getFromCache(key)),
+      ...dailySummaries.value,
+      ...currentWeekSummaries.value
+    ]
+    const dates = new Set<string>()
+    loadedSummaries.forEach(summary => {
+      const date = summary?.date
+      if (!date) return
+      if (ranges.some(([start, end]) => date >= start && date <= end)
+        || summary.entries?.some(e => entryIds.has(e.id))
+        || summary.timeOffEntries?.some(t => timeOffIds.has(t.id))
+        || (summary.conflictWarning && warningIds.has(summary.conflictWarning.id))) {
+        dates.add(date)
+      }
+    })
+    return Array.from(dates)
+  }
+
+  // Catch up on changes missed while not listening, returns false if the data must be reloaded instead
+  const syncChanges = async (): Promise<boolean> => {
+    if (!syncToken) return false
+
+    let changes: SyncResponse
+    let hours: WorkingHoursResponse
+    try {
+      // Working hours aren't synced records, but any change to them affects all days
+      [changes, hours] = await Promise.all([
+        SyncService.getSyncChanges(syncToken),
+        WorkingHoursService.getWorkingHours()
+      ])
+    } catch (error) {
+      console.warn('Sync failed, reloading instead', error)
+      return false
+    }
+    if (changes.reloadRequired || JSON.stringify(hours) !== JSON.stringify(workingHours.value)) return false
+    // Changed patterns affect any number of days
+    if (changes.recurringOffDays.length > 0 || changes.deletedRecurringOffDayIds.length > 0) return false
+
+    syncToken = changes.token
+    await refreshDays(findSyncedDays(changes))
+    return true
+  }
+
+  // Apply a change pushed by the server, e.g. made in another tab or on another device
+  const handleUserEvent = async (event: UserEvent) => {
+    switch (event.name) {
+      case 'clocked-in':
+      case 'clocked-out':
+        await loadActiveEntry()
+        await refreshEventDays(event)
+        break
+      case 'time-entries':
+      case 'conflict-warnings':
+        await refreshEventDays(event)
+        await calculateOvertime()
+        break
+      case 'time-off':
+        await refreshEventDays(event)
+        await loadNextVacation()
+        await calculateOvertime()
+        break
+      case 'recurring-off-days':
+        // Exemptions affect a single day, changed patterns any number of days
+        if (event.startDate) {
+          await refreshEventDays(event)
+          await calculateOvertime()
+        } else {
+          await invalidateCacheAndReload()
+        }
+        break
+      case 'working-hours':
+        await invalidateCacheAndReload()
+        await Promise.all([loadActiveEntry(), loadNextVacation()])
+        break
+      case 'resync':
+        // Events were missed: apply the changed records instead of reloading all days if possible
+        if (await syncChanges()) {
+          await calculateOvertime()
+        } else {
+          await invalidateCacheAndReload()
+        }
+        await Promise.all([loadActiveEntry(), loadNextVacation()])
+        break
+    }
+  }
+
   // Format overtime hours
   const formatOvertime = (hours: number) => {
     const sign = hours >= 0 ? '+' : ''
@@ -1060,6 +1175,7 @@ export function useDashboard() {
     loadNextVacation,
     calculateOvertime,
     invalidateCacheAndReload,
+    handleUserEvent,
     formatOvertime,
     clockInNow,
     clockOutNow,
@@ -21,6 +21,7 @@ import type {
   RecurringOffDayConflictWarningResponse,
   CreateTimeEntryRequest
 } from '@/api/generated'
+import { fetchAllTimeEntries } from '@/api/timeEntries'
 import type { DisplayEntry, TypeEntry } from '@/types/timeEntries'
 
 export function useTimeEntries() {
@@ -248,7 +249,7 @@ export function useTimeEntries() {
   const loadTimeEntries = async () => {
     loading.value = true
     try {
-      const response = await TimeEntriesService.getTimeEntries(startDateFilter.value, endDateFilter.value)
+      const response = await fetchAllTimeEntries(startDateFilter.value, endDateFilter.value)
       timeEntries.value = response
       activeEntry.value = response.find(entry => entry.isActive) || null
 
@@ -0,0 +1,40 @@
+import { onUnmounted } from 'vue'
+import { openUserEventStream } from '@/api/events'
+import type { UserEvent } from '@/api/events'
+
+type UserEventHandler = (event: UserEvent) => void | Promise<void>
+
+// One stream per tab, shared by all components listening to it
+const handlers = new Set<UserEventHandler>()
+let closeStream: (() => void) | null = null
+
+const dispatch = (event: UserEvent) => {
+  handlers.forEach(handler => {
+    Promise.resolve(handler(event)).catch(error => console.error('Failed to handle event', event.name, error))
+  })
+}
+
+/**
+ * Composable for changes pushed by the server
+ * Opens the event stream with the first handler and closes it when the last component unmounts
+ */
+export function useUserEvents() {
+  const onUserEvent = (handler: UserEventHandler) => {
+    handlers.add(handler)
+    if (!closeStream) {
+      closeStream = openUserEventStream(dispatch)
+    }
+
+    onUnmounted(() => {
+      handlers.delete(handler)
+      if (handlers.size === 0 && closeStream) {
+        closeStream()
+        closeStream = null
+      }
+    })
+  }
+
+  return {
+    onUserEvent
+  }
+}
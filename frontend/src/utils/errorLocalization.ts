@@ -25,6 +25,10 @@ const localizeBackendMessage = (message: string, t: TFunction): string | null =>
     })
   }
 
+  if (message === 'Time entry overlaps with an existing entry') {
+    return t('errors.timeEntryOverlapExisting')
+  }
+
   if (message === 'Clock out time must be after clock in time') {
     return t('errors.clockOutAfterClockIn')
   }